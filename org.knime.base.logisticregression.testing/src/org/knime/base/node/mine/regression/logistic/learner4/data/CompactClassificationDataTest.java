@@ -0,0 +1,210 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.mine.regression.logistic.learner4.data;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingRow.FeatureIterator;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.def.DefaultRow;
+
+/**
+ * Contains unit tests for {@link CompactClassificationData}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class CompactClassificationDataTest {
+
+    /** Spans two full blocks and a partial one. */
+    private static final int NR_ROWS = 2 * CompactClassificationData.BLOCK_SIZE + 3;
+
+    /**
+     * Tests that the rows are the same as the ones built, also around the block boundaries.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testIterator() throws Exception {
+        CompactClassificationData data = createData(NR_ROWS);
+        assertEquals(NR_ROWS, data.getRowCount());
+        Iterator<ClassificationTrainingRow> iter = data.iterator();
+        for (int id = 0; id < NR_ROWS; id++) {
+            assertTrue(iter.hasNext());
+            assertRowEquals(id, iter.next());
+        }
+        assertFalse(iter.hasNext());
+        try {
+            iter.next();
+            throw new AssertionError("Expected a NoSuchElementException at the end of the data.");
+        } catch (NoSuchElementException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Tests data that fills exactly one block and data that contains only rows without non zero values.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testFullBlock() throws Exception {
+        CompactClassificationData data = createData(CompactClassificationData.BLOCK_SIZE);
+        int id = 0;
+        for (ClassificationTrainingRow row : data) {
+            assertRowEquals(id++, row);
+        }
+        assertEquals(CompactClassificationData.BLOCK_SIZE, id);
+
+        data = createData(1);
+        id = 0;
+        for (ClassificationTrainingRow row : data) {
+            assertRowEquals(id++, row);
+        }
+        assertEquals(1, id);
+    }
+
+    /**
+     * Tests that randomly drawn rows match the rows with the same id.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testGetRandomRow() throws Exception {
+        CompactClassificationData data = createData(NR_ROWS);
+        boolean[] drawn = new boolean[3];
+        for (int i = 0; i < 1000; i++) {
+            ClassificationTrainingRow row = data.getRandomRow();
+            assertRowEquals(row.getId(), row);
+            drawn[row.getId() / CompactClassificationData.BLOCK_SIZE] = true;
+        }
+        assertTrue(drawn[0] && drawn[1]);
+    }
+
+    private static CompactClassificationData createData(final int nrRows) {
+        List<DataRow> rows = new ArrayList<>(nrRows);
+        for (int i = 0; i < nrRows; i++) {
+            rows.add(new DefaultRow("Row" + i, new DataCell[0]));
+        }
+        return new CompactClassificationData(rows, nrRows, 42L, new MockRowBuilder());
+    }
+
+    private static void assertRowEquals(final int id, final ClassificationTrainingRow row) {
+        ClassificationTrainingRow expected = createRow(id);
+        assertEquals(id, row.getId());
+        assertEquals(expected.getCategory(), row.getCategory());
+        assertArrayEquals(toArray(expected), toArray(row), 0.0);
+    }
+
+    private static double[] toArray(final TrainingRow row) {
+        double[] values = new double[3 * 5];
+        for (FeatureIterator iter = row.getFeatureIterator(); iter.next();) {
+            values[iter.getFeatureIndex()] = iter.getFeatureValue();
+        }
+        return values;
+    }
+
+    /**
+     * Creates a row whose number of non zero values, features and category depend on the id. The values aren't
+     * representable as float, the last one exceeds the float range, so they are only kept if stored as double.
+     */
+    private static ClassificationTrainingRow createRow(final int id) {
+        final int nonZero = id % 5;
+        double[] values = new double[nonZero];
+        int[] indices = new int[nonZero];
+        for (int k = 0; k < nonZero; k++) {
+            indices[k] = 3 * k + id % 3;
+            values[k] = k == 3 ? 1e40 * (id + 1) : id + 0.1 * (k + 1) + 1e-12;
+        }
+        return new SparseClassificationTrainingRow(values, indices, id, id % 3);
+    }
+
+    private static final class MockRowBuilder implements TrainingRowBuilder<ClassificationTrainingRow> {
+
+        @Override
+        public ClassificationTrainingRow build(final DataRow row, final int id) {
+            return createRow(id);
+        }
+
+        @Override
+        public int getFeatureCount() {
+            return 3 * 5;
+        }
+
+        @Override
+        public int getTargetDimension() {
+            return 2;
+        }
+
+        @Override
+        public Map<Integer, List<DataCell>> getNominalDomainValues() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public List<Integer> getLearningColumns() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public Map<Integer, Integer> getVectorLengths() {
+            return Collections.emptyMap();
+        }
+    }
+}
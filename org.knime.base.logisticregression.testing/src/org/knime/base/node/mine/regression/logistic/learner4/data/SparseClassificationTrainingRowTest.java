@@ -62,7 +62,7 @@
  */
 public class SparseClassificationTrainingRowTest {
 
-    private static float[] VALUES = new float[] {1, 4, 0.1F, 2};
+    private static double[] VALUES = new double[] {1, 4, 0.1, 2};
     private static int[] INDICES = new int[] {0, 1, 3, 7};
     private static int ID = 0;
     private static int CATEGORY = 3;
@@ -106,4 +106,37 @@ public void testUpdate() throws Exception {
         assertArrayEquals(expectedBeta, beta.getWeightVector());
 
     }
+
+    @Test
+    public void testBatchUpdate() throws Exception {
+        EagerSagUpdaterFactory<TrainingRow> factory = new EagerSagUpdaterFactory<TrainingRow>(3, 3, 2);
+        EagerSagUpdater<TrainingRow> updater = factory.create();
+        MockClassificationTrainingRow[] mockRows = new MockClassificationTrainingRow[]{
+            new MockClassificationTrainingRow(new double[]{1, 1}, 0, 0),
+            new MockClassificationTrainingRow(new double[]{2, 3}, 1, 1),
+        };
+        SimpleWeightMatrix<TrainingRow> beta =
+                new SimpleWeightMatrix<TrainingRow>(3, 2, true);
+        double[][] change = new double[2][3];
+
+        updater.markSeen(mockRows[0]);
+        updater.markSeen(mockRows[1]);
+        updater.replaceGradient(mockRows[0], new double[]{3, -2}, change);
+        updater.replaceGradient(mockRows[1], new double[]{1, 2}, change);
+        double[][] expectedChange = new double[][]{
+            {4.0, 5.0, 6.0},
+            {0.0, 2.0, 4.0}
+        };
+        assertArrayEquals(expectedChange, change);
+
+        updater.applyGradientSumChange(change, 0, 3);
+        assertArrayEquals(new double[2][3], change);
+
+        updater.step(beta, 2.0);
+        double[][] expectedBeta = new double[][]{
+            {-4.0, -5.0, -6.0},
+            {0.0, -2.0, -4.0}
+        };
+        assertArrayEquals(expectedBeta, beta.getWeightVector());
+    }
 }
@@ -0,0 +1,209 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.mine.regression.logistic.learner4.sg;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Random;
+
+import org.apache.commons.math3.linear.RealMatrix;
+import org.junit.Test;
+import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerResult;
+import org.knime.base.node.mine.regression.logistic.learner4.data.ClassificationTrainingRow;
+import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingData;
+import org.knime.base.node.mine.regression.logistic.learner4.sg.LineSearchLearningRateStrategy.StepSizeType;
+
+/**
+ * Contains unit tests for the {@link ParallelSagOptimizer}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class ParallelSagOptimizerTest {
+
+    private static final int NR_ROWS = 4096;
+
+    private static final int NR_FEATURES = 4;
+
+    private static final int NR_CATEGORIES = 3;
+
+    private static final Progress NO_PROGRESS = new Progress() {
+
+        @Override
+        public void setProgress(final double progress) {
+        }
+
+        @Override
+        public void setProgress(final double progress, final String message) {
+        }
+
+        @Override
+        public void checkCanceled() {
+        }
+    };
+
+    /**
+     * Tests that processing the rows in batches leads to the same model as the sequential SAG.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testConvergesLikeSequentialSag() throws Exception {
+        final ArrayTrainingData data = createData(new Random(42));
+        final int nFets = data.getFeatureCount();
+        final int nCats = data.getTargetDimension();
+
+        LogRegLearnerResult sequential = new EagerSgOptimizer<>(data, MultinomialLoss.INSTANCE,
+            new EagerSagUpdater.EagerSagUpdaterFactory<ClassificationTrainingRow>(NR_ROWS, nFets, nCats),
+            UniformRegularizationUpdater.INSTANCE,
+            new LineSearchLearningRateStrategy<>(data, MultinomialLoss.INSTANCE, 0, StepSizeType.Default),
+            new BetaChangeStoppingCriterion<>(nFets, nCats, 1e-8), false).optimize(1000, data, NO_PROGRESS);
+
+        data.reset();
+        // far smaller than the minimal batch size of real data in order to process most rows in batches
+        final int minBatchSize = 2 * ParallelSagOptimizer.NR_BLOCKS;
+        LogRegLearnerResult parallel = new ParallelSagOptimizer<>(data, MultinomialLoss.INSTANCE,
+            UniformRegularizationUpdater.INSTANCE,
+            new LineSearchLearningRateStrategy<>(data, MultinomialLoss.INSTANCE, 0, StepSizeType.Default),
+            new BetaChangeStoppingCriterion<>(nFets, nCats, 1e-8), false, minBatchSize)
+            .optimize(1000, data, NO_PROGRESS);
+
+        assertTrue("Sequential SAG did not converge", sequential.getIter() < 1000);
+        assertTrue("Parallel SAG did not converge", parallel.getIter() < 1000);
+        assertEquals(sequential.getLogLike(), parallel.getLogLike(), 1e-6 * Math.abs(sequential.getLogLike()));
+        RealMatrix expected = sequential.getBeta();
+        RealMatrix actual = parallel.getBeta();
+        for (int c = 0; c < nCats; c++) {
+            for (int i = 0; i < nFets; i++) {
+                assertEquals("Coefficient " + i + " of model " + c, expected.getEntry(c, i), actual.getEntry(c, i),
+                    1e-5);
+            }
+        }
+    }
+
+    /**
+     * Creates rows whose categories are drawn from a multinomial logistic model, so that the classes overlap and the
+     * maximum likelihood estimate exists.
+     */
+    private static ArrayTrainingData createData(final Random random) {
+        final double[][] beta = new double[NR_CATEGORIES][NR_FEATURES + 1];
+        for (double[] b : beta) {
+            for (int i = 0; i < b.length; i++) {
+                b[i] = random.nextGaussian();
+            }
+        }
+        final ClassificationTrainingRow[] rows = new ClassificationTrainingRow[NR_ROWS];
+        final double[] probabilities = new double[NR_CATEGORIES];
+        for (int id = 0; id < NR_ROWS; id++) {
+            double[] features = new double[NR_FEATURES];
+            for (int i = 0; i < NR_FEATURES; i++) {
+                features[i] = random.nextGaussian();
+            }
+            double sum = 0;
+            for (int c = 0; c < NR_CATEGORIES; c++) {
+                double linear = beta[c][0];
+                for (int i = 0; i < NR_FEATURES; i++) {
+                    linear += beta[c][i + 1] * features[i];
+                }
+                probabilities[c] = Math.exp(linear);
+                sum += probabilities[c];
+            }
+            double u = random.nextDouble() * sum;
+            int category = 0;
+            while (category < NR_CATEGORIES - 1 && (u -= probabilities[category]) > 0) {
+                category++;
+            }
+            rows[id] = new MockClassificationTrainingRow(features, id, category);
+        }
+        return new ArrayTrainingData(rows);
+    }
+
+    /** Simple in memory training data that draws the rows with a fixed seed. */
+    private static final class ArrayTrainingData implements TrainingData<ClassificationTrainingRow> {
+
+        private final ClassificationTrainingRow[] m_rows;
+
+        private Random m_random;
+
+        ArrayTrainingData(final ClassificationTrainingRow[] rows) {
+            m_rows = rows;
+            reset();
+        }
+
+        void reset() {
+            m_random = new Random(7);
+        }
+
+        @Override
+        public Iterator<ClassificationTrainingRow> iterator() {
+            return Arrays.asList(m_rows).iterator();
+        }
+
+        @Override
+        public int getRowCount() {
+            return m_rows.length;
+        }
+
+        @Override
+        public int getFeatureCount() {
+            return NR_FEATURES + 1;
+        }
+
+        @Override
+        public int getTargetDimension() {
+            return NR_CATEGORIES - 1;
+        }
+
+        @Override
+        public ClassificationTrainingRow getRandomRow() {
+            return m_rows[m_random.nextInt(m_rows.length)];
+        }
+    }
+}
@@ -65,8 +65,8 @@
 import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerSettings.Prior;
 import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerSettings.Solver;
 import org.knime.base.node.mine.regression.logistic.learner4.data.ClassificationTrainingRow;
+import org.knime.base.node.mine.regression.logistic.learner4.data.CompactClassificationData;
 import org.knime.base.node.mine.regression.logistic.learner4.data.DataTableTrainingData;
-import org.knime.base.node.mine.regression.logistic.learner4.data.InMemoryData;
 import org.knime.base.node.mine.regression.logistic.learner4.data.SparseClassificationTrainingRowBuilder;
 import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingData;
 import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingRowBuilder;
@@ -184,7 +184,7 @@ LogisticRegressionContent learn(final BufferedDataTable trainingData, final Exec
         TrainingData<ClassificationTrainingRow> data;
         Long seed = m_settings.getSeed();
         if (m_settings.isInMemory()) {
-            data = new InMemoryData<ClassificationTrainingRow>(dataTable, seed, rowBuilder);
+            data = new CompactClassificationData(dataTable, seed, rowBuilder);
         } else {
             data = new DataTableTrainingData<ClassificationTrainingRow>(trainingData, seed,
                     rowBuilder, m_settings.getChunkSize(), exec.createSilentSubExecutionContext(0.0));
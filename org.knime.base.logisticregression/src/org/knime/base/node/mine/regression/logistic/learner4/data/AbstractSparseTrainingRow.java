@@ -52,18 +52,35 @@
  * Abstract implementation of a sparse {@link TrainingRow}.
  * Stores only the non zero values and their indices in the row.
  * This allows for a fast {@link FeatureIterator} but the random access via {@link #getFeature(int)} is slow.
+ * The values and indices may be a range of larger arrays that are shared by several rows.
  *
  * @author Adrian Nembach, KNIME.com
  */
 abstract class AbstractSparseTrainingRow implements TrainingRow {
 
-    private final float[] m_values;
+    private final double[] m_values;
     private final int[] m_indices;
+    private final int m_start;
+    private final int m_end;
     private final int m_id;
 
-    protected AbstractSparseTrainingRow(final float[] values, final int[] indices, final int id) {
+    protected AbstractSparseTrainingRow(final double[] values, final int[] indices, final int id) {
+        this(values, indices, 0, values.length, id);
+    }
+
+    /**
+     * @param values the non zero values of all rows sharing the arrays
+     * @param indices the feature indices of the values
+     * @param start the position of the first value of this row (inclusive)
+     * @param end the position after the last value of this row (exclusive)
+     * @param id the id of the row
+     */
+    protected AbstractSparseTrainingRow(final double[] values, final int[] indices, final int start, final int end,
+        final int id) {
         m_values = values;
         m_indices = indices;
+        m_start = start;
+        m_end = end;
         m_id = id;
     }
 
@@ -80,7 +97,7 @@ public int getId() {
      */
     @Override
     public String toString() {
-        return "[id=" + m_id + "; numNonZero=" + m_indices.length + "]";
+        return "[id=" + m_id + "; numNonZero=" + (m_end - m_start) + "]";
     }
 
 
@@ -94,7 +111,7 @@ public FeatureIterator getFeatureIterator() {
 
     private class SparseFeatureIterator implements FeatureIterator {
 
-        private int m_idx = -1;
+        private int m_idx = m_start - 1;
 
         public SparseFeatureIterator() { }
 
@@ -107,7 +124,7 @@ private SparseFeatureIterator(final int startIdx) {
          */
         @Override
         public boolean hasNext() {
-            return m_idx < m_values.length - 1;
+            return m_idx < m_end - 1;
         }
 
         /**
@@ -115,7 +132,7 @@ public boolean hasNext() {
          */
         @Override
         public boolean next() {
-            return ++m_idx < m_values.length;
+            return ++m_idx < m_end;
         }
 
         /**
@@ -70,10 +70,16 @@ abstract class AbstractTrainingData <T extends TrainingRow> implements TrainingD
      *
      */
     public AbstractTrainingData(final BufferedDataTable data, final Long seed, final TrainingRowBuilder<T> rowBuilder) {
-        if (data.size() > Integer.MAX_VALUE) {
-            throw new IllegalArgumentException("The data table contains too many rows.");
-        }
-        m_rowCount = (int)data.size();
+        this(checkRowCount(data.size()), seed, rowBuilder);
+    }
+
+    /**
+     * @param rowCount the number of rows of the input data
+     * @param seed used to generate pseudo random numbers
+     * @param rowBuilder used to create {@link TrainingRow} objects from the rows of the input data
+     */
+    AbstractTrainingData(final int rowCount, final Long seed, final TrainingRowBuilder<T> rowBuilder) {
+        m_rowCount = rowCount;
         if (seed == null) {
             m_randomGenerator = new Random();
         } else {
@@ -84,6 +90,20 @@ public AbstractTrainingData(final BufferedDataTable data, final Long seed, final
     }
 
 
+    /**
+     * Returns the number of rows of a table as int.
+     *
+     * @param size the number of rows of a table
+     * @return <b>size</b> as int
+     * @throws IllegalArgumentException if the table contains more than {@link Integer#MAX_VALUE} rows
+     */
+    static int checkRowCount(final long size) {
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The data table contains too many rows.");
+        }
+        return (int)size;
+    }
+
     /**
      * {@inheritDoc}
      */
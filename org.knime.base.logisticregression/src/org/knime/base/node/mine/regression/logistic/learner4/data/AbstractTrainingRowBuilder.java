@@ -93,7 +93,7 @@ abstract class AbstractTrainingRowBuilder <T extends TrainingRow> implements Tra
     // used as cache for the indices to avoid the overhead of creating arrays
     private final int[] m_nonZeroIndices;
     // same for the values
-    private final float[] m_nonZeroValues;
+    private final double[] m_nonZeroValues;
 
     /**
      * @param data the {@link BufferedDataTable} that contains the data to learn on
@@ -160,7 +160,7 @@ public AbstractTrainingRowBuilder(final BufferedDataTable data,
         // plus one for the intercept
         m_featureCount = featureCount;
         m_nonZeroIndices = new int[effectiveFeatureCount];
-        m_nonZeroValues = new float[effectiveFeatureCount];
+        m_nonZeroValues = new double[effectiveFeatureCount];
     }
 
     /**
@@ -232,7 +232,7 @@ public T build(final DataRow row, final int id) {
         int accumulatedIdx = 1;
         // the intercept feature is always present
         m_nonZeroIndices[0] = 0;
-        m_nonZeroValues[0] = 1.0F;
+        m_nonZeroValues[0] = 1.0;
         for (int i = 0; i < m_featureCellIndices.size(); i++) {
             // get cell from row
             Integer cellIdx = m_featureCellIndices.get(i);
@@ -249,7 +249,7 @@ public T build(final DataRow row, final int id) {
                             + "Domain Calculator on the columns with nominal values.");
                 } else if (oneHotIdx > 0) {
                     m_nonZeroIndices[nonZeroFeatures] = accumulatedIdx + oneHotIdx - 1;
-                    m_nonZeroValues[nonZeroFeatures] = 1.0F;
+                    m_nonZeroValues[nonZeroFeatures] = 1.0;
                     nonZeroFeatures++;
                 }
                 accumulatedIdx += nominalDomainValues.size() - 1;
@@ -259,7 +259,7 @@ public T build(final DataRow row, final int id) {
                     BitVectorValue bv = (BitVectorValue)cell;
                     for (long s = bv.nextSetBit(0L); s >= 0; s = bv.nextSetBit(s + 1)) {
                         m_nonZeroIndices[nonZeroFeatures] = (int)(accumulatedIdx + s);
-                        m_nonZeroValues[nonZeroFeatures++] = 1.0F;
+                        m_nonZeroValues[nonZeroFeatures++] = 1.0;
                     }
                 } else if (cellType.isCompatible(ByteVectorValue.class)) {
                     ByteVectorValue bv = (ByteVectorValue)cell;
@@ -290,7 +290,7 @@ public T build(final DataRow row, final int id) {
 //                        double val = dv.getDoubleValue();
 //                        if (!MathUtils.equals(val, 0.0)) {
 //                            m_nonZeroIndices[nonZeroFeatures] = accumulatedIdx + s;
-//                            m_nonZeroValues[nonZeroFeatures] = (float)val;
+//                            m_nonZeroValues[nonZeroFeatures] = val;
 //                        }
 //                        s++;
 //                    }
@@ -305,7 +305,7 @@ public T build(final DataRow row, final int id) {
                 double val = ((DoubleValue)cell).getDoubleValue();
                 if (!MathUtils.equals(val, 0.0)) {
                     m_nonZeroIndices[nonZeroFeatures] = accumulatedIdx;
-                    m_nonZeroValues[nonZeroFeatures++] = (float)val;
+                    m_nonZeroValues[nonZeroFeatures++] = val;
                 }
                 accumulatedIdx++;
             } else {
@@ -316,12 +316,12 @@ public T build(final DataRow row, final int id) {
             }
         }
         int[] nonZero = Arrays.copyOf(m_nonZeroIndices, nonZeroFeatures);
-        float[] values = Arrays.copyOf(m_nonZeroValues, nonZeroFeatures);
+        double[] values = Arrays.copyOf(m_nonZeroValues, nonZeroFeatures);
 
         return createTrainingRow(row, nonZero, values, id);
     }
 
-    protected abstract T createTrainingRow(DataRow row, int[] nonZeroFeatures, float[] values, int id);
+    protected abstract T createTrainingRow(DataRow row, int[] nonZeroFeatures, double[] values, int id);
 
     @Override
     public int getFeatureCount() {
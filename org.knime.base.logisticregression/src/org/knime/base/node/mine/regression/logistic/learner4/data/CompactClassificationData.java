@@ -0,0 +1,191 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.mine.regression.logistic.learner4.data;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.knime.core.data.DataRow;
+import org.knime.core.node.BufferedDataTable;
+
+/**
+ * {@link TrainingData} implementation that holds all the data in memory in a compact form.
+ * Unlike {@link InMemoryData} it does not keep an object per row. Instead the non zero values (as doubles), their
+ * feature indices and the categories of consecutive rows are stored in primitive arrays, one set of arrays per block
+ * of {@value #BLOCK_SIZE} rows. This saves the object and array headers of every row (which make up a large part of the
+ * memory for tables with few features) and keeps the rows close to each other in memory.
+ * The rows returned by {@link #iterator()} and {@link #getRandomRow()} are light-weight views on these arrays.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+public final class CompactClassificationData extends AbstractTrainingData<ClassificationTrainingRow> {
+
+    /** Number of rows per block, must be a power of two. */
+    static final int BLOCK_SIZE = 1 << 14;
+
+    private static final int BLOCK_SHIFT = Integer.numberOfTrailingZeros(BLOCK_SIZE);
+
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+
+    /** Offsets of the rows in the value arrays, contains one more entry than the block has rows. */
+    private final int[][] m_starts;
+
+    private final int[][] m_indices;
+
+    private final double[][] m_values;
+
+    private final int[][] m_categories;
+
+    /**
+     * Instantiates a {@link TrainingData} object that holds all data in memory.
+     *
+     * @param data the {@link BufferedDataTable} that contains the data to learn on
+     * @param seed used to generate pseudo random numbers
+     * @param rowBuilder used to create {@link TrainingRow} objects form {@link DataRow} objects
+     */
+    public CompactClassificationData(final BufferedDataTable data, final Long seed,
+        final TrainingRowBuilder<ClassificationTrainingRow> rowBuilder) {
+        this(data, checkRowCount(data.size()), seed, rowBuilder);
+    }
+
+    /**
+     * Instantiates a {@link TrainingData} object from the given rows, which is used in tests.
+     *
+     * @param rows the rows to learn on
+     * @param rowCount the number of <b>rows</b>
+     * @param seed used to generate pseudo random numbers
+     * @param rowBuilder used to create {@link TrainingRow} objects form {@link DataRow} objects
+     */
+    CompactClassificationData(final Iterable<DataRow> rows, final int rowCount, final Long seed,
+        final TrainingRowBuilder<ClassificationTrainingRow> rowBuilder) {
+        super(rowCount, seed, rowBuilder);
+        final int nRows = getRowCount();
+        final int nBlocks = (nRows + BLOCK_SIZE - 1) >>> BLOCK_SHIFT;
+        m_starts = new int[nBlocks][];
+        m_indices = new int[nBlocks][];
+        m_values = new double[nBlocks][];
+        m_categories = new int[nBlocks][];
+
+        int id = 0;
+        int[] indices = new int[BLOCK_SIZE];
+        double[] values = new double[BLOCK_SIZE];
+        int size = 0;
+        for (DataRow row : rows) {
+            final int block = id >>> BLOCK_SHIFT;
+            final int offset = id & BLOCK_MASK;
+            if (offset == 0) {
+                m_starts[block] = new int[Math.min(BLOCK_SIZE, nRows - id) + 1];
+                m_categories[block] = new int[m_starts[block].length - 1];
+            }
+            ClassificationTrainingRow trainingRow = rowBuilder.build(row, id);
+            m_categories[block][offset] = trainingRow.getCategory();
+            for (TrainingRow.FeatureIterator iter = trainingRow.getFeatureIterator(); iter.next();) {
+                if (size == indices.length) {
+                    // Math.addExact fails if a block has more than Integer.MAX_VALUE non zero values
+                    int newLength = Math.max(Math.addExact(size, 1), (int)Math.min(Integer.MAX_VALUE, size * 3L / 2));
+                    indices = Arrays.copyOf(indices, newLength);
+                    values = Arrays.copyOf(values, newLength);
+                }
+                indices[size] = iter.getFeatureIndex();
+                values[size] = iter.getFeatureValue();
+                size++;
+            }
+            m_starts[block][offset + 1] = size;
+            id++;
+            if (offset + 1 == m_categories[block].length) {
+                // block complete, keep only the used part of the buffers
+                m_indices[block] = Arrays.copyOf(indices, size);
+                m_values[block] = Arrays.copyOf(values, size);
+                size = 0;
+            }
+        }
+    }
+
+    private ClassificationTrainingRow getRow(final int id) {
+        final int block = id >>> BLOCK_SHIFT;
+        final int offset = id & BLOCK_MASK;
+        final int[] starts = m_starts[block];
+        return new SparseClassificationTrainingRow(m_values[block], m_indices[block], starts[offset],
+            starts[offset + 1], id, m_categories[block][offset]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<ClassificationTrainingRow> iterator() {
+        return new Iterator<ClassificationTrainingRow>() {
+
+            private int m_next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return m_next < getRowCount();
+            }
+
+            @Override
+            public ClassificationTrainingRow next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return getRow(m_next++);
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ClassificationTrainingRow getRandomRow() {
+        return getRow(getRandomDataGenerator().nextInt(getRowCount()));
+    }
+
+}
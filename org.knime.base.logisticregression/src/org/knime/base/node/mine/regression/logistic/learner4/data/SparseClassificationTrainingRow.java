@@ -61,12 +61,22 @@ final class SparseClassificationTrainingRow extends AbstractSparseTrainingRow im
     /**
      *
      */
-    SparseClassificationTrainingRow(final float[] values, final int[] indices, final int id, final int category) {
+    SparseClassificationTrainingRow(final double[] values, final int[] indices, final int id, final int category) {
         super(values, indices, id);
         assert category >= 0;
         m_category = category;
     }
 
+    /**
+     * Creates a row whose values are the range [<b>start</b>, <b>end</b>) of the given arrays.
+     */
+    SparseClassificationTrainingRow(final double[] values, final int[] indices, final int start, final int end,
+        final int id, final int category) {
+        super(values, indices, start, end, id);
+        assert category >= 0;
+        m_category = category;
+    }
+
 
     /**
      * {@inheritDoc}
@@ -117,7 +117,7 @@ public SparseClassificationTrainingRowBuilder(final BufferedDataTable data, fina
      */
     @Override
     protected ClassificationTrainingRow createTrainingRow(final DataRow row,final int[] nonZeroFeatures,
-        final float[] values, final int id) {
+        final double[] values, final int id) {
         DataCell targetCell = row.getCell(m_targetIdx);
         DataType type = targetCell.getType();
         if (!type.isCompatible(NominalValue.class)) {
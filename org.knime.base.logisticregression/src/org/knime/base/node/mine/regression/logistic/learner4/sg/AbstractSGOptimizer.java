@@ -104,7 +104,6 @@ public AbstractSGOptimizer(final TrainingData<T> data, final Loss<T> loss, final
 
     public LogRegLearnerResult optimize(final int maxEpoch, final TrainingData<T> data, final Progress progress) throws CanceledExecutionException {
 
-        final int nRows = data.getRowCount();
         final int nFets = data.getFeatureCount();
         final int nCats = data.getTargetDimension();
         final U updater = m_updaterFactory.create();
@@ -115,22 +114,7 @@ public LogRegLearnerResult optimize(final int maxEpoch, final TrainingData<T> da
             // notify learning rate strategy that a new epoch starts
             m_lrStrategy.startNewEpoch(epoch);
             progress.setProgress(((double)epoch) / maxEpoch, "Start epoch " + epoch + " of " + maxEpoch);
-            for (int k = 0; k < nRows; k++) {
-                progress.checkCanceled();
-                T x = data.getRandomRow();
-                prepareIteration(beta, x, updater, m_regUpdater, k);
-                double[] prediction = beta.predict(x);
-                double[] sig = m_loss.gradient(x, prediction);
-                double stepSize = m_lrStrategy.getCurrentLearningRate(x, prediction, sig);
-                // beta is updated in two steps
-                m_regUpdater.update(beta, stepSize, k);
-                performUpdate(x, updater, sig, beta, stepSize, k);
-                double scale = beta.getScale();
-                if (scale > 1e10 || scale < -1e10 || (scale > 0 && scale < 1e-10) || (scale < 0 && scale > -1e-10)) {
-                    normalize(beta, updater, k);
-                    beta.normalize();
-                }
-            }
+            performEpoch(beta, updater, data, progress);
             postProcessEpoch(beta, updater, m_regUpdater);
             if (m_stoppingCriterion.checkConvergence(beta)) {
                 break;
@@ -164,6 +148,37 @@ public LogRegLearnerResult optimize(final int maxEpoch, final TrainingData<T> da
         return new LogRegLearnerResult(betaMat, covMat, epoch, -lossSum);
     }
 
+    /**
+     * Performs one epoch, i.e. as many updates of <b>beta</b> as there are rows in <b>data</b>,
+     * each with a randomly drawn row.
+     *
+     * @param beta current estimate of the coefficient matrix
+     * @param updater the loss updater used for this training run
+     * @param data the training data
+     * @param progress used to check for cancellation
+     * @throws CanceledExecutionException if the training is canceled
+     */
+    protected void performEpoch(final WeightMatrix<T> beta, final U updater, final TrainingData<T> data,
+        final Progress progress) throws CanceledExecutionException {
+        final int nRows = data.getRowCount();
+        for (int k = 0; k < nRows; k++) {
+            progress.checkCanceled();
+            T x = data.getRandomRow();
+            prepareIteration(beta, x, updater, m_regUpdater, k);
+            double[] prediction = beta.predict(x);
+            double[] sig = m_loss.gradient(x, prediction);
+            double stepSize = m_lrStrategy.getCurrentLearningRate(x, prediction, sig);
+            // beta is updated in two steps
+            m_regUpdater.update(beta, stepSize, k);
+            performUpdate(x, updater, sig, beta, stepSize, k);
+            double scale = beta.getScale();
+            if (scale > 1e10 || scale < -1e10 || (scale > 0 && scale < 1e-10) || (scale < 0 && scale > -1e-10)) {
+                normalize(beta, updater, k);
+                beta.normalize();
+            }
+        }
+    }
+
     /**
      * Calculates the sum of losses of all rows.
      *
@@ -236,6 +251,18 @@ protected TrainingData<T> getData() {
         return m_data;
     }
 
+    protected Loss<T> getLoss() {
+        return m_loss;
+    }
+
+    protected R getRegularizationUpdater() {
+        return m_regUpdater;
+    }
+
+    protected LearningRateStrategy<T> getLearningRateStrategy() {
+        return m_lrStrategy;
+    }
+
     /**
      * Returns an {@link Optional} that can contain a warning message.
      *
@@ -68,7 +68,7 @@ final class EagerSagUpdater <T extends TrainingRow> implements EagerUpdater<T> {
     private int m_nCovered = 0;
     private int m_nCats;
 
-    private EagerSagUpdater(final int nRows, final int nFets, final int nCats) {
+    EagerSagUpdater(final int nRows, final int nFets, final int nCats) {
         m_gradientSum = new double[nCats][nFets];
         m_gradientMemory = new double[nCats][nRows];
         m_seen = new BitSet(nRows);
@@ -80,24 +80,83 @@ private EagerSagUpdater(final int nRows, final int nFets, final int nCats) {
      */
     @Override
     public void update(final T x, final double[] sig, final WeightMatrix<T> beta, final double stepSize, final int iteration) {
+        markSeen(x);
+        replaceGradient(x, sig, m_gradientSum);
+        step(beta, stepSize);
+    }
+
+    /**
+     * Marks <b>x</b> as seen, i.e. its gradient becomes part of the average gradient.
+     *
+     * @param x the row whose gradient is replaced next
+     */
+    void markSeen(final T x) {
         int id = x.getId();
         if (!m_seen.get(id)) {
             m_seen.set(id);
             m_nCovered++;
         }
+    }
+
+    /**
+     * @return the number of rows whose gradient is part of the average gradient
+     */
+    int getCoveredCount() {
+        return m_nCovered;
+    }
 
+    /**
+     * Replaces the stored gradient of <b>x</b> with <b>sig</b> and adds the resulting change of the gradient sum
+     * to <b>gradientSumChange</b>. Can be called concurrently for different rows as long as
+     * <b>gradientSumChange</b> is not shared.
+     *
+     * @param x the row whose gradient is replaced
+     * @param sig the new partial gradient for all linear models
+     * @param gradientSumChange receives the change of the gradient sum
+     */
+    void replaceGradient(final T x, final double[] sig, final double[][] gradientSumChange) {
+        int id = x.getId();
         for (FeatureIterator iter = x.getFeatureIterator(); iter.next();) {
             int idx = iter.getFeatureIndex();
             double val = iter.getFeatureValue();
             for (int c = 0; c < m_nCats; c++) {
                 double newD = val * (sig[c] - m_gradientMemory[c][id]);
                 assert Double.isFinite(newD);
-                m_gradientSum[c][idx] += newD;
+                gradientSumChange[c][idx] += newD;
             }
         }
         for (int c = 0; c < m_nCats; c++) {
             m_gradientMemory[c][id] = sig[c];
         }
+    }
+
+    /**
+     * Adds the features [<b>from</b>, <b>to</b>) of a change collected by
+     * {@link #replaceGradient(TrainingRow, double[], double[][])} to the gradient sum and resets them to zero.
+     * Can be called concurrently for disjoint feature ranges.
+     *
+     * @param gradientSumChange the collected change
+     * @param from the first feature (inclusive)
+     * @param to the last feature (exclusive)
+     */
+    void applyGradientSumChange(final double[][] gradientSumChange, final int from, final int to) {
+        for (int c = 0; c < m_nCats; c++) {
+            double[] sum = m_gradientSum[c];
+            double[] change = gradientSumChange[c];
+            for (int i = from; i < to; i++) {
+                sum[i] += change[i];
+                change[i] = 0.0;
+            }
+        }
+    }
+
+    /**
+     * Moves <b>beta</b> along the average of the stored gradients.
+     *
+     * @param beta the coefficients to update
+     * @param stepSize the step size
+     */
+    void step(final WeightMatrix<T> beta, final double stepSize) {
         double scale = beta.getScale();
         beta.update((val, c, i) -> performUpdate(val, stepSize, scale, c, i), true);
     }
@@ -0,0 +1,325 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.mine.regression.logistic.learner4.sg;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingData;
+import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingRow;
+import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingRow.FeatureIterator;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Eager SAG optimizer that processes the randomly drawn rows in batches and uses all available cores.
+ * <p>
+ * The predictions and gradients of the rows in a batch are computed concurrently, all with the coefficients as they
+ * were at the start of the batch. The new gradients then replace the stored ones and a single step is taken whose
+ * size is the sum of the step sizes of the rows. The update of all coefficients is thus done once per batch instead
+ * of once per row.
+ * <p>
+ * Evaluating the gradients with outdated coefficients makes the iteration unstable if the batches are too large.
+ * For a quadratic loss with curvature <i>h</i> a batch of <i>b</i> rows out of <i>n</i> is stable if
+ * <i>b&sup2; &middot; stepSize &middot; h / n</i> &lt; 4, in which case the average gradient converges as fast per
+ * epoch as with single rows. The curvature of the multinomial loss is bounded by half the mean squared norm of the
+ * rows, so the batch size is limited to <i>sqrt(n / (2 &middot; stepSize &middot; meanSquaredNorm))</i> (which
+ * leaves a factor of 16). As long as this is smaller than the minimal batch size that pays off (e.g. at the start of
+ * the training, where <i>n</i> is the number of rows seen so far), rows are processed one by one.
+ * <p>
+ * A batch is split into {@value #NR_BLOCKS} blocks that are processed concurrently, each one collecting the change of
+ * the gradient sum in its own matrix. The block matrices are added to the gradient sum in block order, so the result
+ * does not depend on the number of threads. Rows are not drawn twice in the same batch in order to keep the
+ * concurrent updates of the stored gradients independent.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @param <T> The type of row we are dealing with
+ * @param <R> The type of regularization updater, must update the coefficients eagerly
+ */
+final class ParallelSagOptimizer<T extends TrainingRow, R extends RegularizationUpdater>
+    extends AbstractSGOptimizer<T, EagerSagUpdater<T>, R> {
+
+    /** The number of blocks a batch is split into, independent of the number of threads. */
+    static final int NR_BLOCKS = 16;
+
+    /** Minimal work per block as number of non zero values times the number of linear models. */
+    private static final int MIN_BLOCK_WORK = 1 << 12;
+
+    /** Minimal number of batches per epoch. */
+    private static final int MIN_BATCHES_PER_EPOCH = 64;
+
+    /** Upper bound for the number of doubles in the gradient sum changes of all blocks. */
+    private static final long MAX_CHANGE_SIZE = 1L << 25;
+
+    private final int m_minBatchSize;
+
+    private final double m_meanSquaredNorm;
+
+    private final int m_nFets;
+
+    private final ThreadPool m_pool;
+
+    /** The largest step size of the last batch or the step size of the last row. */
+    private double m_stepSize = Double.POSITIVE_INFINITY;
+
+    /**
+     * Creates a ParallelSagOptimizer.
+     *
+     * @param data the training data to learn on
+     * @param loss the loss to minimize
+     * @param regularizationUpdater eager updater for the regularization term
+     * @param learningRateStrategy the strategy used for the learning rate for example fixed
+     * @param stoppingCriterion determines when to stop the training
+     * @param calcCovMatrix flag that indicates whether the covariance matrix of the coefficients should be calculated
+     * @param minBatchSize the minimal number of rows per batch, see {@link #getMinBatchSize(TrainingData)}
+     */
+    public ParallelSagOptimizer(final TrainingData<T> data, final Loss<T> loss, final R regularizationUpdater,
+        final LearningRateStrategy<T> learningRateStrategy, final StoppingCriterion<T> stoppingCriterion,
+        final boolean calcCovMatrix, final int minBatchSize) {
+        super(data, loss, () -> new EagerSagUpdater<>(data.getRowCount(), data.getFeatureCount(),
+            data.getTargetDimension()), regularizationUpdater, learningRateStrategy, stoppingCriterion, calcCovMatrix);
+        m_minBatchSize = minBatchSize;
+        m_nFets = data.getFeatureCount();
+        double squaredNormSum = 0.0;
+        for (T row : data) {
+            for (FeatureIterator iter = row.getFeatureIterator(); iter.next();) {
+                squaredNormSum += iter.getFeatureValue() * iter.getFeatureValue();
+            }
+        }
+        m_meanSquaredNorm = squaredNormSum / data.getRowCount();
+        ThreadPool currentPool = ThreadPool.currentPool();
+        ThreadPool parent = currentPool != null ? currentPool : KNIMEConstants.GLOBAL_THREAD_POOL;
+        m_pool = parent.createSubPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Returns the minimal number of rows per batch for which batches pay off on the given data, or 0 if the rows
+     * should be processed one by one with lazy updates. The blocks of a batch must be large enough to outweigh the
+     * overhead of the concurrent execution, and the rows must contain few zeros as the eager updates of all
+     * coefficients are only cheap compared to the lazy updates in this case.
+     *
+     * @param data the training data, is iterated once
+     * @return the minimal number of rows per batch or 0
+     */
+    static int getMinBatchSize(final TrainingData<?> data) {
+        final int nRows = data.getRowCount();
+        final int nFets = data.getFeatureCount();
+        final int nCats = data.getTargetDimension();
+        if ((long)NR_BLOCKS * nFets * nCats > MAX_CHANGE_SIZE) {
+            return 0;
+        }
+        long nonZeroCount = 0;
+        for (TrainingRow row : data) {
+            for (FeatureIterator iter = row.getFeatureIterator(); iter.next();) {
+                nonZeroCount++;
+            }
+        }
+        final double meanNonZero = nonZeroCount / (double)nRows;
+        if (nFets > 2 * meanNonZero) {
+            return 0;
+        }
+        final int minBatchSize = NR_BLOCKS * (int)Math.ceil(MIN_BLOCK_WORK / (meanNonZero * nCats));
+        return (long)minBatchSize * MIN_BATCHES_PER_EPOCH > nRows ? 0 : minBatchSize;
+    }
+
+    /** Returns the largest stable batch size if the average gradient comprises <b>nCovered</b> rows. */
+    private int getMaxBatchSize(final int nCovered) {
+        return (int)Math.min(Integer.MAX_VALUE, Math.sqrt(nCovered / (2 * m_stepSize * m_meanSquaredNorm)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    protected void performEpoch(final WeightMatrix<T> beta, final EagerSagUpdater<T> updater,
+        final TrainingData<T> data, final Progress progress) throws CanceledExecutionException {
+        final Loss<T> loss = getLoss();
+        final LearningRateStrategy<T> lrStrategy = getLearningRateStrategy();
+        final R regUpdater = getRegularizationUpdater();
+        final int nRows = data.getRowCount();
+        final int nCats = data.getTargetDimension();
+        final int bufferSize = nRows / MIN_BATCHES_PER_EPOCH;
+        final T[] rows = (T[])new TrainingRow[bufferSize];
+        final double[][] predictions = new double[bufferSize][];
+        final double[][] gradients = new double[bufferSize][];
+        final double[][][] changes = new double[NR_BLOCKS][nCats][m_nFets];
+        final BitSet inBatch = new BitSet(nRows);
+
+        for (int k = 0; k < nRows;) {
+            progress.checkCanceled();
+            final int size = Math.min(Math.min(getMaxBatchSize(updater.getCoveredCount()), bufferSize), nRows - k);
+            if (size < m_minBatchSize) {
+                T x = data.getRandomRow();
+                double[] prediction = beta.predict(x);
+                double[] sig = loss.gradient(x, prediction);
+                m_stepSize = lrStrategy.getCurrentLearningRate(x, prediction, sig);
+                regUpdater.update(beta, m_stepSize, k);
+                updater.update(x, sig, beta, m_stepSize, k);
+                k++;
+                continue;
+            }
+
+            for (int i = 0; i < size; i++) {
+                T x;
+                do {
+                    x = data.getRandomRow();
+                } while (inBatch.get(x.getId()));
+                inBatch.set(x.getId());
+                updater.markSeen(x);
+                rows[i] = x;
+            }
+
+            // all blocks use the coefficients of the start of the batch
+            runOnBlocks(block -> {
+                final int end = blockEnd(block, size);
+                for (int i = blockEnd(block - 1, size); i < end; i++) {
+                    predictions[i] = beta.predict(rows[i]);
+                    gradients[i] = loss.gradient(rows[i], predictions[i]);
+                    updater.replaceGradient(rows[i], gradients[i], changes[block]);
+                }
+            });
+
+            double stepSizeSum = 0.0;
+            m_stepSize = 0.0;
+            for (int i = 0; i < size; i++) {
+                double stepSize = lrStrategy.getCurrentLearningRate(rows[i], predictions[i], gradients[i]);
+                stepSizeSum += stepSize;
+                m_stepSize = Math.max(m_stepSize, stepSize);
+                inBatch.clear(rows[i].getId());
+            }
+
+            // the changes are summed in block order for every range of features
+            runOnBlocks(block -> {
+                final int from = blockEnd(block - 1, m_nFets);
+                final int to = blockEnd(block, m_nFets);
+                for (double[][] change : changes) {
+                    updater.applyGradientSumChange(change, from, to);
+                }
+            });
+
+            regUpdater.update(beta, stepSizeSum, k);
+            updater.step(beta, stepSizeSum);
+            k += size;
+        }
+    }
+
+    /** Returns the end (exclusive) of the given block if <b>size</b> elements are split into all blocks. */
+    private static int blockEnd(final int block, final int size) {
+        return (int)((block + 1) * (long)size / NR_BLOCKS);
+    }
+
+    /** Work on a single block. */
+    private interface BlockTask {
+        void run(int block);
+    }
+
+    /** Runs the task on all blocks concurrently and waits for it to finish. */
+    private void runOnBlocks(final BlockTask task) throws CanceledExecutionException {
+        List<Future<Void>> futures = new ArrayList<Future<Void>>(NR_BLOCKS);
+        boolean success = false;
+        try {
+            for (int b = 0; b < NR_BLOCKS; b++) {
+                final int block = b;
+                futures.add(m_pool.enqueue(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        task.run(block);
+                        return null;
+                    }
+                }));
+            }
+            ThreadPool.awaitAll(futures);
+            success = true;
+        } finally {
+            if (!success) {
+                ThreadPool.cancelAll(futures);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void prepareIteration(final WeightMatrix<T> beta, final T x, final EagerSagUpdater<T> updater,
+        final R regUpdater, final int iteration) {
+        // nothing to prepare
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void postProcessEpoch(final WeightMatrix<T> beta, final EagerSagUpdater<T> updater,
+        final R regUpdater) {
+        // nothing to postprocess
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void performUpdate(final T x, final EagerSagUpdater<T> updater, final double[] gradient,
+        final WeightMatrix<T> beta, final double stepSize, final int iteration) {
+        updater.update(x, gradient, beta, stepSize, iteration);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void normalize(final WeightMatrix<T> beta, final EagerSagUpdater<T> updater, final int iteration) {
+        // nothing to do
+    }
+
+}
@@ -53,6 +53,7 @@
 import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearner;
 import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerResult;
 import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerSettings;
+import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerSettings.Solver;
 import org.knime.base.node.mine.regression.logistic.learner4.data.ClassificationTrainingRow;
 import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingData;
 import org.knime.base.node.mine.regression.logistic.learner4.sg.LineSearchLearningRateStrategy.StepSizeType;
@@ -97,7 +98,7 @@ private LearningRateStrategy<ClassificationTrainingRow> createLearningRateStrate
     }
 
     private RegularizationUpdater createRegularizationUpdater(final LogRegLearnerSettings settings,
-        final TrainingData<ClassificationTrainingRow> data) throws InvalidSettingsException {
+        final TrainingData<ClassificationTrainingRow> data, final boolean lazy) throws InvalidSettingsException {
         Prior prior;
         switch (settings.getPrior()) {
             case Gauss:
@@ -111,7 +112,7 @@ private RegularizationUpdater createRegularizationUpdater(final LogRegLearnerSet
             default:
                 throw new InvalidSettingsException("Unknown prior type \"" + settings.getPrior() + "\".");
         }
-        if (settings.isPerformLazy()) {
+        if (lazy) {
             return new LazyPriorUpdater(prior, data.getRowCount(), true);
         } else {
             return new EagerPriorUpdater(prior, data.getRowCount(), true);
@@ -156,7 +157,15 @@ private AbstractSGOptimizer createOptimizer(
         final StoppingCriterion<ClassificationTrainingRow> stoppingCriterion =
                 new BetaChangeStoppingCriterion<>(data.getFeatureCount(), data.getTargetDimension(), settings.getEpsilon());
         LearningRateStrategy<ClassificationTrainingRow> lrs = createLearningRateStrategy(settings, data, loss);
-        RegularizationUpdater regUpdater = createRegularizationUpdater(settings, data);
+        // large, dense in memory data is processed in batches on all cores instead of lazily
+        int minBatchSize = settings.isInMemory() && settings.getSolver() == Solver.SAG
+            ? ParallelSagOptimizer.getMinBatchSize(data) : 0;
+        if (minBatchSize > 0) {
+            RegularizationUpdater regUpdater = createRegularizationUpdater(settings, data, false);
+            return new ParallelSagOptimizer<>(data, loss, regUpdater, lrs, stoppingCriterion,
+                    m_settings.isCalcCovMatrix(), minBatchSize);
+        }
+        RegularizationUpdater regUpdater = createRegularizationUpdater(settings, data, settings.isPerformLazy());
         if (settings.isPerformLazy()) {
             UpdaterFactory<ClassificationTrainingRow, LazyUpdater<ClassificationTrainingRow>> updaterFactory = createLazyUpdater(settings, data);
             return new LazySGOptimizer<ClassificationTrainingRow, LazyUpdater<ClassificationTrainingRow>, LazyRegularizationUpdater>(
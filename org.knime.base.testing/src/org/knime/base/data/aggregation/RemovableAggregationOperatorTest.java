@@ -0,0 +1,187 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.data.aggregation;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.LinkedList;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+
+/**
+ * Tests the removal of rows from {@link AggregationOperator#isRemovable() removable} operators, sliding a window
+ * over a column by adding and removing rows must give the same results as recomputing each window.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class RemovableAggregationOperatorTest {
+
+    private static final String[] METHOD_IDS =
+        {"Count", "Sum_V2.5.2", "Mean", "Variance", "Standard deviation", "Geometric standard deviation"};
+
+    private static final int WINDOW_LENGTH = 7;
+
+    /**
+     * Slides a window over random values with missing cells, once over values of both signs and once over positive
+     * values only.
+     */
+    @Test
+    public void testSlidingWindow() {
+        final DataTableSpec spec = new DataTableSpec(new DataColumnSpecCreator("Value", DoubleCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("Positive", DoubleCell.TYPE).createSpec());
+        final Random random = new Random(42);
+        final DataRow[] rows = new DataRow[500];
+        for (int i = 0; i < rows.length; i++) {
+            final DataCell value;
+            final DataCell positive;
+            if (random.nextInt(5) == 0) {
+                value = DataType.getMissingCell();
+                positive = DataType.getMissingCell();
+            } else {
+                final double d = Math.round(random.nextGaussian() * 1000) / 10.0;
+                value = new DoubleCell(d);
+                positive = new DoubleCell(Math.exp(d / 50));
+            }
+            rows[i] = new DefaultRow(RowKey.createRowKey((long)i), value, positive);
+        }
+        for (int colIdx = 0; colIdx < spec.getNumColumns(); colIdx++) {
+            for (final String methodId : METHOD_IDS) {
+                assertSlidingWindow(spec, colIdx, methodId, rows);
+            }
+        }
+    }
+
+    /**
+     * Slides a window over a huge value followed by small ones, the running sums must not lose the small values
+     * once the huge value has left the window.
+     */
+    @Test
+    public void testCancellation() {
+        final DataTableSpec spec = new DataTableSpec(new DataColumnSpecCreator("Value", DoubleCell.TYPE).createSpec());
+        final DataRow[] rows = new DataRow[100];
+        for (int i = 0; i < rows.length; i++) {
+            final double d = i % 50 == 0 ? 1e15 : 0.1 * (i % 3) + 0.01;
+            rows[i] = new DefaultRow(RowKey.createRowKey((long)i), new DoubleCell(d));
+        }
+        for (final String methodId : new String[]{"Sum_V2.5.2", "Mean", "Variance", "Standard deviation"}) {
+            assertSlidingWindow(spec, 0, methodId, rows);
+        }
+    }
+
+    /**
+     * Slides a window over a column with infinite and NaN values which must not stick to the aggregate once they have
+     * left the window.
+     */
+    @Test
+    public void testNonFiniteValues() {
+        final DataTableSpec spec = new DataTableSpec(new DataColumnSpecCreator("Value", DoubleCell.TYPE).createSpec());
+        final double[] values = {1, Double.POSITIVE_INFINITY, 2, 3, Double.NaN, 4, 5, 6, 7, 8, 9,
+            Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 10, 11, 12, 13, 14, 15, 16, 17, 18};
+        final DataRow[] rows = new DataRow[values.length];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new DefaultRow(RowKey.createRowKey((long)i), new DoubleCell(values[i]));
+        }
+        for (final String methodId : new String[]{"Sum_V2.5.2", "Mean", "Variance",
+            "Geometric standard deviation"}) {
+            assertSlidingWindow(spec, 0, methodId, rows);
+        }
+    }
+
+    private static void assertSlidingWindow(final DataTableSpec spec, final int colIdx, final String methodId,
+        final DataRow[] rows) {
+        final GlobalSettings globalSettings = GlobalSettings.builder().setDataTableSpec(spec).build();
+        final AggregationMethod method = AggregationMethods.getMethod4Id(methodId);
+        final boolean[] inclMissingOptions =
+            method.supportsMissingValueOption() ? new boolean[]{false, true} : new boolean[]{false};
+        for (final boolean inclMissing : inclMissingOptions) {
+            final AggregationOperator incremental =
+                new ColumnAggregator(spec.getColumnSpec(colIdx), method, inclMissing).getOperator(globalSettings);
+            final AggregationOperator recomputed =
+                new ColumnAggregator(spec.getColumnSpec(colIdx), method, inclMissing).getOperator(globalSettings);
+            assertTrue(methodId + " should be removable", incremental.isRemovable());
+            final LinkedList<DataRow> window = new LinkedList<>();
+            for (final DataRow row : rows) {
+                window.add(row);
+                incremental.compute(row, colIdx);
+                if (window.size() > WINDOW_LENGTH) {
+                    incremental.remove(window.removeFirst(), colIdx);
+                }
+                for (final DataRow windowRow : window) {
+                    recomputed.compute(windowRow, colIdx);
+                }
+                assertCellEquals(methodId + " of column " + colIdx + " in row " + row.getKey(),
+                    recomputed.getResult(), incremental.getResult());
+                assertThat(incremental.getMissingValuesCount(), is(recomputed.getMissingValuesCount()));
+                recomputed.reset();
+            }
+        }
+    }
+
+    private static void assertCellEquals(final String msg, final DataCell expected, final DataCell actual) {
+        if (expected instanceof DoubleValue && actual instanceof DoubleValue) {
+            final double expectedValue = ((DoubleValue)expected).getDoubleValue();
+            assertEquals(msg, expectedValue, ((DoubleValue)actual).getDoubleValue(),
+                1e-9 * Math.max(1, Math.abs(expectedValue)));
+        } else {
+            assertThat(msg, actual, is(expected));
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.mine.cluster.hierarchical;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.knime.base.node.mine.cluster.hierarchical.AgglomerativeClusterer.Merges;
+import org.knime.base.node.mine.cluster.hierarchical.HierarchicalClusterNodeModel.Linkage;
+import org.knime.base.node.mine.cluster.hierarchical.distfunctions.EuclideanDist;
+import org.knime.base.util.HalfFloatMatrix;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.node.ExecutionMonitor;
+
+import junit.framework.TestCase;
+
+/**
+ * Compares the results of the {@link AgglomerativeClusterer} with the naive cubic clustering.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class AgglomerativeClustererTest extends TestCase {
+    private static final int[] COLUMNS = {0, 1, 2};
+
+    private DataRow[] m_rows;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void setUp() throws Exception {
+        Random rand = new Random(4711);
+        m_rows = new DataRow[150];
+        for (int i = 0; i < m_rows.length; i++) {
+            m_rows[i] = new DefaultRow("Row" + i, rand.nextGaussian() * 10, rand.nextGaussian() * 10,
+                rand.nextDouble() * 100);
+        }
+    }
+
+    /**
+     * Tests single linkage with and without distance matrix.
+     *
+     * @throws Exception if an error occurs
+     */
+    public void testSingleLinkage() throws Exception {
+        AgglomerativeClusterer clusterer = new AgglomerativeClusterer(m_rows, EuclideanDist.EUCLIDEAN_DISTANCE, COLUMNS);
+        float[] expected = naive(clusterer.computeDistanceMatrix(new ExecutionMonitor()), Linkage.SINGLE);
+        Merges withMatrix =
+            clusterer.singleLinkage(clusterer.computeDistanceMatrix(new ExecutionMonitor()), new ExecutionMonitor());
+        Merges withoutMatrix = clusterer.singleLinkage(null, new ExecutionMonitor());
+        checkMerges(expected, withMatrix);
+        checkMerges(expected, withoutMatrix);
+        for (int k = 0; k < withMatrix.size(); k++) {
+            assertEquals(withMatrix.getFirst(k), withoutMatrix.getFirst(k));
+            assertEquals(withMatrix.getSecond(k), withoutMatrix.getSecond(k));
+        }
+    }
+
+    /**
+     * Tests average linkage with and without distance matrix.
+     *
+     * @throws Exception if an error occurs
+     */
+    public void testAverageLinkage() throws Exception {
+        AgglomerativeClusterer clusterer = new AgglomerativeClusterer(m_rows, EuclideanDist.EUCLIDEAN_DISTANCE, COLUMNS);
+        float[] expected = naive(clusterer.computeDistanceMatrix(new ExecutionMonitor()), Linkage.AVERAGE);
+        checkMerges(expected, clusterer.nearestNeighborChain(
+            clusterer.computeDistanceMatrix(new ExecutionMonitor()), Linkage.AVERAGE, new ExecutionMonitor()));
+        checkMerges(expected, clusterer.nearestNeighborChain(null, Linkage.AVERAGE, new ExecutionMonitor()));
+    }
+
+    /**
+     * Tests complete linkage with and without distance matrix.
+     *
+     * @throws Exception if an error occurs
+     */
+    public void testCompleteLinkage() throws Exception {
+        AgglomerativeClusterer clusterer = new AgglomerativeClusterer(m_rows, EuclideanDist.EUCLIDEAN_DISTANCE, COLUMNS);
+        float[] expected = naive(clusterer.computeDistanceMatrix(new ExecutionMonitor()), Linkage.COMPLETE);
+        checkMerges(expected, clusterer.nearestNeighborChain(
+            clusterer.computeDistanceMatrix(new ExecutionMonitor()), Linkage.COMPLETE, new ExecutionMonitor()));
+        checkMerges(expected, clusterer.nearestNeighborChain(null, Linkage.COMPLETE, new ExecutionMonitor()));
+    }
+
+    private void checkMerges(final float[] expectedDistances, final Merges merges) {
+        assertEquals(m_rows.length - 1, merges.size());
+        boolean[] merged = new boolean[2 * m_rows.length - 1];
+        for (int k = 0; k < merges.size(); k++) {
+            assertEquals(expectedDistances[k], merges.getDistance(k), 1e-4 * expectedDistances[k]);
+            assertTrue(merges.getFirst(k) < merges.getSecond(k));
+            assertTrue(merges.getSecond(k) < m_rows.length + k);
+            assertFalse(merged[merges.getFirst(k)]);
+            assertFalse(merged[merges.getSecond(k)]);
+            merged[merges.getFirst(k)] = true;
+            merged[merges.getSecond(k)] = true;
+        }
+    }
+
+    /** The cubic algorithm, returns the sorted fusion distances. */
+    private float[] naive(final HalfFloatMatrix distances, final Linkage linkage) {
+        List<List<Integer>> clusters = new ArrayList<List<Integer>>();
+        for (int i = 0; i < m_rows.length; i++) {
+            clusters.add(new ArrayList<Integer>(Arrays.asList(i)));
+        }
+        float[] result = new float[m_rows.length - 1];
+        for (int k = 0; k < result.length; k++) {
+            double best = Double.MAX_VALUE;
+            int bestI = -1;
+            int bestJ = -1;
+            for (int i = 0; i < clusters.size(); i++) {
+                for (int j = i + 1; j < clusters.size(); j++) {
+                    double dist = linkage == Linkage.SINGLE ? Double.MAX_VALUE : 0;
+                    for (int p : clusters.get(i)) {
+                        for (int q : clusters.get(j)) {
+                            float d = distances.get(p, q);
+                            if (linkage == Linkage.SINGLE) {
+                                dist = Math.min(dist, d);
+                            } else if (linkage == Linkage.COMPLETE) {
+                                dist = Math.max(dist, d);
+                            } else {
+                                dist += d;
+                            }
+                        }
+                    }
+                    if (linkage == Linkage.AVERAGE) {
+                        dist /= clusters.get(i).size() * clusters.get(j).size();
+                    }
+                    if (dist < best) {
+                        best = dist;
+                        bestI = i;
+                        bestJ = j;
+                    }
+                }
+            }
+            clusters.get(bestI).addAll(clusters.remove(bestJ));
+            result[k] = (float)best;
+        }
+        Arrays.sort(result);
+        return result;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.mine.cluster.kmeans;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.knime.core.node.ExecutionMonitor;
+
+import junit.framework.TestCase;
+
+/**
+ * Compares the assignments of the {@link KMeansClusterer} with the naive Lloyd iteration.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class KMeansClustererTest extends TestCase {
+
+    /**
+     * Tests random data with k-means++ seeding.
+     *
+     * @throws Exception if an error occurs
+     */
+    public void testRandomData() throws Exception {
+        Random rand = new Random(4711);
+        double[][] rows = new double[500][3];
+        for (double[] row : rows) {
+            for (int d = 0; d < row.length; d++) {
+                row[d] = rand.nextGaussian() * 10 + (rand.nextBoolean() ? 20 : 0);
+            }
+        }
+        KMeansClusterer clusterer = KMeansClusterer.of(rows, 6);
+        compareWithLloyd(clusterer, rows, clusterer.initializeKMeansPlusPlus(42, new ExecutionMonitor()));
+    }
+
+    /**
+     * Tests points on an integer grid, many of which lie exactly in the middle of two centers. They must go to the
+     * first of their closest centers.
+     *
+     * @throws Exception if an error occurs
+     */
+    public void testTies() throws Exception {
+        double[][] rows = new double[121][2];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i][0] = i % 11;
+            rows[i][1] = i / 11;
+        }
+        KMeansClusterer clusterer = KMeansClusterer.of(rows, 4);
+        double[][] clusters = {{2, 2}, {4, 2}, {2, 6}, {8, 8}};
+        compareWithLloyd(clusterer, rows, clusters);
+
+        // rows that become equidistant to their center and another one after the centers moved
+        rows = new double[][]{{2}, {1}, {4}, {2}, {4}};
+        compareWithLloyd(KMeansClusterer.of(rows, 2), rows, new double[][]{{1}, {2}});
+        // same, but the bounds have rounding errors (moves by thirds)
+        rows = new double[][]{{5}, {4}, {5}, {6}, {5}, {0}, {1}, {3}};
+        compareWithLloyd(KMeansClusterer.of(rows, 3), rows, new double[][]{{1}, {1}, {5}});
+
+        // the point in the middle of the first two centers goes to the first one
+        clusterer = KMeansClusterer.of(new double[][]{{0}, {1}, {2}, {3}, {4}}, 2);
+        clusterer.assign(new double[][]{{1}, {3}}, new ExecutionMonitor());
+        assertEquals(0, clusterer.getCluster(2));
+    }
+
+    private static void compareWithLloyd(final KMeansClusterer clusterer, final double[][] rows,
+        final double[][] initialClusters) throws Exception {
+        double[][] clusters = copy(initialClusters);
+        double[][] expectedClusters = copy(initialClusters);
+        int[] coverage = new int[clusters.length];
+        boolean finished = false;
+        for (int iteration = 0; iteration < 100 && !finished; iteration++) {
+            int[] expected = assignNaive(rows, expectedClusters);
+            finished = clusterer.iterate(clusters, coverage, new ExecutionMonitor());
+            for (int r = 0; r < rows.length; r++) {
+                assertEquals("Assignment of row " + r + " in iteration " + iteration, expected[r],
+                    clusterer.getCluster(r));
+            }
+            updateNaive(rows, expected, expectedClusters);
+            for (int c = 0; c < clusters.length; c++) {
+                assertTrue("Center " + c + " in iteration " + iteration,
+                    Arrays.equals(expectedClusters[c], clusters[c]));
+            }
+        }
+        assertTrue("Not converged", finished);
+    }
+
+    /** Assigns each row to the first of its closest centers. */
+    private static int[] assignNaive(final double[][] rows, final double[][] clusters) {
+        int[] assignment = new int[rows.length];
+        for (int r = 0; r < rows.length; r++) {
+            double best = Double.MAX_VALUE;
+            for (int c = 0; c < clusters.length; c++) {
+                double distance = 0;
+                for (int d = 0; d < rows[r].length; d++) {
+                    double diff = clusters[c][d] - rows[r][d];
+                    distance += diff * diff;
+                }
+                if (distance < best) {
+                    best = distance;
+                    assignment[r] = c;
+                }
+            }
+        }
+        return assignment;
+    }
+
+    /** Moves each center with rows to the mean of its rows. */
+    private static void updateNaive(final double[][] rows, final int[] assignment, final double[][] clusters) {
+        double[][] sums = new double[clusters.length][clusters[0].length];
+        int[] counts = new int[clusters.length];
+        for (int r = 0; r < rows.length; r++) {
+            counts[assignment[r]]++;
+            for (int d = 0; d < rows[r].length; d++) {
+                sums[assignment[r]][d] += rows[r][d];
+            }
+        }
+        for (int c = 0; c < clusters.length; c++) {
+            if (counts[c] > 0) {
+                for (int d = 0; d < clusters[c].length; d++) {
+                    clusters[c][d] = sums[c][d] / counts[c];
+                }
+            }
+        }
+    }
+
+    private static double[][] copy(final double[][] clusters) {
+        double[][] copy = new double[clusters.length][];
+        for (int c = 0; c < clusters.length; c++) {
+            copy[c] = clusters[c].clone();
+        }
+        return copy;
+    }
+}
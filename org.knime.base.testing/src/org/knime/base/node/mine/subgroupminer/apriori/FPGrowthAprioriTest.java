@@ -0,0 +1,150 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.mine.subgroupminer.apriori;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.knime.base.node.mine.subgroupminer.freqitemset.AssociationRule;
+import org.knime.base.node.mine.subgroupminer.freqitemset.FrequentItemSet;
+import org.knime.core.data.vector.bitvector.BitVectorValue;
+import org.knime.core.data.vector.bitvector.DenseBitVectorCellFactory;
+import org.knime.core.node.ExecutionMonitor;
+
+import junit.framework.TestCase;
+
+/**
+ * Checks that the {@link FPGrowthApriori} finds the same itemsets and rules as the {@link ArrayApriori}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class FPGrowthAprioriTest extends TestCase {
+    private static final int NR_ITEMS = 40;
+
+    private List<BitVectorValue> m_transactions;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void setUp() throws Exception {
+        Random rand = new Random(42);
+        m_transactions = new ArrayList<BitVectorValue>();
+        for (int t = 0; t < 1000; t++) {
+            DenseBitVectorCellFactory fac = new DenseBitVectorCellFactory(NR_ITEMS);
+            // item 0 is always frequent
+            fac.set(0);
+            int length = 1 + rand.nextInt(10);
+            for (int i = 0; i < length; i++) {
+                // skewed, so that there are long frequent itemsets
+                fac.set(Math.min(NR_ITEMS - 1, (int)Math.abs(rand.nextGaussian() * NR_ITEMS / 6)));
+            }
+            m_transactions.add(fac.createDataCell());
+        }
+    }
+
+    /**
+     * Compares the free, closed and maximal itemsets.
+     *
+     * @throws Exception if an error occurs
+     */
+    public void testItemSets() throws Exception {
+        for (FrequentItemSet.Type type : FrequentItemSet.Type.values()) {
+            AprioriAlgorithm array = new ArrayApriori(NR_ITEMS, m_transactions.size());
+            array.findFrequentItemSets(m_transactions, 0.02, 6, type, new ExecutionMonitor());
+            AprioriAlgorithm fpGrowth = new FPGrowthApriori(NR_ITEMS);
+            fpGrowth.findFrequentItemSets(m_transactions, 0.02, 6, type, new ExecutionMonitor());
+            Map<String, Double> expected = toMap(array.getFrequentItemSets(type));
+            assertTrue("No " + type + " itemsets found", expected.size() > 1);
+            assertEquals(type + " itemsets differ", expected, toMap(fpGrowth.getFrequentItemSets(type)));
+        }
+    }
+
+    /**
+     * Compares the association rules.
+     *
+     * @throws Exception if an error occurs
+     */
+    public void testAssociationRules() throws Exception {
+        AprioriAlgorithm array = new ArrayApriori(NR_ITEMS, m_transactions.size());
+        array.findFrequentItemSets(m_transactions, 0.02, 6, FrequentItemSet.Type.CLOSED, new ExecutionMonitor());
+        AprioriAlgorithm fpGrowth = new FPGrowthApriori(NR_ITEMS);
+        fpGrowth.findFrequentItemSets(m_transactions, 0.02, 6, FrequentItemSet.Type.CLOSED,
+            new ExecutionMonitor());
+        Map<String, String> expected = toRuleMap(array.getAssociationRules(0.5));
+        assertTrue("No rules found", expected.size() > 1);
+        assertEquals(expected, toRuleMap(fpGrowth.getAssociationRules(0.5)));
+    }
+
+    private static String toKey(final FrequentItemSet set) {
+        List<Integer> items = new ArrayList<Integer>(set.getItems());
+        Collections.sort(items);
+        return items.toString();
+    }
+
+    private static Map<String, Double> toMap(final List<FrequentItemSet> sets) {
+        Map<String, Double> map = new TreeMap<String, Double>();
+        for (FrequentItemSet set : sets) {
+            map.put(toKey(set), Math.rint(set.getSupport() * 1e9) / 1e9);
+        }
+        return map;
+    }
+
+    private static Map<String, String> toRuleMap(final List<AssociationRule> rules) {
+        Map<String, String> map = new TreeMap<String, String>();
+        for (AssociationRule rule : rules) {
+            map.put(toKey(rule.getAntecedent()) + " -> " + toKey(rule.getConsequent()),
+                String.format("%.6f %.6f %.6f", rule.getSupport(), rule.getConfidence(), rule.getLift()));
+        }
+        return map;
+    }
+}
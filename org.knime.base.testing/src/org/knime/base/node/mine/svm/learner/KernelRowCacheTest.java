@@ -0,0 +1,161 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.mine.svm.learner;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.knime.base.node.mine.svm.kernel.Kernel;
+import org.knime.base.node.mine.svm.kernel.RBFKernel;
+import org.knime.base.node.mine.svm.util.DoubleVector;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the {@link KernelRowCache}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class KernelRowCacheTest extends TestCase {
+    private static final int SIZE = 10;
+
+    private DoubleVector[] m_data;
+
+    private Kernel m_kernel;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void setUp() throws Exception {
+        Random rand = new Random(4711);
+        m_data = new DoubleVector[SIZE];
+        for (int i = 0; i < m_data.length; i++) {
+            ArrayList<Double> values = new ArrayList<Double>();
+            values.add(rand.nextDouble());
+            values.add(rand.nextDouble());
+            m_data[i] = new DoubleVector(values, "c");
+        }
+        m_kernel = new RBFKernel();
+        m_kernel.setParameter(0, 0.5);
+    }
+
+    /**
+     * Tests that the least recently used row is evicted once the cache is full.
+     */
+    public void testEviction() {
+        // room for three rows
+        KernelRowCache cache = new KernelRowCache(m_data, m_kernel, 3 * 8L * SIZE);
+        int[] all = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            all[i] = i;
+        }
+        cache.getRow(0, all, SIZE, 0);
+        cache.getRow(1, all, SIZE, 0);
+        cache.getRow(2, all, SIZE, 0);
+        // touch row 0, so that row 1 becomes the least recently used one
+        cache.getRow(0, all, SIZE, 0);
+        cache.getRow(3, all, SIZE, 0);
+        assertNull(cache.getCachedRow(1));
+        assertNotNull(cache.getCachedRow(0));
+        assertNotNull(cache.getCachedRow(2));
+        assertNotNull(cache.getCachedRow(3));
+        checkRow(cache.getCachedRow(3), 3, all, SIZE);
+
+        // the smallest cache still holds two rows
+        cache = new KernelRowCache(m_data, m_kernel, 0);
+        cache.getRow(0, all, SIZE, 0);
+        cache.getRow(1, all, SIZE, 0);
+        cache.getRow(2, all, SIZE, 0);
+        assertNull(cache.getCachedRow(0));
+        assertNotNull(cache.getCachedRow(1));
+        assertNotNull(cache.getCachedRow(2));
+    }
+
+    /**
+     * Tests that only the entries of the active vectors are computed, and the remaining ones once the active set
+     * grows.
+     */
+    public void testActiveEntries() {
+        KernelRowCache cache = new KernelRowCache(m_data, m_kernel, 2 * 8L * SIZE);
+        int[] active = {1, 4, 7};
+        double[] row = cache.getRow(2, active, active.length, 0);
+        checkRow(row, 2, active, active.length);
+        for (int j = 0; j < SIZE; j++) {
+            if (j != 1 && j != 4 && j != 7) {
+                assertTrue(Double.isNaN(row[j]));
+            }
+        }
+
+        // evicted rows are reused, their old values must not show up
+        cache.getRow(3, active, active.length, 0);
+        cache.getRow(5, new int[]{0}, 1, 0);
+        row = cache.getCachedRow(5);
+        checkRow(row, 5, new int[]{0}, 1);
+        assertTrue(Double.isNaN(row[1]));
+
+        int[] all = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            all[i] = i;
+        }
+        row = cache.getRow(5, all, SIZE, 1);
+        checkRow(row, 5, all, SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            for (int j = 0; j < SIZE; j++) {
+                assertEquals(m_kernel.evaluate(m_data[i], m_data[j]), cache.get(i, j), 0.0);
+            }
+        }
+    }
+
+    private void checkRow(final double[] row, final int i, final int[] active, final int activeSize) {
+        for (int k = 0; k < activeSize; k++) {
+            int j = active[k];
+            assertEquals(m_kernel.evaluate(m_data[i], m_data[j]), row[j], 0.0);
+        }
+    }
+}
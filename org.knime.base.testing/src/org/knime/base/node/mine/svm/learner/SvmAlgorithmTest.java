@@ -0,0 +1,131 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.mine.svm.learner;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.knime.base.node.mine.svm.Svm;
+import org.knime.base.node.mine.svm.kernel.Kernel;
+import org.knime.base.node.mine.svm.kernel.RBFKernel;
+import org.knime.base.node.mine.svm.util.DoubleVector;
+import org.knime.core.data.RowKey;
+import org.knime.core.node.ExecutionMonitor;
+
+import junit.framework.TestCase;
+
+/**
+ * Checks that the kernel cache and the shrinking of the {@link SvmAlgorithm} don't change the resulting SVM.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class SvmAlgorithmTest extends TestCase {
+
+    private DoubleVector[] m_data;
+
+    private Kernel m_kernel;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void setUp() throws Exception {
+        // two overlapping classes, so that many examples end up at the bounds and are shrunk
+        Random rand = new Random(4711);
+        m_data = new DoubleVector[400];
+        for (int i = 0; i < m_data.length; i++) {
+            boolean positive = i % 2 == 0;
+            ArrayList<Double> values = new ArrayList<Double>();
+            values.add(rand.nextGaussian() + (positive ? 1.0 : -1.0));
+            values.add(rand.nextGaussian());
+            m_data[i] = new DoubleVector(new RowKey("Row" + i), values, positive ? "pos" : "neg");
+        }
+        m_kernel = new RBFKernel();
+        m_kernel.setParameter(0, 1.0);
+    }
+
+    /**
+     * Compares the SVM learned with a large cache and shrinking with the one learned with the smallest cache and
+     * without shrinking.
+     *
+     * @throws Exception if an error occurs
+     */
+    public void testCacheAndShrinking() throws Exception {
+        SvmAlgorithm reference = new SvmAlgorithm(m_data, "pos", m_kernel, 1.0, 0);
+        reference.setShrinking(false);
+        Svm expected = reference.run(new ExecutionMonitor());
+
+        Svm cachedAndShrunk = new SvmAlgorithm(m_data, "pos", m_kernel, 1.0, 1L << 20).run(new ExecutionMonitor());
+        checkSameDecisions(expected, cachedAndShrunk);
+
+        // a cache that holds only part of the kernel matrix
+        Svm smallCache = new SvmAlgorithm(m_data, "pos", m_kernel, 1.0, 8L * 20 * m_data.length)
+            .run(new ExecutionMonitor());
+        checkSameDecisions(expected, smallCache);
+    }
+
+    private void checkSameDecisions(final Svm expected, final Svm actual) {
+        assertEquals("Wrong bias", expected.getThreshold(), actual.getThreshold(), 1e-2);
+        assertEquals("Wrong support vectors", keys(expected), keys(actual));
+        for (DoubleVector vector : m_data) {
+            double expectedDistance = expected.distance(vector);
+            assertEquals("Wrong decision value for " + vector.getKey(), expectedDistance, actual.distance(vector),
+                1e-2 * Math.max(1.0, Math.abs(expectedDistance)));
+        }
+    }
+
+    private static Set<RowKey> keys(final Svm svm) {
+        Set<RowKey> keys = new HashSet<RowKey>();
+        for (DoubleVector vector : svm.getSupportVectors()) {
+            keys.add(vector.getKey());
+        }
+        return keys;
+    }
+}
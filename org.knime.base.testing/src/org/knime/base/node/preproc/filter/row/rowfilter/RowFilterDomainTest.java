@@ -0,0 +1,207 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.filter.row.rowfilter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+
+import org.junit.Test;
+import org.knime.base.node.preproc.filter.row.RowFilterIterator;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnDomainCreator;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTable;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * Tests that row filters decide from the column domain whether no or all rows match.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class RowFilterDomainTest {
+
+    private static DataTableSpec createSpec(final double lower, final double upper, final String... values) {
+        DataColumnSpecCreator numCreator = new DataColumnSpecCreator("num", DoubleCell.TYPE);
+        numCreator.setDomain(new DataColumnDomainCreator(new DoubleCell(lower), new DoubleCell(upper)).createDomain());
+        DataColumnSpecCreator strCreator = new DataColumnSpecCreator("str", StringCell.TYPE);
+        if (values.length > 0) {
+            LinkedHashSet<DataCell> possibleValues = new LinkedHashSet<>();
+            Arrays.stream(values).forEach(v -> possibleValues.add(new StringCell(v)));
+            strCreator.setDomain(new DataColumnDomainCreator(possibleValues).createDomain());
+        }
+        return new DataTableSpec(numCreator.createSpec(), strCreator.createSpec());
+    }
+
+    /**
+     * A range outside the domain bounds matches no row in include and all rows in exclude mode.
+     *
+     * @throws Exception if the filter can't be configured
+     */
+    @Test
+    public void testRangeOutsideDomain() throws Exception {
+        DataTableSpec spec = createSpec(0, 10);
+        RangeRowFilter include = new RangeRowFilter("num", true, new DoubleCell(11), new DoubleCell(20));
+        include.configure(spec);
+        assertTrue(include.matchesNoRow(spec));
+        assertFalse(include.matchesAllRows(spec));
+
+        RangeRowFilter exclude = new RangeRowFilter("num", false, null, new DoubleCell(-1));
+        exclude.configure(spec);
+        assertFalse(exclude.matchesNoRow(spec));
+        assertTrue(exclude.matchesAllRows(spec));
+    }
+
+    /**
+     * A range overlapping the domain bounds can't be decided from the domain.
+     *
+     * @throws Exception if the filter can't be configured
+     */
+    @Test
+    public void testRangeOverlappingDomain() throws Exception {
+        DataTableSpec spec = createSpec(0, 10);
+        RangeRowFilter filter = new RangeRowFilter("num", true, new DoubleCell(5), new DoubleCell(20));
+        filter.configure(spec);
+        assertFalse(filter.matchesNoRow(spec));
+        assertFalse(filter.matchesAllRows(spec));
+
+        // touching the bound is still a possible match
+        filter = new RangeRowFilter("num", true, new DoubleCell(10), null);
+        filter.configure(spec);
+        assertFalse(filter.matchesNoRow(spec));
+    }
+
+    /**
+     * NaN values are not covered by the domain bounds but fall into ranges without upper bound, so such a range above
+     * the domain can't be decided for double columns. Integer columns can't contain NaN.
+     *
+     * @throws Exception if the filter can't be configured or the rows can't be filtered
+     */
+    @Test
+    public void testRangeAboveDomainWithNaN() throws Exception {
+        DataTableSpec spec = createSpec(0, 10);
+        RangeRowFilter include = new RangeRowFilter("num", true, new DoubleCell(11), null);
+        include.configure(spec);
+        assertFalse(include.matchesNoRow(spec));
+        RangeRowFilter exclude = new RangeRowFilter("num", false, new DoubleCell(11), null);
+        exclude.configure(spec);
+        assertFalse(exclude.matchesAllRows(spec));
+
+        DataRow[] rows = {new DefaultRow("Row0", new DoubleCell(0), new StringCell("a")),
+            new DefaultRow("Row1", new DoubleCell(Double.NaN), new StringCell("b")),
+            new DefaultRow("Row2", new DoubleCell(10), new StringCell("c"))};
+        @SuppressWarnings("deprecation")
+        DataTable table = new org.knime.core.data.def.DefaultTable(rows, spec);
+        RowFilterIterator it = new RowFilterIterator(table, include, new ExecutionMonitor());
+        assertTrue(it.hasNext());
+        assertEquals(new RowKey("Row1"), it.next().getKey());
+        assertFalse(it.hasNext());
+
+        DataColumnSpecCreator intCreator = new DataColumnSpecCreator("num", IntCell.TYPE);
+        intCreator.setDomain(new DataColumnDomainCreator(new IntCell(0), new IntCell(10)).createDomain());
+        DataTableSpec intSpec = new DataTableSpec(intCreator.createSpec());
+        include = new RangeRowFilter("num", true, new IntCell(11), null);
+        include.configure(intSpec);
+        assertTrue(include.matchesNoRow(intSpec));
+    }
+
+    /**
+     * String patterns are checked against the possible values of the domain, if there are any.
+     *
+     * @throws Exception if the filter can't be configured
+     */
+    @Test
+    public void testStringComparePossibleValues() throws Exception {
+        DataTableSpec spec = createSpec(0, 10, "a", "b");
+        StringCompareRowFilter filter = new StringCompareRowFilter("c", "str", true, true, false, false);
+        filter.configure(spec);
+        assertTrue(filter.matchesNoRow(spec));
+
+        filter = new StringCompareRowFilter("b", "str", true, true, false, false);
+        filter.configure(spec);
+        assertFalse(filter.matchesNoRow(spec));
+
+        // without possible values nothing can be told
+        DataTableSpec noValues = createSpec(0, 10);
+        filter = new StringCompareRowFilter("c", "str", true, true, false, false);
+        filter.configure(noValues);
+        assertFalse(filter.matchesNoRow(noValues));
+        assertFalse(filter.matchesAllRows(noValues));
+    }
+
+    /**
+     * Composite filters combine the decisions of their parts.
+     *
+     * @throws Exception if the filter can't be configured
+     */
+    @Test
+    public void testCompositeFilters() throws Exception {
+        DataTableSpec spec = createSpec(0, 10);
+        IRowFilter none = new RangeRowFilter("num", true, new DoubleCell(11), new DoubleCell(20));
+        IRowFilter unknown = new RangeRowFilter("num", true, new DoubleCell(5), null);
+        none.configure(spec);
+        unknown.configure(spec);
+
+        assertTrue(new AndRowFilter(none, unknown).matchesNoRow(spec));
+        assertFalse(new OrRowFilter(none, unknown).matchesNoRow(spec));
+        assertTrue(new NegRowFilter(none).matchesAllRows(spec));
+        assertTrue(new OrRowFilter(new NegRowFilter(none), unknown).matchesAllRows(spec));
+        assertTrue(new TrueRowFilter().matchesAllRows(spec));
+        assertTrue(new FalseRowFilter().matchesNoRow(spec));
+    }
+}
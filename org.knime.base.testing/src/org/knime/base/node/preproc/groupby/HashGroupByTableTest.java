@@ -0,0 +1,217 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.groupby;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.base.data.aggregation.AggregationMethods;
+import org.knime.base.data.aggregation.ColumnAggregator;
+import org.knime.base.data.aggregation.GlobalSettings;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.util.memory.MemoryAlertSystem.MemoryActionIndicator;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Tests {@link HashGroupByTable}, the result must be the same as the one of the {@link MemoryGroupByTable}, also if
+ * groups are spilled to disk.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class HashGroupByTableTest {
+
+    private static final List<String> GROUP_COLS = Arrays.asList("Group", "Label");
+
+    private ExecutionContext m_exec;
+
+    private BufferedDataTable m_table;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, new HashMap<Integer, ContainerTable>());
+        DataTableSpec spec = new DataTableSpec(new DataColumnSpecCreator("Group", IntCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("Label", StringCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("Value", DoubleCell.TYPE).createSpec());
+        BufferedDataContainer container = m_exec.createDataContainer(spec);
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            int group = random.nextInt(150);
+            DataCell label = group % 7 == 0 ? DataType.getMissingCell() : new StringCell("L" + (group % 3));
+            container.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new IntCell(group), label,
+                new DoubleCell(random.nextGaussian())));
+        }
+        container.close();
+        m_table = container.getTable();
+    }
+
+    /**
+     * Aggregation without memory pressure.
+     *
+     * @throws CanceledExecutionException if canceled
+     */
+    @Test
+    public void testInMemory() throws CanceledExecutionException {
+        checkHashGroupByTable(0, false);
+    }
+
+    /**
+     * Aggregation with (simulated) low memory so that groups are spilled to disk and partitions are split up
+     * recursively.
+     *
+     * @throws CanceledExecutionException if canceled
+     */
+    @Test
+    public void testSpilling() throws CanceledExecutionException {
+        checkHashGroupByTable(5, false);
+        checkHashGroupByTable(1, false);
+    }
+
+    /**
+     * With the retain order option the result must be identical to the one of the {@link MemoryGroupByTable}.
+     *
+     * @throws CanceledExecutionException if canceled
+     */
+    @Test
+    public void testRetainOrder() throws CanceledExecutionException {
+        checkHashGroupByTable(5, true);
+    }
+
+    private void checkHashGroupByTable(final int lowMemoryInterval, final boolean retainOrder)
+        throws CanceledExecutionException {
+        GroupByTable expected = new MemoryGroupByTable(m_exec, m_table, GROUP_COLS, createAggregators(),
+            createGlobalSettings(), true, ColumnNamePolicy.getDefault(), false);
+        GroupByTable actual = new HashGroupByTable(m_exec, m_table, GROUP_COLS, createAggregators(),
+            createGlobalSettings(), true, ColumnNamePolicy.getDefault(), retainOrder) {
+            private int m_calls;
+
+            @Override
+            MemoryActionIndicator createMemActionIndicator() {
+                return () -> lowMemoryInterval > 0 && ++m_calls % lowMemoryInterval == 0;
+            }
+        };
+        List<List<DataCell>> expectedRows = getRows(expected.getBufferedTable());
+        List<List<DataCell>> actualRows = getRows(actual.getBufferedTable());
+        if (!retainOrder) {
+            Comparator<List<DataCell>> byGroup = (r1, r2) -> r1.toString().compareTo(r2.toString());
+            Collections.sort(expectedRows, byGroup);
+            Collections.sort(actualRows, byGroup);
+        }
+        assertThat(actualRows, is(expectedRows));
+        assertThat(getHilitedRows(actual), is(getHilitedRows(expected)));
+    }
+
+    private ColumnAggregator[] createAggregators() {
+        DataTableSpec spec = m_table.getDataTableSpec();
+        return new ColumnAggregator[]{
+            new ColumnAggregator(spec.getColumnSpec("Value"), AggregationMethods.getDefaultNumericalMethod()),
+            new ColumnAggregator(spec.getColumnSpec("Value"), AggregationMethods.getRowOrderMethod())};
+    }
+
+    private GlobalSettings createGlobalSettings() {
+        return GlobalSettings.builder().setDataTableSpec(m_table.getDataTableSpec()).setGroupColNames(GROUP_COLS)
+            .setNoOfRows(m_table.size()).build();
+    }
+
+    private static List<List<DataCell>> getRows(final BufferedDataTable table) {
+        List<List<DataCell>> rows = new ArrayList<>();
+        for (DataRow row : table) {
+            List<DataCell> cells = new ArrayList<>();
+            row.forEach(cells::add);
+            rows.add(cells);
+        }
+        return rows;
+    }
+
+    /** @return the original rows per group, by the group values */
+    private static Map<String, Set<RowKey>> getHilitedRows(final GroupByTable groupByTable) {
+        Map<String, Set<RowKey>> hilitedRows = new HashMap<>();
+        for (DataRow row : groupByTable.getBufferedTable()) {
+            String group = row.getCell(0) + "|" + row.getCell(1);
+            hilitedRows.put(group, groupByTable.getHiliteMapping().get(row.getKey()));
+        }
+        return hilitedRows;
+    }
+}
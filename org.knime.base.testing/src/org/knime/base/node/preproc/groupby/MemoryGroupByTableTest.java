@@ -0,0 +1,210 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.groupby;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.base.data.aggregation.AggregationMethods;
+import org.knime.base.data.aggregation.AggregationOperator;
+import org.knime.base.data.aggregation.ColumnAggregator;
+import org.knime.base.data.aggregation.GlobalSettings;
+import org.knime.base.data.aggregation.OperatorColumnSettings;
+import org.knime.base.data.aggregation.general.ApproximateUniqueCountOperator;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Tests the concurrent aggregation of the {@link MemoryGroupByTable} with mergeable operators, the result must be the
+ * same as the one of the sequential aggregation.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class MemoryGroupByTableTest {
+
+    private static final List<String> GROUP_COLS = Arrays.asList("Group");
+
+    private static final String[] METHOD_IDS = {"Count", "Minimum", "Maximum", "Sum_V2.5.2", "Mean", "Variance",
+        "Unique count", "Unique count (approximate)"};
+
+    private ExecutionContext m_exec;
+
+    private BufferedDataTable m_table;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, new HashMap<Integer, ContainerTable>());
+        DataTableSpec spec = new DataTableSpec(new DataColumnSpecCreator("Group", StringCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("Value", DoubleCell.TYPE).createSpec());
+        BufferedDataContainer container = m_exec.createDataContainer(spec);
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            DataCell value = random.nextInt(50) == 0 ? DataType.getMissingCell()
+                : new DoubleCell(Math.round(random.nextGaussian() * 100) / 10.0);
+            container.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i),
+                new StringCell("G" + random.nextInt(300)), value));
+        }
+        container.close();
+        m_table = container.getTable();
+    }
+
+    /**
+     * The concurrent aggregation must produce the same groups in the same order with the same (up to rounding)
+     * aggregates as the sequential aggregation.
+     *
+     * @throws CanceledExecutionException if canceled
+     */
+    @Test
+    public void testConcurrentAggregation() throws CanceledExecutionException {
+        MemoryGroupByTable expected = createTable(1);
+        MemoryGroupByTable actual = createTable(4);
+        Iterator<DataRow> expectedRows = expected.getBufferedTable().iterator();
+        Iterator<DataRow> actualRows = actual.getBufferedTable().iterator();
+        while (expectedRows.hasNext()) {
+            assertTrue("Missing group", actualRows.hasNext());
+            DataRow expectedRow = expectedRows.next();
+            DataRow actualRow = actualRows.next();
+            assertThat(actualRow.getKey(), is(expectedRow.getKey()));
+            for (int i = 0; i < expectedRow.getNumCells(); i++) {
+                DataCell expectedCell = expectedRow.getCell(i);
+                DataCell actualCell = actualRow.getCell(i);
+                if (expectedCell instanceof DoubleCell && actualCell instanceof DoubleCell) {
+                    double expectedValue = ((DoubleValue)expectedCell).getDoubleValue();
+                    assertEquals(expectedValue, ((DoubleValue)actualCell).getDoubleValue(),
+                        1e-9 * Math.max(1, Math.abs(expectedValue)));
+                } else {
+                    assertThat(actualCell, is(expectedCell));
+                }
+            }
+            assertThat(actual.getHiliteMapping().get(actualRow.getKey()),
+                is(expected.getHiliteMapping().get(expectedRow.getKey())));
+        }
+        assertThat("Too many groups", actualRows.hasNext(), is(false));
+        assertThat(actual.getMissingValuesMap(), is(expected.getMissingValuesMap()));
+    }
+
+    /**
+     * The approximate unique count must be close to the exact count and merging sketches must give the same result
+     * as computing a single sketch.
+     */
+    @Test
+    public void testApproximateUniqueCount() {
+        AggregationOperator all = createApproximateUniqueCount();
+        AggregationOperator first = createApproximateUniqueCount();
+        AggregationOperator second = createApproximateUniqueCount();
+        assertThat(all.getResult(), is((DataCell)new IntCell(0)));
+        for (int i = 0; i < 100000; i++) {
+            DataCell cell = new IntCell(i % 50000);
+            all.compute(cell);
+            (i % 3 == 0 ? first : second).compute(cell);
+        }
+        int estimate = ((IntCell)all.getResult()).getIntValue();
+        assertTrue("Estimate " + estimate + " too far off", Math.abs(estimate - 50000) < 50000 * 0.05);
+        first.merge(second);
+        assertThat(first.getResult(), is(all.getResult()));
+    }
+
+    private static AggregationOperator createApproximateUniqueCount() {
+        return new ApproximateUniqueCountOperator(GlobalSettings.DEFAULT, OperatorColumnSettings.DEFAULT_INCL_MISSING);
+    }
+
+    private MemoryGroupByTable createTable(final int parallelism) throws CanceledExecutionException {
+        DataTableSpec spec = m_table.getDataTableSpec();
+        ColumnAggregator[] aggregators = new ColumnAggregator[METHOD_IDS.length];
+        for (int i = 0; i < METHOD_IDS.length; i++) {
+            aggregators[i] =
+                new ColumnAggregator(spec.getColumnSpec("Value"), AggregationMethods.getMethod4Id(METHOD_IDS[i]));
+        }
+        GlobalSettings globalSettings = GlobalSettings.builder().setDataTableSpec(spec).setGroupColNames(GROUP_COLS)
+            .setNoOfRows(m_table.size()).build();
+        return new MemoryGroupByTable(m_exec, m_table, GROUP_COLS, aggregators, globalSettings, true,
+            ColumnNamePolicy.getDefault(), false) {
+            @Override
+            int getParallelism(final BufferedDataTable dataTable) {
+                return parallelism;
+            }
+        };
+    }
+}
@@ -53,9 +53,11 @@
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Random;
+import java.util.function.IntUnaryOperator;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.knime.base.node.preproc.joiner.Joiner2Settings.DuplicateHandling;
 import org.knime.base.node.preproc.joiner.Joiner2Settings.JoinMode;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
@@ -74,6 +76,8 @@
 import org.knime.core.node.NodeFactory;
 import org.knime.core.node.NodeModel;
 import org.knime.core.node.port.PortType;
+import org.knime.core.node.streamable.BufferedDataTableRowOutput;
+import org.knime.core.node.streamable.DataTableRowInput;
 import org.knime.core.node.workflow.SingleNodeContainer;
 import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
 
@@ -404,6 +408,190 @@ public void testSortPartitionsFullOuterJoin() throws Exception {
         compareTables(reference, test);
     }
 
+    /**
+     * Checks whether an inner join whose single initial partition must be split up repeatedly due to low memory gives
+     * the same result as the join of the partition in memory.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public final void testSplitPartitionsInnerJoin() throws Exception {
+        compareSplitPartitions(JoinMode.InnerJoin, 100, 200);
+    }
+
+    /**
+     * Checks whether a left outer join whose single initial partition must be split up repeatedly due to low memory
+     * gives the same result as the join of the partition in memory.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public final void testSplitPartitionsLeftOuterJoin() throws Exception {
+        compareSplitPartitions(JoinMode.LeftOuterJoin, 200, 100);
+    }
+
+    /**
+     * Checks whether a right outer join whose single initial partition must be split up repeatedly due to low memory
+     * gives the same result as the join of the partition in memory.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public final void testSplitPartitionsRightOuterJoin() throws Exception {
+        compareSplitPartitions(JoinMode.RightOuterJoin, 100, 200);
+    }
+
+    /**
+     * Checks whether a full outer join whose single initial partition must be split up repeatedly due to low memory
+     * gives the same result as the join of the partition in memory.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public final void testSplitPartitionsFullOuterJoin() throws Exception {
+        compareSplitPartitions(JoinMode.FullOuterJoin, 150, 100);
+    }
+
+    private void compareSplitPartitions(final JoinMode joinMode, final int leftSize, final int rightSize)
+        throws Exception {
+        Joiner2Settings settings = createReferenceSettings("Data");
+        settings.setJoinMode(joinMode);
+
+        BufferedDataTable leftTable = m_exec.createBufferedDataTable(new TestData(leftSize, 1), m_exec);
+        BufferedDataTable rightTable = m_exec.createBufferedDataTable(new TestData(rightSize, 1), m_exec);
+
+        // join all rows in a single partition in memory
+        Joiner joinerRef = new Joiner(leftTable.getDataTableSpec(), rightTable.getDataTableSpec(), settings);
+        joinerRef.setNumBitsInitial(0);
+        BufferedDataTable reference = joinerRef.computeJoinTable(leftTable, rightTable, m_exec);
+        assertThat("Reference partition has been split", joinerRef.getNumSplitPartitions(), is(0));
+
+        // split the single partition after every 10 rows read into memory
+        Joiner joinerTest = new Joiner(leftTable.getDataTableSpec(), rightTable.getDataTableSpec(), settings);
+        joinerTest.setNumBitsInitial(0);
+        joinerTest.setRowsAddedBeforeOOM(10);
+        BufferedDataTable test = joinerTest.computeJoinTable(leftTable, rightTable, m_exec);
+        assertThat("Partitions have not been split", joinerTest.getNumSplitPartitions() > 1, is(true));
+        compareTables(reference, test);
+    }
+
+    /**
+     * Checks whether streaming the left table through the right table gives the same result as an inner join of both
+     * tables.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public final void testStreamingInnerJoin() throws Exception {
+        Joiner2Settings settings = createReferenceSettings("Data");
+        compareStreaming(settings, 100, 200);
+    }
+
+    /**
+     * Checks whether streaming the left table through the right table gives the same result as a left outer join of
+     * both tables. The left outer rows of the test data follow the matches.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public final void testStreamingLeftOuterJoin() throws Exception {
+        Joiner2Settings settings = createReferenceSettings("Data");
+        settings.setJoinMode(JoinMode.LeftOuterJoin);
+        compareStreaming(settings, new TestData(200, 1), new TestData(100, 1));
+    }
+
+    /**
+     * Checks whether streaming the left table through the right table gives the same result as a left outer join of
+     * both tables if the left outer rows alternate with the matching rows, i.e. the left outer rows must not be
+     * pushed in the order of the left table.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public final void testStreamingLeftOuterJoinAlternating() throws Exception {
+        Joiner2Settings settings = createReferenceSettings("Data");
+        settings.setJoinMode(JoinMode.LeftOuterJoin);
+        // only the even rows of the left table match
+        compareStreaming(settings, new TestData(100, 1), new TestData(100, 2, i -> 2 * i));
+    }
+
+    /**
+     * Checks whether streaming the left table through the right table gives the same result as an inner join of both
+     * tables if a left row matches several right rows, which are not adjacent in the right table.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public final void testStreamingInnerJoinMultipleMatches() throws Exception {
+        Joiner2Settings settings = createReferenceSettings("Data");
+        compareStreaming(settings, new TestData(50, 1, i -> i % 20), new TestData(100, 2, i -> (100 - i) % 10));
+    }
+
+    /**
+     * Checks whether streaming the left table gives the same result as a left outer join of both tables if the
+     * right table doesn't fit in memory and the join falls back to the partitioned join.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public final void testStreamingLowMemory() throws Exception {
+        Joiner2Settings settings = createReferenceSettings("Data");
+        settings.setJoinMode(JoinMode.LeftOuterJoin);
+        BufferedDataTable leftTable = m_exec.createBufferedDataTable(new TestData(100, 1), m_exec);
+        BufferedDataTable rightTable = m_exec.createBufferedDataTable(new TestData(100, 2, i -> 2 * i), m_exec);
+
+        Joiner joinerRef = new Joiner(leftTable.getDataTableSpec(), rightTable.getDataTableSpec(), settings);
+        BufferedDataTable reference = joinerRef.computeJoinTable(leftTable, rightTable, m_exec);
+
+        Joiner joinerTest = new Joiner(leftTable.getDataTableSpec(), rightTable.getDataTableSpec(), settings);
+        joinerTest.setRowsAddedBeforeOOM(10);
+        BufferedDataTableRowOutput output =
+            new BufferedDataTableRowOutput(m_exec.createDataContainer(joinerTest.getOutputSpec()));
+        joinerTest.computeJoinTable(new DataTableRowInput(leftTable), rightTable, output, m_exec);
+        compareTables(reference, output.getDataTable());
+    }
+
+    /**
+     * Checks that only joins whose streamed output equals the one of the materialized join are streamable.
+     */
+    @Test
+    public final void testIsStreamable() {
+        Joiner2Settings settings = createReferenceSettings("Data");
+        assertThat("Inner join not streamable", Joiner.isStreamable(settings), is(true));
+        settings.setJoinMode(JoinMode.LeftOuterJoin);
+        assertThat("Left outer join not streamable", Joiner.isStreamable(settings), is(true));
+        settings.setJoinMode(JoinMode.RightOuterJoin);
+        assertThat("Right outer join streamable", Joiner.isStreamable(settings), is(false));
+        settings.setJoinMode(JoinMode.FullOuterJoin);
+        assertThat("Full outer join streamable", Joiner.isStreamable(settings), is(false));
+
+        settings.setJoinMode(JoinMode.InnerJoin);
+        settings.setEnableHiLite(true);
+        assertThat("Join with hiliting streamable", Joiner.isStreamable(settings), is(false));
+        settings.setEnableHiLite(false);
+        settings.setDuplicateHandling(DuplicateHandling.Filter);
+        assertThat("Join filtering duplicates streamable", Joiner.isStreamable(settings), is(false));
+    }
+
+    private void compareStreaming(final Joiner2Settings settings, final int leftSize, final int rightSize)
+        throws Exception {
+        compareStreaming(settings, new TestData(leftSize, 1), new TestData(rightSize, 1));
+    }
+
+    private void compareStreaming(final Joiner2Settings settings, final TestData left, final TestData right)
+        throws Exception {
+        BufferedDataTable leftTable = m_exec.createBufferedDataTable(left, m_exec);
+        BufferedDataTable rightTable = m_exec.createBufferedDataTable(right, m_exec);
+
+        Joiner joinerRef = new Joiner(leftTable.getDataTableSpec(), rightTable.getDataTableSpec(), settings);
+        BufferedDataTable reference = joinerRef.computeJoinTable(leftTable, rightTable, m_exec);
+
+        Joiner joinerTest = new Joiner(leftTable.getDataTableSpec(), rightTable.getDataTableSpec(), settings);
+        BufferedDataTableRowOutput output =
+            new BufferedDataTableRowOutput(m_exec.createDataContainer(joinerTest.getOutputSpec()));
+        joinerTest.computeJoinTable(new DataTableRowInput(leftTable), rightTable, output, m_exec);
+        compareTables(reference, output.getDataTable());
+    }
 
     private Joiner2Settings createReferenceSettings(final String col) {
         Joiner2Settings settingsRef = new Joiner2Settings();
@@ -436,9 +624,19 @@ private static class TestData implements DataTable {
 
         private final int m_randSeed;
 
+        private final IntUnaryOperator m_data;
+
         public TestData(final int size, final int randSeed) {
+            this(size, randSeed, IntUnaryOperator.identity());
+        }
+
+        /**
+         * @param data computes the value of the data column from the (one based) row number
+         */
+        public TestData(final int size, final int randSeed, final IntUnaryOperator data) {
             m_size = size;
             m_randSeed = randSeed;
+            m_data = data;
         }
 
         /**
@@ -455,7 +653,7 @@ public DataTableSpec getDataTableSpec() {
          */
         @Override
         public RowIterator iterator() {
-            return new TestDataIterator(m_size, m_randSeed);
+            return new TestDataIterator(m_size, m_randSeed, m_data);
         }
 
         private static class TestDataIterator extends RowIterator {
@@ -465,10 +663,13 @@ private static class TestDataIterator extends RowIterator {
 
             private final Random m_rand;
 
-            public TestDataIterator(final int size, final int randSeed) {
+            private final IntUnaryOperator m_data;
+
+            public TestDataIterator(final int size, final int randSeed, final IntUnaryOperator data) {
                 m_rand = new Random(randSeed);
                 m_size = size;
                 m_count = 0;
+                m_data = data;
             }
 
             /**
@@ -487,7 +688,7 @@ public DataRow next() {
                 m_count++;
 
                 return new DefaultRow(Integer.toString(m_count), new IntCell(m_rand.nextInt()), new StringCell(
-                    Integer.toString(m_count)));
+                    Integer.toString(m_data.applyAsInt(m_count))));
             }
         }
 
@@ -52,6 +52,10 @@
 import java.util.Comparator;
 import java.util.List;
 import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import junit.framework.TestCase;
 
@@ -283,6 +287,57 @@ public int compare(final Helper2<Integer> o1, final Helper2<Integer> o2) {
     }
 
 
+    /**
+     * Tests that queries running concurrently on the same tree return the
+     * same neighbours as sequential queries.
+     *
+     * @throws Exception if an error occurs
+     */
+    public void testConcurrentSearch() throws Exception {
+        final int dimensions = 5;
+        KDTreeBuilder<Integer> builder = new KDTreeBuilder<Integer>(dimensions);
+        for (int i = 0; i < 5000; i++) {
+            final double[] coords = new double[dimensions];
+            for (int k = 0; k < coords.length; k++) {
+                coords[k] = 120 * (Math.random() - 0.5);
+            }
+            builder.addPattern(coords, i);
+        }
+        final KDTree<Integer> tree = builder.buildTree();
+
+        List<double[]> queries = new ArrayList<double[]>();
+        List<List<NearestNeighbour<Integer>>> expected =
+                new ArrayList<List<NearestNeighbour<Integer>>>();
+        for (int i = 0; i < 1000; i++) {
+            final double[] query = new double[dimensions];
+            for (int k = 0; k < query.length; k++) {
+                query[k] = 100 * (Math.random() - 0.5);
+            }
+            queries.add(query);
+            expected.add(tree.getKNearestNeighbours(query, 7));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<NearestNeighbour<Integer>>>> futures =
+                    new ArrayList<Future<List<NearestNeighbour<Integer>>>>();
+            for (final double[] query : queries) {
+                futures.add(executor.submit(
+                        new Callable<List<NearestNeighbour<Integer>>>() {
+                    @Override
+                    public List<NearestNeighbour<Integer>> call() {
+                        return tree.getKNearestNeighbours(query, 7);
+                    }
+                }));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals(expected.get(i), futures.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     public void testFromFile2() throws IOException {
         BufferedReader in =
                 new BufferedReader(new InputStreamReader(getClass()
@@ -143,6 +143,23 @@ public TreeOrdinaryNumericColumnData createNumericAttributeColumnData(final doub
         return col;
     }
 
+    public TreeBinnedNumericColumnData createBinnedNumericAttributeColumnData(final double[] values,
+        final String name, final int attributeIndex) {
+        DataColumnSpec colSpec = new DataColumnSpecCreator(name, DoubleCell.TYPE).createSpec();
+        TreeBinnedNumericColumnDataCreator colCreator = new TreeBinnedNumericColumnDataCreator(colSpec);
+        for (int i = 0; i < values.length; i++) {
+            final RowKey key = RowKey.createRowKey((long)i);
+            if (Double.isNaN(values[i])) {
+                colCreator.add(key, new MissingCell(null));
+            } else {
+                colCreator.add(key, new DoubleCell(values[i]));
+            }
+        }
+        TreeBinnedNumericColumnData col = colCreator.createColumnData(0, m_config);
+        col.getMetaData().setAttributeIndex(attributeIndex);
+        return col;
+    }
+
     /**
      * Creates a TreeNominalColumnData for testing purposes.
      * If the column should contain missing values, insert a '?' for the rows that should be missing
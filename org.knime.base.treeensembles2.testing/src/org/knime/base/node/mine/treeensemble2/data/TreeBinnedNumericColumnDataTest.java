@@ -0,0 +1,229 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.mine.treeensemble2.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.apache.commons.math.random.RandomData;
+import org.junit.Test;
+import org.knime.base.node.mine.treeensemble2.data.memberships.DataMemberships;
+import org.knime.base.node.mine.treeensemble2.data.memberships.DefaultDataIndexManager;
+import org.knime.base.node.mine.treeensemble2.data.memberships.RootDataMemberships;
+import org.knime.base.node.mine.treeensemble2.learner.NumericSplitCandidate;
+import org.knime.base.node.mine.treeensemble2.model.AbstractTreeEnsembleModel.TreeType;
+import org.knime.base.node.mine.treeensemble2.model.TreeNodeNumericCondition;
+import org.knime.base.node.mine.treeensemble2.node.learner.TreeEnsembleLearnerConfiguration;
+import org.knime.base.node.mine.treeensemble2.node.learner.TreeEnsembleLearnerConfiguration.ColumnSamplingMode;
+import org.knime.base.node.mine.treeensemble2.node.learner.TreeEnsembleLearnerConfiguration.SplitCriterion;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.MissingCell;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.node.InvalidSettingsException;
+
+/**
+ * Tests the binning of numeric columns and the split calculation on histograms.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class TreeBinnedNumericColumnDataTest {
+
+    private static TreeEnsembleLearnerConfiguration createConfig(final boolean isRegression, final int nrBins)
+        throws InvalidSettingsException {
+        TreeEnsembleLearnerConfiguration config = new TreeEnsembleLearnerConfiguration(isRegression);
+        config.setColumnSamplingMode(ColumnSamplingMode.None);
+        config.setSplitCriterion(SplitCriterion.Gini);
+        config.setNrModels(1);
+        config.setDataSelectionWithReplacement(false);
+        config.setUseDifferentAttributesAtEachNode(false);
+        config.setDataFractionPerTree(1.0);
+        config.setNumericBinCount(nrBins);
+        return config;
+    }
+
+    private static TreeBinnedNumericColumnData createBinnedColumn(final TreeEnsembleLearnerConfiguration config,
+        final double[] data) {
+        TreeBinnedNumericColumnDataCreator creator =
+            new TreeBinnedNumericColumnDataCreator(new DataColumnSpecCreator("test-col", DoubleCell.TYPE).createSpec());
+        for (int i = 0; i < data.length; i++) {
+            final RowKey key = RowKey.createRowKey((long)i);
+            if (Double.isNaN(data[i])) {
+                creator.add(key, new MissingCell(null));
+            } else {
+                creator.add(key, new DoubleCell(data[i]));
+            }
+        }
+        TreeBinnedNumericColumnData col = creator.createColumnData(0, config);
+        col.getMetaData().setAttributeIndex(0);
+        return col;
+    }
+
+    private static DataMemberships createRootMemberships(final TreeAttributeColumnData column,
+        final TreeTargetColumnData target) {
+        TreeData data = new TreeData(new TreeAttributeColumnData[]{column}, target, TreeType.Ordinary);
+        double[] weights = new double[target.getNrRows()];
+        Arrays.fill(weights, 1.0);
+        return new RootDataMemberships(weights, data, new DefaultDataIndexManager(data));
+    }
+
+    /**
+     * Values are distributed into bins of (roughly) equal size and equal values end up in the same bin.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testQuantileBins() throws Exception {
+        final double[] data = new double[100];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = data.length - i;
+        }
+        data[0] = Double.NaN;
+        TreeBinnedNumericColumnData col = createBinnedColumn(createConfig(false, 4), data);
+        assertEquals(4, col.getNrBins());
+        assertEquals(99, col.getLengthNonMissing());
+        assertEquals(true, col.containsMissingValues());
+        // values 1..99 -> bins [1, 25], [26, 50], [51, 75], [76, 99]
+        assertEquals(25.0, col.getSorted(0), 0.0);
+        assertEquals(25.0, col.getSorted(24), 0.0);
+        assertEquals(50.0, col.getSorted(25), 0.0);
+        assertEquals(75.0, col.getSorted(74), 0.0);
+        assertEquals(99.0, col.getSorted(98), 0.0);
+        assertEquals(Double.NaN, col.getSorted(99), 0.0);
+        // the original indices are sorted like in the ordinary column
+        assertEquals(99, col.getOriginalIndicesInColumnList()[0]);
+        assertEquals(0, col.getOriginalIndicesInColumnList()[99]);
+
+        final double[] ties = new double[]{1, 1, 1, 1, 1, 1, 2, 3};
+        TreeBinnedNumericColumnData tiesCol = createBinnedColumn(createConfig(false, 2), ties);
+        assertEquals(2, tiesCol.getNrBins());
+        assertEquals(1.0, tiesCol.getSorted(5), 0.0);
+        assertEquals(3.0, tiesCol.getSorted(6), 0.0);
+    }
+
+    /**
+     * If there are fewer distinct values than bins, the splits are the same as for the ordinary numeric column (see
+     * {@link TreeNumericColumnDataTest#testCalcBestSplitClassification()}). The histogram of the second child is
+     * derived from the ones of the root and the first child.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testCalcBestSplitClassification() throws Exception {
+        TreeEnsembleLearnerConfiguration config = createConfig(false, 255);
+        final double[] data = TreeNumericColumnDataTest.asDataArray("60,70,75,85, 90, 95, 100,120,125,220");
+        final String[] target = TreeNumericColumnDataTest.asStringArray("No,No,No,Yes,Yes,Yes,No, No, No, No");
+        TreeBinnedNumericColumnData columnData = createBinnedColumn(config, data);
+        TreeTargetNominalColumnData targetData = TestDataGenerator.createNominalTargetColumn(target);
+        RandomData rd = config.createRandomData();
+        DataMemberships rootMemberships = createRootMemberships(columnData, targetData);
+        ClassificationPriors priors = targetData.getDistribution(rootMemberships, config);
+
+        BinnedHistogram rootHistogram = columnData.createHistogram(rootMemberships, targetData);
+        NumericSplitCandidate splitCandidate =
+            columnData.calcBestSplitClassification(rootHistogram, rootMemberships, priors, rd);
+        assertNotNull(splitCandidate);
+        assertEquals(0.12, splitCandidate.getGainValue(), 0.00001);
+        TreeNodeNumericCondition[] childConditions = splitCandidate.getChildConditions();
+        assertEquals(2, childConditions.length);
+        assertEquals((95.0 + 100.0) / 2.0, childConditions[0].getSplitValue(), 0.0);
+
+        BitSet inLeft = columnData.updateChildMemberships(childConditions[0], rootMemberships);
+        DataMemberships leftMemberships = rootMemberships.createChildMemberships(inLeft);
+        BinnedHistogram leftHistogram = columnData.createHistogram(leftMemberships, targetData);
+        NumericSplitCandidate leftSplit = columnData.calcBestSplitClassification(leftHistogram, leftMemberships,
+            targetData.getDistribution(leftMemberships, config), rd);
+        assertNotNull(leftSplit);
+        assertEquals(0.5, leftSplit.getGainValue(), 0.00001);
+        assertEquals((75.0 + 85.0) / 2.0, leftSplit.getChildConditions()[0].getSplitValue(), 0.0);
+
+        BitSet inRight = columnData.updateChildMemberships(childConditions[1], rootMemberships);
+        DataMemberships rightMemberships = rootMemberships.createChildMemberships(inRight);
+        BinnedHistogram rightHistogram = rootHistogram.subtract(leftHistogram);
+        BinnedHistogram expectedRightHistogram = columnData.createHistogram(rightMemberships, targetData);
+        for (int bin = 0; bin <= columnData.getNrBins(); bin++) {
+            assertEquals(expectedRightHistogram.getWeight(bin), rightHistogram.getWeight(bin), 1e-10);
+            for (int c = 0; c < 2; c++) {
+                assertEquals(expectedRightHistogram.getTargetSum(bin, c), rightHistogram.getTargetSum(bin, c), 1e-10);
+            }
+        }
+        assertNull(columnData.calcBestSplitClassification(rightHistogram, rightMemberships,
+            targetData.getDistribution(rightMemberships, config), rd));
+    }
+
+    /**
+     * Same as {@link TreeNumericColumnDataTest#testCalcBestSplitRegression()} on binned data.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testCalcBestSplitRegression() throws Exception {
+        TreeEnsembleLearnerConfiguration config = createConfig(true, 255);
+        TreeBinnedNumericColumnData attribute =
+            createBinnedColumn(config, TreeNumericColumnDataTest.asDataArray("1,2,3,4,5,6,7,8,9,10"));
+        TreeTargetNumericColumnData target =
+            TestDataGenerator.createNumericTargetColumn("1,5,4,4.3,6.5,6.5,4,3,3,4");
+        RandomData rd = config.createRandomData();
+        DataMemberships rootMem = createRootMemberships(attribute, target);
+        NumericSplitCandidate firstSplit = (NumericSplitCandidate)attribute.calcBestSplitRegression(rootMem,
+            target.getPriors(rootMem, config), target, rd);
+        assertEquals(10.885444, firstSplit.getGainValue(), 1e-5);
+        assertEquals(1.5, firstSplit.getChildConditions()[0].getSplitValue(), 0);
+
+        BitSet inChild = attribute.updateChildMemberships(firstSplit.getChildConditions()[1], rootMem);
+        DataMemberships childMem = rootMem.createChildMemberships(inChild);
+        NumericSplitCandidate secondSplit = (NumericSplitCandidate)attribute.calcBestSplitRegression(childMem,
+            target.getPriors(childMem, config), target, rd);
+        assertEquals(6.883555, secondSplit.getGainValue(), 1e-5);
+        assertEquals(6.5, secondSplit.getChildConditions()[0].getSplitValue(), 0);
+    }
+}
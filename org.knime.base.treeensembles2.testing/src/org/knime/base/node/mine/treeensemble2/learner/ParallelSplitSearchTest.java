@@ -0,0 +1,186 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.mine.treeensemble2.learner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.base.node.mine.treeensemble2.data.TestDataGenerator;
+import org.knime.base.node.mine.treeensemble2.data.TreeData;
+import org.knime.base.node.mine.treeensemble2.data.TreeTargetNumericColumnData;
+import org.knime.base.node.mine.treeensemble2.data.memberships.DefaultDataIndexManager;
+import org.knime.base.node.mine.treeensemble2.model.TreeNodeRegression;
+import org.knime.base.node.mine.treeensemble2.node.learner.TreeEnsembleLearnerConfiguration;
+import org.knime.base.node.mine.treeensemble2.node.learner.TreeEnsembleLearnerConfiguration.ColumnSamplingMode;
+import org.knime.base.node.mine.treeensemble2.sample.row.DefaultRowSample;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.InvalidSettingsException;
+
+/**
+ * Tests that searching the split columns concurrently learns the same trees as searching them one after another.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class ParallelSplitSearchTest {
+
+    private static final int NR_ROWS = 3000;
+
+    private static TreeEnsembleLearnerConfiguration createConfig() throws InvalidSettingsException {
+        TreeEnsembleLearnerConfiguration config = new TreeEnsembleLearnerConfiguration(true);
+        config.setColumnSamplingMode(ColumnSamplingMode.None);
+        config.setNrModels(1);
+        config.setDataSelectionWithReplacement(false);
+        config.setUseDifferentAttributesAtEachNode(false);
+        config.setDataFractionPerTree(1.0);
+        config.setMaxLevels(8);
+        config.setNumericBinCount(32);
+        return config;
+    }
+
+    /** Ordinary and binned numeric columns as well as a nominal column with a target that depends on all of them. */
+    private static TreeData createData(final TreeEnsembleLearnerConfiguration config) {
+        final Random random = new Random(42);
+        final double[][] values = new double[3][NR_ROWS];
+        final String[] nominal = new String[NR_ROWS];
+        final String[] nominalValues = {"a", "b", "c", "d"};
+        final StringBuilder target = new StringBuilder();
+        for (int i = 0; i < NR_ROWS; i++) {
+            for (double[] col : values) {
+                col[i] = random.nextGaussian();
+            }
+            final int nominalIndex = random.nextInt(nominalValues.length);
+            nominal[i] = nominalValues[nominalIndex];
+            final double y = 2 * values[0][i] + Math.sin(3 * values[1][i]) + (values[2][i] > 0.5 ? 1 : 0)
+                + 0.7 * nominalIndex + 0.1 * random.nextGaussian();
+            target.append(i == 0 ? "" : ", ").append(y);
+        }
+        final TestDataGenerator dataGen = new TestDataGenerator(config);
+        final TreeTargetNumericColumnData targetCol = TestDataGenerator.createNumericTargetColumn(target.toString());
+        return dataGen.createTreeData(targetCol, dataGen.createNumericAttributeColumnData(values[0], "num0", 0),
+            dataGen.createNumericAttributeColumnData(values[1], "num1", 1),
+            dataGen.createBinnedNumericAttributeColumnData(values[2], "binned", 2),
+            dataGen.createNominalAttributeColumn(nominal, "nominal", 3));
+    }
+
+    private static TreeNodeRegression learnTree(final TreeEnsembleLearnerConfiguration config, final TreeData data,
+        final int minRowsForParallelSplitSearch) throws Exception {
+        final TreeLearnerRegression learner = new TreeLearnerRegression(config, data, new DefaultDataIndexManager(data),
+            new TreeNodeSignatureFactory(), TreeEnsembleLearnerConfiguration.createRandomData(7),
+            new DefaultRowSample(data.getNrRows()));
+        learner.setMinRowsForParallelSplitSearch(minRowsForParallelSplitSearch);
+        return learner.learnSingleTree(new ExecutionMonitor(), learner.getRandomData()).getRootNode();
+    }
+
+    /**
+     * Learns a regression tree once with all nodes searched one column after the other and once with the columns of
+     * all nodes searched concurrently, the trees must be identical as the data contains no ties.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSameTreeAsSerialSearch() throws Exception {
+        final TreeEnsembleLearnerConfiguration config = createConfig();
+        final TreeData data = createData(config);
+        final TreeNodeRegression serial = learnTree(config, data, Integer.MAX_VALUE);
+        final TreeNodeRegression parallel = learnTree(config, data, 0);
+        assertTrue("The tree must contain splits", serial.getNrChildren() > 0);
+        assertSameTree(serial, parallel);
+    }
+
+    /**
+     * The concurrent search must be reproducible for a fixed seed.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testParallelSearchIsReproducible() throws Exception {
+        final TreeEnsembleLearnerConfiguration config = createConfig();
+        final TreeData data = createData(config);
+        assertSameTree(learnTree(config, data, 0), learnTree(config, data, 0));
+        assertSameTree(learnTree(config, data, AbstractTreeLearner.MIN_ROWS_FOR_PARALLEL_SPLIT_SEARCH),
+            learnTree(config, data, AbstractTreeLearner.MIN_ROWS_FOR_PARALLEL_SPLIT_SEARCH));
+    }
+
+    /**
+     * Unless {@link AbstractTreeLearner#PROPERTY_PARALLEL_SPLIT_SEARCH} is set, the columns are searched one after
+     * another so that seeded models don't change.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSerialSearchByDefault() throws Exception {
+        final TreeEnsembleLearnerConfiguration config = createConfig();
+        final TreeData data = createData(config);
+        final TreeLearnerRegression learner = new TreeLearnerRegression(config, data, new DefaultDataIndexManager(data),
+            new TreeNodeSignatureFactory(), TreeEnsembleLearnerConfiguration.createRandomData(7),
+            new DefaultRowSample(data.getNrRows()));
+        final TreeNodeRegression byDefault =
+            learner.learnSingleTree(new ExecutionMonitor(), learner.getRandomData()).getRootNode();
+        assumeFalse(Boolean.getBoolean(AbstractTreeLearner.PROPERTY_PARALLEL_SPLIT_SEARCH));
+        assertSameTree(learnTree(config, data, Integer.MAX_VALUE), byDefault);
+    }
+
+    private static void assertSameTree(final TreeNodeRegression expected, final TreeNodeRegression actual) {
+        final String path = expected.getSignature().toString();
+        assertEquals("Condition of " + path, String.valueOf(expected.getCondition()),
+            String.valueOf(actual.getCondition()));
+        assertEquals("Mean of " + path, expected.getMean(), actual.getMean(), 0.0);
+        assertEquals("Weight of " + path, expected.getTotalSum(), actual.getTotalSum(), 0.0);
+        assertEquals("Children of " + path, expected.getNrChildren(), actual.getNrChildren());
+        if (expected.getNrChildren() > 0) {
+            assertEquals("Split column of " + path, expected.getSplitAttributeIndex(), actual.getSplitAttributeIndex());
+        }
+        for (int i = 0; i < expected.getNrChildren(); i++) {
+            assertSameTree(expected.getChild(i), actual.getChild(i));
+        }
+    }
+}
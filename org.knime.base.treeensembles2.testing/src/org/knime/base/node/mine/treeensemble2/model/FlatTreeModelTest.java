@@ -0,0 +1,121 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.mine.treeensemble2.model;
+
+import static org.junit.Assert.assertSame;
+
+import java.math.BigInteger;
+import java.util.Map;
+
+import org.junit.Test;
+import org.knime.base.node.mine.treeensemble2.data.PredictorRecord;
+import org.knime.base.node.mine.treeensemble2.data.TestDataGenerator;
+import org.knime.base.node.mine.treeensemble2.data.TreeNominalColumnData;
+import org.knime.base.node.mine.treeensemble2.data.TreeNumericColumnData;
+import org.knime.base.node.mine.treeensemble2.data.TreeTargetColumnMetaData;
+import org.knime.base.node.mine.treeensemble2.model.TreeNodeNumericCondition.NumericOperator;
+import org.knime.base.node.mine.treeensemble2.node.learner.TreeEnsembleLearnerConfiguration;
+
+import com.google.common.collect.Maps;
+
+/**
+ * This class contains unit tests for the class {@link FlatTreeModel}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class FlatTreeModelTest {
+
+    /**
+     * Tests that {@link FlatTreeModel#findMatchingNode(double[])} finds the same nodes as
+     * {@link AbstractTreeModel#findMatchingNode(PredictorRecord)}, including missing values.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testFindMatchingNode() throws Exception {
+        final TreeEnsembleLearnerConfiguration config = new TreeEnsembleLearnerConfiguration(false);
+        final TestDataGenerator dataGen = new TestDataGenerator(config);
+        final TreeNumericColumnData numCol = dataGen.createNumericAttributeColumn("1,2,3,4,4,5,6,7", "numCol", 0);
+        final TreeNominalColumnData nomCol = dataGen.createNominalAttributeColumn("A,A,B,C,C,D", "nomCol", 1);
+        final TreeTargetColumnMetaData targetMeta = TestDataGenerator.createNumericTargetColumn("1,2,3").getMetaData();
+
+        final TreeNodeSignature root = TreeNodeSignature.ROOT_SIGNATURE;
+        final TreeNodeSignature left = root.createChildSignature((byte)0);
+        final TreeNodeRegression leftLeft =
+            new TreeNodeRegression(targetMeta, left.createChildSignature((byte)0), 1, 1, 0);
+        leftLeft.setTreeNodeCondition(new TreeNodeNominalCondition(nomCol.getMetaData(), 1, false));
+        final TreeNodeRegression leftRight =
+            new TreeNodeRegression(targetMeta, left.createChildSignature((byte)1), 2, 1, 0);
+        leftRight.setTreeNodeCondition(
+            new TreeNodeNominalBinaryCondition(nomCol.getMetaData(), BigInteger.valueOf(2), false, true));
+        final TreeNodeRegression leftNode =
+            new TreeNodeRegression(targetMeta, left, 1.5, 2, 0, new TreeNodeRegression[]{leftLeft, leftRight});
+        leftNode.setTreeNodeCondition(
+            new TreeNodeNumericCondition(numCol.getMetaData(), 3, NumericOperator.LessThanOrEqual, true));
+        final TreeNodeRegression rightNode =
+            new TreeNodeRegression(targetMeta, root.createChildSignature((byte)1), 3, 1, 0);
+        rightNode.setTreeNodeCondition(
+            new TreeNodeNumericCondition(numCol.getMetaData(), 3, NumericOperator.LargerThan, false));
+        final TreeModelRegression tree = new TreeModelRegression(
+            new TreeNodeRegression(targetMeta, root, 2, 3, 0, new TreeNodeRegression[]{leftNode, rightNode}));
+
+        final FlatTreeModel<TreeNodeRegression> flatTree = FlatTreeModel.compile(tree);
+        final String numName = numCol.getMetaData().getAttributeName();
+        final String nomName = nomCol.getMetaData().getAttributeName();
+        final Map<String, Object> map = Maps.newHashMap();
+        final PredictorRecord record = new PredictorRecord(map);
+        for (double numVal : new double[]{1, 3, 3.5, 4, Double.NaN}) {
+            for (double nomVal : new double[]{0, 1, 2, 3, Double.NaN}) {
+                map.put(numName, Double.isNaN(numVal) ? PredictorRecord.NULL : Double.valueOf(numVal));
+                map.put(nomName, Double.isNaN(nomVal) ? PredictorRecord.NULL : Integer.valueOf((int)nomVal));
+                assertSame("Wrong node for " + numVal + ", " + nomVal, tree.findMatchingNode(record),
+                    flatTree.findMatchingNode(new double[]{numVal, nomVal}));
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.mine.treeensemble2.data;
+
+/**
+ * Sums of the row weights and of the target per bin of a {@link TreeBinnedNumericColumnData} for the rows in a tree
+ * node. For a numeric target the weighted sum of the target values is stored per bin, for a nominal target the
+ * weighted count of each class. The last bin holds the rows with a missing value.
+ * <p>
+ * The histogram of a node is the sum of the histograms of its children, hence the histogram of one child can be
+ * derived from the ones of its parent and its sibling via {@link #subtract(BinnedHistogram)}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public final class BinnedHistogram {
+
+    private final double[] m_weights;
+
+    private final double[] m_targetSums;
+
+    private final int m_nrTargets;
+
+    /**
+     * @param nrBins the number of bins (without the bin for missing values)
+     * @param nrTargets 1 for a numeric target or the number of classes of a nominal target
+     */
+    BinnedHistogram(final int nrBins, final int nrTargets) {
+        m_weights = new double[nrBins + 1];
+        m_targetSums = new double[(nrBins + 1) * nrTargets];
+        m_nrTargets = nrTargets;
+    }
+
+    /**
+     * @param bin the bin of the row
+     * @param target the class of the row or 0 for a numeric target
+     * @param weight the weight of the row
+     * @param targetValue the weighted target value, the weight for a nominal target
+     */
+    void add(final int bin, final int target, final double weight, final double targetValue) {
+        m_weights[bin] += weight;
+        m_targetSums[bin * m_nrTargets + target] += targetValue;
+    }
+
+    /**
+     * @return the number of bins (without the bin for missing values), which is also the index of the bin for missing
+     *         values
+     */
+    int getNrBins() {
+        return m_weights.length - 1;
+    }
+
+    /**
+     * @param bin a bin
+     * @return the sum of the weights of the rows in <b>bin</b>
+     */
+    double getWeight(final int bin) {
+        return m_weights[bin];
+    }
+
+    /**
+     * @param bin a bin
+     * @param target the class or 0 for a numeric target
+     * @return the weighted sum of the target values or the weighted count of <b>target</b> for the rows in <b>bin</b>
+     */
+    double getTargetSum(final int bin, final int target) {
+        return m_targetSums[bin * m_nrTargets + target];
+    }
+
+    /**
+     * Calculates the histogram of the rows that are counted in this histogram but not in <b>other</b>, e.g. of the
+     * sibling of a child node. Bins that become empty are reset to zero to get rid of rounding errors.
+     *
+     * @param other the histogram of a subset of the rows of this histogram
+     * @return the histogram of the remaining rows
+     */
+    public BinnedHistogram subtract(final BinnedHistogram other) {
+        if (other.m_weights.length != m_weights.length || other.m_nrTargets != m_nrTargets) {
+            throw new IllegalArgumentException("The histograms belong to different columns or targets");
+        }
+        final BinnedHistogram result = new BinnedHistogram(getNrBins(), m_nrTargets);
+        for (int bin = 0; bin < m_weights.length; bin++) {
+            final double weight = m_weights[bin] - other.m_weights[bin];
+            if (weight < TreeColumnData.EPSILON) {
+                continue;
+            }
+            result.m_weights[bin] = weight;
+            for (int i = bin * m_nrTargets, end = i + m_nrTargets; i < end; i++) {
+                result.m_targetSums[i] = m_targetSums[i] - other.m_targetSums[i];
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,462 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.mine.treeensemble2.data;
+
+import java.util.BitSet;
+
+import org.apache.commons.math.random.RandomData;
+import org.knime.base.node.mine.treeensemble2.data.memberships.ColumnMemberships;
+import org.knime.base.node.mine.treeensemble2.data.memberships.DataMemberships;
+import org.knime.base.node.mine.treeensemble2.learner.IImpurity;
+import org.knime.base.node.mine.treeensemble2.learner.NumericSplitCandidate;
+import org.knime.base.node.mine.treeensemble2.learner.SplitCandidate;
+import org.knime.base.node.mine.treeensemble2.node.learner.TreeEnsembleLearnerConfiguration;
+import org.knime.base.node.mine.treeensemble2.node.learner.TreeEnsembleLearnerConfiguration.MissingValueHandling;
+
+/**
+ * Numeric column whose values are discretized into (at most 255) quantile bins. Only the bin of each value is stored,
+ * and split points are only searched between bins: The rows of a node are summed up in a {@link BinnedHistogram},
+ * which is then scanned for the best split. The histogram can also be derived from the ones of the parent and sibling
+ * node (see {@link BinnedHistogram#subtract(BinnedHistogram)}).
+ * <p>
+ * If the column has no more distinct values than bins, each value gets its own bin and the splits are the same as
+ * for a {@link TreeOrdinaryNumericColumnData}. The value of a row as seen by the conditions of a tree node is the
+ * largest value in its bin.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public final class TreeBinnedNumericColumnData extends TreeNumericColumnData {
+
+    private final byte[] m_sortedBins;
+
+    private final float[] m_binMinimums;
+
+    private final float[] m_binMaximums;
+
+    private final boolean m_containsMissingValues;
+
+    /**
+     * @param metaData the meta data of the column
+     * @param configuration the learner configuration
+     * @param sortedBins the bins (as unsigned bytes) of the non missing values in sorted order
+     * @param binMinimums the smallest value in each bin
+     * @param binMaximums the largest value in each bin
+     * @param originalIndexInColumnList the original row index for each index in the column, missing values last
+     * @param containsMissingValues whether the column contains missing values
+     */
+    TreeBinnedNumericColumnData(final TreeNumericColumnMetaData metaData,
+        final TreeEnsembleLearnerConfiguration configuration, final byte[] sortedBins, final float[] binMinimums,
+        final float[] binMaximums, final int[] originalIndexInColumnList, final boolean containsMissingValues) {
+        super(metaData, configuration, originalIndexInColumnList);
+        m_sortedBins = sortedBins;
+        m_binMinimums = binMinimums;
+        m_binMaximums = binMaximums;
+        m_containsMissingValues = containsMissingValues;
+    }
+
+    /**
+     * @return the number of bins, not counting missing values
+     */
+    public int getNrBins() {
+        return m_binMaximums.length;
+    }
+
+    private int getBin(final int index) {
+        return m_sortedBins[index] & 0xFF;
+    }
+
+    /**
+     * Returns the largest value in the bin of the value at <b>index</b>, or NaN for a missing value.
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    public double getSorted(final int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("A negative index is not allowed.");
+        } else if (index >= getOriginalIndicesInColumnList().length) {
+            throw new IndexOutOfBoundsException("The index is too large.");
+        }
+        return index < m_sortedBins.length ? m_binMaximums[getBin(index)] : Double.NaN;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int getFirstIndexWithValue(final double value) {
+        int low = 0;
+        int high = m_sortedBins.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (m_binMaximums[getBin(mid)] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getLengthNonMissing() {
+        return m_sortedBins.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsMissingValues() {
+        return m_containsMissingValues;
+    }
+
+    /**
+     * Sums up the weights and targets of the rows in <b>dataMemberships</b> per bin.
+     *
+     * @param dataMemberships the rows of a tree node
+     * @param targetColumn a numeric or nominal target
+     * @return the histogram of the rows
+     */
+    public BinnedHistogram createHistogram(final DataMemberships dataMemberships,
+        final TreeTargetColumnData targetColumn) {
+        final ColumnMemberships columnMemberships =
+            dataMemberships.getColumnMemberships(getMetaData().getAttributeIndex());
+        final int nrBins = getNrBins();
+        final int lengthNonMissing = m_sortedBins.length;
+        final BinnedHistogram histogram;
+        columnMemberships.reset();
+        if (targetColumn instanceof TreeTargetNumericColumnData) {
+            final TreeTargetNumericColumnData numericTarget = (TreeTargetNumericColumnData)targetColumn;
+            histogram = new BinnedHistogram(nrBins, 1);
+            while (columnMemberships.next()) {
+                final int indexInColumn = columnMemberships.getIndexInColumn();
+                final int bin = indexInColumn < lengthNonMissing ? getBin(indexInColumn) : nrBins;
+                final double weight = columnMemberships.getRowWeight();
+                final double y = numericTarget.getValueFor(columnMemberships.getOriginalIndex());
+                histogram.add(bin, 0, weight, weight * y);
+            }
+        } else {
+            final TreeTargetNominalColumnData nominalTarget = (TreeTargetNominalColumnData)targetColumn;
+            histogram = new BinnedHistogram(nrBins, nominalTarget.getMetaData().getValues().length);
+            while (columnMemberships.next()) {
+                final int indexInColumn = columnMemberships.getIndexInColumn();
+                final int bin = indexInColumn < lengthNonMissing ? getBin(indexInColumn) : nrBins;
+                final double weight = columnMemberships.getRowWeight();
+                histogram.add(bin, nominalTarget.getValueFor(columnMemberships.getOriginalIndex()), weight, weight);
+            }
+        }
+        columnMemberships.reset();
+        return histogram;
+    }
+
+    @Override
+    public NumericSplitCandidate calcBestSplitClassification(final DataMemberships dataMemberships,
+        final ClassificationPriors targetPriors, final TreeTargetNominalColumnData targetColumn, final RandomData rd) {
+        return calcBestSplitClassification(createHistogram(dataMemberships, targetColumn), dataMemberships,
+            targetPriors, rd);
+    }
+
+    @Override
+    public SplitCandidate calcBestSplitRegression(final DataMemberships dataMemberships,
+        final RegressionPriors targetPriors, final TreeTargetNumericColumnData targetColumn, final RandomData rd) {
+        return calcBestSplitRegression(createHistogram(dataMemberships, targetColumn), dataMemberships, targetPriors,
+            rd);
+    }
+
+    /**
+     * Calculates the best split candidate for classification from the histogram of a node.
+     *
+     * @param histogram the histogram of the rows in <b>dataMemberships</b>
+     * @param dataMemberships the rows of the node
+     * @param targetPriors the class distribution of the node
+     * @param rd used for random tie breaking
+     * @return the best split candidate or null if there is no split that decreases the impurity
+     */
+    public NumericSplitCandidate calcBestSplitClassification(final BinnedHistogram histogram,
+        final DataMemberships dataMemberships, final ClassificationPriors targetPriors, final RandomData rd) {
+        final TreeEnsembleLearnerConfiguration config = getConfiguration();
+        final boolean useAverageSplitPoints = config.isUseAverageSplitPoints();
+        final int minChildNodeSize = config.getMinChildSize();
+        final boolean useXGBoostMissingValueHandling = config.getMissingValueHandling() == MissingValueHandling.XGBoost;
+        final int nrBins = getNrBins();
+
+        final double[] targetCountsLeftOfSplit = new double[targetPriors.getDistribution().length];
+        final double[] targetCountsRightOfSplit = targetPriors.getDistribution().clone();
+        final int targetCounts = targetCountsRightOfSplit.length;
+        final double totalSumWeight = targetPriors.getNrRecords();
+        final IImpurity impurityCriterion = targetPriors.getImpurityCriterion();
+
+        final double missingWeight = histogram.getWeight(nrBins);
+        final double[] missingTargetCounts = new double[targetCounts];
+        for (int i = 0; i < targetCounts; i++) {
+            missingTargetCounts[i] = histogram.getTargetSum(nrBins, i);
+            targetCountsRightOfSplit[i] -= missingTargetCounts[i];
+        }
+        final boolean branchContainsMissingValues = missingWeight > 0.0;
+
+        double sumWeightsLeftOfSplit = 0.0;
+        double sumWeightsRightOfSplit = totalSumWeight - missingWeight;
+        // all values in branch are missing
+        if (sumWeightsRightOfSplit < EPSILON) {
+            return null;
+        }
+        final double priorImpurity = useXGBoostMissingValueHandling || !branchContainsMissingValues
+            ? targetPriors.getPriorImpurity()
+            : impurityCriterion.getPartitionImpurity(
+                TreeNominalColumnData.subtractMissingClassCounts(targetPriors.getDistribution(), missingTargetCounts),
+                sumWeightsRightOfSplit);
+
+        double bestSplit = Double.NEGATIVE_INFINITY;
+        double bestGain = Double.NEGATIVE_INFINITY;
+        double bestGainValueForSplit = Double.NEGATIVE_INFINITY;
+        boolean missingsGoLeft = true;
+        final double[] tempArray1 = new double[2];
+        double[] tempArray2 = new double[2];
+
+        int lastBin = -1;
+        for (int bin = 0; bin < nrBins; bin++) {
+            final double binWeight = histogram.getWeight(bin);
+            if (binWeight < EPSILON) {
+                continue;
+            }
+            // test the split between the last non empty bin and this one
+            if (lastBin >= 0 && sumWeightsLeftOfSplit >= minChildNodeSize
+                && sumWeightsRightOfSplit >= minChildNodeSize) {
+                double postSplitImpurity;
+                boolean tempMissingsGoLeft = false;
+                if (branchContainsMissingValues && useXGBoostMissingValueHandling) {
+                    final double[] targetCountsLeftPlusMissing = new double[targetCounts];
+                    final double[] targetCountsRightPlusMissing = new double[targetCounts];
+                    for (int i = 0; i < targetCounts; i++) {
+                        targetCountsLeftPlusMissing[i] = targetCountsLeftOfSplit[i] + missingTargetCounts[i];
+                        targetCountsRightPlusMissing[i] = targetCountsRightOfSplit[i] + missingTargetCounts[i];
+                    }
+                    final double[][] temp = new double[2][2];
+                    final double[] postSplitImpurities = new double[2];
+                    // send all missing values left
+                    tempArray1[0] = impurityCriterion.getPartitionImpurity(targetCountsLeftPlusMissing,
+                        sumWeightsLeftOfSplit + missingWeight);
+                    tempArray1[1] =
+                        impurityCriterion.getPartitionImpurity(targetCountsRightOfSplit, sumWeightsRightOfSplit);
+                    temp[0][0] = sumWeightsLeftOfSplit + missingWeight;
+                    temp[0][1] = sumWeightsRightOfSplit;
+                    postSplitImpurities[0] =
+                        impurityCriterion.getPostSplitImpurity(tempArray1, temp[0], totalSumWeight);
+                    // send all missing values right
+                    tempArray1[0] =
+                        impurityCriterion.getPartitionImpurity(targetCountsLeftOfSplit, sumWeightsLeftOfSplit);
+                    tempArray1[1] = impurityCriterion.getPartitionImpurity(targetCountsRightPlusMissing,
+                        sumWeightsRightOfSplit + missingWeight);
+                    temp[1][0] = sumWeightsLeftOfSplit;
+                    temp[1][1] = sumWeightsRightOfSplit + missingWeight;
+                    postSplitImpurities[1] =
+                        impurityCriterion.getPostSplitImpurity(tempArray1, temp[1], totalSumWeight);
+
+                    // take better split
+                    if (postSplitImpurities[0] < postSplitImpurities[1]) {
+                        postSplitImpurity = postSplitImpurities[0];
+                        tempArray2 = temp[0];
+                        tempMissingsGoLeft = true;
+                    } else {
+                        postSplitImpurity = postSplitImpurities[1];
+                        tempArray2 = temp[1];
+                        tempMissingsGoLeft = false;
+                    }
+                } else {
+                    tempArray1[0] =
+                        impurityCriterion.getPartitionImpurity(targetCountsLeftOfSplit, sumWeightsLeftOfSplit);
+                    tempArray1[1] =
+                        impurityCriterion.getPartitionImpurity(targetCountsRightOfSplit, sumWeightsRightOfSplit);
+                    tempArray2[0] = sumWeightsLeftOfSplit;
+                    tempArray2[1] = sumWeightsRightOfSplit;
+                    postSplitImpurity = impurityCriterion.getPostSplitImpurity(tempArray1, tempArray2, totalSumWeight);
+                }
+
+                if (postSplitImpurity < priorImpurity) {
+                    // absolute gain is used to find the split, see TreeNumericColumnData
+                    double gain = (priorImpurity - postSplitImpurity);
+                    boolean randomTieBreaker = gain == bestGain ? rd.nextInt(0, 1) == 1 : false;
+                    if (gain > bestGain || randomTieBreaker) {
+                        bestGainValueForSplit =
+                            impurityCriterion.getGain(priorImpurity, postSplitImpurity, tempArray2, totalSumWeight);
+                        bestGain = gain;
+                        bestSplit = getSplitValue(lastBin, bin, useAverageSplitPoints);
+                        missingsGoLeft = branchContainsMissingValues ? tempMissingsGoLeft
+                            : sumWeightsLeftOfSplit > sumWeightsRightOfSplit;
+                    }
+                }
+            }
+            for (int i = 0; i < targetCounts; i++) {
+                final double count = histogram.getTargetSum(bin, i);
+                targetCountsLeftOfSplit[i] += count;
+                targetCountsRightOfSplit[i] -= count;
+            }
+            sumWeightsLeftOfSplit += binWeight;
+            sumWeightsRightOfSplit -= binWeight;
+            lastBin = bin;
+        }
+
+        if (bestGainValueForSplit < 0.0) {
+            return null;
+        }
+        if (useXGBoostMissingValueHandling) {
+            return new NumericSplitCandidate(this, bestSplit, bestGainValueForSplit, new BitSet(),
+                missingsGoLeft ? NumericSplitCandidate.MISSINGS_GO_LEFT : NumericSplitCandidate.MISSINGS_GO_RIGHT);
+        }
+        return new NumericSplitCandidate(this, bestSplit, bestGainValueForSplit,
+            getMissedRows(dataMemberships.getColumnMemberships(getMetaData().getAttributeIndex())),
+            NumericSplitCandidate.NO_MISSINGS);
+    }
+
+    /**
+     * Calculates the best split candidate for regression from the histogram of a node.
+     *
+     * @param histogram the histogram of the rows in <b>dataMemberships</b>
+     * @param dataMemberships the rows of the node
+     * @param targetPriors the target statistics of the node
+     * @param rd used for random tie breaking
+     * @return the best split candidate or null if there is no split that reduces the squared error
+     */
+    public NumericSplitCandidate calcBestSplitRegression(final BinnedHistogram histogram,
+        final DataMemberships dataMemberships, final RegressionPriors targetPriors, final RandomData rd) {
+        final TreeEnsembleLearnerConfiguration config = getConfiguration();
+        final boolean useAverageSplitPoints = config.isUseAverageSplitPoints();
+        final int minChildNodeSize = config.getMinChildSize();
+        final boolean useXGBoostMissingValueHandling = config.getMissingValueHandling() == MissingValueHandling.XGBoost;
+        final int nrBins = getNrBins();
+
+        final double missingWeight = histogram.getWeight(nrBins);
+        final double missingY = histogram.getTargetSum(nrBins, 0);
+        final boolean branchContainsMissingValues = missingWeight > 0.0;
+
+        final double ySumTotal = targetPriors.getYSum() - missingY;
+        final double nrRecordsTotal = targetPriors.getNrRecords() - missingWeight;
+        // all values in the current branch are missing
+        if (nrRecordsTotal < EPSILON) {
+            return null;
+        }
+        final double criterionTotal = useXGBoostMissingValueHandling
+            ? (ySumTotal + missingY) * (ySumTotal + missingY) / (nrRecordsTotal + missingWeight)
+            : ySumTotal * ySumTotal / nrRecordsTotal;
+
+        double ySumLeft = 0.0;
+        double nrRecordsLeft = 0.0;
+        double ySumRight = ySumTotal;
+        double nrRecordsRight = nrRecordsTotal;
+
+        double bestSplit = Double.NEGATIVE_INFINITY;
+        double bestImprovement = 0.0;
+        boolean missingsGoLeft = true;
+
+        int lastBin = -1;
+        for (int bin = 0; bin < nrBins; bin++) {
+            final double binWeight = histogram.getWeight(bin);
+            if (binWeight < EPSILON) {
+                continue;
+            }
+            // test the split between the last non empty bin and this one
+            if (lastBin >= 0 && nrRecordsLeft >= minChildNodeSize && nrRecordsRight >= minChildNodeSize) {
+                boolean tempMissingsGoLeft = true;
+                double childrenSquaredSum;
+                if (branchContainsMissingValues && useXGBoostMissingValueHandling) {
+                    final double missingLeft = ((ySumLeft + missingY) * (ySumLeft + missingY)
+                        / (nrRecordsLeft + missingWeight)) + (ySumRight * ySumRight / nrRecordsRight);
+                    final double missingRight = (ySumLeft * ySumLeft / nrRecordsLeft)
+                        + ((ySumRight + missingY) * (ySumRight + missingY) / (nrRecordsRight + missingWeight));
+                    if (missingLeft >= missingRight) {
+                        childrenSquaredSum = missingLeft;
+                        tempMissingsGoLeft = true;
+                    } else {
+                        childrenSquaredSum = missingRight;
+                        tempMissingsGoLeft = false;
+                    }
+                } else {
+                    childrenSquaredSum =
+                        (ySumLeft * ySumLeft / nrRecordsLeft) + (ySumRight * ySumRight / nrRecordsRight);
+                }
+                double criterion = childrenSquaredSum - criterionTotal;
+                boolean randomTieBreaker = criterion == bestImprovement ? rd.nextInt(0, 1) == 1 : false;
+                if (criterion > bestImprovement || randomTieBreaker) {
+                    bestImprovement = criterion;
+                    bestSplit = getSplitValue(lastBin, bin, useAverageSplitPoints);
+                    // if there are no missing values go with majority
+                    missingsGoLeft =
+                        branchContainsMissingValues ? tempMissingsGoLeft : nrRecordsLeft >= nrRecordsRight;
+                }
+            }
+            final double ySum = histogram.getTargetSum(bin, 0);
+            ySumLeft += ySum;
+            ySumRight -= ySum;
+            nrRecordsLeft += binWeight;
+            nrRecordsRight -= binWeight;
+            lastBin = bin;
+        }
+
+        if (bestImprovement <= 0.0) {
+            return null;
+        }
+        if (useXGBoostMissingValueHandling) {
+            return new NumericSplitCandidate(this, bestSplit, bestImprovement, new BitSet(),
+                missingsGoLeft ? NumericSplitCandidate.MISSINGS_GO_LEFT : NumericSplitCandidate.MISSINGS_GO_RIGHT);
+        }
+        return new NumericSplitCandidate(this, bestSplit, bestImprovement,
+            getMissedRows(dataMemberships.getColumnMemberships(getMetaData().getAttributeIndex())),
+            NumericSplitCandidate.NO_MISSINGS);
+    }
+
+    /** Returns the split point between two non empty bins. */
+    private double getSplitValue(final int leftBin, final int rightBin, final boolean useAverageSplitPoints) {
+        return useAverageSplitPoints ? getCenter(m_binMaximums[leftBin], m_binMinimums[rightBin])
+            : m_binMaximums[leftBin];
+    }
+
+}
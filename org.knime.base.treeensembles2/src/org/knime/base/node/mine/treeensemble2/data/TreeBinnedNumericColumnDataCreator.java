@@ -0,0 +1,177 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.mine.treeensemble2.data;
+
+import java.util.Arrays;
+
+import org.knime.base.node.mine.treeensemble2.node.learner.TreeEnsembleLearnerConfiguration;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.RowKey;
+
+/**
+ * Creates a {@link TreeBinnedNumericColumnData} with at most {@link TreeEnsembleLearnerConfiguration#getNumericBinCount()}
+ * quantile bins. If the column has no more distinct values than bins, each value gets its own bin, otherwise the bin
+ * boundaries are chosen such that the bins contain roughly the same number of rows. Equal values always end up in the
+ * same bin.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class TreeBinnedNumericColumnDataCreator implements TreeAttributeColumnDataCreator {
+
+    private final DataColumnSpec m_column;
+
+    private float[] m_values = new float[1024];
+
+    private int m_size = 0;
+
+    private int m_numMissing = 0;
+
+    TreeBinnedNumericColumnDataCreator(final DataColumnSpec column) {
+        m_column = column;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean acceptsMissing() {
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void add(final RowKey rowKey, final DataCell cell) {
+        if (m_size == m_values.length) {
+            m_values = Arrays.copyOf(m_values, m_values.length * 2);
+        }
+        if (cell.isMissing()) {
+            m_values[m_size++] = Float.NaN;
+            m_numMissing++;
+        } else {
+            m_values[m_size++] = (float)((DoubleValue)cell).getDoubleValue();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getNrAttributes() {
+        return 1;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TreeBinnedNumericColumnData createColumnData(final int attributeIndex,
+        final TreeEnsembleLearnerConfiguration configuration) {
+        final int length = m_size;
+        final int numNonMissing = length - m_numMissing;
+        // sort (value, index) pairs encoded in a long, ties are resolved by the index as in the ordinary column
+        final long[] keys = new long[numNonMissing];
+        final int[] sortIndex = new int[length];
+        int nonMissing = 0;
+        int missing = numNonMissing;
+        for (int i = 0; i < length; i++) {
+            final float value = m_values[i];
+            if (Float.isNaN(value)) {
+                sortIndex[missing++] = i;
+            } else {
+                keys[nonMissing++] = ((long)toSortableInt(value) << 32) | i;
+            }
+        }
+        Arrays.sort(keys);
+        final float[] sortedValues = new float[numNonMissing];
+        for (int i = 0; i < numNonMissing; i++) {
+            final int index = (int)keys[i];
+            sortIndex[i] = index;
+            sortedValues[i] = m_values[index];
+        }
+        m_values = null;
+
+        final int nrBins = configuration.getNumericBinCount();
+        final byte[] sortedBins = new byte[numNonMissing];
+        final float[] binMinimums = new float[nrBins];
+        final float[] binMaximums = new float[nrBins];
+        final boolean binEachValue = countDistinct(sortedValues, nrBins + 1) <= nrBins;
+        int bin = -1;
+        int binStart = 0;
+        for (int i = 0; i < numNonMissing; i++) {
+            final float value = sortedValues[i];
+            final boolean valueChanged = i == 0 || value != sortedValues[i - 1];
+            // start a new bin if the current one holds its share of the remaining rows
+            if (bin < 0 || (valueChanged && (binEachValue || (bin < nrBins - 1
+                && (long)(i - binStart) * (nrBins - bin) >= numNonMissing - binStart)))) {
+                bin++;
+                binStart = i;
+                binMinimums[bin] = value;
+            }
+            binMaximums[bin] = value;
+            sortedBins[i] = (byte)bin;
+        }
+        final String n = m_column.getName();
+        final TreeNumericColumnMetaData metaData = new TreeNumericColumnMetaData(n);
+        return new TreeBinnedNumericColumnData(metaData, configuration, sortedBins,
+            Arrays.copyOf(binMinimums, bin + 1), Arrays.copyOf(binMaximums, bin + 1), sortIndex, m_numMissing > 0);
+    }
+
+    /** Counts the distinct values in a sorted array, stops counting at <b>limit</b>. */
+    private static int countDistinct(final float[] sortedValues, final int limit) {
+        int count = sortedValues.length > 0 ? 1 : 0;
+        for (int i = 1; i < sortedValues.length && count < limit; i++) {
+            if (sortedValues[i] != sortedValues[i - 1]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** Maps a float to an int with the same order (as in {@link Float#compare(float, float)}). */
+    private static int toSortableInt(final float value) {
+        final int bits = Float.floatToIntBits(value);
+        return bits ^ ((bits >> 31) & 0x7FFFFFFF);
+    }
+
+}
@@ -118,7 +118,11 @@ public TreeDataCreator(final TreeEnsembleLearnerConfiguration configuration, fin
                 m_attrColCreators[i] = new TreeNominalColumnDataCreator(col);
                 treeType = TreeType.Ordinary;
             } else if (colType.isCompatible(DoubleValue.class)) {
-                m_attrColCreators[i] = new TreeOrdinaryNumericColumnDataCreator(col);
+                if (configuration.getNumericBinCount() == TreeEnsembleLearnerConfiguration.NUMERIC_BIN_COUNT_NONE) {
+                    m_attrColCreators[i] = new TreeOrdinaryNumericColumnDataCreator(col);
+                } else {
+                    m_attrColCreators[i] = new TreeBinnedNumericColumnDataCreator(col);
+                }
                 treeType = TreeType.Ordinary;
             } else if (colType.isCompatible(BitVectorValue.class)) {
                 m_attrColCreators[i] = new TreeBitVectorColumnDataCreator(col);
@@ -96,7 +96,7 @@ public TreeNumericColumnMetaData getMetaData() {
      */
     public abstract int getLengthNonMissing();
 
-    private BitSet getMissedRows(final ColumnMemberships columnMemberships) {
+    BitSet getMissedRows(final ColumnMemberships columnMemberships) {
         final BitSet missedRows = new BitSet();
         if (columnMemberships.nextIndexFrom(getLengthNonMissing())) {
             do {
@@ -461,7 +461,7 @@ private static boolean areApproximatelyEqual(final double d1, final double d2) {
         return MathUtils.equals(d1, d2, 0.0001);
     }
 
-    private static double getCenter(final double left, final double right) {
+    static double getCenter(final double left, final double right) {
         return left + 0.5 * (right - left);
     }
 
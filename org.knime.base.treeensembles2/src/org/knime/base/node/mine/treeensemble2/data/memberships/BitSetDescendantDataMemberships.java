@@ -49,7 +49,7 @@
 package org.knime.base.node.mine.treeensemble2.data.memberships;
 
 import java.util.BitSet;
-import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  *
@@ -59,12 +59,13 @@ public class BitSetDescendantDataMemberships implements DataMemberships {
 
     private final RootDataMemberships m_root;
     private final BitSet m_included;
-    private final HashMap<Integer, ColumnMemberships> m_cachedColumnMemberships;
+    private final ConcurrentHashMap<Integer, ColumnMemberships> m_cachedColumnMemberships;
 
     public BitSetDescendantDataMemberships(final RootDataMemberships root, final BitSet included) {
         m_root = root;
         m_included = included;
-        m_cachedColumnMemberships = new HashMap<Integer, ColumnMemberships>();
+        // the column memberships of different columns may be requested concurrently during the split search
+        m_cachedColumnMemberships = new ConcurrentHashMap<Integer, ColumnMemberships>();
     }
 
     /**
@@ -47,15 +47,27 @@
  */
 package org.knime.base.node.mine.treeensemble2.learner;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.apache.commons.math.random.RandomData;
+import org.knime.base.node.mine.treeensemble2.data.TreeAttributeColumnData;
 import org.knime.base.node.mine.treeensemble2.data.TreeData;
 import org.knime.base.node.mine.treeensemble2.data.memberships.IDataIndexManager;
 import org.knime.base.node.mine.treeensemble2.model.AbstractTreeModel;
 import org.knime.base.node.mine.treeensemble2.node.learner.TreeEnsembleLearnerConfiguration;
+import org.knime.base.node.mine.treeensemble2.sample.column.ColumnSample;
 import org.knime.base.node.mine.treeensemble2.sample.column.ColumnSampleStrategy;
 import org.knime.base.node.mine.treeensemble2.sample.row.RowSample;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
 
 /**
  *
@@ -63,6 +75,30 @@
  */
 public abstract class AbstractTreeLearner {
 
+    /**
+     * Nodes with fewer rows search their split in the calling thread only, the split search is too cheap to
+     * compensate for the overhead of additional threads.
+     */
+    static final int MIN_ROWS_FOR_PARALLEL_SPLIT_SEARCH = 2000;
+
+    /**
+     * System property to search the split columns of large nodes concurrently (<code>false</code> by default). The
+     * concurrent search gives each column its own random data for tie breaking, drawn from the learner's random data.
+     * The learned models are still reproducible for a fixed seed and the same setting of this property, but they can
+     * differ from models learned without it.
+     */
+    public static final String PROPERTY_PARALLEL_SPLIT_SEARCH = "knime.treeensemble.parallelsplitsearch";
+
+    /** Calculates the best split of a single column, must be safe to call concurrently for different columns. */
+    interface ColumnSplitCalculator {
+        /**
+         * @param column the column to split
+         * @param rd the random data for tie breaking
+         * @return the best split of <b>column</b> or null if there is none
+         */
+        SplitCandidate calcBestSplit(TreeAttributeColumnData column, RandomData rd);
+    }
+
     private final TreeEnsembleLearnerConfiguration m_config;
 
     private final TreeData m_data;
@@ -77,6 +113,9 @@ public abstract class AbstractTreeLearner {
 
     private final TreeNodeSignatureFactory m_signatureFactory;
 
+    private int m_minRowsForParallelSplitSearch =
+        Boolean.getBoolean(PROPERTY_PARALLEL_SPLIT_SEARCH) ? MIN_ROWS_FOR_PARALLEL_SPLIT_SEARCH : Integer.MAX_VALUE;
+
     /**
      * @param config
      * @param data
@@ -139,6 +178,97 @@ final TreeNodeSignatureFactory getSignatureFactory() {
         return m_signatureFactory;
     }
 
+    /**
+     * Sets the number of rows a node needs for its columns to be searched concurrently, defaults to
+     * {@link #MIN_ROWS_FOR_PARALLEL_SPLIT_SEARCH} if {@link #PROPERTY_PARALLEL_SPLIT_SEARCH} is set and to
+     * {@link Integer#MAX_VALUE} (never) otherwise. Only used in tests to force either code path.
+     *
+     * @param minRows the minimal number of rows, 0 to search all nodes with more than one column concurrently
+     */
+    final void setMinRowsForParallelSplitSearch(final int minRows) {
+        m_minRowsForParallelSplitSearch = minRows;
+    }
+
+    /**
+     * Calculates the best split for each column in <b>columnSample</b> that is not forbidden. By default the columns
+     * are searched one after another using {@link #getRandomData()} for tie breaking, exactly as before. Only if
+     * {@link #PROPERTY_PARALLEL_SPLIT_SEARCH} is set, the columns of nodes with at least
+     * {@link #MIN_ROWS_FOR_PARALLEL_SPLIT_SEARCH} rows are distributed over the calling thread and all threads of the
+     * global thread pool that are idle right now (so nothing waits for a thread that is busy with another tree). In
+     * that case each column gets its own random data, drawn from {@link #getRandomData()} in column order, which makes
+     * the result independent of the number of threads but not identical to the one of the serial search.
+     *
+     * @param columnSample the columns of the node
+     * @param forbiddenColumnSet columns that must not be split
+     * @param nrRows the number of rows in the node
+     * @param calculator calculates the split of a single column
+     * @return the split candidates (null where a column has no split) in the order of the column sample
+     * @throws CanceledExecutionException if the thread is interrupted while waiting for the other threads
+     */
+    final List<SplitCandidate> calcBestSplitsPerColumn(final ColumnSample columnSample,
+        final BitSet forbiddenColumnSet, final int nrRows, final ColumnSplitCalculator calculator)
+        throws CanceledExecutionException {
+        final List<TreeAttributeColumnData> columns = new ArrayList<TreeAttributeColumnData>(columnSample.getNumCols());
+        for (TreeAttributeColumnData col : columnSample) {
+            if (!forbiddenColumnSet.get(col.getMetaData().getAttributeIndex())) {
+                columns.add(col);
+            }
+        }
+        final int nrColumns = columns.size();
+        final SplitCandidate[] candidates = new SplitCandidate[nrColumns];
+        if (nrColumns < 2 || nrRows < m_minRowsForParallelSplitSearch) {
+            for (int i = 0; i < nrColumns; i++) {
+                candidates[i] = calculator.calcBestSplit(columns.get(i), m_randomData);
+            }
+            return Arrays.asList(candidates);
+        }
+        final RandomData[] columnRandomData = new RandomData[nrColumns];
+        for (int i = 0; i < nrColumns; i++) {
+            final long seed = m_randomData.nextLong(Long.MIN_VALUE, Long.MAX_VALUE);
+            columnRandomData[i] = TreeEnsembleLearnerConfiguration.createRandomData(seed);
+        }
+        final AtomicInteger nextColumn = new AtomicInteger();
+        final Runnable columnWorker = new Runnable() {
+            @Override
+            public void run() {
+                int i;
+                while ((i = nextColumn.getAndIncrement()) < nrColumns) {
+                    candidates[i] = calculator.calcBestSplit(columns.get(i), columnRandomData[i]);
+                }
+            }
+        };
+        final ThreadPool tp = KNIMEConstants.GLOBAL_THREAD_POOL;
+        final List<Future<?>> futures = new ArrayList<Future<?>>();
+        for (int i = 1; i < nrColumns; i++) {
+            // only use threads that are idle, never queue
+            final Future<?> future = tp.trySubmit(columnWorker);
+            if (future == null) {
+                break;
+            }
+            futures.add(future);
+        }
+        columnWorker.run();
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            final CanceledExecutionException cee = new CanceledExecutionException("Interrupted during split search");
+            cee.initCause(e);
+            throw cee;
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new RuntimeException(cause);
+        }
+        return Arrays.asList(candidates);
+    }
+
     /**
      * Learns a single decision tree model
      *
@@ -0,0 +1,181 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.mine.treeensemble2.learner;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.math.random.RandomData;
+import org.knime.base.node.mine.treeensemble2.data.BinnedHistogram;
+import org.knime.base.node.mine.treeensemble2.data.ClassificationPriors;
+import org.knime.base.node.mine.treeensemble2.data.RegressionPriors;
+import org.knime.base.node.mine.treeensemble2.data.TreeAttributeColumnData;
+import org.knime.base.node.mine.treeensemble2.data.TreeBinnedNumericColumnData;
+import org.knime.base.node.mine.treeensemble2.data.TreeTargetColumnData;
+import org.knime.base.node.mine.treeensemble2.data.TreeTargetNominalColumnData;
+import org.knime.base.node.mine.treeensemble2.data.TreeTargetNumericColumnData;
+import org.knime.base.node.mine.treeensemble2.data.memberships.DataMemberships;
+
+/**
+ * The histograms of the {@link TreeBinnedNumericColumnData binned columns} for the rows of a single tree node. For a
+ * binary split only the histograms of the smaller child are calculated from the rows, the ones of the larger child
+ * are obtained by subtracting them from the histograms of the parent. Columns that are not binned are passed on to
+ * their usual split calculation. The histograms of different columns may be requested concurrently.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class NodeHistograms {
+
+    /** Column data objects don't override equals, the map hence works on identity. */
+    private final ConcurrentMap<TreeBinnedNumericColumnData, BinnedHistogram> m_histograms =
+        new ConcurrentHashMap<TreeBinnedNumericColumnData, BinnedHistogram>();
+
+    private final DataMemberships m_dataMemberships;
+
+    private final TreeTargetColumnData m_targetColumn;
+
+    private final NodeHistograms m_parent;
+
+    /** The smaller sibling of a child with more rows, null otherwise. */
+    private NodeHistograms m_sibling;
+
+    /**
+     * Creates the histograms of a root node.
+     *
+     * @param dataMemberships the rows of the node
+     * @param targetColumn the target
+     */
+    NodeHistograms(final DataMemberships dataMemberships, final TreeTargetColumnData targetColumn) {
+        this(dataMemberships, targetColumn, null);
+    }
+
+    private NodeHistograms(final DataMemberships dataMemberships, final TreeTargetColumnData targetColumn,
+        final NodeHistograms parent) {
+        m_dataMemberships = dataMemberships;
+        m_targetColumn = targetColumn;
+        m_parent = parent;
+    }
+
+    private BinnedHistogram getHistogram(final TreeBinnedNumericColumnData column) {
+        BinnedHistogram histogram = m_histograms.get(column);
+        if (histogram == null) {
+            final BinnedHistogram parentHistogram = m_sibling == null ? null : m_parent.m_histograms.get(column);
+            if (parentHistogram != null) {
+                histogram = parentHistogram.subtract(m_sibling.getHistogram(column));
+            } else {
+                histogram = column.createHistogram(m_dataMemberships, m_targetColumn);
+            }
+            final BinnedHistogram existing = m_histograms.putIfAbsent(column, histogram);
+            if (existing != null) {
+                histogram = existing;
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * Calculates the best split of <b>column</b> for regression, using the histogram if the column is binned.
+     *
+     * @param column the column to split
+     * @param targetPriors the priors of the node
+     * @param rd used for random tie breaking
+     * @return the best split or null
+     */
+    SplitCandidate calcBestSplitRegression(final TreeAttributeColumnData column, final RegressionPriors targetPriors,
+        final RandomData rd) {
+        if (column instanceof TreeBinnedNumericColumnData) {
+            final TreeBinnedNumericColumnData binnedColumn = (TreeBinnedNumericColumnData)column;
+            return binnedColumn.calcBestSplitRegression(getHistogram(binnedColumn), m_dataMemberships, targetPriors,
+                rd);
+        }
+        return column.calcBestSplitRegression(m_dataMemberships, targetPriors,
+            (TreeTargetNumericColumnData)m_targetColumn, rd);
+    }
+
+    /**
+     * Calculates the best split of <b>column</b> for classification, using the histogram if the column is binned.
+     *
+     * @param column the column to split
+     * @param targetPriors the priors of the node
+     * @param rd used for random tie breaking
+     * @return the best split or null
+     */
+    SplitCandidate calcBestSplitClassification(final TreeAttributeColumnData column,
+        final ClassificationPriors targetPriors, final RandomData rd) {
+        if (column instanceof TreeBinnedNumericColumnData) {
+            final TreeBinnedNumericColumnData binnedColumn = (TreeBinnedNumericColumnData)column;
+            return binnedColumn.calcBestSplitClassification(getHistogram(binnedColumn), m_dataMemberships,
+                targetPriors, rd);
+        }
+        return column.calcBestSplitClassification(m_dataMemberships, targetPriors,
+            (TreeTargetNominalColumnData)m_targetColumn, rd);
+    }
+
+    /**
+     * Creates the histograms for the children of this node. If the node is split into two children that together
+     * contain all of its rows, the histograms of the larger child are derived from the ones of this node and of the
+     * smaller child.
+     *
+     * @param childMemberships the rows of the children
+     * @return the histograms for each child
+     */
+    NodeHistograms[] createChildHistograms(final DataMemberships[] childMemberships) {
+        final NodeHistograms[] children = new NodeHistograms[childMemberships.length];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = new NodeHistograms(childMemberships[i], m_targetColumn, this);
+        }
+        if (children.length == 2 && !m_histograms.isEmpty() && childMemberships[0].getRowCount()
+            + childMemberships[1].getRowCount() == m_dataMemberships.getRowCount()) {
+            final boolean firstIsLarger = childMemberships[0].getRowCount() >= childMemberships[1].getRowCount();
+            final int larger = firstIsLarger ? 0 : 1;
+            children[larger].m_sibling = children[1 - larger];
+        }
+        return children;
+    }
+
+}
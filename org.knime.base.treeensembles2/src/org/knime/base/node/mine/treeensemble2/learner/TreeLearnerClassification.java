@@ -112,7 +112,7 @@ private TreeModelClassification learnSingleTreeRecursive(final ExecutionMonitor
         final ColumnSample rootColumnSample = getColSamplingStrategy().getColumnSampleForTreeNode(rootSignature);
         TreeNodeClassification rootNode = null;
         rootNode = buildTreeNode(exec, 0, rootDataMemberships, rootColumnSample, rootSignature, targetPriors,
-            forbiddenColumnSet);
+            forbiddenColumnSet, new NodeHistograms(rootDataMemberships, targetColumn));
         assert forbiddenColumnSet.cardinality() == 0;
         rootNode.setTreeNodeCondition(TreeNodeTrueCondition.INSTANCE);
         return new TreeModelClassification(rootNode);
@@ -121,7 +121,7 @@ private TreeModelClassification learnSingleTreeRecursive(final ExecutionMonitor
     private TreeNodeClassification buildTreeNode(final ExecutionMonitor exec, final int currentDepth,
         final DataMemberships dataMemberships, final ColumnSample columnSample,
         final TreeNodeSignature treeNodeSignature, final ClassificationPriors targetPriors,
-        final BitSet forbiddenColumnSet) throws CanceledExecutionException {
+        final BitSet forbiddenColumnSet, final NodeHistograms histograms) throws CanceledExecutionException {
         final TreeData data = getData();
         final TreeEnsembleLearnerConfiguration config = getConfig();
         exec.checkCanceled();
@@ -133,7 +133,7 @@ private TreeNodeClassification buildTreeNode(final ExecutionMonitor exec, final
         int attributeIndex = -1;
         if (useSurrogates) {
             SplitCandidate[] candidates = findBestSplitsClassification(currentDepth, dataMemberships, columnSample,
-                treeNodeSignature, targetPriors, forbiddenColumnSet);
+                treeNodeSignature, targetPriors, forbiddenColumnSet, histograms);
             if (candidates == null) {
                 return new TreeNodeClassification(treeNodeSignature, targetPriors, config);
             }
@@ -142,20 +142,24 @@ private TreeNodeClassification buildTreeNode(final ExecutionMonitor exec, final
             childConditions = surrogateSplit.getChildConditions();
             BitSet[] childMarkers = surrogateSplit.getChildMarkers();
             childNodes = new TreeNodeClassification[2];
+            final DataMemberships[] childMemberships = new DataMemberships[2];
             for (int i = 0; i < 2; i++) {
-                DataMemberships childMemberships = dataMemberships.createChildMemberships(childMarkers[i]);
-                ClassificationPriors childTargetPriors = targetColumn.getDistribution(childMemberships, config);
+                childMemberships[i] = dataMemberships.createChildMemberships(childMarkers[i]);
+            }
+            final NodeHistograms[] childHistograms = histograms.createChildHistograms(childMemberships);
+            for (int i = 0; i < 2; i++) {
+                ClassificationPriors childTargetPriors = targetColumn.getDistribution(childMemberships[i], config);
                 TreeNodeSignature childSignature =
                     getSignatureFactory().getChildSignatureFor(treeNodeSignature, (byte)i);
                 ColumnSample childColumnSample = getColSamplingStrategy().getColumnSampleForTreeNode(childSignature);
-                childNodes[i] = buildTreeNode(exec, currentDepth + 1, childMemberships, childColumnSample,
-                    childSignature, childTargetPriors, forbiddenColumnSet);
+                childNodes[i] = buildTreeNode(exec, currentDepth + 1, childMemberships[i], childColumnSample,
+                    childSignature, childTargetPriors, forbiddenColumnSet, childHistograms[i]);
                 childNodes[i].setTreeNodeCondition(childConditions[i]);
             }
         } else {
             // handle non surrogate case
             SplitCandidate bestSplit = findBestSplitClassification(currentDepth, dataMemberships, columnSample,
-                treeNodeSignature, targetPriors, forbiddenColumnSet);
+                treeNodeSignature, targetPriors, forbiddenColumnSet, histograms);
             if (bestSplit == null) {
                 return new TreeNodeClassification(treeNodeSignature, targetPriors, config);
             }
@@ -171,17 +175,21 @@ private TreeNodeClassification buildTreeNode(final ExecutionMonitor exec, final
                     "Too many children when splitting " + "attribute " + bestSplit.getColumnData()
                         + " (maximum supported: " + Short.MAX_VALUE + "): " + childConditions.length);
             }
+            final DataMemberships[] childMemberships = new DataMemberships[childConditions.length];
+            for (int i = 0; i < childConditions.length; i++) {
+                childMemberships[i] = dataMemberships
+                    .createChildMemberships(splitColumn.updateChildMemberships(childConditions[i], dataMemberships));
+            }
+            // the histograms of the larger child are derived from the ones of the parent and the smaller child
+            final NodeHistograms[] childHistograms = histograms.createChildHistograms(childMemberships);
             // Build child nodes
             for (int i = 0; i < childConditions.length; i++) {
-                DataMemberships childMemberships = null;
                 TreeNodeCondition cond = childConditions[i];
-                childMemberships =
-                    dataMemberships.createChildMemberships(splitColumn.updateChildMemberships(cond, dataMemberships));
-                ClassificationPriors childTargetPriors = targetColumn.getDistribution(childMemberships, config);
+                ClassificationPriors childTargetPriors = targetColumn.getDistribution(childMemberships[i], config);
                 TreeNodeSignature childSignature = treeNodeSignature.createChildSignature((byte)i);
                 ColumnSample childColumnSample = getColSamplingStrategy().getColumnSampleForTreeNode(childSignature);
-                childNodes[i] = buildTreeNode(exec, currentDepth + 1, childMemberships, childColumnSample,
-                    childSignature, childTargetPriors, forbiddenColumnSet);
+                childNodes[i] = buildTreeNode(exec, currentDepth + 1, childMemberships[i], childColumnSample,
+                    childSignature, childTargetPriors, forbiddenColumnSet, childHistograms[i]);
                 childNodes[i].setTreeNodeCondition(cond);
             }
         }
@@ -199,12 +207,13 @@ private TreeNodeClassification buildTreeNode(final ExecutionMonitor exec, final
      * @param treeNodeSignature
      * @param targetPriors
      * @param forbiddenColumnSet
+     * @param histograms
      * @param membershipController
      * @return
      */
     private SplitCandidate[] findBestSplitsClassification(final int currentDepth, final DataMemberships dataMemberships,
         final ColumnSample columnSample, final TreeNodeSignature treeNodeSignature,
-        final ClassificationPriors targetPriors, final BitSet forbiddenColumnSet) {
+        final ClassificationPriors targetPriors, final BitSet forbiddenColumnSet, final NodeHistograms histograms) {
         final TreeData data = getData();
         final RandomData rd = getRandomData();
         //        final ColumnSampleStrategy colSamplingStrategy = getColSamplingStrategy();
@@ -246,8 +255,7 @@ public int compare(final SplitCandidate o1, final SplitCandidate o2) {
             if (forbiddenColumnSet.get(col.getMetaData().getAttributeIndex())) {
                 continue;
             }
-            SplitCandidate currentColSplit =
-                col.calcBestSplitClassification(dataMemberships, targetPriors, targetColumn, rd);
+            SplitCandidate currentColSplit = histograms.calcBestSplitClassification(col, targetPriors, rd);
             if (currentColSplit != null) {
                 candidates.add(currentColSplit);
             }
@@ -261,7 +269,7 @@ public int compare(final SplitCandidate o1, final SplitCandidate o2) {
 
     private SplitCandidate findBestSplitClassification(final int currentDepth, final DataMemberships dataMemberships,
         final ColumnSample columnSample, final TreeNodeSignature treeNodeSignature,
-        final ClassificationPriors targetPriors, final BitSet forbiddenColumnSet) {
+        final ClassificationPriors targetPriors, final BitSet forbiddenColumnSet, final NodeHistograms histograms) {
         final TreeData data = getData();
         final RandomData rd = getRandomData();
         //        final ColumnSampleStrategy colSamplingStrategy = getColSamplingStrategy();
@@ -292,8 +300,7 @@ private SplitCandidate findBestSplitClassification(final int currentDepth, final
             if (forbiddenColumnSet.get(col.getMetaData().getAttributeIndex())) {
                 continue;
             }
-            final SplitCandidate currentColSplit =
-                col.calcBestSplitClassification(dataMemberships, targetPriors, targetColumn, rd);
+            final SplitCandidate currentColSplit = histograms.calcBestSplitClassification(col, targetPriors, rd);
             if (currentColSplit != null) {
                 final double currentGain = currentColSplit.getGainValue();
                 final boolean tiebreaker = currentGain == bestGainValue ? (rd.nextInt(0, 1) == 0) : false;
@@ -123,7 +123,7 @@ public TreeModelRegression learnSingleTree(final ExecutionMonitor exec, final Ra
         final TreeNodeSignature rootSignature = TreeNodeSignature.ROOT_SIGNATURE;
         final ColumnSample rootColumnSample = getColSamplingStrategy().getColumnSampleForTreeNode(rootSignature);
         TreeNodeRegression rootNode = buildTreeNode(exec, 0, rootDataMemberships, rootColumnSample, getSignatureFactory().getRootSignature(),
-            targetPriors, forbiddenColumnSet);
+            targetPriors, forbiddenColumnSet, new NodeHistograms(rootDataMemberships, targetColumn));
         assert forbiddenColumnSet.cardinality() == 0;
         rootNode.setTreeNodeCondition(TreeNodeTrueCondition.INSTANCE);
         if (isGradientBoosting) {
@@ -134,7 +134,7 @@ public TreeModelRegression learnSingleTree(final ExecutionMonitor exec, final Ra
 
     private SplitCandidate findBestSplitRegression(final int currentDepth, final DataMemberships dataMemberships, final ColumnSample columnSample,
         final RegressionPriors targetPriors,
-        final BitSet forbiddenColumnSet) {
+        final BitSet forbiddenColumnSet, final NodeHistograms histograms) throws CanceledExecutionException {
         final TreeData data = getData();
         final RandomData rd = getRandomData();
         final TreeEnsembleLearnerConfiguration config = getConfig();
@@ -159,12 +159,11 @@ private SplitCandidate findBestSplitRegression(final int currentDepth, final Dat
             return rootColumn.calcBestSplitRegression(dataMemberships, targetPriors, targetColumn, rd);
         } else {
             double bestGainValue = 0.0;
-            for (TreeAttributeColumnData col : columnSample) {
-                if (forbiddenColumnSet.get(col.getMetaData().getAttributeIndex())) {
-                    continue;
-                }
-                SplitCandidate currentColSplit =
-                    col.calcBestSplitRegression(dataMemberships, targetPriors, targetColumn, rd);
+            // columns may be evaluated concurrently for large nodes (opt-in), the histograms are thread-safe
+            final List<SplitCandidate> columnSplits =
+                calcBestSplitsPerColumn(columnSample, forbiddenColumnSet, dataMemberships.getRowCount(),
+                    (col, colRd) -> histograms.calcBestSplitRegression(col, targetPriors, colRd));
+            for (SplitCandidate currentColSplit : columnSplits) {
                 if (currentColSplit != null) {
                     double gainValue = currentColSplit.getGainValue();
                     if (gainValue > bestGainValue) {
@@ -179,7 +178,7 @@ private SplitCandidate findBestSplitRegression(final int currentDepth, final Dat
 
     private SplitCandidate[] findBestSplitsRegression(final int currentDepth, final DataMemberships dataMemberships, final ColumnSample columnSample,
         final RegressionPriors targetPriors,
-        final BitSet forbiddenColumnSet) {
+        final BitSet forbiddenColumnSet, final NodeHistograms histograms) throws CanceledExecutionException {
         final TreeData data = getData();
         final RandomData rd = getRandomData();
         final TreeEnsembleLearnerConfiguration config = getConfig();
@@ -205,12 +204,11 @@ private SplitCandidate[] findBestSplitsRegression(final int currentDepth, final
                 rootColumn.calcBestSplitRegression(dataMemberships, targetPriors, targetColumn, rd)};
         } else {
             splitCandidates = new ArrayList<SplitCandidate>(columnSample.getNumCols());
-            for (TreeAttributeColumnData col : columnSample) {
-                if (forbiddenColumnSet.get(col.getMetaData().getAttributeIndex())) {
-                    continue;
-                }
-                SplitCandidate currentColSplit =
-                    col.calcBestSplitRegression(dataMemberships, targetPriors, targetColumn, rd);
+            // columns may be evaluated concurrently for large nodes (opt-in), the histograms are thread-safe
+            final List<SplitCandidate> columnSplits =
+                calcBestSplitsPerColumn(columnSample, forbiddenColumnSet, dataMemberships.getRowCount(),
+                    (col, colRd) -> histograms.calcBestSplitRegression(col, targetPriors, colRd));
+            for (SplitCandidate currentColSplit : columnSplits) {
                 if (currentColSplit != null) {
                     splitCandidates.add(currentColSplit);
                 }
@@ -232,13 +230,15 @@ public int compare(final SplitCandidate arg0, final SplitCandidate arg1) {
 
     private TreeNodeRegression buildTreeNode(final ExecutionMonitor exec, final int currentDepth,
         final DataMemberships dataMemberships, final ColumnSample columnSample, final TreeNodeSignature treeNodeSignature,
-        final RegressionPriors targetPriors, final BitSet forbiddenColumnSet) throws CanceledExecutionException {
+        final RegressionPriors targetPriors, final BitSet forbiddenColumnSet, final NodeHistograms histograms)
+        throws CanceledExecutionException {
         final TreeData data = getData();
         final RandomData rd = getRandomData();
         final TreeEnsembleLearnerConfiguration config = getConfig();
         exec.checkCanceled();
         final SplitCandidate candidate =
-            findBestSplitRegression(currentDepth, dataMemberships, columnSample, targetPriors, forbiddenColumnSet);
+            findBestSplitRegression(currentDepth, dataMemberships, columnSample, targetPriors, forbiddenColumnSet,
+                histograms);
         if (candidate == null) {
             if (config instanceof GradientBoostingLearnerConfiguration) {
                 TreeNodeRegression leaf =
@@ -258,13 +258,17 @@ private TreeNodeRegression buildTreeNode(final ExecutionMonitor exec, final int
             BitSet[] childMarkers = surrogateSplit.getChildMarkers();
             assert childMarkers[0].cardinality() + childMarkers[1].cardinality() == dataMemberships.getRowCount(): "Sum of rows in children does not add up to number of rows in parent.";
             childNodes = new TreeNodeRegression[2];
+            final DataMemberships[] childMemberships = new DataMemberships[2];
+            for (int i = 0; i < 2; i++) {
+                childMemberships[i] = dataMemberships.createChildMemberships(childMarkers[i]);
+            }
+            final NodeHistograms[] childHistograms = histograms.createChildHistograms(childMemberships);
             for (int i = 0; i < 2; i++) {
-                DataMemberships childMemberships = dataMemberships.createChildMemberships(childMarkers[i]);
                 TreeNodeSignature childSignature = getSignatureFactory().getChildSignatureFor(treeNodeSignature, (byte)i);
                 ColumnSample childColumnSample = getColSamplingStrategy().getColumnSampleForTreeNode(childSignature);
-                RegressionPriors childTargetPriors = targetColumn.getPriors(childMemberships, config);
-                childNodes[i] = buildTreeNode(exec, currentDepth + 1, childMemberships, childColumnSample, childSignature,
-                    childTargetPriors, forbiddenColumnSet);
+                RegressionPriors childTargetPriors = targetColumn.getPriors(childMemberships[i], config);
+                childNodes[i] = buildTreeNode(exec, currentDepth + 1, childMemberships[i], childColumnSample,
+                    childSignature, childTargetPriors, forbiddenColumnSet, childHistograms[i]);
                 childNodes[i].setTreeNodeCondition(childConditions[i]);
             }
         } else {
@@ -280,15 +284,20 @@ private TreeNodeRegression buildTreeNode(final ExecutionMonitor exec, final int
                         + " (maximum supported: " + Short.MAX_VALUE + "): " + childConditions.length);
             }
             childNodes = new TreeNodeRegression[childConditions.length];
+            final DataMemberships[] childMemberships = new DataMemberships[childConditions.length];
+            for (int i = 0; i < childConditions.length; i++) {
+                childMemberships[i] = dataMemberships
+                    .createChildMemberships(splitColumn.updateChildMemberships(childConditions[i], dataMemberships));
+            }
+            // the histograms of the larger child are derived from the ones of the parent and the smaller child
+            final NodeHistograms[] childHistograms = histograms.createChildHistograms(childMemberships);
             for (int i = 0; i < childConditions.length; i++) {
                 TreeNodeCondition cond = childConditions[i];
-                DataMemberships childMemberships =
-                    dataMemberships.createChildMemberships(splitColumn.updateChildMemberships(cond, dataMemberships));
-                RegressionPriors childTargetPriors = targetColumn.getPriors(childMemberships, config);
+                RegressionPriors childTargetPriors = targetColumn.getPriors(childMemberships[i], config);
                 TreeNodeSignature childSignature = treeNodeSignature.createChildSignature((byte)i);
                 ColumnSample childColumnSample = getColSamplingStrategy().getColumnSampleForTreeNode(childSignature);
-                childNodes[i] = buildTreeNode(exec, currentDepth + 1, childMemberships, childColumnSample, childSignature,
-                    childTargetPriors, forbiddenColumnSet);
+                childNodes[i] = buildTreeNode(exec, currentDepth + 1, childMemberships[i], childColumnSample,
+                    childSignature, childTargetPriors, forbiddenColumnSet, childHistograms[i]);
                 childNodes[i].setTreeNodeCondition(cond);
             }
             if (markAttributeAsForbidden) {
@@ -0,0 +1,196 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.mine.treeensemble2.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.knime.base.node.mine.treeensemble2.data.NominalValueRepresentation;
+import org.knime.base.node.mine.treeensemble2.data.TreeMetaData;
+import org.knime.base.node.mine.treeensemble2.data.TreeNominalColumnMetaData;
+import org.knime.base.node.mine.treeensemble2.model.AbstractTreeEnsembleModel.TreeType;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.NominalValue;
+
+/**
+ * A {@link TreeEnsembleModel} (including the gradient boosting models) or {@link RegressionTreeModel} with all its
+ * trees compiled into {@link FlatTreeModel flat arrays}, used by the predictors to avoid walking the node objects
+ * and building a {@link org.knime.base.node.mine.treeensemble2.data.PredictorRecord PredictorRecord} map for every
+ * row. The lookup tables for nominal values are created once per model instead of scanning the nominal values for
+ * each cell.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public final class FlatTreeEnsembleModel {
+
+    private final FlatTreeModel<?>[] m_models;
+
+    private final DataTableSpec m_learnSpec;
+
+    /** Per attribute the map from nominal value to assigned integer, <code>null</code> for numeric attributes. */
+    private final Map<String, Integer>[] m_nominalValueMaps;
+
+    @SuppressWarnings("unchecked")
+    private FlatTreeEnsembleModel(final FlatTreeModel<?>[] models, final TreeMetaData metaData,
+        final DataTableSpec learnSpec) {
+        m_models = models;
+        m_learnSpec = learnSpec;
+        final int nrCols = learnSpec.getNumColumns();
+        m_nominalValueMaps = new Map[nrCols];
+        for (int i = 0; i < nrCols; i++) {
+            DataColumnSpec col = learnSpec.getColumnSpec(i);
+            if (col.getType().isCompatible(NominalValue.class)) {
+                NominalValueRepresentation[] nomVals =
+                    ((TreeNominalColumnMetaData)metaData.getAttributeMetaData(i)).getValues();
+                Map<String, Integer> valueMap = new HashMap<String, Integer>((int)(nomVals.length / 0.75 + 1.0));
+                for (NominalValueRepresentation nomVal : nomVals) {
+                    // keep the first occurrence as the linear scan in createPredictorRecord does
+                    valueMap.putIfAbsent(nomVal.getNominalValue(), nomVal.getAssignedInteger());
+                }
+                m_nominalValueMaps[i] = valueMap;
+            }
+        }
+    }
+
+    /**
+     * Compiles all trees of the given model.
+     *
+     * @param model the model to compile
+     * @param learnSpec the spec of the learn attributes (as returned by
+     *            {@link AbstractTreeEnsembleModel#getLearnAttributeSpec(DataTableSpec)})
+     * @return the compiled model or <code>null</code> if the model is not built on ordinary (nominal and numeric)
+     *         columns or any of its trees can't be compiled, the caller then needs to fall back to the tree nodes
+     */
+    public static FlatTreeEnsembleModel compile(final TreeEnsembleModel model, final DataTableSpec learnSpec) {
+        final AbstractTreeModel<?>[] trees = new AbstractTreeModel<?>[model.getNrModels()];
+        for (int i = 0; i < trees.length; i++) {
+            trees[i] = model.getTreeModel(i);
+        }
+        return compile(model, trees, learnSpec);
+    }
+
+    /**
+     * Compiles the tree of the given model, the compiled model then contains a single tree.
+     *
+     * @param model the model to compile
+     * @param learnSpec the spec of the learn attributes
+     * @return the compiled model or <code>null</code> if the model can't be compiled, see
+     *         {@link #compile(TreeEnsembleModel, DataTableSpec)}
+     */
+    public static FlatTreeEnsembleModel compile(final RegressionTreeModel model, final DataTableSpec learnSpec) {
+        return compile(model, new AbstractTreeModel<?>[]{model.getTreeModel()}, learnSpec);
+    }
+
+    private static FlatTreeEnsembleModel compile(final AbstractTreeEnsembleModel model,
+        final AbstractTreeModel<?>[] trees, final DataTableSpec learnSpec) {
+        if (model.getType() != TreeType.Ordinary) {
+            return null;
+        }
+        final FlatTreeModel<?>[] models = new FlatTreeModel<?>[trees.length];
+        for (int i = 0; i < models.length; i++) {
+            models[i] = FlatTreeModel.compile(trees[i]);
+            if (models[i] == null) {
+                return null;
+            }
+        }
+        return new FlatTreeEnsembleModel(models, model.getMetaData(), learnSpec);
+    }
+
+    /**
+     * Converts the row into the record representation used by {@link FlatTreeModel#findMatchingNode(double[])}. This
+     * is the counterpart of {@link AbstractTreeEnsembleModel#createPredictorRecord(DataRow, DataTableSpec)}: Missing
+     * cells, NaNs and nominal values unknown to the model are represented as {@link Double#NaN}.
+     *
+     * @param filterRow the row containing only the learn columns
+     * @return the record
+     */
+    public double[] createRecord(final DataRow filterRow) {
+        final int nrCols = m_nominalValueMaps.length;
+        final double[] record = new double[nrCols];
+        for (int i = 0; i < nrCols; i++) {
+            DataCell cell = filterRow.getCell(i);
+            if (cell.isMissing()) {
+                record[i] = Double.NaN;
+            } else if (m_nominalValueMaps[i] != null) {
+                Integer assignedInteger = m_nominalValueMaps[i].get(cell.toString());
+                record[i] = assignedInteger == null ? Double.NaN : assignedInteger.intValue();
+            } else if (cell instanceof DoubleValue) {
+                // NaN is treated as missing value (bug AP-7169)
+                record[i] = ((DoubleValue)cell).getDoubleValue();
+            } else {
+                DataColumnSpec col = m_learnSpec.getColumnSpec(i);
+                DataType colType = col.getType();
+                throw new IllegalStateException("Expected nominal or numeric column type for column \""
+                    + col.getName() + "\" but got \"" + colType + "\"");
+            }
+        }
+        return record;
+    }
+
+    /**
+     * @param modelIndex the index of the tree
+     * @param record the record created by {@link #createRecord(DataRow)}
+     * @return the node of the tree the record falls into
+     */
+    @SuppressWarnings("unchecked")
+    public <N extends AbstractTreeNode> N findMatchingNode(final int modelIndex, final double[] record) {
+        return (N)m_models[modelIndex].findMatchingNode(record);
+    }
+
+    /**
+     * @return the number of trees
+     */
+    public int getNrModels() {
+        return m_models.length;
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.mine.treeensemble2.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A single tree model compiled into flat arrays. Nodes are numbered in breadth-first order so that the children of
+ * each node occupy a contiguous index range, and the condition under which a node is entered is stored at the node's
+ * own index. Records are plain <code>double</code> arrays indexed by attribute, holding the value for numeric
+ * attributes, the assigned integer for nominal attributes and {@link Double#NaN} for missing values.
+ *
+ * <p>
+ * Only trees whose conditions are numeric, nominal or nominal binary (and the true condition at the root) can be
+ * compiled, see {@link #compile(AbstractTreeModel)}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @param <N> the type of tree nodes
+ */
+public final class FlatTreeModel<N extends AbstractTreeNode> {
+
+    private static final byte TRUE = 0;
+
+    private static final byte LESS_THAN_OR_EQUAL = 1;
+
+    private static final byte LARGER_THAN = 2;
+
+    private static final byte NOMINAL_EQUALS = 3;
+
+    private static final byte NOMINAL_SET = 4;
+
+    private final int[] m_firstChild;
+
+    private final int[] m_nrChildren;
+
+    private final byte[] m_conditionType;
+
+    private final int[] m_attributeIndex;
+
+    private final double[] m_value;
+
+    private final boolean[] m_acceptsMissings;
+
+    private final TreeNodeNominalBinaryCondition[] m_setConditions;
+
+    private final AbstractTreeNode[] m_nodes;
+
+    private FlatTreeModel(final List<AbstractTreeNode> nodes) {
+        final int nrNodes = nodes.size();
+        m_firstChild = new int[nrNodes];
+        m_nrChildren = new int[nrNodes];
+        m_conditionType = new byte[nrNodes];
+        m_attributeIndex = new int[nrNodes];
+        m_value = new double[nrNodes];
+        m_acceptsMissings = new boolean[nrNodes];
+        m_setConditions = new TreeNodeNominalBinaryCondition[nrNodes];
+        m_nodes = nodes.toArray(new AbstractTreeNode[nrNodes]);
+    }
+
+    /**
+     * Compiles the given tree into its flat representation.
+     *
+     * @param treeModel the tree to compile
+     * @return the compiled tree or <code>null</code> if the tree contains conditions that can't be compiled (e.g.
+     *         surrogate or bit vector conditions)
+     */
+    public static <N extends AbstractTreeNode> FlatTreeModel<N> compile(final AbstractTreeModel<N> treeModel) {
+        final List<AbstractTreeNode> nodes = new ArrayList<AbstractTreeNode>();
+        nodes.add(treeModel.getRootNode());
+        // breadth-first so that siblings end up next to each other
+        for (int i = 0; i < nodes.size(); i++) {
+            final AbstractTreeNode node = nodes.get(i);
+            for (int c = 0; c < node.getNrChildren(); c++) {
+                nodes.add(node.getChild(c));
+            }
+        }
+        final FlatTreeModel<N> flat = new FlatTreeModel<N>(nodes);
+        int nextChild = 1;
+        for (int i = 0; i < nodes.size(); i++) {
+            final AbstractTreeNode node = nodes.get(i);
+            flat.m_firstChild[i] = nextChild;
+            flat.m_nrChildren[i] = node.getNrChildren();
+            nextChild += node.getNrChildren();
+            if (i > 0 && !flat.setCondition(i, node.getCondition())) {
+                return null;
+            }
+        }
+        return flat;
+    }
+
+    private boolean setCondition(final int nodeIndex, final TreeNodeCondition condition) {
+        if (condition instanceof TreeNodeTrueCondition) {
+            m_conditionType[nodeIndex] = TRUE;
+            return true;
+        }
+        if (condition instanceof TreeNodeNumericCondition) {
+            final TreeNodeNumericCondition numCond = (TreeNodeNumericCondition)condition;
+            switch (numCond.getNumericOperator()) {
+                case LessThanOrEqual:
+                case LessThanOrEqualOrMissing:
+                    m_conditionType[nodeIndex] = LESS_THAN_OR_EQUAL;
+                    break;
+                case LargerThan:
+                case LargerThanOrMissing:
+                    m_conditionType[nodeIndex] = LARGER_THAN;
+                    break;
+                default:
+                    return false;
+            }
+            m_value[nodeIndex] = numCond.getSplitValue();
+        } else if (condition instanceof TreeNodeNominalBinaryCondition) {
+            m_conditionType[nodeIndex] = NOMINAL_SET;
+            m_setConditions[nodeIndex] = (TreeNodeNominalBinaryCondition)condition;
+        } else if (condition instanceof TreeNodeNominalCondition) {
+            m_conditionType[nodeIndex] = NOMINAL_EQUALS;
+            m_value[nodeIndex] = ((TreeNodeNominalCondition)condition).getValueIndex();
+        } else {
+            return false;
+        }
+        final TreeNodeColumnCondition colCond = (TreeNodeColumnCondition)condition;
+        m_attributeIndex[nodeIndex] = colCond.getColumnMetaData().getAttributeIndex();
+        m_acceptsMissings[nodeIndex] = colCond.acceptsMissings();
+        return true;
+    }
+
+    /**
+     * Finds the node the given record falls into. Like {@link AbstractTreeModel#findMatchingNode(
+     * org.knime.base.node.mine.treeensemble2.data.PredictorRecord)} the first child whose condition is satisfied is
+     * followed until no child matches.
+     *
+     * @param record the record with one value per attribute, {@link Double#NaN} for missing values
+     * @return the matching node
+     */
+    @SuppressWarnings("unchecked")
+    public N findMatchingNode(final double[] record) {
+        int node = 0;
+        int first;
+        while ((first = findMatchingChild(node, record)) >= 0) {
+            node = first;
+        }
+        return (N)m_nodes[node];
+    }
+
+    private int findMatchingChild(final int node, final double[] record) {
+        final int first = m_firstChild[node];
+        final int end = first + m_nrChildren[node];
+        for (int c = first; c < end; c++) {
+            if (testCondition(c, record)) {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    private boolean testCondition(final int node, final double[] record) {
+        final byte type = m_conditionType[node];
+        if (type == TRUE) {
+            return true;
+        }
+        final double v = record[m_attributeIndex[node]];
+        if (Double.isNaN(v)) {
+            return m_acceptsMissings[node];
+        }
+        switch (type) {
+            case LESS_THAN_OR_EQUAL:
+                return v <= m_value[node];
+            case LARGER_THAN:
+                return v > m_value[node];
+            case NOMINAL_EQUALS:
+                return v == m_value[node];
+            case NOMINAL_SET:
+                return m_setConditions[node].testCondition((int)v);
+            default:
+                throw new IllegalStateException("Unknown condition type: " + type);
+        }
+    }
+
+    /**
+     * @return the number of nodes in the tree
+     */
+    public int getNrNodes() {
+        return m_nodes.length;
+    }
+}
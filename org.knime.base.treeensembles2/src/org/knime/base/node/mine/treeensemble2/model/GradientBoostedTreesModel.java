@@ -121,6 +121,24 @@ public double predict(final PredictorRecord record) {
         return prediction;
     }
 
+    /**
+     * Like {@link #predict(PredictorRecord)} but walks the trees compiled into flat arrays.
+     *
+     * @param record the record as created by {@link FlatTreeEnsembleModel#createRecord(org.knime.core.data.DataRow)}
+     * @param flatModel this model compiled via {@link FlatTreeEnsembleModel#compile(TreeEnsembleModel,
+     *            org.knime.core.data.DataTableSpec)}
+     * @return the prediction
+     * @since 3.8
+     */
+    public double predict(final double[] record, final FlatTreeEnsembleModel flatModel) {
+        double prediction = getInitialValue();
+        for (int i = 0; i < getNrModels(); i++) {
+            TreeNodeRegression leaf = flatModel.findMatchingNode(i, record);
+            prediction += m_coefficientMaps.get(i).get(leaf.getSignature());
+        }
+        return prediction;
+    }
+
     /**
      * {@inheritDoc}
      */
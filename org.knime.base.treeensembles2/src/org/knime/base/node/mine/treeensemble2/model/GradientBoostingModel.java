@@ -100,6 +100,23 @@ public double predict(final PredictorRecord record) {
         return prediction;
     }
 
+    /**
+     * Like {@link #predict(PredictorRecord)} but walks the trees compiled into flat arrays.
+     *
+     * @param record the record as created by {@link FlatTreeEnsembleModel#createRecord(org.knime.core.data.DataRow)}
+     * @param flatModel this model compiled via {@link FlatTreeEnsembleModel#compile(TreeEnsembleModel,
+     *            org.knime.core.data.DataTableSpec)}
+     * @return the prediction
+     * @since 3.8
+     */
+    public double predict(final double[] record, final FlatTreeEnsembleModel flatModel) {
+        double prediction = getInitialValue();
+        for (int i = 0; i < getNrModels(); i++) {
+            prediction += m_coefficients[i] * flatModel.<TreeNodeRegression> findMatchingNode(i, record).getMean();
+        }
+        return prediction;
+    }
+
     /**
      * {@inheritDoc}
      */
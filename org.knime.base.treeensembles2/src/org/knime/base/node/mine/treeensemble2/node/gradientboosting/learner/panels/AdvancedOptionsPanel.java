@@ -117,6 +117,10 @@ public class AdvancedOptionsPanel extends JPanel {
 
     private final JCheckBox m_useBinaryNominalSplitsChecker;
 
+    private final JCheckBox m_numericBinCountChecker;
+
+    private final JSpinner m_numericBinCountSpinner;
+
     private final JSpinner m_alphaFractionSpinner;
 
     private final JComboBox<MissingValueHandling> m_missingValueHandlingComboBox;
@@ -219,6 +223,17 @@ public void actionPerformed(final ActionEvent e) {
 
         m_useAverageSplitPointsChecker = new JCheckBox("Use mid point splits (only for numeric attributes)");
         m_useBinaryNominalSplitsChecker = new JCheckBox("Use binary splits for nominal columns");
+        m_numericBinCountSpinner = new JSpinner(new SpinnerNumberModel(
+            TreeEnsembleLearnerConfiguration.MAX_NUMERIC_BIN_COUNT, 2,
+            TreeEnsembleLearnerConfiguration.MAX_NUMERIC_BIN_COUNT, 1));
+        m_numericBinCountChecker = new JCheckBox("Bin numeric attributes (number of bins)");
+        m_numericBinCountChecker.addItemListener(new ItemListener() {
+            @Override
+            public void itemStateChanged(final ItemEvent e) {
+                m_numericBinCountSpinner.setEnabled(m_numericBinCountChecker.isSelected());
+            }
+        });
+        m_numericBinCountSpinner.setEnabled(false);
         m_missingValueHandlingComboBox = new JComboBox<MissingValueHandling>(MissingValueHandling.values());
 
         initPanel();
@@ -259,6 +274,15 @@ private void initPanel() {
         add(m_useBinaryNominalSplitsChecker, gbc);
         gbc.gridwidth = 1;
 
+        gbc.gridx = 0;
+        gbc.gridy += 1;
+        gbc.weightx = 0.0;
+        add(m_numericBinCountChecker, gbc);
+        gbc.gridx = 1;
+        gbc.weightx = 1.0;
+        add(m_numericBinCountSpinner, gbc);
+        gbc.gridx = 0;
+
         gbc.gridy += 1;
         gbc.gridwidth = 2;
         add(new JLabel("Missing value handling"), gbc);
@@ -395,6 +419,13 @@ public void loadSettings(final GradientBoostingLearnerConfiguration cfg) {
         m_alphaFractionSpinner.setValue(cfg.getAlpha());
         m_useAverageSplitPointsChecker.setSelected(cfg.isUseAverageSplitPoints());
         m_useBinaryNominalSplitsChecker.setSelected(cfg.isUseBinaryNominalSplits());
+        final int numericBinCount = cfg.getNumericBinCount();
+        final boolean binNumeric = numericBinCount != TreeEnsembleLearnerConfiguration.NUMERIC_BIN_COUNT_NONE;
+        if (m_numericBinCountChecker.isSelected() != binNumeric) {
+            m_numericBinCountChecker.doClick();
+        }
+        m_numericBinCountSpinner
+            .setValue(binNumeric ? numericBinCount : TreeEnsembleLearnerConfiguration.MAX_NUMERIC_BIN_COUNT);
         m_missingValueHandlingComboBox.setSelectedItem(cfg.getMissingValueHandling());
 
         double dataFrac = cfg.getDataFractionPerTree();
@@ -451,6 +482,8 @@ public void saveSettings(final GradientBoostingLearnerConfiguration cfg) throws
         cfg.setAlpha((Double)m_alphaFractionSpinner.getValue());
         cfg.setUseAverageSplitPoints(m_useAverageSplitPointsChecker.isSelected());
         cfg.setUseBinaryNominalSplits(m_useBinaryNominalSplitsChecker.isSelected());
+        cfg.setNumericBinCount(m_numericBinCountChecker.isSelected() ? (Integer)m_numericBinCountSpinner.getValue()
+            : TreeEnsembleLearnerConfiguration.NUMERIC_BIN_COUNT_NONE);
         final MissingValueHandling missValHandling = (MissingValueHandling)m_missingValueHandlingComboBox.getSelectedItem();
         if (missValHandling == MissingValueHandling.Surrogate && !m_useBinaryNominalSplitsChecker.isSelected()) {
             throw new InvalidSettingsException("Surrogate missing value handling can only be used if binary nominal splits are enabled.");
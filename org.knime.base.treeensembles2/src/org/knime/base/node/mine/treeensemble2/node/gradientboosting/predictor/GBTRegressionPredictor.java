@@ -6,10 +6,15 @@
 import java.util.function.Function;
 
 import org.knime.base.node.mine.treeensemble2.data.PredictorRecord;
+import org.knime.base.node.mine.treeensemble2.model.FlatTreeEnsembleModel;
 import org.knime.base.node.mine.treeensemble2.model.GradientBoostedTreesModel;
+import org.knime.base.node.mine.treeensemble2.model.TreeEnsembleModelPortObjectSpec;
 import org.knime.base.node.mine.treeensemble2.node.predictor.AbstractPredictor;
 import org.knime.base.node.mine.treeensemble2.node.predictor.RegressionPrediction;
+import org.knime.base.node.mine.treeensemble2.node.predictor.TreeEnsemblePredictionUtil;
 import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.node.InvalidSettingsException;
 
 /**
  * @author Adrian Nembach, KNIME GmbH, Konstanz, Germany
@@ -18,6 +23,11 @@ public class GBTRegressionPredictor extends AbstractPredictor<RegressionPredicti
 
     private final GradientBoostedTreesModel m_model;
 
+    /** The compiled trees or <code>null</code> if the model can't be compiled. */
+    private final FlatTreeEnsembleModel m_flatModel;
+
+    private final Function<DataRow, double[]> m_flatRowConverter;
+
     /**
      * Constructor for a {@link GBTRegressionPredictor}.
      *
@@ -28,6 +38,41 @@ public GBTRegressionPredictor(final GradientBoostedTreesModel model,
         final Function<DataRow, PredictorRecord> rowConverter) {
         super(rowConverter);
         m_model = model;
+        m_flatModel = null;
+        m_flatRowConverter = null;
+    }
+
+    /**
+     * Constructor for a {@link GBTRegressionPredictor} that walks the trees compiled into
+     * {@link FlatTreeEnsembleModel flat arrays} if the model can be compiled.
+     *
+     * @param model the gbt model (may be null)
+     * @param modelSpec the spec of the model
+     * @param predictSpec the spec of the table to predict
+     * @throws InvalidSettingsException if columns required by <b>modelSpec</b> are not present in
+     *             <b>predictSpec</b>
+     * @since 3.8
+     */
+    public GBTRegressionPredictor(final GradientBoostedTreesModel model,
+        final TreeEnsembleModelPortObjectSpec modelSpec, final DataTableSpec predictSpec)
+        throws InvalidSettingsException {
+        super(TreeEnsemblePredictionUtil.createRowConverter(modelSpec, model, predictSpec));
+        m_model = model;
+        m_flatModel = model == null ? null : FlatTreeEnsembleModel.compile(model, modelSpec.getLearnTableSpec());
+        m_flatRowConverter = m_flatModel == null ? null
+            : TreeEnsemblePredictionUtil.createFlatRowConverter(modelSpec, m_flatModel, predictSpec);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RegressionPrediction predict(final DataRow row) {
+        if (m_flatModel == null) {
+            return super.predict(row);
+        }
+        double prediction = m_model.predict(m_flatRowConverter.apply(row), m_flatModel);
+        return () -> prediction;
     }
 
     /* (non-Javadoc)
@@ -5,13 +5,19 @@
 
 import java.util.Arrays;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 
 import org.knime.base.node.mine.treeensemble2.data.PredictorRecord;
+import org.knime.base.node.mine.treeensemble2.model.FlatTreeEnsembleModel;
 import org.knime.base.node.mine.treeensemble2.model.MultiClassGradientBoostedTreesModel;
+import org.knime.base.node.mine.treeensemble2.model.TreeEnsembleModelPortObjectSpec;
 import org.knime.base.node.mine.treeensemble2.model.TreeNodeRegression;
 import org.knime.base.node.mine.treeensemble2.node.predictor.AbstractPredictor;
 import org.knime.base.node.mine.treeensemble2.node.predictor.ClassificationPrediction;
+import org.knime.base.node.mine.treeensemble2.node.predictor.TreeEnsemblePredictionUtil;
 import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.node.InvalidSettingsException;
 
 /**
  * @author Adrian Nembach, KNIME GmbH, Konstanz, Germany
@@ -22,6 +28,11 @@ public class LKGradientBoostedTreesPredictor extends AbstractPredictor<Classific
 
     private final boolean m_calculateProbabilities;
 
+    /** The compiled trees or <code>null</code> if the model can't be compiled. */
+    private final FlatTreeEnsembleModel m_flatModel;
+
+    private final Function<DataRow, double[]> m_flatRowConverter;
+
     /**
      * Constructor for classification gbt predictors.
      *
@@ -34,6 +45,43 @@ public LKGradientBoostedTreesPredictor(final MultiClassGradientBoostedTreesModel
         super(rowConverter);
         m_model = model;
         m_calculateProbabilities = calculateProbabilities;
+        m_flatModel = null;
+        m_flatRowConverter = null;
+    }
+
+    /**
+     * Constructor for classification gbt predictors that walk the trees compiled into
+     * {@link FlatTreeEnsembleModel flat arrays} if the model can be compiled.
+     *
+     * @param model the gradient boosted trees model (may be null)
+     * @param calculateProbabilities indicates whether probabilities should be calculated
+     * @param modelSpec the spec of the model
+     * @param predictSpec the spec of the table to predict
+     * @throws InvalidSettingsException if columns required by <b>modelSpec</b> are not present in
+     *             <b>predictSpec</b>
+     * @since 3.8
+     */
+    public LKGradientBoostedTreesPredictor(final MultiClassGradientBoostedTreesModel model,
+        final boolean calculateProbabilities, final TreeEnsembleModelPortObjectSpec modelSpec,
+        final DataTableSpec predictSpec) throws InvalidSettingsException {
+        super(TreeEnsemblePredictionUtil.createRowConverter(modelSpec, model, predictSpec));
+        m_model = model;
+        m_calculateProbabilities = calculateProbabilities;
+        m_flatModel = model == null ? null : FlatTreeEnsembleModel.compile(model, modelSpec.getLearnTableSpec());
+        m_flatRowConverter = m_flatModel == null ? null
+            : TreeEnsemblePredictionUtil.createFlatRowConverter(modelSpec, m_flatModel, predictSpec);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ClassificationPrediction predict(final DataRow row) {
+        if (m_flatModel == null) {
+            return super.predict(row);
+        }
+        final double[] record = m_flatRowConverter.apply(row);
+        return createPrediction(calculateLogits(i -> m_flatModel.<TreeNodeRegression> findMatchingNode(i, record)));
     }
 
     /* (non-Javadoc)
@@ -41,7 +89,10 @@ public LKGradientBoostedTreesPredictor(final MultiClassGradientBoostedTreesModel
      */
     @Override
     public ClassificationPrediction predictRecord(final PredictorRecord record) {
-        double[] logits = calculateLogits(record);
+        return createPrediction(calculateLogits(i -> m_model.getTreeModelRegression(i).findMatchingNode(record)));
+    }
+
+    private ClassificationPrediction createPrediction(final double[] logits) {
         if (m_calculateProbabilities) {
             transformToProbabilities(logits);
             return new LKGBTPrediction(argmax(logits), logits);
@@ -50,14 +101,18 @@ public ClassificationPrediction predictRecord(final PredictorRecord record) {
         }
     }
 
-    private double[] calculateLogits(final PredictorRecord record) {
+    /**
+     * @param matchingNodeFinder finds the matching node of the tree with the given index, the trees are ordered by
+     *            level and then by class (see {@link MultiClassGradientBoostedTreesModel#getModel(int, int)})
+     */
+    private double[] calculateLogits(final IntFunction<TreeNodeRegression> matchingNodeFinder) {
         int nrClasses = m_model.getNrClasses();
         int nrLevels = m_model.getNrLevels();
         final double[] logits = new double[nrClasses];
         Arrays.fill(logits, m_model.getInitialValue());
         for (int i = 0; i < nrLevels; i++) {
             for (int j = 0; j < nrClasses; j++) {
-                final TreeNodeRegression matchingNode = m_model.getModel(i, j).findMatchingNode(record);
+                final TreeNodeRegression matchingNode = matchingNodeFinder.apply(i * nrClasses + j);
                 logits[j] += m_model.getCoefficientMap(i, j).get(matchingNode.getSignature());
             }
         }
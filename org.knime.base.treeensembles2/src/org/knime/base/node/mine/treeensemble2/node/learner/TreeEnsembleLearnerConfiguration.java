@@ -147,6 +147,8 @@ public class TreeEnsembleLearnerConfiguration {
 
     private static final String KEY_ROW_SAMPLING_MODE = "rowSamplingMode";
 
+    private static final String KEY_NUMERIC_BIN_COUNT = "numericBinCount";
+
     public enum MissingValueHandling {
             /**
              * Use surrogates to handle missing values
@@ -241,6 +243,12 @@ public enum ColumnSamplingMode {
     /** indicates minimum leaf size parameter is not defined. */
     public static final int MIN_CHILD_SIZE_UNDEFINED = -1;
 
+    /** indicates that numeric attributes are not binned. */
+    public static final int NUMERIC_BIN_COUNT_NONE = -1;
+
+    /** the maximum number of bins for a numeric attribute, a bin index must fit into a byte. */
+    public static final int MAX_NUMERIC_BIN_COUNT = 255;
+
     static final int DEF_MAX_LEVEL = MAX_LEVEL_INFINITE;
 
     static final RowSamplingMode DEF_ROW_SAMPLING_MODE = RowSamplingMode.Random;
@@ -336,6 +344,8 @@ public enum ColumnSamplingMode {
 
     private RowSamplingMode m_rowSamplingMode = DEF_ROW_SAMPLING_MODE;
 
+    private int m_numericBinCount = NUMERIC_BIN_COUNT_NONE;
+
     /**
      * @param isRegression
      */
@@ -791,6 +801,33 @@ public void setRowSamplingMode(final RowSamplingMode mode) {
         m_rowSamplingMode = mode;
     }
 
+    /**
+     * The number of bins numeric attributes are discretized into (by quantiles) before learning, or
+     * {@link #NUMERIC_BIN_COUNT_NONE} if the split points are searched among all values. Binned attributes are split
+     * using histograms of the bins, which is faster and needs less memory on large data.
+     *
+     * @return the number of bins or {@link #NUMERIC_BIN_COUNT_NONE}
+     */
+    public int getNumericBinCount() {
+        return m_numericBinCount;
+    }
+
+    /**
+     * @param numericBinCount the number of bins (between 2 and {@link #MAX_NUMERIC_BIN_COUNT}) or
+     *            {@link #NUMERIC_BIN_COUNT_NONE}
+     * @throws InvalidSettingsException if the value is out of range
+     * @see #getNumericBinCount()
+     */
+    public void setNumericBinCount(final int numericBinCount) throws InvalidSettingsException {
+        if (numericBinCount == NUMERIC_BIN_COUNT_NONE) {
+            // ok
+        } else if (numericBinCount < 2 || numericBinCount > MAX_NUMERIC_BIN_COUNT) {
+            throw new InvalidSettingsException("Invalid number of bins for numeric attributes: " + numericBinCount
+                + " (must be between 2 and " + MAX_NUMERIC_BIN_COUNT + ")");
+        }
+        m_numericBinCount = numericBinCount;
+    }
+
     /**
      * Saves the settings.
      *
@@ -823,6 +860,7 @@ public void save(final NodeSettingsWO settings) {
         settings.addInt(KEY_NR_HILITE_PATTERNS, m_nrHilitePatterns);
         settings.addBoolean(KEY_SAVE_TARGET_DISTRIBUTION_IN_NODES, m_saveTargetDistributionInNodes);
         settings.addString(KEY_ROW_SAMPLING_MODE, m_rowSamplingMode.name());
+        settings.addInt(KEY_NUMERIC_BIN_COUNT, m_numericBinCount);
     }
 
     /**
@@ -911,6 +949,8 @@ public void loadInModel(final NodeSettingsRO settings) throws InvalidSettingsExc
 
         setRowSamplingMode(
             RowSamplingMode.valueOf(settings.getString(KEY_ROW_SAMPLING_MODE, DEF_ROW_SAMPLING_MODE.name())));
+        // added in 3.8
+        setNumericBinCount(settings.getInt(KEY_NUMERIC_BIN_COUNT, NUMERIC_BIN_COUNT_NONE));
     }
 
     /**
@@ -1109,6 +1149,11 @@ public void loadInDialog(final NodeSettingsRO settings, final DataTableSpec inSp
 
         setRowSamplingMode(
             RowSamplingMode.valueOf(settings.getString(KEY_ROW_SAMPLING_MODE, DEF_ROW_SAMPLING_MODE.name())));
+        try {
+            setNumericBinCount(settings.getInt(KEY_NUMERIC_BIN_COUNT, NUMERIC_BIN_COUNT_NONE));
+        } catch (InvalidSettingsException e) {
+            m_numericBinCount = NUMERIC_BIN_COUNT_NONE;
+        }
     }
 
     /**
@@ -93,6 +93,10 @@ public final class TreeOptionsPanel extends JPanel {
 
     private final JSpinner m_maxLevelSpinner;
 
+    private final JCheckBox m_numericBinCountChecker;
+
+    private final JSpinner m_numericBinCountSpinner;
+
     private final JCheckBox m_minNodeSizeChecker;
 
     private final JSpinner m_minNodeSizeSpinner;
@@ -133,6 +137,18 @@ public void itemStateChanged(final ItemEvent e) {
         });
         m_maxLevelChecker.doClick();
 
+        m_numericBinCountSpinner = new JSpinner(new SpinnerNumberModel(
+            TreeEnsembleLearnerConfiguration.MAX_NUMERIC_BIN_COUNT, 2,
+            TreeEnsembleLearnerConfiguration.MAX_NUMERIC_BIN_COUNT, 1));
+        m_numericBinCountChecker = new JCheckBox("Bin numeric attributes (number of bins)");
+        m_numericBinCountChecker.addItemListener(new ItemListener() {
+            @Override
+            public void itemStateChanged(final ItemEvent e) {
+                m_numericBinCountSpinner.setEnabled(m_numericBinCountChecker.isSelected());
+            }
+        });
+        m_numericBinCountSpinner.setEnabled(false);
+
         m_minNodeSizeSpinner = new JSpinner(new SpinnerNumberModel(1, 1, Integer.MAX_VALUE, 1));
         m_minNodeSizeChecker = new JCheckBox("Minimum split node size");
         m_minNodeSizeChecker.addItemListener(new ItemListener() {
@@ -207,6 +223,14 @@ private void initPanel() {
         gbc.weightx = 1.0;
         add(m_maxLevelSpinner, gbc);
 
+        gbc.gridy += 1;
+        gbc.gridx = 0;
+        gbc.weightx = 0.0;
+        add(m_numericBinCountChecker, gbc);
+        gbc.gridx += 1;
+        gbc.weightx = 1.0;
+        add(m_numericBinCountSpinner, gbc);
+
         gbc.gridy += 1;
         gbc.gridx = 0;
         gbc.weightx = 0.0;
@@ -270,6 +294,16 @@ public void loadSettingsFrom(final DataTableSpec inSpec, final TreeEnsembleLearn
         } else {
             m_maxLevelSpinner.setValue(maxLevel);
         }
+        int numericBinCount = cfg.getNumericBinCount();
+        if ((numericBinCount != TreeEnsembleLearnerConfiguration.NUMERIC_BIN_COUNT_NONE) != m_numericBinCountChecker
+            .isSelected()) {
+            m_numericBinCountChecker.doClick();
+        }
+        if (numericBinCount == TreeEnsembleLearnerConfiguration.NUMERIC_BIN_COUNT_NONE) {
+            m_numericBinCountSpinner.setValue(TreeEnsembleLearnerConfiguration.MAX_NUMERIC_BIN_COUNT);
+        } else {
+            m_numericBinCountSpinner.setValue(numericBinCount);
+        }
 
         int minNodeSize = cfg.getMinNodeSize();
         if ((minNodeSize != TreeEnsembleLearnerConfiguration.MIN_NODE_SIZE_UNDEFINED) != m_minNodeSizeChecker
@@ -340,6 +374,10 @@ public void saveSettings(final TreeEnsembleLearnerConfiguration cfg) throws Inva
             m_maxLevelChecker.isSelected() ? (Integer)m_maxLevelSpinner.getValue()
                 : TreeEnsembleLearnerConfiguration.MAX_LEVEL_INFINITE;
         cfg.setMaxLevels(maxLevel);
+        int numericBinCount =
+            m_numericBinCountChecker.isSelected() ? (Integer)m_numericBinCountSpinner.getValue()
+                : TreeEnsembleLearnerConfiguration.NUMERIC_BIN_COUNT_NONE;
+        cfg.setNumericBinCount(numericBinCount);
 
         int minNodeSize =
             m_minNodeSizeChecker.isSelected() ? (Integer)m_minNodeSizeSpinner.getValue()
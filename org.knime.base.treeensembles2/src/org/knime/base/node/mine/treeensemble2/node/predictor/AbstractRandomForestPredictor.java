@@ -9,6 +9,7 @@
 import org.knime.base.data.filter.column.FilterColumnRow;
 import org.knime.base.node.mine.treeensemble2.data.PredictorRecord;
 import org.knime.base.node.mine.treeensemble2.data.TreeTargetColumnData;
+import org.knime.base.node.mine.treeensemble2.model.FlatTreeEnsembleModel;
 import org.knime.base.node.mine.treeensemble2.model.TreeEnsembleModel;
 import org.knime.base.node.mine.treeensemble2.model.TreeEnsembleModelPortObjectSpec;
 import org.knime.base.node.mine.treeensemble2.sample.row.RowSample;
@@ -33,6 +34,9 @@
 
     private final int[] m_filterIndices;
 
+    /** The compiled trees or <code>null</code> if the model can't be compiled. */
+    private final FlatTreeEnsembleModel m_flatModel;
+
     /**
      * @param model
      * @param modelSpec
@@ -44,6 +48,7 @@ public AbstractRandomForestPredictor(final TreeEnsembleModel model, final TreeEn
         m_model = model;
         m_filterIndices = modelSpec.calculateFilterIndices(predictSpec);
         m_learnSpec = modelSpec.getLearnTableSpec();
+        m_flatModel = FlatTreeEnsembleModel.compile(model, m_learnSpec);
     }
 
     /**
@@ -67,6 +72,9 @@ public AbstractRandomForestPredictor(final TreeEnsembleModel model, final TreeEn
     @Override
     public P predict(final DataRow row) {
         FilterColumnRow filterRow = new FilterColumnRow(row, m_filterIndices);
+        if (m_flatModel != null) {
+            return predictFlatRecord(m_flatModel.createRecord(filterRow), row.getKey());
+        }
         return predictRecord(m_model.createPredictorRecord(filterRow, m_learnSpec), row.getKey());
     }
 
@@ -77,6 +85,23 @@ public P predict(final DataRow row) {
      */
     protected abstract P predictRecord(PredictorRecord record, RowKey key);
 
+    /**
+     * Called instead of {@link #predictRecord(PredictorRecord, RowKey)} if the model could be compiled, the matching
+     * nodes are then obtained via {@link #getFlatModel()}.
+     *
+     * @param record the record as created by {@link FlatTreeEnsembleModel#createRecord(DataRow)}
+     * @param key the row key to access out of bag information
+     * @return the prediction
+     */
+    protected abstract P predictFlatRecord(double[] record, RowKey key);
+
+    /**
+     * @return the compiled trees, only available if {@link #predictFlatRecord(double[], RowKey)} is used
+     */
+    protected final FlatTreeEnsembleModel getFlatModel() {
+        return m_flatModel;
+    }
+
     private void setOutofBagFilter(final RowSample[] modelRowSamples, final TreeTargetColumnData targetColumnData) {
         if (modelRowSamples == null || targetColumnData == null) {
             throw new NullPointerException("Argument must not be null.");
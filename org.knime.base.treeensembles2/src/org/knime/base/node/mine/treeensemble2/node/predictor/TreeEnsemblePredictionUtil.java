@@ -12,6 +12,7 @@
 import org.knime.base.node.mine.treeensemble2.data.PredictorRecord;
 import org.knime.base.node.mine.treeensemble2.data.TreeTargetColumnData;
 import org.knime.base.node.mine.treeensemble2.model.AbstractTreeEnsembleModel;
+import org.knime.base.node.mine.treeensemble2.model.FlatTreeEnsembleModel;
 import org.knime.base.node.mine.treeensemble2.model.MultiClassGradientBoostedTreesModel;
 import org.knime.base.node.mine.treeensemble2.model.TreeEnsembleModel;
 import org.knime.base.node.mine.treeensemble2.model.TreeEnsembleModelPortObjectSpec;
@@ -54,6 +55,24 @@ public static Function<DataRow, PredictorRecord> createRowConverter(final TreeEn
         return r -> model.createPredictorRecord(new FilterColumnRow(r, filterIndices), learnSpec);
     }
 
+    /**
+     * Creates a function that converts rows of <b>tableSpec</b> into the records of a model compiled into
+     * {@link FlatTreeEnsembleModel flat arrays}, the counterpart of
+     * {@link #createRowConverter(TreeEnsembleModelPortObjectSpec, AbstractTreeEnsembleModel, DataTableSpec)}.
+     *
+     * @param modelSpec the spec of the model
+     * @param flatModel the compiled model
+     * @param tableSpec the spec of the table to predict
+     * @return a function that converts rows into records for <b>flatModel</b>
+     * @throws InvalidSettingsException if columns required by <b>modelSpec</b> are not present in <b>tableSpec</b>
+     * @since 3.8
+     */
+    public static Function<DataRow, double[]> createFlatRowConverter(final TreeEnsembleModelPortObjectSpec modelSpec,
+        final FlatTreeEnsembleModel flatModel, final DataTableSpec tableSpec) throws InvalidSettingsException {
+        int[] filterIndices = modelSpec.calculateFilterIndices(tableSpec);
+        return r -> flatModel.createRecord(new FilterColumnRow(r, filterIndices));
+    }
+
     /**
      * Setups the PredictionRearrangerCreator for classification gbts.
      *
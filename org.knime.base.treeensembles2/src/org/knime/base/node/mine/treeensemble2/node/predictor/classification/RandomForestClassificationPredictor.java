@@ -3,11 +3,12 @@
  */
 package org.knime.base.node.mine.treeensemble2.node.predictor.classification;
 
+import java.util.function.IntFunction;
+
 import org.knime.base.node.mine.treeensemble2.data.PredictorRecord;
 import org.knime.base.node.mine.treeensemble2.data.TreeTargetColumnData;
 import org.knime.base.node.mine.treeensemble2.model.TreeEnsembleModel;
 import org.knime.base.node.mine.treeensemble2.model.TreeEnsembleModelPortObjectSpec;
-import org.knime.base.node.mine.treeensemble2.model.TreeModelClassification;
 import org.knime.base.node.mine.treeensemble2.model.TreeNodeClassification;
 import org.knime.base.node.mine.treeensemble2.node.predictor.AbstractRandomForestPredictor;
 import org.knime.base.node.mine.treeensemble2.node.predictor.RandomForestClassificationPrediction;
@@ -60,22 +61,32 @@ public RandomForestClassificationPredictor(final TreeEnsembleModel model,
      */
     @Override
     protected RandomForestClassificationPrediction predictRecord(final PredictorRecord record, final RowKey key) {
-        return new RFClassificationPrediction(record, key, hasOutOfBagFilter());
+        return new RFClassificationPrediction(i -> m_model.getTreeModelClassification(i).findMatchingNode(record),
+            key, hasOutOfBagFilter());
+    }
+
+    /* (non-Javadoc)
+     * @see org.knime.base.node.mine.treeensemble2.node.predictor.AbstractRandomForestPredictor#predictFlatRecord(double[], org.knime.core.data.RowKey)
+     */
+    @Override
+    protected RandomForestClassificationPrediction predictFlatRecord(final double[] record, final RowKey key) {
+        return new RFClassificationPrediction(
+            i -> getFlatModel().<TreeNodeClassification> findMatchingNode(i, record), key, hasOutOfBagFilter());
     }
 
     private class RFClassificationPrediction implements RandomForestClassificationPrediction {
 
         private final Voting m_voting;
 
-        RFClassificationPrediction(final PredictorRecord record, final RowKey key, final boolean hasOutOfBagFilter) {
+        RFClassificationPrediction(final IntFunction<TreeNodeClassification> matchingNodeFinder, final RowKey key,
+            final boolean hasOutOfBagFilter) {
             m_voting = m_votingFactory.createVoting();
             final int nrModels = m_model.getNrModels();
             for (int i = 0; i < nrModels; i++) {
                 if (hasOutOfBagFilter && isRowPartOfTrainingData(key, i)) {
                     // ignore, row was used to train the model
                 } else {
-                    TreeModelClassification m = m_model.getTreeModelClassification(i);
-                    TreeNodeClassification match = m.findMatchingNode(record);
+                    TreeNodeClassification match = matchingNodeFinder.apply(i);
                     m_voting.addVote(match);
                 }
             }
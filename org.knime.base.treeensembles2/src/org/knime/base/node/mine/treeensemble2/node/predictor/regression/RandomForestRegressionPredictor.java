@@ -3,13 +3,14 @@
  */
 package org.knime.base.node.mine.treeensemble2.node.predictor.regression;
 
+import java.util.function.IntFunction;
+
 import org.apache.commons.math.stat.descriptive.moment.Mean;
 import org.apache.commons.math.stat.descriptive.moment.Variance;
 import org.knime.base.node.mine.treeensemble2.data.PredictorRecord;
 import org.knime.base.node.mine.treeensemble2.data.TreeTargetColumnData;
 import org.knime.base.node.mine.treeensemble2.model.TreeEnsembleModel;
 import org.knime.base.node.mine.treeensemble2.model.TreeEnsembleModelPortObjectSpec;
-import org.knime.base.node.mine.treeensemble2.model.TreeModelRegression;
 import org.knime.base.node.mine.treeensemble2.model.TreeNodeRegression;
 import org.knime.base.node.mine.treeensemble2.node.predictor.AbstractRandomForestPredictor;
 import org.knime.base.node.mine.treeensemble2.node.predictor.RandomForestRegressionPrediction;
@@ -55,7 +56,17 @@ public RandomForestRegressionPredictor(final TreeEnsembleModel model,
      */
     @Override
     protected RandomForestRegressionPrediction predictRecord(final PredictorRecord record, final RowKey key) {
-        return new RFRegressionPrediction(record, key, hasOutOfBagFilter());
+        return new RFRegressionPrediction(i -> m_model.getTreeModelRegression(i).findMatchingNode(record), key,
+            hasOutOfBagFilter());
+    }
+
+    /* (non-Javadoc)
+     * @see org.knime.base.node.mine.treeensemble2.node.predictor.AbstractRandomForestPredictor#predictFlatRecord(double[], org.knime.core.data.RowKey)
+     */
+    @Override
+    protected RandomForestRegressionPrediction predictFlatRecord(final double[] record, final RowKey key) {
+        return new RFRegressionPrediction(i -> getFlatModel().<TreeNodeRegression> findMatchingNode(i, record), key,
+            hasOutOfBagFilter());
     }
 
     private class RFRegressionPrediction implements RandomForestRegressionPrediction {
@@ -69,7 +80,8 @@ private class RFRegressionPrediction implements RandomForestRegressionPrediction
         /**
          *
          */
-        RFRegressionPrediction(final PredictorRecord record, final RowKey key, final boolean hasOutOfBagFilter) {
+        RFRegressionPrediction(final IntFunction<TreeNodeRegression> matchingNodeFinder, final RowKey key,
+            final boolean hasOutOfBagFilter) {
             Mean mean = new Mean();
             Variance variance = new Variance();
             final int nrModels = m_model.getNrModels();
@@ -77,8 +89,7 @@ private class RFRegressionPrediction implements RandomForestRegressionPrediction
                 if (hasOutOfBagFilter && isRowPartOfTrainingData(key, i)) {
                     // ignore, row was used to train the model
                 } else {
-                    TreeModelRegression m = m_model.getTreeModelRegression(i);
-                    TreeNodeRegression match = m.findMatchingNode(record);
+                    TreeNodeRegression match = matchingNodeFinder.apply(i);
                     double nodeMean = match.getMean();
                     mean.increment(nodeMean);
                     variance.increment(nodeMean);
@@ -48,11 +48,15 @@
 package org.knime.base.node.mine.treeensemble2.node.regressiontree.predictor;
 
 import java.util.Optional;
+import java.util.function.Function;
 
 import org.knime.base.data.filter.column.FilterColumnRow;
+import org.knime.base.node.mine.treeensemble2.data.PredictorRecord;
+import org.knime.base.node.mine.treeensemble2.model.FlatTreeEnsembleModel;
 import org.knime.base.node.mine.treeensemble2.model.RegressionTreeModel;
 import org.knime.base.node.mine.treeensemble2.model.RegressionTreeModelPortObjectSpec;
 import org.knime.base.node.mine.treeensemble2.node.predictor.PredictionRearrangerCreator;
+import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.container.ColumnRearranger;
 import org.knime.core.node.InvalidSettingsException;
@@ -99,9 +103,15 @@ ColumnRearranger createExecutionRearranger() throws InvalidSettingsException {
 
     private PredictionRearrangerCreator createRearrangerCreator() throws InvalidSettingsException {
         int[] filterIndices = m_modelSpec.calculateFilterIndices(m_dataSpec);
-        PredictionRearrangerCreator prc =
-            new PredictionRearrangerCreator(m_dataSpec, new RegressionTreePredictor(m_model, r -> m_model
-                .createPredictorRecord(new FilterColumnRow(r, filterIndices), m_modelSpec.getLearnTableSpec())));
+        DataTableSpec learnSpec = m_modelSpec.getLearnTableSpec();
+        Function<DataRow, PredictorRecord> rowConverter =
+            r -> m_model.createPredictorRecord(new FilterColumnRow(r, filterIndices), learnSpec);
+        // the model is null during configure
+        FlatTreeEnsembleModel flatModel = m_model == null ? null : FlatTreeEnsembleModel.compile(m_model, learnSpec);
+        RegressionTreePredictor predictor = flatModel == null ? new RegressionTreePredictor(m_model, rowConverter)
+            : new RegressionTreePredictor(m_model, rowConverter, flatModel,
+                r -> flatModel.createRecord(new FilterColumnRow(r, filterIndices)));
+        PredictionRearrangerCreator prc = new PredictionRearrangerCreator(m_dataSpec, predictor);
         prc.addRegressionPrediction(m_configuration.getPredictionColumnName());
         return prc;
     }
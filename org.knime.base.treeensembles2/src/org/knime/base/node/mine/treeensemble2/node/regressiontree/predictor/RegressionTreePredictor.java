@@ -6,7 +6,9 @@
 import java.util.function.Function;
 
 import org.knime.base.node.mine.treeensemble2.data.PredictorRecord;
+import org.knime.base.node.mine.treeensemble2.model.FlatTreeEnsembleModel;
 import org.knime.base.node.mine.treeensemble2.model.RegressionTreeModel;
+import org.knime.base.node.mine.treeensemble2.model.TreeNodeRegression;
 import org.knime.base.node.mine.treeensemble2.node.predictor.AbstractPredictor;
 import org.knime.base.node.mine.treeensemble2.node.predictor.RegressionPrediction;
 import org.knime.core.data.DataRow;
@@ -18,9 +20,41 @@ class RegressionTreePredictor extends AbstractPredictor<RegressionPrediction> {
 
     private final RegressionTreeModel m_model;
 
+    /** The compiled tree or <code>null</code> if the tree isn't compiled. */
+    private final FlatTreeEnsembleModel m_flatModel;
+
+    private final Function<DataRow, double[]> m_flatRowConverter;
+
     RegressionTreePredictor(final RegressionTreeModel model, final Function<DataRow, PredictorRecord> rowConverter) {
+        this(model, rowConverter, null, null);
+    }
+
+    /**
+     * @param model the model
+     * @param rowConverter converts input {@link DataRow rows} into {@link PredictorRecord records}
+     * @param flatModel <b>model</b> compiled via {@link FlatTreeEnsembleModel#compile(RegressionTreeModel,
+     *            org.knime.core.data.DataTableSpec)}, may be null
+     * @param flatRowConverter converts input rows into records of <b>flatModel</b>, null if <b>flatModel</b> is null
+     */
+    RegressionTreePredictor(final RegressionTreeModel model, final Function<DataRow, PredictorRecord> rowConverter,
+        final FlatTreeEnsembleModel flatModel, final Function<DataRow, double[]> flatRowConverter) {
         super(rowConverter);
         m_model = model;
+        m_flatModel = flatModel;
+        m_flatRowConverter = flatRowConverter;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RegressionPrediction predict(final DataRow row) {
+        if (m_flatModel == null) {
+            return super.predict(row);
+        }
+        double prediction =
+            m_flatModel.<TreeNodeRegression> findMatchingNode(0, m_flatRowConverter.apply(row)).getMean();
+        return () -> prediction;
     }
 
     /* (non-Javadoc)
@@ -88,6 +88,7 @@
 import org.knime.base.data.aggregation.date.DayRangeOperator;
 import org.knime.base.data.aggregation.date.MedianDateOperator;
 import org.knime.base.data.aggregation.date.MillisRangeOperator;
+import org.knime.base.data.aggregation.general.ApproximateUniqueCountOperator;
 import org.knime.base.data.aggregation.general.ConcatenateOperator;
 import org.knime.base.data.aggregation.general.CountOperator;
 import org.knime.base.data.aggregation.general.FirstOperator;
@@ -311,6 +312,9 @@ private AggregationMethods() {
                 OperatorColumnSettings.DEFAULT_EXCL_MISSING));
             /**Counts the number of unique group members.*/
             addOperator(new UniqueCountOperator(GlobalSettings.DEFAULT, OperatorColumnSettings.DEFAULT_INCL_MISSING));
+            /**Estimates the number of unique group members.*/
+            addOperator(new ApproximateUniqueCountOperator(GlobalSettings.DEFAULT,
+                OperatorColumnSettings.DEFAULT_INCL_MISSING));
             /**Counts the number of group members.*/
             addOperator(new CountOperator(GlobalSettings.DEFAULT, OperatorColumnSettings.DEFAULT_INCL_MISSING));
             /**Returns the percentage of the group.*/
@@ -449,6 +449,139 @@ public final void reset() {
      */
     protected abstract void resetInternal();
 
+    /**
+     * Returns <code>true</code> if this operator supports {@link #merge(AggregationOperator)}, i.e. the rows of a
+     * group can be aggregated in several instances of this operator (e.g. concurrently) whose partial results are
+     * combined afterwards. The result must not depend on the order in which rows are aggregated and partial results
+     * are merged. The default implementation returns <code>false</code>; operators that return <code>true</code>
+     * must override {@link #mergeInternal(AggregationOperator)}. Subclasses of a mergeable operator that keep
+     * additional state must override this method as well.
+     *
+     * @return <code>true</code> if the partial results of several instances of this operator can be merged
+     * @since 3.8
+     */
+    public boolean isMergeable() {
+        return false;
+    }
+
+    /**
+     * Merges the partial result of the given operator into this operator. Afterwards this operator holds the result
+     * for all rows aggregated by either of the operators. The given operator must be an instance of the same class
+     * created with the same settings (e.g. via {@link #createInstance(GlobalSettings, OperatorColumnSettings)}) and
+     * must not be used afterwards.
+     *
+     * @param other the operator to merge into this one
+     * @throws UnsupportedOperationException if this operator is not {@link #isMergeable() mergeable}
+     * @throws IllegalArgumentException if the other operator is of a different class
+     * @since 3.8
+     */
+    public final void merge(final AggregationOperator other) {
+        if (!isMergeable()) {
+            throw new UnsupportedOperationException("Operator '" + getOperatorData().getLabel()
+                + "' does not support merging");
+        }
+        if (other == null) {
+            throw new NullPointerException("operator must not be null");
+        }
+        if (other.getClass() != getClass()) {
+            throw new IllegalArgumentException("Operator of class " + other.getClass().getName()
+                + " can't be merged into operator of class " + getClass().getName());
+        }
+        m_missingValuesCount += other.m_missingValuesCount;
+        if (m_skipped) {
+            return;
+        }
+        if (other.m_skipped) {
+            m_skipped = true;
+            m_skipMsg = other.m_skipMsg;
+            return;
+        }
+        m_skipped = mergeInternal(other);
+    }
+
+    /**
+     * Merges the partial result of the given operator, which is of the same class as this operator, into this
+     * operator. Only called if {@link #isMergeable()} returns <code>true</code> and neither of the operators has been
+     * skipped.
+     *
+     * @param other the operator to merge into this one
+     * @return <code>true</code> if this column should be skipped in further calculations
+     * @see #merge(AggregationOperator)
+     * @since 3.8
+     */
+    protected boolean mergeInternal(final AggregationOperator other) {
+        throw new UnsupportedOperationException("Operator '" + getOperatorData().getLabel()
+            + "' does not support merging");
+    }
+
+    /**
+     * Returns <code>true</code> if this operator supports {@link #remove(DataRow, int...)}, i.e. a previously
+     * computed row can be taken out of the aggregate again without recomputing it from the remaining rows. This
+     * allows the incremental aggregation of sliding windows. The default implementation returns <code>false</code>;
+     * operators that return <code>true</code> must override {@link #removeInternal(DataCell)}. Subclasses of a
+     * removable operator that change the computation must override this method as well.
+     *
+     * @return <code>true</code> if rows can be removed from this operator
+     * @since 3.8
+     */
+    public boolean isRemovable() {
+        return false;
+    }
+
+    /**
+     * Removes the given row, which has been passed to {@link #compute(DataRow, int...)} with the same indices before,
+     * from this operator. Afterwards the operator holds the result for the remaining rows. Once the operator has been
+     * {@link #isSkipped() skipped} the call is ignored and the operator needs to be reset and recomputed.
+     *
+     * @param row the {@link DataRow} to remove
+     * @param idxs the indices of the aggregated columns. Pass -1 to indicate that the row key should be used.
+     * @throws UnsupportedOperationException if this operator is not {@link #isRemovable() removable}
+     * @since 3.8
+     */
+    public final void remove(final DataRow row, final int... idxs) {
+        if (!isRemovable()) {
+            throw new UnsupportedOperationException("Operator '" + getOperatorData().getLabel()
+                + "' does not support the removal of rows");
+        }
+        if (m_skipped) {
+            return;
+        }
+        if (row == null) {
+            throw new NullPointerException("row must not be null");
+        }
+        if (idxs == null || idxs.length < 1) {
+            throw new NullPointerException("indices must not be null or empty");
+        }
+        for (final int idx : idxs) {
+            final DataCell cell;
+            if (idx == -1) {
+                cell = new StringCell(row.getKey().getString());
+            } else {
+                cell = row.getCell(idx);
+            }
+            if (inclMissingCells() || !cell.isMissing()) {
+                m_skipped = removeInternal(cell);
+            }
+            if (cell.isMissing()) {
+                m_missingValuesCount--;
+            }
+        }
+    }
+
+    /**
+     * Removes the given cell, which has been passed to {@link #computeInternal(DataCell)} before, from the aggregate.
+     * Only called if {@link #isRemovable()} returns <code>true</code> and the operator hasn't been skipped.
+     *
+     * @param cell the {@link DataCell} to remove, a missing cell only if {@link #inclMissingCells()} is set
+     * @return <code>true</code> if this column should be skipped in further calculations
+     * @see #remove(DataRow, int...)
+     * @since 3.8
+     */
+    protected boolean removeInternal(final DataCell cell) {
+        throw new UnsupportedOperationException("Operator '" + getOperatorData().getLabel()
+            + "' does not support the removal of rows");
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,218 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.data.aggregation.general;
+
+import org.knime.base.data.aggregation.AggregationOperator;
+import org.knime.base.data.aggregation.GlobalSettings;
+import org.knime.base.data.aggregation.OperatorColumnSettings;
+import org.knime.base.data.aggregation.OperatorData;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DataValue;
+import org.knime.core.data.def.IntCell;
+
+/**
+ * Returns an estimate of the number of unique values per group. Other than the {@link UniqueCountOperator} this
+ * operator does not keep the values of the group in memory but uses a HyperLogLog sketch of fixed size (4KB per
+ * group) whose standard error is about 1.6%. Since the sketches of two groups can be combined without loss the
+ * operator is {@link #isMergeable() mergeable}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+public class ApproximateUniqueCountOperator extends AggregationOperator {
+
+    /** The number of bits of the hash value used to select the register. */
+    private static final int PRECISION = 12;
+
+    private static final int NUMBER_OF_REGISTERS = 1 << PRECISION;
+
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / NUMBER_OF_REGISTERS);
+
+    private final DataType m_type = IntCell.TYPE;
+
+    /** Lazily created since many groups might not have any value. */
+    private byte[] m_registers;
+
+    /**Constructor for class ApproximateUniqueCountOperator.
+     * @param globalSettings the global settings
+     * @param opColSettings the operator column specific settings
+     */
+    public ApproximateUniqueCountOperator(final GlobalSettings globalSettings,
+            final OperatorColumnSettings opColSettings) {
+        this(new OperatorData("Unique count (approximate)", false, false,
+                DataValue.class, true), globalSettings, opColSettings);
+    }
+
+    /**Constructor for class ApproximateUniqueCountOperator.
+     * @param operatorData the operator data
+     * @param globalSettings the global settings
+     * @param opColSettings the operator column specific settings
+     */
+    protected ApproximateUniqueCountOperator(final OperatorData operatorData,
+            final GlobalSettings globalSettings,
+            final OperatorColumnSettings opColSettings) {
+        super(operatorData, globalSettings, opColSettings);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AggregationOperator createInstance(
+            final GlobalSettings globalSettings,
+            final OperatorColumnSettings opColSettings) {
+        return new ApproximateUniqueCountOperator(getOperatorData(), globalSettings, opColSettings);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected DataType getDataType(final DataType origType) {
+        return m_type;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean computeInternal(final DataCell cell) {
+        if (m_registers == null) {
+            m_registers = new byte[NUMBER_OF_REGISTERS];
+        }
+        final long hash = hash(cell.hashCode());
+        final int register = (int)(hash >>> (Long.SIZE - PRECISION));
+        //the sentinel bit limits the rank to the number of remaining bits + 1
+        final byte rank = (byte)(Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1);
+        if (m_registers[register] < rank) {
+            m_registers[register] = rank;
+        }
+        return false;
+    }
+
+    /**
+     * Spreads the 32 bit hash code of a cell over 64 bits (finalizer of the SplitMix64 generator).
+     */
+    private static long hash(final int hashCode) {
+        long h = hashCode * 0x9E3779B97F4A7C15L;
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected DataCell getResultInternal() {
+        if (m_registers == null) {
+            return new IntCell(0);
+        }
+        double sum = 0;
+        int zeroRegisters = 0;
+        for (final byte rank : m_registers) {
+            sum += Math.scalb(1.0, -rank);
+            if (rank == 0) {
+                zeroRegisters++;
+            }
+        }
+        double estimate = ALPHA * NUMBER_OF_REGISTERS * NUMBER_OF_REGISTERS / sum;
+        if (estimate <= 2.5 * NUMBER_OF_REGISTERS && zeroRegisters > 0) {
+            //use linear counting for small cardinalities
+            estimate = NUMBER_OF_REGISTERS * Math.log((double)NUMBER_OF_REGISTERS / zeroRegisters);
+        }
+        return new IntCell((int)Math.min(Integer.MAX_VALUE, Math.round(estimate)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final byte[] otherRegisters = ((ApproximateUniqueCountOperator)other).m_registers;
+        if (otherRegisters == null) {
+            return false;
+        }
+        if (m_registers == null) {
+            m_registers = otherRegisters.clone();
+            return false;
+        }
+        for (int i = 0; i < NUMBER_OF_REGISTERS; i++) {
+            if (m_registers[i] < otherRegisters[i]) {
+                m_registers[i] = otherRegisters[i];
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void resetInternal() {
+        m_registers = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getDescription() {
+        return "Estimates the number of unique members per group using a HyperLogLog sketch. Requires "
+            + "constant memory per group and has a typical relative error of about 1.6%.";
+    }
+}
@@ -139,6 +139,26 @@ protected DataCell getResultInternal() {
         return m_maxVal;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final DataCell otherMax = ((MaxOperator)other).m_maxVal;
+        if (otherMax != null && (m_maxVal == null || m_comparator.compare(otherMax, m_maxVal) > 0)) {
+            m_maxVal = otherMax;
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -138,6 +138,26 @@ protected DataCell getResultInternal() {
         return m_minVal;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final DataCell otherMin = ((MinOperator)other).m_minVal;
+        if (otherMin != null && (m_minVal == null || m_comparator.compare(otherMin, m_minVal) < 0)) {
+            m_minVal = otherMin;
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -143,6 +143,20 @@ protected Set<DataCell> getGroupMembers() {
         return m_cells;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        //not mergeable by default since the order of the set elements depends on the order of the rows
+        for (final DataCell cell : ((SetCellOperator)other).m_cells) {
+            if (computeInternal(cell)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
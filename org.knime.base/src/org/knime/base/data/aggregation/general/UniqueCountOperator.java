@@ -110,6 +110,15 @@ protected DataCell getResultInternal() {
         return new IntCell(getGroupMembers().size());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        //the number of unique values doesn't depend on the order
+        return true;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,150 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ */
+
+package org.knime.base.data.aggregation.numerical;
+
+/**
+ * A running sum of doubles that keeps track of the rounding error of each addition (Neumaier's variant of the
+ * Kahan summation). Unlike a plain <code>double</code> the sum stays accurate if values are subtracted again, e.g.
+ * when rows leave a moving window, even if a large value has been added and removed in the meantime. Infinite and
+ * NaN values are counted instead of summed so that they can be subtracted as well.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class CompensatedSum {
+
+    private double m_sum = 0;
+
+    private double m_compensation = 0;
+
+    private long m_positiveInfinityCount = 0;
+
+    private long m_negativeInfinityCount = 0;
+
+    private long m_nanCount = 0;
+
+    /**
+     * @param d the value to add
+     */
+    void add(final double d) {
+        if (!countNonFinite(d, 1)) {
+            addFinite(d);
+        }
+    }
+
+    /**
+     * @param d the value to subtract, must have been added before
+     */
+    void subtract(final double d) {
+        if (!countNonFinite(d, -1)) {
+            addFinite(-d);
+        }
+    }
+
+    /**
+     * @param other the sum to add
+     */
+    void add(final CompensatedSum other) {
+        addFinite(other.m_sum);
+        addFinite(other.m_compensation);
+        m_positiveInfinityCount += other.m_positiveInfinityCount;
+        m_negativeInfinityCount += other.m_negativeInfinityCount;
+        m_nanCount += other.m_nanCount;
+    }
+
+    private boolean countNonFinite(final double d, final int delta) {
+        if (Double.isNaN(d)) {
+            m_nanCount += delta;
+        } else if (d == Double.POSITIVE_INFINITY) {
+            m_positiveInfinityCount += delta;
+        } else if (d == Double.NEGATIVE_INFINITY) {
+            m_negativeInfinityCount += delta;
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private void addFinite(final double d) {
+        final double t = m_sum + d;
+        if (Double.isInfinite(t)) {
+            //overflow, the error term is meaningless
+            m_sum = t;
+        } else if (Math.abs(m_sum) >= Math.abs(d)) {
+            m_compensation += (m_sum - t) + d;
+            m_sum = t;
+        } else {
+            m_compensation += (d - t) + m_sum;
+            m_sum = t;
+        }
+    }
+
+    /**
+     * @return the current sum
+     */
+    double getValue() {
+        if (m_nanCount > 0 || (m_positiveInfinityCount > 0 && m_negativeInfinityCount > 0)) {
+            return Double.NaN;
+        }
+        if (m_positiveInfinityCount > 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (m_negativeInfinityCount > 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        return m_sum + m_compensation;
+    }
+
+    /**
+     * Sets the sum to zero.
+     */
+    void reset() {
+        m_sum = 0;
+        m_compensation = 0;
+        m_positiveInfinityCount = 0;
+        m_negativeInfinityCount = 0;
+        m_nanCount = 0;
+    }
+}
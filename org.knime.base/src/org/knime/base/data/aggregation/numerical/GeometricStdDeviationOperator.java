@@ -95,6 +95,15 @@ protected boolean computeInternal(final DataCell cell) {
         return super.computeInternal(new DoubleCell(Math.log(value)));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean removeInternal(final DataCell cell) {
+        final double value = ((DoubleValue)cell).getDoubleValue();
+        return super.removeInternal(new DoubleCell(Math.log(value)));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -63,7 +63,7 @@ public class MeanOperator extends AggregationOperator {
 
     private final DataType m_type = DoubleCell.TYPE;
     private int m_count = 0;
-    private double m_mean = 0;
+    private final CompensatedSum m_sum = new CompensatedSum();
 
     /**Constructor for class MeanOperator.
      * @param operatorData the operator data
@@ -109,9 +109,7 @@ public AggregationOperator createInstance(
      */
     @Override
     protected boolean computeInternal(final DataCell cell) {
-        final double d = ((DoubleValue)cell).getDoubleValue();
-        m_mean = m_mean * ((double)m_count / (m_count + 1))
-                    + d * (1.0 / (m_count + 1));
+        m_sum.add(((DoubleValue)cell).getDoubleValue());
         m_count++;
         return false;
     }
@@ -124,7 +122,48 @@ protected DataCell getResultInternal() {
         if (m_count == 0) {
             return DataType.getMissingCell();
         }
-        return new DoubleCell(m_mean);
+        return new DoubleCell(m_sum.getValue() / m_count);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final MeanOperator otherMean = (MeanOperator)other;
+        m_sum.add(otherMean.m_sum);
+        m_count += otherMean.m_count;
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRemovable() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean removeInternal(final DataCell cell) {
+        if (m_count <= 1) {
+            resetInternal();
+            return false;
+        }
+        m_sum.subtract(((DoubleValue)cell).getDoubleValue());
+        m_count--;
+        return false;
     }
 
     /**
@@ -132,7 +171,7 @@ protected DataCell getResultInternal() {
      */
     @Override
     protected void resetInternal() {
-        m_mean = 0;
+        m_sum.reset();
         m_count = 0;
     }
 
@@ -67,8 +67,8 @@
 public class SumOperator extends AggregationOperator {
 
     private final DataType m_type;
-    private boolean m_valid = false;
-    private double m_sum = 0;
+    private long m_validCount = 0;
+    private final CompensatedSum m_sum = new CompensatedSum();
 
     /**Constructor for class SumOperator.
      * @param globalSettings the global settings
@@ -131,9 +131,8 @@ public AggregationOperator createInstance(
      */
     @Override
     protected boolean computeInternal(final DataCell cell) {
-        m_valid = true;
-        final double d = ((DoubleValue)cell).getDoubleValue();
-        m_sum += d;
+        m_validCount++;
+        m_sum.add(((DoubleValue)cell).getDoubleValue());
         return false;
     }
 
@@ -142,29 +141,71 @@ protected boolean computeInternal(final DataCell cell) {
      */
     @Override
     protected DataCell getResultInternal() {
-        if (!m_valid) {
+        if (m_validCount == 0) {
             return DataType.getMissingCell();
         }
+        final double sum = m_sum.getValue();
         if (IntCell.TYPE.equals(m_type)) {
             //check if the double value is to big for an integer
-            if (m_sum > Integer.MAX_VALUE) {
+            if (sum > Integer.MAX_VALUE) {
                 setSkipped(true);
                 setSkipMessage("Sum > maximum int value. "
                         + "Convert column to long.");
                 return DataType.getMissingCell();
             }
-            return new IntCell((int)m_sum);
+            return new IntCell((int)sum);
         } else if (LongCell.TYPE.equals(m_type)) {
             //check if the double value is to big for a long
-            if (m_sum > Long.MAX_VALUE) {
+            if (sum > Long.MAX_VALUE) {
                 setSkipped(true);
                 setSkipMessage("Sum > maximum long value. "
                         + "Convert column to double.");
                 return DataType.getMissingCell();
             }
-            return new LongCell((long)m_sum);
+            return new LongCell((long)sum);
         }
-        return new DoubleCell(m_sum);
+        return new DoubleCell(sum);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final SumOperator otherSum = (SumOperator)other;
+        m_validCount += otherSum.m_validCount;
+        m_sum.add(otherSum.m_sum);
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRemovable() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean removeInternal(final DataCell cell) {
+        m_validCount--;
+        if (m_validCount == 0) {
+            m_sum.reset();
+        } else {
+            m_sum.subtract(((DoubleValue)cell).getDoubleValue());
+        }
+        return false;
     }
 
     /**
@@ -172,8 +213,8 @@ protected DataCell getResultInternal() {
      */
     @Override
     protected void resetInternal() {
-        m_valid = false;
-        m_sum = 0;
+        m_validCount = 0;
+        m_sum.reset();
     }
 
     /**
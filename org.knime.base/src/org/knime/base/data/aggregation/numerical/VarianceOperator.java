@@ -63,8 +63,8 @@ public class VarianceOperator extends AggregationOperator {
 
     private final DataType m_type = DoubleCell.TYPE;
 
-    private double m_sumSquare = 0;
-    private double m_sum = 0;
+    private final CompensatedSum m_sumSquare = new CompensatedSum();
+    private final CompensatedSum m_sum = new CompensatedSum();
     private int m_validCount = 0;
 
     /**Constructor for class VarianceOperator.
@@ -113,8 +113,8 @@ public AggregationOperator createInstance(
     protected boolean computeInternal(final DataCell cell) {
         final double d = ((DoubleValue)cell).getDoubleValue();
         m_validCount++;
-        m_sum += d;
-        m_sumSquare += d * d;
+        m_sum.add(d);
+        m_sumSquare.add(d * d);
         return false;
     }
 
@@ -129,7 +129,8 @@ protected DataCell getResultInternal() {
         if (m_validCount == 1) {
             return new DoubleCell(0);
         }
-        double variance = (m_sumSquare - ((m_sum * m_sum)
+        final double sum = m_sum.getValue();
+        double variance = (m_sumSquare.getValue() - ((sum * sum)
                 / m_validCount)) / (m_validCount - 1);
         // unreported bug fix: in cases in which a column contains
         // almost only one value (for instance 1.0) but one single
@@ -141,13 +142,58 @@ protected DataCell getResultInternal() {
         return new DoubleCell(variance);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final VarianceOperator otherVariance = (VarianceOperator)other;
+        m_validCount += otherVariance.m_validCount;
+        m_sum.add(otherVariance.m_sum);
+        m_sumSquare.add(otherVariance.m_sumSquare);
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRemovable() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean removeInternal(final DataCell cell) {
+        m_validCount--;
+        if (m_validCount == 0) {
+            m_sum.reset();
+            m_sumSquare.reset();
+        } else {
+            final double d = ((DoubleValue)cell).getDoubleValue();
+            m_sum.subtract(d);
+            m_sumSquare.subtract(d * d);
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     protected void resetInternal() {
-        m_sumSquare = 0;
-        m_sum = 0;
+        m_sumSquare.reset();
+        m_sum.reset();
         m_validCount = 0;
     }
 
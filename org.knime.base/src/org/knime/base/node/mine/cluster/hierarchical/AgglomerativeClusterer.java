@@ -0,0 +1,508 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.mine.cluster.hierarchical;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import org.knime.base.node.mine.cluster.hierarchical.HierarchicalClusterNodeModel.Linkage;
+import org.knime.base.node.mine.cluster.hierarchical.distfunctions.DistanceFunction;
+import org.knime.base.util.HalfFloatMatrix;
+import org.knime.core.data.DataRow;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Computes the merges of an agglomerative hierarchical clustering. Single linkage uses the SLINK algorithm (Sibson,
+ * 1973) in quadratic time, which only needs linear memory if the distances are not cached. Average and complete
+ * linkage use the nearest-neighbor chain algorithm, either with Lance-Williams updates of the cached distance matrix
+ * (quadratic time) or, in linear memory, with the distances of the clusters computed from their rows. The distances
+ * between the rows are computed concurrently.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class AgglomerativeClusterer {
+
+    /** Number of rows whose distances are computed in one task. */
+    private static final int ROWS_PER_TASK = 64;
+
+    private final DataRow[] m_rows;
+
+    private final DistanceFunction m_distFunction;
+
+    private final int[] m_includedCols;
+
+    private final ThreadPool m_pool;
+
+    /**
+     * The merges of a clustering, sorted by increasing distance. Clusters are identified as in the merge steps of
+     * the node: the clusters <code>0</code> to <code>n - 1</code> are the rows, the cluster created in merge
+     * <code>k</code> is <code>n + k</code>. The first cluster of a merge has the smaller id.
+     */
+    static final class Merges {
+        private final int[] m_first;
+
+        private final int[] m_second;
+
+        private final float[] m_distance;
+
+        private Merges(final int[] first, final int[] second, final float[] distance) {
+            m_first = first;
+            m_second = second;
+            m_distance = distance;
+        }
+
+        /** @return the number of merges */
+        int size() {
+            return m_first.length;
+        }
+
+        /**
+         * @param merge the index of the merge
+         * @return the id of the first merged cluster
+         */
+        int getFirst(final int merge) {
+            return m_first[merge];
+        }
+
+        /**
+         * @param merge the index of the merge
+         * @return the id of the second merged cluster
+         */
+        int getSecond(final int merge) {
+            return m_second[merge];
+        }
+
+        /**
+         * @param merge the index of the merge
+         * @return the distance of the merged clusters
+         */
+        float getDistance(final int merge) {
+            return m_distance[merge];
+        }
+    }
+
+    /**
+     * @param rows the rows to cluster
+     * @param distFunction the distance of two rows
+     * @param includedCols the columns used to compute distances
+     */
+    AgglomerativeClusterer(final DataRow[] rows, final DistanceFunction distFunction, final int[] includedCols) {
+        m_rows = rows;
+        m_distFunction = distFunction;
+        m_includedCols = includedCols;
+        ThreadPool currentPool = ThreadPool.currentPool();
+        ThreadPool parent = currentPool != null ? currentPool : KNIMEConstants.GLOBAL_THREAD_POOL;
+        m_pool = parent.createSubPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Computes the distances between all rows concurrently.
+     *
+     * @param exec for progress and cancellation
+     * @return the distance matrix
+     * @throws CanceledExecutionException if canceled
+     */
+    HalfFloatMatrix computeDistanceMatrix(final ExecutionMonitor exec) throws CanceledExecutionException {
+        final HalfFloatMatrix matrix = new HalfFloatMatrix(m_rows.length, false);
+        List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+        for (int start = 1; start < m_rows.length; start += ROWS_PER_TASK) {
+            final int firstRow = start;
+            final int lastRow = Math.min(m_rows.length, start + ROWS_PER_TASK);
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() throws CanceledExecutionException {
+                    for (int i = firstRow; i < lastRow; i++) {
+                        exec.checkCanceled();
+                        for (int j = 0; j < i; j++) {
+                            matrix.set(i, j, distance(i, j));
+                        }
+                    }
+                    return null;
+                }
+            });
+        }
+        // later rows have more distances to compute, start them first
+        Collections.reverse(tasks);
+        runAll(tasks, exec, true);
+        return matrix;
+    }
+
+    private float distance(final int i, final int j) {
+        return (float)m_distFunction.calcDistance(m_rows[i], m_rows[j], m_includedCols);
+    }
+
+    /**
+     * Single linkage clustering with the SLINK algorithm.
+     *
+     * @param matrix the distance matrix, or <code>null</code> if the distances are computed on the fly
+     * @param exec for progress and cancellation
+     * @return the merges
+     * @throws CanceledExecutionException if canceled
+     */
+    Merges singleLinkage(final HalfFloatMatrix matrix, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        final int n = m_rows.length;
+        // pointer representation: row j is merged with pointer[j] at height[j]
+        final int[] pointer = new int[n];
+        final float[] height = new float[n];
+        final float[] m = new float[n];
+        // distances of a block of rows to all previous rows, if not cached
+        final float[][] block = matrix == null ? new float[ROWS_PER_TASK][] : null;
+        for (int i = 0; i < n; i++) {
+            if (matrix == null && i % ROWS_PER_TASK == 0) {
+                computeBlock(block, i, exec);
+            }
+            if (i % 256 == 0) {
+                exec.checkCanceled();
+                exec.setProgress(i / (double)n, "Clustering row " + i + " of " + n);
+            }
+            pointer[i] = i;
+            height[i] = Float.POSITIVE_INFINITY;
+            for (int j = 0; j < i; j++) {
+                m[j] = matrix == null ? block[i % ROWS_PER_TASK][j] : matrix.get(i, j);
+            }
+            for (int j = 0; j < i; j++) {
+                if (height[j] >= m[j]) {
+                    m[pointer[j]] = Math.min(m[pointer[j]], height[j]);
+                    height[j] = m[j];
+                    pointer[j] = i;
+                } else {
+                    m[pointer[j]] = Math.min(m[pointer[j]], m[j]);
+                }
+            }
+            for (int j = 0; j < i; j++) {
+                if (height[j] >= height[pointer[j]]) {
+                    pointer[j] = i;
+                }
+            }
+        }
+        int[] first = Arrays.copyOf(pointer, Math.max(0, n - 1));
+        int[] second = new int[first.length];
+        for (int j = 0; j < second.length; j++) {
+            second[j] = j;
+        }
+        return toMerges(first, second, Arrays.copyOf(height, first.length), n);
+    }
+
+    /** Computes the distances of the block of rows starting at the argument row to all previous rows. */
+    private void computeBlock(final float[][] block, final int firstRow, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+        for (int r = 0; r < block.length && firstRow + r < m_rows.length; r++) {
+            final int b = r;
+            final int i = firstRow + r;
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    if (block[b] == null || block[b].length < i) {
+                        block[b] = new float[Math.min(m_rows.length, 2 * i + 1)];
+                    }
+                    for (int j = 0; j < i; j++) {
+                        block[b][j] = distance(i, j);
+                    }
+                    return null;
+                }
+            });
+        }
+        runAll(tasks, exec, false);
+    }
+
+    /**
+     * @param rows the number of rows
+     * @return whether the distance matrix of that many rows fits into the currently free memory
+     */
+    static boolean isDistanceMatrixAffordable(final int rows) {
+        // HalfFloatMatrix stores a float per pair of rows
+        long required = 4L * ((rows * (long)rows - rows) / 2);
+        Runtime runtime = Runtime.getRuntime();
+        long free = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+        return required < free / 2;
+    }
+
+    /**
+     * Average or complete linkage clustering with the nearest-neighbor chain algorithm. The distance matrix is
+     * updated in place with the distances of the merged clusters. Without a distance matrix the distances of the
+     * clusters are computed from the distances of their rows, which needs linear memory only.
+     *
+     * @param matrix the distance matrix, is modified, or <code>null</code> if the distances are computed on the fly
+     * @param linkage {@link Linkage#AVERAGE} or {@link Linkage#COMPLETE}
+     * @param exec for progress and cancellation
+     * @return the merges
+     * @throws CanceledExecutionException if canceled
+     */
+    Merges nearestNeighborChain(final HalfFloatMatrix matrix, final Linkage linkage, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        final int n = m_rows.length;
+        final int nrMerges = Math.max(0, n - 1);
+        int[] first = new int[nrMerges];
+        int[] second = new int[nrMerges];
+        float[] distances = new float[nrMerges];
+        // the active clusters are identified by the index of one of their rows
+        int[] active = new int[n];
+        int[] activePos = new int[n];
+        int[] size = new int[n];
+        for (int i = 0; i < n; i++) {
+            active[i] = i;
+            activePos[i] = i;
+            size[i] = 1;
+        }
+        int nrActive = n;
+        // without matrix: the rows of a cluster as linked list starting at the cluster's row, and the distances of
+        // the last element of the chain to the active clusters
+        final int[] nextRow = matrix == null ? new int[n] : null;
+        final int[] lastRow = matrix == null ? new int[n] : null;
+        final float[] chainDist = matrix == null ? new float[n] : null;
+        if (matrix == null) {
+            Arrays.fill(nextRow, -1);
+            for (int i = 0; i < n; i++) {
+                lastRow[i] = i;
+            }
+        }
+        int[] chain = new int[n];
+        int chainLength = 0;
+        int merge = 0;
+        while (nrActive > 1) {
+            if (chainLength == 0) {
+                chain[chainLength++] = active[0];
+            }
+            final int a = chain[chainLength - 1];
+            final int prev = chainLength > 1 ? chain[chainLength - 2] : -1;
+            if (matrix == null) {
+                computeClusterDistances(a, active, nrActive, nextRow, size, linkage, chainDist, exec);
+            }
+            // the previous element of the chain wins ties, which guarantees termination
+            int b = prev;
+            float minDist = prev < 0 ? Float.POSITIVE_INFINITY
+                : matrix == null ? chainDist[activePos[prev]] : matrix.get(a, prev);
+            for (int k = 0; k < nrActive; k++) {
+                int c = active[k];
+                if (c != a) {
+                    float d = matrix == null ? chainDist[k] : matrix.get(a, c);
+                    if (d < minDist || b < 0) {
+                        minDist = d;
+                        b = c;
+                    }
+                }
+            }
+            if (b != prev) {
+                chain[chainLength++] = b;
+                continue;
+            }
+            // a and b are reciprocal nearest neighbors
+            chainLength -= 2;
+            first[merge] = a;
+            second[merge] = b;
+            distances[merge] = minDist;
+            merge++;
+            if (merge % 256 == 0) {
+                exec.checkCanceled();
+                exec.setProgress(merge / (double)nrMerges, (n - merge) + " clusters left to merge.");
+            }
+            // b represents the merged cluster, a is removed
+            if (matrix == null) {
+                nextRow[lastRow[b]] = a;
+                lastRow[b] = lastRow[a];
+            } else {
+                for (int k = 0; k < nrActive; k++) {
+                    int c = active[k];
+                    if (c != a && c != b) {
+                        float da = matrix.get(c, a);
+                        float db = matrix.get(c, b);
+                        float d = linkage == Linkage.COMPLETE ? Math.max(da, db)
+                            : (size[a] * da + size[b] * db) / (size[a] + size[b]);
+                        matrix.set(c, b, d);
+                    }
+                }
+            }
+            size[b] += size[a];
+            nrActive--;
+            int last = active[nrActive];
+            active[activePos[a]] = last;
+            activePos[last] = activePos[a];
+        }
+        return toMerges(first, second, distances, n);
+    }
+
+    /**
+     * Computes the distances of cluster <code>a</code> to the active clusters from the distances of their rows. The
+     * distance to the k-th active cluster is stored at index k of <code>distances</code>.
+     */
+    private void computeClusterDistances(final int a, final int[] active, final int nrActive, final int[] nextRow,
+        final int[] size, final Linkage linkage, final float[] distances, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        if (nrActive <= ROWS_PER_TASK) {
+            computeClusterDistances(a, active, 0, nrActive, nextRow, size, linkage, distances);
+            return;
+        }
+        List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+        for (int start = 0; start < nrActive; start += ROWS_PER_TASK) {
+            final int first = start;
+            final int last = Math.min(nrActive, start + ROWS_PER_TASK);
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    computeClusterDistances(a, active, first, last, nextRow, size, linkage, distances);
+                    return null;
+                }
+            });
+        }
+        runAll(tasks, exec, false);
+    }
+
+    /** Computes the distances of cluster <code>a</code> to the active clusters <code>first</code> to
+     * <code>last - 1</code>. Called concurrently. */
+    private void computeClusterDistances(final int a, final int[] active, final int first, final int last,
+        final int[] nextRow, final int[] size, final Linkage linkage, final float[] distances) {
+        for (int k = first; k < last; k++) {
+            int c = active[k];
+            if (c != a) {
+                distances[k] = clusterDistance(a, c, nextRow, size, linkage);
+            }
+        }
+    }
+
+    /** @return the average or complete linkage distance of the clusters containing the argument rows */
+    private float clusterDistance(final int a, final int c, final int[] nextRow, final int[] size,
+        final Linkage linkage) {
+        double dist = 0;
+        for (int i = a; i >= 0; i = nextRow[i]) {
+            for (int j = c; j >= 0; j = nextRow[j]) {
+                double d = m_distFunction.calcDistance(m_rows[i], m_rows[j], m_includedCols);
+                dist = linkage == Linkage.COMPLETE ? Math.max(dist, d) : dist + d;
+            }
+        }
+        return (float)(linkage == Linkage.COMPLETE ? dist : dist / ((double)size[a] * size[c]));
+    }
+
+    /**
+     * Sorts the merges of clusters, which are given by the index of one of their rows, by distance and assigns the
+     * ids of the clusters (see {@link Merges}).
+     */
+    private static Merges toMerges(final int[] rowsA, final int[] rowsB, final float[] distances, final int n) {
+        Integer[] order = new Integer[rowsA.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        // stable, i.e. ties are merged in the order they were found
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(final Integer o1, final Integer o2) {
+                return Float.compare(distances[o1], distances[o2]);
+            }
+        });
+        // union-find on the rows, the root of each set knows the id of its cluster
+        int[] parent = new int[n];
+        int[] clusterId = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+            clusterId[i] = i;
+        }
+        int[] first = new int[order.length];
+        int[] second = new int[order.length];
+        float[] sortedDistances = new float[order.length];
+        for (int k = 0; k < order.length; k++) {
+            int rootA = find(parent, rowsA[order[k]]);
+            int rootB = find(parent, rowsB[order[k]]);
+            int idA = clusterId[rootA];
+            int idB = clusterId[rootB];
+            first[k] = Math.min(idA, idB);
+            second[k] = Math.max(idA, idB);
+            sortedDistances[k] = distances[order[k]];
+            parent[rootA] = rootB;
+            clusterId[rootB] = n + k;
+        }
+        return new Merges(first, second, sortedDistances);
+    }
+
+    private static int find(final int[] parent, final int row) {
+        int root = row;
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+        // path compression
+        int r = row;
+        while (parent[r] != root) {
+            int next = parent[r];
+            parent[r] = root;
+            r = next;
+        }
+        return root;
+    }
+
+    /** Runs the tasks concurrently and waits for them to finish. */
+    private void runAll(final List<Callable<Void>> tasks, final ExecutionMonitor exec,
+        final boolean reportProgress) throws CanceledExecutionException {
+        List<Future<Void>> futures = new ArrayList<Future<Void>>(tasks.size());
+        boolean success = false;
+        try {
+            for (Callable<Void> task : tasks) {
+                futures.add(m_pool.enqueue(task));
+            }
+            int done = 0;
+            for (Future<Void> future : futures) {
+                ThreadPool.await(future);
+                if (reportProgress) {
+                    exec.setProgress(++done / (double)futures.size());
+                }
+            }
+            success = true;
+        } finally {
+            if (!success) {
+                ThreadPool.cancelAll(futures);
+            }
+        }
+    }
+}
@@ -52,6 +52,7 @@
 import java.util.ArrayList;
 import java.util.List;
 
+import org.knime.base.node.mine.cluster.hierarchical.AgglomerativeClusterer.Merges;
 import org.knime.base.node.mine.cluster.hierarchical.distfunctions.DistanceFunction;
 import org.knime.base.node.mine.cluster.hierarchical.distfunctions.EuclideanDist;
 import org.knime.base.node.mine.cluster.hierarchical.distfunctions.ManhattanDist;
@@ -231,98 +232,88 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] data,
 
         // generate initial clustering
         // which means that every data point is one cluster
-        List<ClusterNode> clusters = initClusters(inputData, exec);
+        DataRow[] rows = initClusters(inputData, exec);
+        int numberDataRows = rows.length;
         // store the distance per each fusion step
         DataContainer fusionCont = exec.createDataContainer(createFusionSpec());
-        int iterationStep = 0;
 
-        final HalfFloatMatrix cache;
-        if (m_cacheDistances.getBooleanValue()) {
-            cache = new HalfFloatMatrix((int) inputData.size(), false);
-            cache.fill(Float.NaN);
+        // compute all fusion steps at once, in quadratic time
+        AgglomerativeClusterer clusterer =
+                new AgglomerativeClusterer(rows, m_distFunction, selectedColIndices);
+        final Merges merges;
+        final Linkage linkage;
+        if (m_linkageType.getStringValue().equals(Linkage.SINGLE.name())) {
+            linkage = Linkage.SINGLE;
+        } else if (m_linkageType.getStringValue().equals(Linkage.AVERAGE.name())) {
+            linkage = Linkage.AVERAGE;
         } else {
-            cache = null;
+            linkage = Linkage.COMPLETE;
+        }
+        boolean cacheDistances = m_cacheDistances.getBooleanValue();
+        if (cacheDistances && !AgglomerativeClusterer.isDistanceMatrixAffordable(numberDataRows)) {
+            setWarningMessage("Not enough memory to cache the distances of " + numberDataRows
+                + " rows, they are computed on the fly.");
+            cacheDistances = false;
+        }
+        if (!cacheDistances) {
+            // the distances are computed on the fly, linear memory
+            exec.setMessage("Merging clusters");
+            if (linkage == Linkage.SINGLE) {
+                merges = clusterer.singleLinkage(null, exec.createSubProgress(0.9));
+            } else {
+                merges = clusterer.nearestNeighborChain(null, linkage, exec.createSubProgress(0.9));
+            }
+        } else {
+            exec.setMessage("Computing distances");
+            HalfFloatMatrix distances =
+                    clusterer.computeDistanceMatrix(exec.createSubProgress(0.5));
+            exec.setMessage("Merging clusters");
+            if (linkage == Linkage.SINGLE) {
+                merges = clusterer.singleLinkage(distances,
+                        exec.createSubProgress(0.4));
+            } else {
+                merges = clusterer.nearestNeighborChain(distances,
+                        linkage, exec.createSubProgress(0.4));
+            }
         }
 
-        double max = inputData.size();
-        // the number of clusters at the beginning is equal to the number
-        // of data rows (each row is a cluster)
-        int numberDataRows = clusters.size();
-
-        while (clusters.size() > 1) {
+        // build the hierarchy: the clusters are the rows followed by the
+        // merged clusters in the order of their fusion
+        ClusterNode[] nodes = new ClusterNode[numberDataRows + merges.size()];
+        boolean[] merged = new boolean[nodes.length];
+        for (int i = 0; i < numberDataRows; i++) {
+            nodes[i] = new ClusterNode(rows[i], i);
+        }
+        int iterationStep = 0;
+        for (int k = 0; k < merges.size(); k++) {
             // checks if number clusters to generate output table is reached
-            if (m_numClustersForOutput.getIntValue() == clusters.size()) {
-                outputData = createResultTable(inputData, clusters, exec);
+            if (m_numClustersForOutput.getIntValue() == numberDataRows - k) {
+                outputData = createResultTable(inputData,
+                        remainingClusters(nodes, merged, numberDataRows + k),
+                        exec);
             }
-            exec.setProgress((numberDataRows - clusters.size())
-                    / (double)numberDataRows, clusters.size()
-                    + " clusters left to merge.");
+            exec.checkCanceled();
             iterationStep++;
-            exec.setProgress(iterationStep / max, "Iteration " + iterationStep
-                    + ", " + clusters.size() + " clusters remaining");
-
-            // calculate distance between all clusters
-            float currentSmallestDist = Float.MAX_VALUE;
-            ClusterNode currentClosestCluster1 = null;
-            ClusterNode currentClosestCluster2 = null;
-
-            // subprogress for loop
-            double availableProgress = (1.0 / numberDataRows);
-            ExecutionContext subexec =
-                    exec.createSubExecutionContext(availableProgress);
-            for (int i = 0; i < clusters.size(); i++) {
-                exec.checkCanceled();
-                ClusterNode node1 = clusters.get(i);
-                for (int j = i + 1; j < clusters.size(); j++) {
-                    final float dist;
-                    ClusterNode node2 = clusters.get(j);
-
-                    // call the chosen function to calculate the distance
-                    // between two clusters. At the moment is single linkage
-                    // and average linkage supported.
-                    if (m_linkageType.getStringValue().equals(Linkage.SINGLE.name())) {
-                        dist = calculateSingleLinkageDist(node1, node2, cache,
-                                selectedColIndices);
-                    } else if (m_linkageType.getStringValue().equals(Linkage.AVERAGE.name())) {
-                        dist = calculateAverageLinkageDist(node1, node2, cache,
-                                selectedColIndices);
-                    } else {
-                        dist = calculateCompleteLinkageDist(node1, node2, cache,
-                                selectedColIndices);
-                    }
-
-                    if (dist < currentSmallestDist) {
-                        currentClosestCluster1 = node1;
-                        currentClosestCluster2 = node2;
-                        currentSmallestDist = dist;
-                    }
-                }
-            }
-            subexec.setProgress(1.0);
             // make one cluster of the two closest
-            ClusterNode newNode =
-                    new ClusterNode(currentClosestCluster1,
-                            currentClosestCluster2, currentSmallestDist);
-            clusters.remove(currentClosestCluster1);
-            clusters.remove(currentClosestCluster2);
-
-            clusters.add(newNode);
+            int first = merges.getFirst(k);
+            int second = merges.getSecond(k);
+            ClusterNode newNode = new ClusterNode(nodes[first], nodes[second],
+                    merges.getDistance(k));
+            nodes[numberDataRows + k] = newNode;
+            merged[first] = true;
+            merged[second] = true;
+            int clustersLeft = numberDataRows - k - 1;
 
             // store the distance per each fusion step
             fusionCont.addRowToTable(new DefaultRow(
             // row key
-                    Integer.toString(clusters.size()),
+                    Integer.toString(clustersLeft),
                     // x-axis scatter plotter
-                    new IntCell(clusters.size()),
+                    new IntCell(clustersLeft),
                     // y-axis scatter plotter
                     new DoubleCell(newNode.getDist())));
-
-            // // print number clusters and their data points
-            // LOGGER.debug("Iteration " + iterationStep + ":");
-            // LOGGER.debug(" Number Clusters: " + clusters.size());
-            // printClustersDataRows(clusters);
-
         }
+        List<ClusterNode> clusters = remainingClusters(nodes, merged, nodes.length);
         if (clusters.size() > 0) {
             m_rootNode = clusters.get(0);
 
@@ -362,119 +353,6 @@ public final void reset() {
         m_fusionTable = null;
     }
 
-    /*
-     * Calculates the distance via the single linkage paradigm. That means two
-     * clusters have the distance of its closest data rows
-     *
-     */
-    private float calculateSingleLinkageDist(final ClusterNode node1,
-            final ClusterNode node2, final HalfFloatMatrix cache,
-            final int[] selectedColIndices) {
-        float minDist = Float.MAX_VALUE;
-
-        for (ClusterNode node1Leaf : node1.leafs()) {
-            final DataRow row1 = node1Leaf.getLeafDataPoint();
-            final int row1Index = node1Leaf.getRowIndex();
-            for (ClusterNode node2Leaf : node2.leafs()) {
-                final DataRow row2 = node2Leaf.getLeafDataPoint();
-                final int row2Index = node2Leaf.getRowIndex();
-
-                float f = Float.NaN;
-                if (cache != null) {
-                    f = cache.get(row1Index, row2Index);
-                    if (Float.isNaN(f)) {
-                        f =
-                                (float)m_distFunction.calcDistance(row1, row2,
-                                        selectedColIndices);
-                        cache.set(row1Index, row2Index, f);
-                    }
-                } else {
-                    f =
-                            (float)m_distFunction.calcDistance(row1, row2,
-                                    selectedColIndices);
-                }
-                minDist = Math.min(minDist, f);
-            }
-        }
-
-        return minDist;
-    }
-
-    /*
-     * Calculates the distance via the complete linkage paradigm. That means two
-     * clusters have the distance of its farest data rows
-     *
-     */
-    private float calculateCompleteLinkageDist(final ClusterNode node1,
-            final ClusterNode node2, final HalfFloatMatrix cache,
-            final int[] selectedColIndices) {
-        float maxDist = 0;
-
-        for (ClusterNode node1Leaf : node1.leafs()) {
-            final DataRow row1 = node1Leaf.getLeafDataPoint();
-            final int row1Index = node1Leaf.getRowIndex();
-            for (ClusterNode node2Leaf : node2.leafs()) {
-                final DataRow row2 = node2Leaf.getLeafDataPoint();
-                final int row2Index = node2Leaf.getRowIndex();
-
-                float f = Float.NaN;
-                if (cache != null) {
-                    f = cache.get(row1Index, row2Index);
-                    if (Float.isNaN(f)) {
-                        f =
-                                (float)m_distFunction.calcDistance(row1, row2,
-                                        selectedColIndices);
-                        cache.set(row1Index, row2Index, f);
-                    }
-                } else {
-                    f =
-                            (float)m_distFunction.calcDistance(row1, row2,
-                                    selectedColIndices);
-                }
-                maxDist = Math.max(maxDist, f);
-            }
-        }
-
-        return maxDist;
-    }
-
-    /*
-     * Calculates the distance via the average linkage paradigm. That means two
-     * clusters have the distance of the average distance of all their member
-     * data rows.
-     */
-    private float calculateAverageLinkageDist(final ClusterNode node1,
-            final ClusterNode node2, final HalfFloatMatrix cache,
-            final int[] selectedColIndices) {
-        float sumDist = 0;
-
-        for (ClusterNode node1Leaf : node1.leafs()) {
-            final DataRow row1 = node1Leaf.getLeafDataPoint();
-            final int row1Index = node1Leaf.getRowIndex();
-            for (ClusterNode node2Leaf : node2.leafs()) {
-                final DataRow row2 = node2Leaf.getLeafDataPoint();
-                final int row2Index = node2Leaf.getRowIndex();
-
-                float f = Float.NaN;
-                if (cache != null) {
-                    f = cache.get(row1Index, row2Index);
-                    if (Float.isNaN(f)) {
-                        f = (float)m_distFunction.calcDistance(row1, row2,
-                                        selectedColIndices);
-                        cache.set(row1Index, row2Index, f);
-                    }
-                } else {
-                    f = (float)m_distFunction.calcDistance(row1, row2,
-                                    selectedColIndices);
-                }
-                sumDist += f;
-            }
-        }
-
-        // divide by the number pairewise distances
-        return sumDist / (node1.getLeafCount() * node2.getLeafCount());
-    }
-
     /**
      * Creates number of data rows clusters as initial clustering.
      *
@@ -486,17 +364,38 @@ private float calculateAverageLinkageDist(final ClusterNode node1,
      * @throws CanceledExecutionException
      *             if user canceled
      *
-     * @return the vector with all initial clusters.
+     * @return the data points of all initial clusters.
      */
-    private List<ClusterNode> initClusters(final DataTable inputData,
+    private DataRow[] initClusters(final DataTable inputData,
             final ExecutionContext exec) throws CanceledExecutionException {
-        List<ClusterNode> rowVector = new ArrayList<ClusterNode>();
-        int rowIdx = 0;
+        List<DataRow> rowVector = new ArrayList<DataRow>();
         for (DataRow row : inputData) {
-            rowVector.add(new ClusterNode(row, rowIdx++));
+            rowVector.add(row);
             exec.checkCanceled();
         }
-        return rowVector;
+        return rowVector.toArray(new DataRow[rowVector.size()]);
+    }
+
+    /**
+     * Returns the clusters that are not merged yet, in the order they were
+     * created: first the remaining rows, then the clusters created by the
+     * fusion steps.
+     *
+     * @param nodes the rows followed by the merged clusters
+     * @param merged which of the nodes have been merged with another one
+     * @param nrNodes the number of nodes created so far
+     * @return the current clusters
+     */
+    private static List<ClusterNode> remainingClusters(
+            final ClusterNode[] nodes, final boolean[] merged,
+            final int nrNodes) {
+        List<ClusterNode> clusters = new ArrayList<ClusterNode>();
+        for (int i = 0; i < nrNodes; i++) {
+            if (!merged[i]) {
+                clusters.add(nodes[i]);
+            }
+        }
+        return clusters;
     }
 
     /**
@@ -52,6 +52,7 @@
 import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
 import org.knime.core.node.defaultnodesettings.SettingsModelFilterString;
 import org.knime.core.node.defaultnodesettings.SettingsModelIntegerBounded;
+import org.knime.core.node.defaultnodesettings.SettingsModelLong;
 
 
 /**
@@ -88,9 +89,20 @@ public class ClusterNodeDialog extends DefaultNodeSettingsPane {
         DialogComponentBoolean enableHilite = new DialogComponentBoolean(
             new SettingsModelBoolean(ClusterNodeModel.CFG_ENABLE_HILITE, false),
             "Enable Hilite Mapping");
+        final SettingsModelBoolean kMeansPlusPlusModel =
+            new SettingsModelBoolean(ClusterNodeModel.CFG_KMEANS_PLUS_PLUS, false);
+        final SettingsModelLong seedModel = new SettingsModelLong(ClusterNodeModel.CFG_SEED,
+            ClusterNodeModel.INITIAL_SEED);
+        kMeansPlusPlusModel.addChangeListener(e -> seedModel.setEnabled(kMeansPlusPlusModel.getBooleanValue()));
+        seedModel.setEnabled(kMeansPlusPlusModel.getBooleanValue());
+        DialogComponentBoolean kMeansPlusPlus = new DialogComponentBoolean(kMeansPlusPlusModel,
+            "Use k-means++ initialization");
+        DialogComponentNumber seed = new DialogComponentNumber(seedModel, "random seed: ", 1);
 
         addDialogComponent(nrOfClusters);
         addDialogComponent(maxNrOfIterations);
+        addDialogComponent(kMeansPlusPlus);
+        addDialogComponent(seed);
         addDialogComponent(columnFilter);
         addDialogComponent(enableHilite);
         setDefaultTabTitle("K-Means Properties");
@@ -0,0 +1,500 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.mine.cluster.kmeans;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Runs the k-Means iterations on the selected columns of a table. The columns are read once into blocks of primitive
+ * doubles (row by row), the rows of the blocks are assigned to their closest cluster center concurrently, and the
+ * distance bounds of Hamerly (<i>Making k-means even faster</i>, SDM 2010) skip all distance computations of rows whose
+ * closest center can't have changed since the last iteration. Bounds are only used if all values are finite, as
+ * missing dimensions (<code>NaN</code>) are ignored when computing distances.
+ *
+ * <p>
+ * Rows are assigned to the first of their closest cluster centers, the same way the node did when iterating the table
+ * row by row; the bounds only keep an assignment if the assigned center is clearly closer than all others. Partial
+ * sums are computed per block and added up in block order, so the result doesn't depend on the number of threads.
+ * For tables with more than one block the centers may differ from a row by row summation in the last digits due to
+ * rounding, which in rare cases can change the assignment of a row close to the middle of two centers.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class KMeansClusterer {
+
+    /** Number of rows in a block, each block is assigned in a separate task. */
+    static final int BLOCK_SIZE = 1 << 16;
+
+    /** Relative margin by which the bounds must separate the centers to skip the distance computations. */
+    private static final double BOUND_SLACK = 1e-9;
+
+    private final int m_nrRows;
+
+    private final int m_dimension;
+
+    private final int m_nrClusters;
+
+    /** The values of the used columns, row by row, {@link #BLOCK_SIZE} rows per block. */
+    private final double[][] m_blocks;
+
+    /** Whether all values are finite, i.e. the distance is a metric and the bounds apply. */
+    private final boolean m_prune;
+
+    /** Index of the closest cluster center of each row. */
+    private final int[] m_assignment;
+
+    /** Upper bound of the distance of each row to its cluster center. */
+    private final double[] m_upper;
+
+    /** Lower bound of the distance of each row to all other cluster centers. */
+    private final double[] m_lower;
+
+    /** How far each cluster center moved in the last update (increases its rows' upper bounds). */
+    private final double[] m_upperShift;
+
+    /** Maximum move of all other cluster centers in the last update (decreases the lower bounds). */
+    private final double[] m_lowerShift;
+
+    /** Partial sums of the blocks, re-used in each iteration. */
+    private final double[][][] m_blockSums;
+
+    private final int[][] m_blockCounts;
+
+    private final ThreadPool m_pool;
+
+    private KMeansClusterer(final double[][] blocks, final int nrRows, final int dimension, final int nrClusters,
+        final boolean prune) {
+        m_blocks = blocks;
+        m_nrRows = nrRows;
+        m_dimension = dimension;
+        m_nrClusters = nrClusters;
+        m_prune = prune;
+        m_assignment = new int[nrRows];
+        m_upper = new double[nrRows];
+        m_lower = new double[nrRows];
+        Arrays.fill(m_upper, Double.POSITIVE_INFINITY);
+        m_upperShift = new double[nrClusters];
+        m_lowerShift = new double[nrClusters];
+        m_blockSums = new double[blocks.length][][];
+        m_blockCounts = new int[blocks.length][];
+        ThreadPool currentPool = ThreadPool.currentPool();
+        ThreadPool parent = currentPool != null ? currentPool : KNIMEConstants.GLOBAL_THREAD_POOL;
+        m_pool = parent.createSubPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Reads the not ignored columns of the table into memory.
+     *
+     * @param table the table to cluster
+     * @param ignoreColumn which columns of the table are not used
+     * @param nrClusters the number of cluster centers
+     * @param exec for progress and cancellation
+     * @return a new clusterer on the values of the table
+     * @throws CanceledExecutionException if canceled
+     * @throws IllegalArgumentException if the table contains missing values in the used columns or has more than
+     *             {@link Integer#MAX_VALUE} rows
+     */
+    static KMeansClusterer read(final BufferedDataTable table, final boolean[] ignoreColumn, final int nrClusters,
+        final ExecutionMonitor exec) throws CanceledExecutionException {
+        long size = table.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many rows for k-Means: " + size);
+        }
+        int nrRows = (int)size;
+        int[] columns = new int[ignoreColumn.length];
+        int dimension = 0;
+        for (int i = 0; i < ignoreColumn.length; i++) {
+            if (!ignoreColumn[i]) {
+                columns[dimension++] = i;
+            }
+        }
+        double[][] blocks = new double[(nrRows + BLOCK_SIZE - 1) / BLOCK_SIZE][];
+        boolean allFinite = true;
+        int row = 0;
+        for (DataRow dataRow : table) {
+            int pos = row % BLOCK_SIZE;
+            if (pos == 0) {
+                exec.checkCanceled();
+                exec.setProgress(row / (double)nrRows, "Reading row " + row + " of " + nrRows);
+                blocks[row / BLOCK_SIZE] = new double[Math.min(BLOCK_SIZE, nrRows - row) * dimension];
+            }
+            double[] block = blocks[row / BLOCK_SIZE];
+            int offset = pos * dimension;
+            for (int d = 0; d < dimension; d++) {
+                DataCell cell = dataRow.getCell(columns[d]);
+                if (cell.isMissing()) {
+                    throw new IllegalArgumentException("Missing Values not (yet) allowed in k-Means.");
+                }
+                double value = ((DoubleValue)cell).getDoubleValue();
+                allFinite &= !Double.isNaN(value) && !Double.isInfinite(value);
+                block[offset + d] = value;
+            }
+            row++;
+        }
+        return new KMeansClusterer(blocks, nrRows, dimension, nrClusters, allFinite);
+    }
+
+    /**
+     * Creates a clusterer on the argument rows (used in tests).
+     *
+     * @param rows the rows, all of the same length and with finite values
+     * @param nrClusters the number of cluster centers
+     * @return a new clusterer on the rows
+     */
+    static KMeansClusterer of(final double[][] rows, final int nrClusters) {
+        int dimension = rows.length == 0 ? 0 : rows[0].length;
+        double[][] blocks = new double[(rows.length + BLOCK_SIZE - 1) / BLOCK_SIZE][];
+        for (int b = 0; b < blocks.length; b++) {
+            int firstRow = b * BLOCK_SIZE;
+            blocks[b] = new double[Math.min(BLOCK_SIZE, rows.length - firstRow) * dimension];
+            for (int r = firstRow; r < Math.min(rows.length, firstRow + BLOCK_SIZE); r++) {
+                System.arraycopy(rows[r], 0, blocks[b], (r - firstRow) * dimension, dimension);
+            }
+        }
+        return new KMeansClusterer(blocks, rows.length, dimension, nrClusters, true);
+    }
+
+    /**
+     * @return cluster centers initialized with the first rows, all zero if there are fewer rows than clusters
+     */
+    double[][] initializeWithFirstRows() {
+        double[][] clusters = new double[m_nrClusters][m_dimension];
+        for (int c = 0; c < Math.min(m_nrClusters, m_nrRows); c++) {
+            copyRow(c, clusters[c]);
+        }
+        return clusters;
+    }
+
+    /**
+     * Chooses the cluster centers with the k-means++ seeding (Arthur and Vassilvitskii, 2007): the first center is a
+     * random row, each further center is a row drawn with a probability proportional to the squared distance to its
+     * closest center chosen so far.
+     *
+     * @param seed the seed of the random numbers
+     * @param exec for progress and cancellation
+     * @return the initial cluster centers
+     * @throws CanceledExecutionException if canceled
+     */
+    double[][] initializeKMeansPlusPlus(final long seed, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        double[][] clusters = new double[m_nrClusters][m_dimension];
+        if (m_nrRows == 0) {
+            return clusters;
+        }
+        Random random = new Random(seed);
+        // the upper bounds hold the squared distance to the closest center chosen so far
+        final double[] minDistances = m_upper;
+        final double[] blockTotals = new double[m_blocks.length];
+        copyRow(random.nextInt(m_nrRows), clusters[0]);
+        for (int c = 1; c < m_nrClusters; c++) {
+            exec.setProgress(c / (double)m_nrClusters, "Choosing center " + c + " of " + m_nrClusters);
+            final double[] center = clusters[c - 1];
+            runOnBlocks(exec, b -> {
+                double[] block = m_blocks[b];
+                int firstRow = b * BLOCK_SIZE;
+                double total = 0.0;
+                for (int r = 0, offset = 0; offset < block.length; r++, offset += m_dimension) {
+                    double distance = Math.min(minDistances[firstRow + r], distance(block, offset, center));
+                    minDistances[firstRow + r] = distance;
+                    total += distance;
+                }
+                blockTotals[b] = total;
+            });
+            double total = 0.0;
+            for (double blockTotal : blockTotals) {
+                total += blockTotal;
+            }
+            copyRow(total > 0.0 ? sampleRow(random.nextDouble() * total, blockTotals, minDistances)
+                : random.nextInt(m_nrRows), clusters[c]);
+        }
+        Arrays.fill(m_upper, Double.POSITIVE_INFINITY);
+        return clusters;
+    }
+
+    /** @return the row at the given position of the cumulative distribution of the (squared) distances */
+    private int sampleRow(final double target, final double[] blockTotals, final double[] distances) {
+        double sum = 0.0;
+        for (int b = 0; b < blockTotals.length; b++) {
+            if (sum + blockTotals[b] < target) {
+                sum += blockTotals[b];
+                continue;
+            }
+            for (int row = b * BLOCK_SIZE, end = Math.min(m_nrRows, row + BLOCK_SIZE); row < end; row++) {
+                sum += distances[row];
+                if (sum >= target && distances[row] > 0.0) {
+                    return row;
+                }
+            }
+        }
+        // only due to rounding errors: take the last row that is not a center yet
+        int row = m_nrRows - 1;
+        while (row > 0 && !(distances[row] > 0.0)) {
+            row--;
+        }
+        return row;
+    }
+
+    /**
+     * Assigns each row to its closest cluster center and moves the centers to the mean of their rows. Centers
+     * without rows keep their position.
+     *
+     * @param clusters the current cluster centers, updated in place
+     * @param clusterCoverage filled with the number of rows assigned to each cluster
+     * @param exec for cancellation
+     * @return whether no center moved (the algorithm has converged)
+     * @throws CanceledExecutionException if canceled
+     */
+    boolean iterate(final double[][] clusters, final int[] clusterCoverage, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        assign(clusters, exec);
+        double[][] sums = new double[m_nrClusters][m_dimension];
+        Arrays.fill(clusterCoverage, 0);
+        for (int b = 0; b < m_blocks.length; b++) {
+            for (int c = 0; c < m_nrClusters; c++) {
+                clusterCoverage[c] += m_blockCounts[b][c];
+                double[] blockSum = m_blockSums[b][c];
+                for (int d = 0; d < m_dimension; d++) {
+                    sums[c][d] += blockSum[d];
+                }
+            }
+        }
+        boolean finished = true;
+        double[] moves = new double[m_nrClusters];
+        for (int c = 0; c < m_nrClusters; c++) {
+            if (clusterCoverage[c] == 0) {
+                // only update clusters who do cover some pattern
+                continue;
+            }
+            double move = 0.0;
+            for (int d = 0; d < m_dimension; d++) {
+                double newValue = sums[c][d] / clusterCoverage[c];
+                double diff = clusters[c][d] - newValue;
+                // compare before assigning the value to make sure we
+                // don't stop if things have changed substantially
+                if (Math.abs(diff) > 1e-10) {
+                    finished = false;
+                }
+                move += diff * diff;
+                clusters[c][d] = newValue;
+            }
+            moves[c] = Math.sqrt(move);
+        }
+        // the bounds of the rows are updated lazily in the next assignment
+        int farthest = 0;
+        for (int c = 1; c < m_nrClusters; c++) {
+            if (moves[c] > moves[farthest]) {
+                farthest = c;
+            }
+        }
+        double secondFarthest = 0.0;
+        for (int c = 0; c < m_nrClusters; c++) {
+            if (c != farthest) {
+                secondFarthest = Math.max(secondFarthest, moves[c]);
+            }
+        }
+        for (int c = 0; c < m_nrClusters; c++) {
+            m_upperShift[c] += moves[c];
+            m_lowerShift[c] += c == farthest ? secondFarthest : moves[farthest];
+        }
+        return finished;
+    }
+
+    /**
+     * Assigns each row to its closest cluster center (e.g. after the last iteration has moved the centers).
+     *
+     * @param clusters the cluster centers
+     * @param exec for cancellation
+     * @throws CanceledExecutionException if canceled
+     */
+    void assign(final double[][] clusters, final ExecutionMonitor exec) throws CanceledExecutionException {
+        // half the distance of each center to its closest other center
+        final double[] halfMinDistances = new double[m_nrClusters];
+        Arrays.fill(halfMinDistances, Double.POSITIVE_INFINITY);
+        if (m_prune) {
+            for (int c1 = 0; c1 < m_nrClusters; c1++) {
+                for (int c2 = c1 + 1; c2 < m_nrClusters; c2++) {
+                    double half = Math.sqrt(distance(clusters[c1], 0, clusters[c2])) / 2;
+                    halfMinDistances[c1] = Math.min(halfMinDistances[c1], half);
+                    halfMinDistances[c2] = Math.min(halfMinDistances[c2], half);
+                }
+            }
+        }
+        runOnBlocks(exec, b -> assignBlock(b, clusters, halfMinDistances));
+        Arrays.fill(m_upperShift, 0.0);
+        Arrays.fill(m_lowerShift, 0.0);
+    }
+
+    /** Assigns the rows of a block and sums them up per cluster. Called concurrently. */
+    private void assignBlock(final int b, final double[][] clusters, final double[] halfMinDistances) {
+        if (m_blockSums[b] == null) {
+            m_blockSums[b] = new double[m_nrClusters][m_dimension];
+            m_blockCounts[b] = new int[m_nrClusters];
+        }
+        double[][] sums = m_blockSums[b];
+        int[] counts = m_blockCounts[b];
+        for (int c = 0; c < m_nrClusters; c++) {
+            Arrays.fill(sums[c], 0.0);
+        }
+        Arrays.fill(counts, 0);
+        double[] block = m_blocks[b];
+        int row = b * BLOCK_SIZE;
+        for (int offset = 0; offset < block.length; offset += m_dimension, row++) {
+            int winner = m_assignment[row];
+            if (!m_prune || !isAssignmentValid(row, block, offset, clusters[winner], halfMinDistances[winner])) {
+                winner = 0;
+                double winnerDistance = Double.MAX_VALUE;
+                double secondDistance = Double.MAX_VALUE;
+                for (int c = 0; c < m_nrClusters; c++) {
+                    double distance = distance(block, offset, clusters[c]);
+                    if (distance < winnerDistance) {
+                        secondDistance = winnerDistance;
+                        winnerDistance = distance;
+                        winner = c;
+                    } else if (distance < secondDistance) {
+                        secondDistance = distance;
+                    }
+                }
+                m_assignment[row] = winner;
+                m_upper[row] = Math.sqrt(winnerDistance);
+                m_lower[row] = m_nrClusters > 1 ? Math.sqrt(secondDistance) : Double.POSITIVE_INFINITY;
+            }
+            double[] sum = sums[winner];
+            for (int d = 0; d < m_dimension; d++) {
+                sum[d] += block[offset + d];
+            }
+            counts[winner]++;
+        }
+    }
+
+    /**
+     * Updates the bounds of the row with the last moves of the centers and checks whether its assigned center is
+     * still the closest one, tightening the upper bound if necessary.
+     */
+    private boolean isAssignmentValid(final int row, final double[] block, final int offset, final double[] center,
+        final double halfMinDistance) {
+        int assigned = m_assignment[row];
+        m_upper[row] += m_upperShift[assigned];
+        m_lower[row] -= m_lowerShift[assigned];
+        // strict comparisons with a small margin for the rounding errors of the bounds: on a tie the row must go to
+        // the first of the closest centers, which needs a full check
+        double bound = Math.max(halfMinDistance, m_lower[row]) * (1 - BOUND_SLACK);
+        if (m_upper[row] < bound) {
+            return true;
+        }
+        m_upper[row] = Math.sqrt(distance(block, offset, center));
+        return m_upper[row] < bound;
+    }
+
+    /**
+     * @param row the row index in the table
+     * @return the index of the cluster the row was assigned to in the last assignment
+     */
+    int getCluster(final int row) {
+        return m_assignment[row];
+    }
+
+    /** Squared Euclidean distance, <code>NaN</code> dimensions are ignored. */
+    private double distance(final double[] values, final int offset, final double[] center) {
+        double distance = 0.0;
+        for (int d = 0; d < m_dimension; d++) {
+            double diff = center[d] - values[offset + d];
+            if (!Double.isNaN(diff)) {
+                distance += diff * diff;
+            }
+        }
+        return distance;
+    }
+
+    private void copyRow(final int row, final double[] target) {
+        System.arraycopy(m_blocks[row / BLOCK_SIZE], (row % BLOCK_SIZE) * m_dimension, target, 0, m_dimension);
+    }
+
+    /** Work on a single block. */
+    private interface BlockTask {
+        void run(int block);
+    }
+
+    /** Runs the task on all blocks concurrently and waits for it to finish. */
+    private void runOnBlocks(final ExecutionMonitor exec, final BlockTask task) throws CanceledExecutionException {
+        List<Future<Void>> futures = new ArrayList<Future<Void>>(m_blocks.length);
+        boolean success = false;
+        try {
+            for (int b = 0; b < m_blocks.length; b++) {
+                final int block = b;
+                futures.add(m_pool.enqueue(new Callable<Void>() {
+                    @Override
+                    public Void call() throws CanceledExecutionException {
+                        exec.checkCanceled();
+                        task.run(block);
+                        return null;
+                    }
+                }));
+            }
+            ThreadPool.awaitAll(futures);
+            success = true;
+        } finally {
+            if (!success) {
+                ThreadPool.cancelAll(futures);
+            }
+        }
+    }
+}
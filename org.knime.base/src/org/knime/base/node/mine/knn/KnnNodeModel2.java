@@ -102,8 +102,47 @@
 public class KnnNodeModel2 extends NodeModel {
     private KnnSettings2 m_settings = new KnnSettings2();
 
-    private final Map<DataCell, MutableInteger> m_classDistribution =
-            new HashMap<DataCell, MutableInteger>();
+    /** The index of the last training table, kept across executions if
+     * {@link KnnSettings2#reuseIndex()} is set. */
+    private Index m_index;
+
+    /**
+     * The k-d tree of a training table together with the class distribution,
+     * which is used for breaking ties.
+     */
+    private static final class Index {
+        private final Integer m_tableId;
+
+        private final List<Integer> m_featureColumns;
+
+        private final int m_classColIndex;
+
+        private final KDTree<DataCell> m_tree;
+
+        private final Map<DataCell, MutableInteger> m_classDistribution;
+
+        private final boolean m_hasMissingValues;
+
+        Index(final Integer tableId, final List<Integer> featureColumns,
+            final int classColIndex, final KDTree<DataCell> tree,
+            final Map<DataCell, MutableInteger> classDistribution,
+            final boolean hasMissingValues) {
+            m_tableId = tableId;
+            m_featureColumns = featureColumns;
+            m_classColIndex = classColIndex;
+            m_tree = tree;
+            m_classDistribution = classDistribution;
+            m_hasMissingValues = hasMissingValues;
+        }
+
+        /** @return whether this is the index of the argument table */
+        boolean isIndexOf(final BufferedDataTable trainData,
+            final List<Integer> featureColumns, final int classColIndex) {
+            return m_tableId.equals(trainData.getBufferedTableId())
+                && m_featureColumns.equals(featureColumns)
+                && m_classColIndex == classColIndex;
+        }
+    }
 
     /**
      * Creates a new model for the kNN node.
@@ -215,7 +254,7 @@ protected DataTableSpec[] configure(final DataTableSpec[] inSpecs)
         }
 
         ColumnRearranger crea =
-                createRearranger(inSpecs[1], classColSpec, null, null, null, -1);
+                createRearranger(inSpecs[1], classColSpec, null, null, null, null, -1);
 
         return new DataTableSpec[]{crea.createSpec()};
     }
@@ -283,54 +322,85 @@ private ColumnRearranger createRearranger(final BufferedDataTable trainData, fin
         Map<Integer, Integer> firstToSecond = new HashMap<Integer, Integer>();
         checkInputTables(new DataTableSpec[]{trainData.getDataTableSpec(), inSpec2}, featureColumns, firstToSecond);
 
+        Index index = m_index;
+        if (index == null || !m_settings.reuseIndex()
+            || !index.isIndexOf(trainData, featureColumns, classColIndex)) {
+            index = createIndex(trainData, featureColumns, classColIndex, exec);
+            m_index = index;
+        } else {
+            exec.setMessage("Re-using kd-tree of unchanged training data");
+        }
+        if (index.m_hasMissingValues) {
+            setWarningMessage("Input table contains missing values, the " + "affected rows are ignored.");
+        }
+
+        // and now use it to classify the test data...
+        DataColumnSpec classColumnSpec = trainData.getDataTableSpec().getColumnSpec(classColIndex);
+        KDTree<DataCell> tree = index.m_tree;
+
+        if (tree.size() < m_settings.k()) {
+            setWarningMessage("There are only " + tree.size() + " patterns in the input table, but " + m_settings.k()
+                + " nearest neighbours were requested for classification."
+                + " The prediction will be the majority class for all" + " input patterns.");
+        }
+
+        exec.setMessage("Classifying");
+        ColumnRearranger c = createRearranger(inSpec2, classColumnSpec, featureColumns, firstToSecond, tree,
+            index.m_classDistribution, numRowsTable2);
+        return c;
+    }
+
+    /** Reads the training data and builds the kd-tree. */
+    private Index createIndex(final BufferedDataTable trainData, final List<Integer> featureColumns,
+        final int classColIndex, final ExecutionContext exec) throws CanceledExecutionException {
         KDTreeBuilder<DataCell> treeBuilder = new KDTreeBuilder<DataCell>(featureColumns.size());
-        int count = 0;
+        Map<DataCell, MutableInteger> classDistribution = new HashMap<DataCell, MutableInteger>();
+        boolean hasMissingValues = false;
+        long count = 0;
         for (DataRow currentRow : trainData) {
             exec.checkCanceled();
-            exec.setProgress(0.1 * count * trainData.size(), "Reading row " + currentRow.getKey());
+            exec.setProgress(0.1 * count++ / trainData.size(), "Reading row " + currentRow.getKey());
 
             double[] features = createFeatureVector(currentRow, featureColumns);
             if (features == null) {
-                setWarningMessage("Input table contains missing values, the " + "affected rows are ignored.");
+                hasMissingValues = true;
             } else {
                 DataCell thisClassCell = currentRow.getCell(classColIndex);
                 // and finally add data
                 treeBuilder.addPattern(features, thisClassCell);
 
                 // compute the majority class for breaking possible ties later
-                MutableInteger t = m_classDistribution.get(thisClassCell);
+                MutableInteger t = classDistribution.get(thisClassCell);
                 if (t == null) {
-                    m_classDistribution.put(thisClassCell, new MutableInteger(1));
+                    classDistribution.put(thisClassCell, new MutableInteger(1));
                 } else {
                     t.inc();
                 }
             }
         }
 
-        // and now use it to classify the test data...
-        DataColumnSpec classColumnSpec = trainData.getDataTableSpec().getColumnSpec(classColIndex);
-
         exec.setMessage("Building kd-tree");
         KDTree<DataCell> tree = treeBuilder.buildTree(exec.createSubProgress(0.3));
+        return new Index(trainData.getBufferedTableId(), featureColumns, classColIndex, tree,
+            classDistribution, hasMissingValues);
+    }
 
-        if (tree.size() < m_settings.k()) {
-            setWarningMessage("There are only " + tree.size() + " patterns in the input table, but " + m_settings.k()
-                + " nearest neighbours were requested for classification."
-                + " The prediction will be the majority class for all" + " input patterns.");
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void reset() {
+        if (!m_settings.reuseIndex()) {
+            m_index = null;
         }
-
-        exec.setMessage("Classifying");
-        ColumnRearranger c =
-            createRearranger(inSpec2, classColumnSpec, featureColumns, firstToSecond, tree, numRowsTable2);
-        return c;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    protected void reset() {
-        m_classDistribution.clear();
+    protected void onDispose() {
+        m_index = null;
     }
 
     /**
@@ -357,6 +427,9 @@ protected void validateSettings(final NodeSettingsRO settings)
     protected void loadValidatedSettingsFrom(final NodeSettingsRO settings)
             throws InvalidSettingsException {
         m_settings.loadSettings(settings);
+        if (!m_settings.reuseIndex()) {
+            m_index = null;
+        }
     }
 
     /**
@@ -386,7 +459,9 @@ private ColumnRearranger createRearranger(final DataTableSpec in,
             final DataColumnSpec classColumnSpec,
             final List<Integer> featureColumns,
             final Map<Integer, Integer> firstToSecond,
-            final KDTree<DataCell> tree, final double maxRows) {
+            final KDTree<DataCell> tree,
+            final Map<DataCell, MutableInteger> classDistribution,
+            final double maxRows) {
         ColumnRearranger c = new ColumnRearranger(in);
         String newName = "Class [kNN]";
         while (in.containsName(newName)) {
@@ -425,7 +500,9 @@ public int compare(final DataCell o1, final DataCell o2) {
 
         final DataColumnSpec[] colSpecArray =
                 colSpecs.toArray(new DataColumnSpec[colSpecs.size()]);
-        c.append(new AbstractCellFactory(colSpecArray) {
+        // the tree can be queried concurrently, rows are classified in batches
+        // on the thread pool
+        c.append(new AbstractCellFactory(true, colSpecArray) {
 
             /** {@inheritDoc} */
             @Override
@@ -441,8 +518,8 @@ public void setProgress(final long curRowNr, final long rowCount,
             @Override
             public DataCell[] getCells(final DataRow row) {
                 List<DataCell> output =
-                        classify(row, tree, featureColumns, firstToSecond,
-                                possibleValues);
+                        classify(row, tree, classDistribution,
+                                featureColumns, firstToSecond, possibleValues);
                 return output.toArray(new DataCell[output.size()]);
             }
 
@@ -451,9 +528,12 @@ public DataCell[] getCells(final DataRow row) {
     }
 
     // returns a list where the first value if the winner class, and the
-    // following values are the class probabilities (if enabled)
+    // following values are the class probabilities (if enabled); called
+    // concurrently
     private List<DataCell> classify(final DataRow row,
-            final KDTree<DataCell> tree, final List<Integer> featureColumns,
+            final KDTree<DataCell> tree,
+            final Map<DataCell, MutableInteger> classDistribution,
+            final List<Integer> featureColumns,
             final Map<Integer, Integer> firstToSecond,
             final DataCell[] allClassValues) {
         double[] features =
@@ -501,7 +581,7 @@ private List<DataCell> classify(final DataRow row,
         for (Map.Entry<DataCell, MutableDouble> e : classWeights.entrySet()) {
             double weight = e.getValue().doubleValue();
             if (weight == winnerWeight) {
-                if (m_classDistribution.get(winnerCell).intValue() < m_classDistribution
+                if (classDistribution.get(winnerCell).intValue() < classDistribution
                         .get(e.getKey()).intValue()) {
                     winnerCell = e.getKey();
                 }
@@ -63,6 +63,34 @@ public class KnnSettings2 {
 
     private boolean m_classProbabilities;
 
+    private boolean m_reuseIndex;
+
+    /**
+     * Sets if the kd-tree built from the training data should be kept and
+     * re-used in subsequent executions as long as the training table doesn't
+     * change, e.g. if many chunks are classified inside a loop.
+     *
+     * @param b <code>true</code> if the index should be re-used,
+     *            <code>false</code> otherwise
+     * @since 3.8
+     */
+    public void reuseIndex(final boolean b) {
+        m_reuseIndex = b;
+    }
+
+    /**
+     * Returns if the kd-tree built from the training data should be kept and
+     * re-used in subsequent executions as long as the training table doesn't
+     * change.
+     *
+     * @return <code>true</code> if the index should be re-used,
+     *            <code>false</code> otherwise
+     * @since 3.8
+     */
+    public boolean reuseIndex() {
+        return m_reuseIndex;
+    }
+
     /**
      * Set if an additional column containing class probabilities should be
      * appended to the output table.
@@ -156,6 +184,7 @@ public void saveSettings(final NodeSettingsWO settings) {
         settings.addInt("k", m_k);
         settings.addBoolean("weightByDistance", m_weightByDistance);
         settings.addBoolean("outputClassProbabilities", m_classProbabilities);
+        settings.addBoolean("reuseIndex", m_reuseIndex);
     }
 
     /**
@@ -173,5 +202,8 @@ public void loadSettings(final NodeSettingsRO settings)
         /* since 2.6 */
         m_classProbabilities = settings.getBoolean("outputClassProbabilities",
                 false);
+
+        /* since 3.8 */
+        m_reuseIndex = settings.getBoolean("reuseIndex", false);
     }
 }
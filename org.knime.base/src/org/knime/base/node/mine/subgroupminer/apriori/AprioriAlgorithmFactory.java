@@ -70,7 +70,12 @@ public enum AlgorithmDataStructure {
         ARRAY,
         /* LIST */
         /** The TIDList stores the ids of the transactions. * */
-        TIDList;
+        TIDList,
+        /**
+         * A prefix tree of the transactions, mined with FP-growth.
+         * @since 3.8
+         */
+        FPGrowth;
 
         /**
          * Returns the values of this enum as a list of strings.
@@ -108,6 +113,8 @@ public static AprioriAlgorithm getAprioriAlgorithm(
             return new ArrayApriori(bitSetLength, dbsize);
         } else if (type.equals(AlgorithmDataStructure.TIDList)) {
             return new TIDApriori();
+        } else if (type.equals(AlgorithmDataStructure.FPGrowth)) {
+            return new FPGrowthApriori(bitSetLength);
         } else {
             throw new RuntimeException("Type not supported: " + type);
         }
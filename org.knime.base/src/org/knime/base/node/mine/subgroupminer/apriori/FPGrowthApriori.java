@@ -0,0 +1,571 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.mine.subgroupminer.apriori;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.knime.base.node.mine.subgroupminer.freqitemset.AssociationRule;
+import org.knime.base.node.mine.subgroupminer.freqitemset.FrequentItemSet;
+import org.knime.core.data.vector.bitvector.BitVectorValue;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Finds the frequent itemsets with the FP-growth algorithm (Han, Pei and Yin, 2000). The frequent items of the
+ * transactions are stored in a prefix tree, the FP-tree, ordered by decreasing support. The tree is mined by building
+ * the conditional FP-tree of an item from all prefix paths that end with that item, recursively. Thus, there is
+ * neither a candidate generation nor a rescan of the transactions. The conditional trees of the frequent items are
+ * independent and mined concurrently.
+ * <p>
+ * The found itemsets are the same as those of the {@link ArrayApriori}: the support is relative to the number of
+ * transactions and items occurring in every transaction are only reported on their own.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+public class FPGrowthApriori implements AprioriAlgorithm {
+
+    private final int m_bitSetLength;
+
+    private double m_minSupport;
+
+    private int m_maxDepth;
+
+    private int m_dbsize;
+
+    /** The item of each rank, the frequent items are ranked by decreasing support. */
+    private int[] m_rankToItem;
+
+    private List<Integer> m_alwaysFrequentItems = new ArrayList<Integer>();
+
+    private List<ItemSet> m_itemSets = new ArrayList<ItemSet>();
+
+    /** The itemsets by their items, created lazily. */
+    private Map<ItemSet, ItemSet> m_index;
+
+    private int m_idCounter;
+
+    /**
+     * Creates an FP-growth instance for transactions of the given length.
+     *
+     * @param bitSetLength the number of items
+     */
+    public FPGrowthApriori(final int bitSetLength) {
+        m_bitSetLength = bitSetLength;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void findFrequentItemSets(final List<BitVectorValue> transactions, final double minSupport,
+        final int maxDepth, final FrequentItemSet.Type type, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        m_minSupport = minSupport;
+        m_maxDepth = maxDepth;
+        m_dbsize = transactions.size();
+        m_itemSets = new ArrayList<ItemSet>();
+        m_index = null;
+
+        exec.setMessage("detecting frequent items");
+        int[] itemToRank = findFrequentItems(transactions, exec);
+        FPTree tree = buildTree(transactions, itemToRank, exec.createSubProgress(0.2));
+        mine(tree, exec.createSubProgress(0.8));
+    }
+
+    private boolean isFrequent(final int count) {
+        return count / (double)m_dbsize >= m_minSupport;
+    }
+
+    /**
+     * Counts the items, separates the always frequent ones and ranks the remaining frequent items by decreasing
+     * support.
+     *
+     * @return the rank of each item, -1 for items that are not frequent or always frequent
+     */
+    private int[] findFrequentItems(final List<BitVectorValue> transactions, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        final int[] counts = new int[m_bitSetLength + 1];
+        for (BitVectorValue transaction : transactions) {
+            exec.checkCanceled();
+            // this type cast is save since the maximum length was checked in
+            // SubgroupMinerModel2#preprocess
+            for (int i = (int)transaction.nextSetBit(0); i >= 0; i = (int)transaction.nextSetBit(i + 1)) {
+                counts[i]++;
+            }
+        }
+        m_alwaysFrequentItems = new ArrayList<Integer>();
+        List<Integer> frequentItems = new ArrayList<Integer>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+            if (counts[i] == m_dbsize) {
+                // mining them is not informative
+                m_alwaysFrequentItems.add(i);
+            } else if (isFrequent(counts[i])) {
+                frequentItems.add(i);
+            }
+        }
+        Collections.sort(frequentItems, new Comparator<Integer>() {
+            @Override
+            public int compare(final Integer i1, final Integer i2) {
+                int c = Integer.compare(counts[i2], counts[i1]);
+                return c != 0 ? c : Integer.compare(i1, i2);
+            }
+        });
+        m_rankToItem = new int[frequentItems.size()];
+        int[] itemToRank = new int[counts.length];
+        Arrays.fill(itemToRank, -1);
+        for (int r = 0; r < m_rankToItem.length; r++) {
+            m_rankToItem[r] = frequentItems.get(r);
+            itemToRank[m_rankToItem[r]] = r;
+        }
+        return itemToRank;
+    }
+
+    private FPTree buildTree(final List<BitVectorValue> transactions, final int[] itemToRank,
+        final ExecutionMonitor exec) throws CanceledExecutionException {
+        int[] identity = new int[m_rankToItem.length];
+        for (int r = 0; r < identity.length; r++) {
+            identity[r] = r;
+        }
+        FPTree tree = new FPTree(identity);
+        int[] ranks = new int[m_rankToItem.length];
+        int transactionNr = 0;
+        for (BitVectorValue transaction : transactions) {
+            exec.checkCanceled();
+            exec.setProgress(transactionNr++ / (double)m_dbsize, "building FP-tree. Transaction nr: "
+                + transactionNr);
+            int length = 0;
+            for (int i = (int)transaction.nextSetBit(0); i >= 0; i = (int)transaction.nextSetBit(i + 1)) {
+                if (itemToRank[i] >= 0) {
+                    ranks[length++] = itemToRank[i];
+                }
+            }
+            Arrays.sort(ranks, 0, length);
+            tree.insert(ranks, length, 1);
+        }
+        return tree;
+    }
+
+    /** Mines the conditional trees of all frequent items concurrently, the results are collected by rank. */
+    private void mine(final FPTree tree, final ExecutionMonitor exec) throws CanceledExecutionException {
+        final int nrItems = tree.getNrItems();
+        final List<List<ItemSet>> results = new ArrayList<List<ItemSet>>(Collections.nCopies(nrItems,
+            (List<ItemSet>)null));
+        final AtomicInteger nextItem = new AtomicInteger(nrItems - 1);
+        final AtomicInteger done = new AtomicInteger();
+        ThreadPool currentPool = ThreadPool.currentPool();
+        ThreadPool parent = currentPool != null ? currentPool : KNIMEConstants.GLOBAL_THREAD_POOL;
+        int nrThreads = Runtime.getRuntime().availableProcessors();
+        ThreadPool pool = parent.createSubPool(nrThreads);
+        List<Future<Void>> futures = new ArrayList<Future<Void>>(nrThreads);
+        boolean success = false;
+        try {
+            for (int t = 0; t < nrThreads; t++) {
+                futures.add(pool.enqueue(new Callable<Void>() {
+                    @Override
+                    public Void call() throws CanceledExecutionException {
+                        int[] prefix = new int[Math.max(1, m_maxDepth)];
+                        // the least frequent items first, they have the longest prefix paths
+                        for (int item = nextItem.getAndDecrement(); item >= 0; item = nextItem.getAndDecrement()) {
+                            exec.checkCanceled();
+                            List<ItemSet> result = new ArrayList<ItemSet>();
+                            mine(tree, item, prefix, 0, result, exec);
+                            results.set(item, result);
+                            int nrDone = done.incrementAndGet();
+                            exec.setProgress(nrDone / (double)nrItems, "mining item " + nrDone + " of " + nrItems);
+                        }
+                        return null;
+                    }
+                }));
+            }
+            ThreadPool.awaitAll(futures);
+            success = true;
+        } finally {
+            if (!success) {
+                ThreadPool.cancelAll(futures);
+            }
+        }
+        for (List<ItemSet> result : results) {
+            m_itemSets.addAll(result);
+        }
+    }
+
+    /**
+     * Adds the itemset of the prefix and the item and recursively all frequent extensions of it, found in the
+     * conditional tree of the item.
+     */
+    private void mine(final FPTree tree, final int item, final int[] prefix, final int prefixLength,
+        final List<ItemSet> result, final ExecutionMonitor exec) throws CanceledExecutionException {
+        prefix[prefixLength] = tree.getRank(item);
+        result.add(createItemSet(prefix, prefixLength + 1, tree.getCount(item)));
+        if (prefixLength + 1 >= m_maxDepth) {
+            return;
+        }
+        exec.checkCanceled();
+        FPTree conditionalTree = tree.createConditionalTree(item, this);
+        if (conditionalTree != null) {
+            for (int i = conditionalTree.getNrItems() - 1; i >= 0; i--) {
+                mine(conditionalTree, i, prefix, prefixLength + 1, result, exec);
+            }
+        }
+    }
+
+    private ItemSet createItemSet(final int[] ranks, final int length, final int count) {
+        int[] items = new int[length];
+        for (int i = 0; i < length; i++) {
+            items[i] = m_rankToItem[ranks[i]];
+        }
+        Arrays.sort(items);
+        return new ItemSet(items, count);
+    }
+
+    /**
+     * Marks all itemsets that have a superset with the same support or a frequent superset at all. It suffices to
+     * look at the supersets with one more item, since all of them are found if any larger superset is frequent.
+     */
+    private Map<ItemSet, ItemSet> getIndex() {
+        if (m_index == null) {
+            Map<ItemSet, ItemSet> index = new HashMap<ItemSet, ItemSet>(m_itemSets.size() * 2);
+            for (ItemSet s : m_itemSets) {
+                index.put(s, s);
+            }
+            for (ItemSet s : m_itemSets) {
+                for (int i = 0; s.m_items.length > 1 && i < s.m_items.length; i++) {
+                    ItemSet subset = index.get(new ItemSet(s.without(i), 0));
+                    subset.m_hasFrequentSuperset = true;
+                    if (subset.m_count == s.m_count) {
+                        subset.m_hasSupersetWithSameSupport = true;
+                    }
+                }
+            }
+            m_index = index;
+        }
+        return m_index;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<FrequentItemSet> getFrequentItemSets(final FrequentItemSet.Type type) {
+        List<FrequentItemSet> list = new ArrayList<FrequentItemSet>();
+        for (Integer i : m_alwaysFrequentItems) {
+            FrequentItemSet set = new FrequentItemSet(Integer.toString(m_idCounter++),
+                Collections.singletonList(i), 1);
+            set.setClosed(!type.equals(FrequentItemSet.Type.FREE));
+            list.add(set);
+        }
+        if (!type.equals(FrequentItemSet.Type.FREE)) {
+            getIndex();
+        }
+        for (ItemSet s : m_itemSets) {
+            if (type.equals(FrequentItemSet.Type.FREE)) {
+                list.add(toFrequentItemSet(s));
+            } else if ((type.equals(FrequentItemSet.Type.CLOSED) && !s.m_hasSupersetWithSameSupport)
+                || (type.equals(FrequentItemSet.Type.MAXIMAL) && !s.m_hasFrequentSuperset)) {
+                FrequentItemSet set = toFrequentItemSet(s);
+                set.setClosed(true);
+                list.add(set);
+            }
+        }
+        return list;
+    }
+
+    private FrequentItemSet toFrequentItemSet(final ItemSet s) {
+        return new FrequentItemSet(Integer.toString(m_idCounter++), toList(s.m_items), s.m_count / (double)m_dbsize);
+    }
+
+    private static List<Integer> toList(final int[] items) {
+        List<Integer> list = new ArrayList<Integer>(items.length);
+        for (int item : items) {
+            list.add(item);
+        }
+        return list;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<AssociationRule> getAssociationRules(final double confidence) {
+        Map<ItemSet, ItemSet> index = getIndex();
+        List<AssociationRule> associationRules = new ArrayList<AssociationRule>();
+        // always frequent items imply each other with support and confidence 1
+        for (Integer i : m_alwaysFrequentItems) {
+            List<Integer> withoutI = new ArrayList<Integer>(m_alwaysFrequentItems);
+            withoutI.remove(i);
+            AssociationRule rule = new AssociationRule(
+                new FrequentItemSet(Integer.toString(m_idCounter++), withoutI, 1.0),
+                new FrequentItemSet(Integer.toString(m_idCounter++), Collections.singletonList(i), 1.0),
+                1.0, 1.0, 1.0);
+            associationRules.add(rule);
+        }
+        // for each item i of each closed itemset s: s\i -> i
+        for (ItemSet s : m_itemSets) {
+            if (s.m_items.length < 2 || s.m_hasSupersetWithSameSupport) {
+                continue;
+            }
+            double supportS = s.m_count / (double)m_dbsize;
+            for (int i = 0; i < s.m_items.length; i++) {
+                int[] withoutI = s.without(i);
+                double newSupport = index.get(new ItemSet(withoutI, 0)).m_count / (double)m_dbsize;
+                double c = supportS / newSupport;
+                if (c >= confidence) {
+                    int[] iArray = new int[]{s.m_items[i]};
+                    double supportI = index.get(new ItemSet(iArray, 0)).m_count / (double)m_dbsize;
+                    AssociationRule rule = new AssociationRule(
+                        new FrequentItemSet(Integer.toString(m_idCounter++), toList(withoutI), newSupport),
+                        new FrequentItemSet(Integer.toString(m_idCounter++), toList(iArray), supportI),
+                        supportS, c, c / supportI);
+                    associationRules.add(rule);
+                }
+            }
+        }
+        return associationRules;
+    }
+
+    /** A found itemset with its sorted items and absolute support, equal if the items are equal. */
+    private static final class ItemSet {
+        private final int[] m_items;
+
+        private final int m_count;
+
+        private boolean m_hasSupersetWithSameSupport;
+
+        private boolean m_hasFrequentSuperset;
+
+        ItemSet(final int[] items, final int count) {
+            m_items = items;
+            m_count = count;
+        }
+
+        int[] without(final int index) {
+            int[] items = new int[m_items.length - 1];
+            System.arraycopy(m_items, 0, items, 0, index);
+            System.arraycopy(m_items, index + 1, items, index, items.length - index);
+            return items;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof ItemSet && Arrays.equals(m_items, ((ItemSet)obj).m_items);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(m_items);
+        }
+    }
+
+    /**
+     * An FP-tree stored in arrays, node 0 is the root. The items of a tree are numbered in the order of their global
+     * rank, the paths from the root are in increasing item order. All nodes of an item are linked, starting at the
+     * header of the item.
+     */
+    private static final class FPTree {
+        /** The global rank of each item, increasing. */
+        private final int[] m_ranks;
+
+        private final int[] m_itemCounts;
+
+        private final int[] m_headers;
+
+        /** The child of the root for each item, since the root has the most children. */
+        private final int[] m_rootChildren;
+
+        private int[] m_item;
+
+        private int[] m_count;
+
+        private int[] m_parent;
+
+        private int[] m_firstChild;
+
+        private int[] m_sibling;
+
+        private int[] m_nodeLink;
+
+        private int m_size;
+
+        FPTree(final int[] ranks) {
+            m_ranks = ranks;
+            m_itemCounts = new int[ranks.length];
+            m_headers = new int[ranks.length];
+            m_rootChildren = new int[ranks.length];
+            Arrays.fill(m_headers, -1);
+            Arrays.fill(m_rootChildren, -1);
+            int capacity = 16;
+            m_item = new int[capacity];
+            m_count = new int[capacity];
+            m_parent = new int[capacity];
+            m_firstChild = new int[capacity];
+            m_sibling = new int[capacity];
+            m_nodeLink = new int[capacity];
+            m_item[0] = -1;
+            m_parent[0] = -1;
+            m_firstChild[0] = -1;
+            m_sibling[0] = -1;
+            m_size = 1;
+        }
+
+        int getNrItems() {
+            return m_ranks.length;
+        }
+
+        int getRank(final int item) {
+            return m_ranks[item];
+        }
+
+        int getCount(final int item) {
+            return m_itemCounts[item];
+        }
+
+        /** Inserts the path of the given, increasing items. */
+        void insert(final int[] items, final int length, final int count) {
+            int node = 0;
+            for (int k = 0; k < length; k++) {
+                int item = items[k];
+                int child = node == 0 ? m_rootChildren[item] : m_firstChild[node];
+                while (node != 0 && child >= 0 && m_item[child] != item) {
+                    child = m_sibling[child];
+                }
+                if (child < 0) {
+                    child = addNode(node, item);
+                }
+                m_count[child] += count;
+                m_itemCounts[item] += count;
+                node = child;
+            }
+        }
+
+        private int addNode(final int parent, final int item) {
+            if (m_size == m_item.length) {
+                int capacity = 2 * m_size;
+                m_item = Arrays.copyOf(m_item, capacity);
+                m_count = Arrays.copyOf(m_count, capacity);
+                m_parent = Arrays.copyOf(m_parent, capacity);
+                m_firstChild = Arrays.copyOf(m_firstChild, capacity);
+                m_sibling = Arrays.copyOf(m_sibling, capacity);
+                m_nodeLink = Arrays.copyOf(m_nodeLink, capacity);
+            }
+            int node = m_size++;
+            m_item[node] = item;
+            m_count[node] = 0;
+            m_parent[node] = parent;
+            m_firstChild[node] = -1;
+            m_sibling[node] = m_firstChild[parent];
+            m_firstChild[parent] = node;
+            if (parent == 0) {
+                m_rootChildren[item] = node;
+            }
+            m_nodeLink[node] = m_headers[item];
+            m_headers[item] = node;
+            return node;
+        }
+
+        /**
+         * Creates the tree of the prefix paths of the given item, restricted to the items that are frequent in these
+         * paths.
+         *
+         * @return the conditional tree or <code>null</code> if it has no frequent items
+         */
+        FPTree createConditionalTree(final int item, final FPGrowthApriori apriori) {
+            // all items on the prefix paths are smaller than the item
+            int[] counts = new int[item];
+            for (int node = m_headers[item]; node >= 0; node = m_nodeLink[node]) {
+                for (int p = m_parent[node]; p > 0; p = m_parent[p]) {
+                    counts[m_item[p]] += m_count[node];
+                }
+            }
+            int[] mapping = counts;
+            int nrItems = 0;
+            for (int i = 0; i < item; i++) {
+                mapping[i] = apriori.isFrequent(counts[i]) ? nrItems++ : -1;
+            }
+            if (nrItems == 0) {
+                return null;
+            }
+            int[] ranks = new int[nrItems];
+            for (int i = 0; i < item; i++) {
+                if (mapping[i] >= 0) {
+                    ranks[mapping[i]] = m_ranks[i];
+                }
+            }
+            FPTree tree = new FPTree(ranks);
+            int[] path = new int[nrItems];
+            for (int node = m_headers[item]; node >= 0; node = m_nodeLink[node]) {
+                // the path is collected backwards
+                int start = nrItems;
+                for (int p = m_parent[node]; p > 0; p = m_parent[p]) {
+                    if (mapping[m_item[p]] >= 0) {
+                        path[--start] = mapping[m_item[p]];
+                    }
+                }
+                if (start < nrItems) {
+                    System.arraycopy(path, start, path, 0, nrItems - start);
+                    tree.insert(path, nrItems - start, m_count[node]);
+                }
+            }
+            return tree;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.mine.svm.learner;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import org.knime.base.node.mine.svm.kernel.Kernel;
+import org.knime.base.node.mine.svm.util.DoubleVector;
+import org.knime.core.data.util.memory.MemoryAlertSystem;
+import org.knime.core.data.util.memory.MemoryAlertSystem.MemoryActionIndicator;
+import org.knime.core.node.NodeLogger;
+
+/**
+ * A least recently used cache of rows of the kernel matrix of the training vectors. A row is only computed for the
+ * vectors that are active when it is requested, the remaining entries are computed once they are needed. The number
+ * of cached rows is bounded by the given memory size and halved whenever the {@link MemoryAlertSystem} reports low
+ * memory.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class KernelRowCache {
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(KernelRowCache.class);
+
+    /** At least the two rows of an optimization step must fit. */
+    private static final int MIN_ROWS = 2;
+
+    private final DoubleVector[] m_data;
+
+    private final Kernel m_kernel;
+
+    private final MemoryActionIndicator m_memIndicator = MemoryAlertSystem.getInstance().newIndicator();
+
+    /** The cached rows in access order, the eldest is evicted first. */
+    private final LinkedHashMap<Integer, Row> m_rows = new LinkedHashMap<Integer, Row>(16, 0.75f, true);
+
+    private int m_maxRows;
+
+    private static final class Row {
+        private final double[] m_values;
+
+        /** The version of the active set for which all active entries are computed. */
+        private int m_version;
+
+        Row(final double[] values) {
+            m_values = values;
+            m_version = -1;
+        }
+    }
+
+    /**
+     * @param data the training vectors
+     * @param kernel the kernel
+     * @param cacheSize the maximum size of the cached rows in bytes
+     */
+    KernelRowCache(final DoubleVector[] data, final Kernel kernel, final long cacheSize) {
+        m_data = data;
+        m_kernel = kernel;
+        long rowSize = 8L * Math.max(1, data.length);
+        m_maxRows = (int)Math.max(MIN_ROWS, Math.min(data.length, cacheSize / rowSize));
+    }
+
+    /**
+     * Returns the default cache size, half of the memory that is currently available.
+     *
+     * @return the cache size in bytes
+     */
+    static long getDefaultCacheSize() {
+        long max = MemoryAlertSystem.getMaximumMemory();
+        if (max <= 0) {
+            max = Runtime.getRuntime().maxMemory();
+        }
+        return Math.max(0, max - MemoryAlertSystem.getUsedMemory()) / 2;
+    }
+
+    /**
+     * Returns the kernel value of two vectors, taken from the cache if possible.
+     *
+     * @param i the index of the first vector
+     * @param j the index of the second vector
+     * @return the kernel value
+     */
+    double get(final int i, final int j) {
+        Row row = m_rows.get(i);
+        if (row != null && !Double.isNaN(row.m_values[j])) {
+            return row.m_values[j];
+        }
+        row = m_rows.get(j);
+        if (row != null && !Double.isNaN(row.m_values[i])) {
+            return row.m_values[i];
+        }
+        return m_kernel.evaluate(m_data[i], m_data[j]);
+    }
+
+    /**
+     * Returns the row of the kernel matrix for the given vector. The entries of the active vectors are computed, the
+     * others may be <code>NaN</code>.
+     *
+     * @param i the index of the vector
+     * @param active the indices of the active vectors
+     * @param activeSize the number of active vectors
+     * @param version the version of the active set, which must be increased whenever vectors are added to it
+     * @return the row, must not be modified
+     */
+    double[] getRow(final int i, final int[] active, final int activeSize, final int version) {
+        Row row = m_rows.get(i);
+        if (row == null) {
+            row = createRow();
+            m_rows.put(i, row);
+        } else if (row.m_version == version) {
+            return row.m_values;
+        }
+        double[] values = row.m_values;
+        DoubleVector vector = m_data[i];
+        for (int k = 0; k < activeSize; k++) {
+            int j = active[k];
+            if (Double.isNaN(values[j])) {
+                values[j] = m_kernel.evaluate(vector, m_data[j]);
+            }
+        }
+        row.m_version = version;
+        return values;
+    }
+
+    /**
+     * Returns the row of the given vector if it is cached.
+     *
+     * @param i the index of the vector
+     * @return the row, whose entries may be <code>NaN</code> if they are not computed, or <code>null</code>
+     */
+    double[] getCachedRow(final int i) {
+        Row row = m_rows.get(i);
+        return row == null ? null : row.m_values;
+    }
+
+    private Row createRow() {
+        if (m_memIndicator.lowMemoryActionRequired() && m_maxRows > MIN_ROWS) {
+            m_maxRows = Math.max(MIN_ROWS, m_rows.size() / 2);
+            LOGGER.debug("Low memory, reducing kernel cache to " + m_maxRows + " rows");
+        }
+        double[] values = null;
+        for (Iterator<Row> it = m_rows.values().iterator(); it.hasNext() && m_rows.size() >= m_maxRows;) {
+            // reuse the array of the least recently used row
+            values = it.next().m_values;
+            it.remove();
+        }
+        if (values == null) {
+            values = new double[m_data.length];
+        }
+        Arrays.fill(values, Double.NaN);
+        return new Row(values);
+    }
+}
@@ -292,16 +292,23 @@ protected PortObject[] execute(final PortObject[] inData,
 
         final Svm[] svms = new Svm[categories.size()];
         exec.setMessage("Training SVM");
+        // the binary problems are trained concurrently, each one with its
+        // share of the available memory for its kernel cache
+        int nrThreads = Math.min(categories.size(),
+            Runtime.getRuntime().availableProcessors());
+        long cacheSize = KernelRowCache.getDefaultCacheSize() / nrThreads;
         final BinarySvmRunnable[] bst =
                 new BinarySvmRunnable[categories.size()];
         for (int i = 0; i < categories.size(); i++) {
             bst[i] =
                     new BinarySvmRunnable(inputDataArr, categories.get(i),
-                            kernel, m_paramC.getDoubleValue(),
+                            kernel, m_paramC.getDoubleValue(), cacheSize,
                             exec.createSubProgress((1.0 / categories.size())));
 
         }
-        ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL;
+        ThreadPool currentPool = ThreadPool.currentPool();
+        ThreadPool pool = (currentPool != null ? currentPool
+            : KNIMEConstants.GLOBAL_THREAD_POOL).createSubPool(nrThreads);
         final Future<?>[] fut = new Future<?>[bst.length];
         KNIMETimer timer = KNIMETimer.getInstance();
         TimerTask timerTask = new TimerTask() {
@@ -326,7 +333,7 @@ public void run() {
         }
 
         try {
-            pool.runInvisible(new Callable<Void>() {
+            Callable<Void> waitForAll = new Callable<Void>() {
                 @Override
                 public Void call() throws Exception {
                     for (int i = 0; i < fut.length; ++i) {
@@ -339,7 +346,12 @@ public Void call() throws Exception {
                     }
                     return null;
                 }
-            });
+            };
+            if (currentPool != null) {
+                currentPool.runInvisible(waitForAll);
+            } else {
+                waitForAll.call();
+            }
         } catch (Exception ex) {
             exec.checkCanceled();
             Throwable t = ex;
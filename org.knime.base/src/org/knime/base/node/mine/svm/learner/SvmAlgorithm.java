@@ -71,6 +71,11 @@
  *
  * The variable names used in this class follow the notations from the papers.
  *
+ * Rows of the kernel matrix are kept in a {@link KernelRowCache} and the error
+ * cache is maintained for all active examples. As in LIBSVM, examples at the
+ * bounds that are unlikely to change are shrunk from the active set. They are
+ * reactivated, with recomputed errors, before all examples are examined.
+ *
  * @author Stefan, University of Konstanz
  * @author Nicolas Cebron, University of Konstanz
  */
@@ -115,10 +120,54 @@ public class SvmAlgorithm {
     private double[] m_alpha;
 
     /*
-     * the error cache.
+     * the targets (-1 or 1) of the input vectors.
+     */
+    private double[] m_target;
+
+    /*
+     * the error cache, valid for all active examples.
      */
     private double[] m_fcache;
 
+    /*
+     * the maximal size of the kernel cache in bytes.
+     */
+    private final long m_cacheSize;
+
+    /*
+     * the cached rows of the kernel matrix, only available while running.
+     */
+    private KernelRowCache m_kernelCache;
+
+    /*
+     * the kernel values of each vector with itself.
+     */
+    private double[] m_diagonal;
+
+    /*
+     * the indices of the active examples and whether an example is shrunk.
+     */
+    private int[] m_activeSet;
+
+    private int m_activeSize;
+
+    private boolean[] m_shrunk;
+
+    /*
+     * increased whenever examples are reactivated, see KernelRowCache#getRow.
+     */
+    private int m_activeVersion;
+
+    /*
+     * the number of successful optimization steps since the last shrinking.
+     */
+    private int m_stepsSinceShrinking;
+
+    /*
+     * whether examples at the bounds are removed from the active set.
+     */
+    private boolean m_shrinking = true;
+
     /*
      * the offsets, as described in the 2nd paper.
      */
@@ -150,6 +199,11 @@ public class SvmAlgorithm {
      */
     private static final double EPSILON = 1.0e-12;
 
+    /*
+     * the maximal number of successful steps between two shrinkings.
+     */
+    private static final int SHRINKING_INTERVAL = 1000;
+
     /**
      * The main constructor.
      *
@@ -163,6 +217,27 @@ public class SvmAlgorithm {
     public SvmAlgorithm(final DoubleVector[] inputData,
             final String positiveClass, final Kernel kernel,
             final double paramC) {
+        this(inputData, positiveClass, kernel, paramC,
+            KernelRowCache.getDefaultCacheSize());
+    }
+
+    /**
+     * Creates a new algorithm that caches at most the given amount of
+     * kernel values.
+     *
+     * @param inputData the input vectors
+     * @param positiveClass the class value for which to consider an input
+     *            vector a 'positive' example. if input vectors have other class
+     *            values, they are considered 'negative'
+     * @param paramC the "C" from the problem constraints
+     * @param kernel the kernel to use in the algorithm
+     * @param cacheSize the maximal size of the kernel cache in bytes
+     * @since 3.8
+     */
+    public SvmAlgorithm(final DoubleVector[] inputData,
+            final String positiveClass, final Kernel kernel,
+            final double paramC, final long cacheSize) {
+        m_cacheSize = cacheSize;
         m_inputData = inputData;
         m_positiveClass = positiveClass;
         m_kernel = kernel;
@@ -172,6 +247,18 @@ public SvmAlgorithm(final DoubleVector[] inputData,
         m_maxIteration = Math.max(10000000, inputData.length > Integer.MAX_VALUE / 100 ? Integer.MAX_VALUE - 1 : 100*inputData.length);
     }
 
+    /**
+     * Switches the shrinking of the active set on or off, it is on by
+     * default. The resulting SVM is the same up to the tolerance of the
+     * optimality conditions.
+     *
+     * @param shrinking whether examples at the bounds may be removed from the
+     *            active set
+     */
+    void setShrinking(final boolean shrinking) {
+        m_shrinking = shrinking;
+    }
+
     /**
      * test if the parameter is very close to zero.
      *
@@ -200,11 +287,7 @@ private static boolean equal(final double x, final double y) {
      * @param i the index of the input vector
      */
     private double target(final int i) {
-        if (m_inputData[i].getClassValue().equals(m_positiveClass)) {
-            return 1.0;
-        } else {
-            return -1.0;
-        }
+        return m_target[i];
     }
 
     /**
@@ -220,8 +303,7 @@ private double computeSvmOutput(final int i1) {
             if (!zero(m_alpha[i2])) {
                 double alpha = m_alpha[i2];
                 double targ = target(i2);
-                double kern =
-                        m_kernel.evaluate(m_inputData[i1], m_inputData[i2]);
+                double kern = m_kernelCache.get(i1, i2);
                 result += alpha * targ * kern;
             }
         }
@@ -229,6 +311,55 @@ private double computeSvmOutput(final int i1) {
         return result;
     }
 
+    /**
+     * Removes the examples at the bounds from the active set whose errors
+     * are well beyond the current offsets, since they are unlikely to
+     * violate the optimality conditions.
+     */
+    private void shrink() {
+        int size = 0;
+        for (int k = 0; k < m_activeSize; k++) {
+            int i = m_activeSet[k];
+            boolean shrink = false;
+            if (i != m_iUp && i != m_iLow) {
+                boolean up = isUp(i);
+                boolean low = isLow(i);
+                if (up && !low) {
+                    // in I1 or I2, can only become i_up
+                    shrink = m_fcache[i] > m_bLow;
+                } else if (low && !up) {
+                    // in I3 or I4, can only become i_low
+                    shrink = m_fcache[i] < m_bUp;
+                }
+            }
+            if (shrink) {
+                m_shrunk[i] = true;
+            } else {
+                m_activeSet[size++] = i;
+            }
+        }
+        m_activeSize = size;
+        m_stepsSinceShrinking = 0;
+    }
+
+    /**
+     * Reactivates all shrunk examples and recomputes their errors.
+     */
+    private void unshrink() {
+        if (m_activeSize == m_alpha.length) {
+            return;
+        }
+        for (int i = 0; i < m_alpha.length; i++) {
+            if (m_shrunk[i]) {
+                m_fcache[i] = computeSvmOutput(i) + m_b - target(i);
+                m_shrunk[i] = false;
+            }
+            m_activeSet[i] = i;
+        }
+        m_activeSize = m_alpha.length;
+        m_activeVersion++;
+    }
+
     /**
      * given an index, add it to one of I0, I1, I2, I3, I4, taking into account
      * the conditions. see 2nd paper.
@@ -277,56 +408,19 @@ private void updateSets(final int i1, final int i2) {
     }
 
     /**
-     * after a successful optimization step, make sure each element is in the
-     * set it belongs to.
-     *
-     * @param i1 the first Lagrange coefficient optimized
-     * @param i2 the second Lagrange coefficient optimized
+     * test if an example can determine b_up, i.e. if it is in I0, I1 or I2.
      */
-    private void repairSets(final int i1, final int i2) {
-        m_bLow = -Double.MAX_VALUE;
-        m_bUp = Double.MAX_VALUE;
-        m_iLow = -1;
-        m_iUp = -1;
-        for (int j : m_i0) {
-            if (m_fcache[j] < m_bUp) {
-                m_bUp = m_fcache[j];
-                m_iUp = j;
-            }
-            if (m_fcache[j] > m_bLow) {
-                m_bLow = m_fcache[j];
-                m_iLow = j;
-            }
-        }
-        if (!m_i0.contains(i1)) {
-            if (m_i3.contains(i1) || m_i4.contains(i1)) {
-                if (m_fcache[i1] > m_bLow) {
-                    m_bLow = m_fcache[i1];
-                    m_iLow = i1;
-                }
-            } else {
-                if (m_fcache[i1] < m_bUp) {
-                    m_bUp = m_fcache[i1];
-                    m_iUp = i1;
-                }
-            }
-        }
-        if (!m_i0.contains(i2)) {
-            if (m_i3.contains(i2) || m_i4.contains(i2)) {
-                if (m_fcache[i2] > m_bLow) {
-                    m_bLow = m_fcache[i2];
-                    m_iLow = i2;
-                }
-            } else {
-                if (m_fcache[i2] < m_bUp) {
-                    m_bUp = m_fcache[i2];
-                    m_iUp = i2;
-                }
-            }
-        }
+    private boolean isUp(final int i) {
+        return target(i) == 1.0 ? !equal(m_alpha[i], m_paramC)
+            : !equal(m_alpha[i], 0.0);
+    }
 
-        assert m_iLow != -1;
-        assert m_iUp != -1;
+    /**
+     * test if an example can determine b_low, i.e. if it is in I0, I3 or I4.
+     */
+    private boolean isLow(final int i) {
+        return target(i) == 1.0 ? !equal(m_alpha[i], 0.0)
+            : !equal(m_alpha[i], m_paramC);
     }
 
     /**
@@ -366,9 +460,9 @@ private boolean takeStep(final int i1, final int i2) throws MaxIterationsExceede
         if (Math.abs(low - high) < EPSILON) {
             return false;
         }
-        double k11 = m_kernel.evaluate(m_inputData[i1], m_inputData[i1]);
-        double k12 = m_kernel.evaluate(m_inputData[i1], m_inputData[i2]);
-        double k22 = m_kernel.evaluate(m_inputData[i2], m_inputData[i2]);
+        double k11 = m_diagonal[i1];
+        double k12 = m_kernelCache.get(i1, i2);
+        double k22 = m_diagonal[i2];
         //-eta as in the Pratt paper.
         double eta = k11 + k22 - 2.0 * k12; // value of second derivative
         double a2;
@@ -403,23 +497,41 @@ private boolean takeStep(final int i1, final int i2) throws MaxIterationsExceede
         m_alpha[i1] = a1;
         m_alpha[i2] = a2;
         updateSets(i1, i2);
-        for (int i : m_i0) {
+        assert !m_shrunk[i1] && !m_shrunk[i2];
+        // the first row stays cached, since at least two rows fit
+        double[] row1 = m_kernelCache.getRow(i1, m_activeSet, m_activeSize,
+                m_activeVersion);
+        double[] row2 = m_kernelCache.getRow(i2, m_activeSet, m_activeSize,
+                m_activeVersion);
+        double d1 = y1 * (a1 - alpha1);
+        double d2 = y2 * (a2 - alpha2);
+        m_fcache[i1] += d1 * k11 + d2 * k12;
+        m_fcache[i2] += d1 * k12 + d2 * k22;
+        // update the errors and determine b_up and b_low over all active
+        // examples
+        m_bLow = -Double.MAX_VALUE;
+        m_bUp = Double.MAX_VALUE;
+        m_iLow = -1;
+        m_iUp = -1;
+        for (int k = 0; k < m_activeSize; k++) {
+            int i = m_activeSet[k];
             if ((i != i1) && (i != i2)) {
-                m_fcache[i] +=
-                        y1
-                                * (a1 - alpha1)
-                                * m_kernel.evaluate(m_inputData[i1],
-                                        m_inputData[i])
-                                + y2
-                                * (a2 - alpha2)
-                                * m_kernel.evaluate(m_inputData[i2],
-                                        m_inputData[i]);
+                m_fcache[i] += d1 * row1[i] + d2 * row2[i];
+            }
+            double f = m_fcache[i];
+            if (f < m_bUp && isUp(i)) {
+                m_bUp = f;
+                m_iUp = i;
+            }
+            if (f > m_bLow && isLow(i)) {
+                m_bLow = f;
+                m_iLow = i;
             }
         }
-        m_fcache[i1] += y1 * (a1 - alpha1) * k11 + y2 * (a2 - alpha2) * k12;
-        m_fcache[i2] += y1 * (a1 - alpha1) * k12 + y2 * (a2 - alpha2) * k22;
-        repairSets(i1, i2);
+        assert m_iLow != -1;
+        assert m_iUp != -1;
         m_b = (m_bLow + m_bUp) * 0.5;
+        m_stepsSinceShrinking++;
         return true;
     }
 
@@ -433,14 +545,18 @@ private boolean takeStep(final int i1, final int i2) throws MaxIterationsExceede
      * @throws MaxIterationsExceededException Maximal iterations performed, should stop.
      */
     private boolean examineExample(final int i2) throws MaxIterationsExceededException {
+        if (m_shrunk[i2]) {
+            // its error is outdated, it is examined again after unshrinking
+            return false;
+        }
         int i1 = -1;
         double y2 = target(i2);
         double f2;
         if (m_i0.contains(i2)) {
             f2 = m_fcache[i2];
         } else {
-            f2 = computeSvmOutput(i2) + m_b - y2;
-            m_fcache[i2] = f2;
+            // the error cache is up to date for all active examples
+            f2 = m_fcache[i2];
             if ((m_i1.contains(i2) || m_i2.contains(i2)) && (f2 < m_bUp)) {
                 m_bUp = f2;
                 m_iUp = i2;
@@ -527,12 +643,27 @@ private boolean examineExample(final int i2) throws MaxIterationsExceededExcepti
      */
     private void mainAlgorithm(final ExecutionMonitor exec)
             throws CanceledExecutionException {
-        int numChanged = 0;
-        boolean examineAll = true;
+        // the errors of all examples are known, so start with optimizing the
+        // worst violating pairs instead of examining all examples
+        int numChanged = 1;
+        boolean examineAll = false;
 
         m_fcache = new double[m_alpha.length];
+        m_target = new double[m_alpha.length];
+        m_diagonal = new double[m_alpha.length];
+        m_activeSet = new int[m_alpha.length];
+        m_shrunk = new boolean[m_alpha.length];
+        m_activeSize = m_alpha.length;
+        m_activeVersion = 0;
+        m_stepsSinceShrinking = 0;
+        m_kernelCache = new KernelRowCache(m_inputData, m_kernel, m_cacheSize);
         for (int i = 0; i < m_alpha.length; ++i) {
-            m_fcache[i] = 0.0;
+            m_target[i] =
+                m_inputData[i].getClassValue().equals(m_positiveClass) ? 1.0 : -1.0;
+            m_diagonal[i] = m_kernel.evaluate(m_inputData[i], m_inputData[i]);
+            m_activeSet[i] = i;
+            // the error of the initial SVM, which has no support vectors
+            m_fcache[i] = -m_target[i];
             m_alpha[i] = 0.0;
         }
         m_b = 0.0;
@@ -549,8 +680,6 @@ private void mainAlgorithm(final ExecutionMonitor exec)
         }
         assert m_iUp != -1 : "Input data doesn't contain two classes";
         assert m_iLow != -1 : "Input data doesn't contain two classes";
-        m_fcache[m_iLow] = 1;
-        m_fcache[m_iUp] = -1;
 
         m_i0 = new LinkedHashSet<Integer>();
         m_i1 = new LinkedHashSet<Integer>();
@@ -586,6 +715,7 @@ private void mainAlgorithm(final ExecutionMonitor exec)
             try {
                 numChanged = 0;
                 if (examineAll) {
+                    unshrink();
                     for (int i = 0; i < m_inputData.length; ++i) {
                         exec.checkCanceled();
                         if (examineExample(i)) {
@@ -593,17 +723,17 @@ private void mainAlgorithm(final ExecutionMonitor exec)
                         }
                     }
                 } else {
-                    Set<Integer> i0 = new LinkedHashSet<Integer>(m_i0);
-                    for (int i : i0) {
+                    // optimize the worst violating pair until the active
+                    // examples are optimal (modification 2 of the 2nd paper)
+                    while (m_bUp < m_bLow - 2.0 * TOLERANCE
+                            && takeStep(m_iUp, m_iLow)) {
                         exec.checkCanceled();
-                        if (examineExample(i)) {
-                            numChanged++;
-                        }
-                        if (m_bUp > m_bLow - 2.0 * TOLERANCE) {
-                            numChanged = 0;
-                            break;
+                        if (m_shrinking && m_stepsSinceShrinking
+                                >= Math.min(m_alpha.length, SHRINKING_INTERVAL)) {
+                            shrink();
                         }
                     }
+                    numChanged = 0;
                 }
             } catch (MaxIterationsExceededException e) {
                 exec.setMessage(MAXIMUM_NUMBER_OF_ITERATIONS_REACHED);
@@ -637,7 +767,12 @@ public Svm run(final ExecutionMonitor exec)
         }
         m_b = 0;
 
-        mainAlgorithm(exec);
+        try {
+            mainAlgorithm(exec);
+        } finally {
+            // free the memory of the kernel cache
+            m_kernelCache = null;
+        }
         int countSupportVectors = 0;
         for (int i = 0; i < m_alpha.length; ++i) {
             if (!zero(m_alpha[i])) {
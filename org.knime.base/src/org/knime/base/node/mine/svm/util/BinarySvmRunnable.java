@@ -83,6 +83,25 @@ public BinarySvmRunnable(final DoubleVector[] inputData,
         m_exec = exec;
     }
 
+    /**
+     * @param inputData the input data to train with
+     * @param positiveClass the positive class value
+     * @param kernel the kernel to use
+     * @param paramC overlapping penalty to use
+     * @param cacheSize the maximal size of the kernel cache in bytes
+     * @param exec the execution process to report to
+     * @since 3.8
+     */
+    public BinarySvmRunnable(final DoubleVector[] inputData,
+            final String positiveClass,
+            final Kernel kernel, final double paramC, final long cacheSize,
+            final ExecutionMonitor exec) {
+        m_svmAlgo = new SvmAlgorithm(inputData, positiveClass, kernel, paramC,
+            cacheSize);
+        m_exception = null;
+        m_exec = exec;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -169,6 +169,14 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
         // index)
         m_rowFilter.configure(in.getDataTableSpec());
 
+        // the column domain may decide the filter for all rows, then the input is passed on to one of the outputs
+        if (m_rowFilter.matchesAllRows(in.getDataTableSpec())) {
+            return new BufferedDataTable[]{in, createEmptyTable(in.getDataTableSpec(), exec)};
+        }
+        if (m_rowFilter.matchesNoRow(in.getDataTableSpec())) {
+            return new BufferedDataTable[]{createEmptyTable(in.getDataTableSpec(), exec), in};
+        }
+
         BufferedDataContainer match =
                 exec.createDataContainer(in.getDataTableSpec());
         BufferedDataContainer miss =
@@ -184,6 +192,12 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
         return new BufferedDataTable[]{match.getTable(), miss.getTable()};
     }
 
+    private static BufferedDataTable createEmptyTable(final DataTableSpec spec, final ExecutionContext exec) {
+        BufferedDataContainer empty = exec.createDataContainer(spec);
+        empty.close();
+        return empty.getTable();
+    }
+
     /**
      * {@inheritDoc}
      */
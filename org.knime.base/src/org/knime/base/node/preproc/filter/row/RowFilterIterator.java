@@ -53,6 +53,7 @@
 import org.knime.base.node.preproc.filter.row.rowfilter.RowFilter;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTable;
+import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.RowIterator;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
@@ -153,7 +154,11 @@ public RowFilterIterator(final DataTable orig, final RowFilter filter) {
      */
     public RowFilterIterator(final DataTable origTable, final IRowFilter filter, final ExecutionMonitor exec) {
         m_filter = filter;
-        m_orig = origTable.iterator();
+        // the filter may tell from the spec (i.e. the column domains) that no or all rows match; in the first case
+        // the table is not iterated at all, in the latter the filter isn't asked for each row
+        final DataTableSpec spec = origTable.getDataTableSpec();
+        final boolean noRowMatches = filter.matchesNoRow(spec);
+        m_orig = noRowMatches ? null : origTable.iterator();
         long count = -1;
         if (origTable instanceof BufferedDataTable) {
             count = ((BufferedDataTable)origTable).size();
@@ -163,10 +168,10 @@ public RowFilterIterator(final DataTable origTable, final IRowFilter filter, fin
 
         m_rowNumber = 0;
         m_nextRow = null;
-        m_includeRest = false;
+        m_includeRest = !noRowMatches && filter.matchesAllRows(spec);
 
         // get the next row to return - for the next call to next()
-        m_nextRow = getNextMatch();
+        m_nextRow = noRowMatches ? null : getNextMatch();
     }
 
 
@@ -218,6 +218,10 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
         // here, we give it a chance to configure itself (e.g. find the column
         // index)
         m_rowFilter.configure(in.getDataTableSpec());
+        if (m_rowFilter.matchesAllRows(in.getDataTableSpec())) {
+            // the column domain tells that every row is included - no need to copy the table
+            return new BufferedDataTable[]{inData[0]};
+        }
         BufferedDataContainer container =
             exec.createDataContainer(in.getDataTableSpec());
         exec.setMessage("Searching first matching row...");
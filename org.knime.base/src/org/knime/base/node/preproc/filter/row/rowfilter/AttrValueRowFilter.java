@@ -50,6 +50,8 @@
 import java.util.Stack;
 
 import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnDomain;
+import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.collection.CollectionDataValue;
@@ -243,6 +245,79 @@ protected boolean performDeepFiltering(final CollectionDataValue theCell) {
         return false;
     }
 
+    /**
+     * {@inheritDoc}
+     * Rows with a value in the column match the filter only if the include flag is set and the value matches the
+     * criterion; if {@link #mayMatchValueIn(DataColumnDomain)} tells that no value of the domain matches, no row
+     * matches in include mode.
+     */
+    @Override
+    public boolean matchesNoRow(final DataTableSpec inSpec) {
+        return m_include && !mayMatchValueIn(inSpec);
+    }
+
+    /**
+     * {@inheritDoc}
+     * In exclude mode all rows are kept if no value of the domain matches the criterion (rows with missing values are
+     * kept in exclude mode anyway).
+     */
+    @Override
+    public boolean matchesAllRows(final DataTableSpec inSpec) {
+        return !m_include && !mayMatchValueIn(inSpec);
+    }
+
+    private boolean mayMatchValueIn(final DataTableSpec inSpec) {
+        if (inSpec == null) {
+            return true;
+        }
+        final int colIdx = inSpec.findColumnIndex(m_colName);
+        if (colIdx < 0) {
+            return true;
+        }
+        final DataColumnSpec colSpec = inSpec.getColumnSpec(colIdx);
+        if (m_deepFiltering && colSpec.getType().isCollectionType()) {
+            // the domain describes the collections, not their elements
+            return true;
+        }
+        return mayMatchValueIn(colSpec.getDomain());
+    }
+
+    /**
+     * Checks whether any (non-missing) value described by the domain of the filtered column may match the criterion
+     * of {@link #matches(DataCell)}. Used to skip filtering the table if it can be told from the domain that either
+     * all or none of the rows are matched, see {@link #matchesNoRow(DataTableSpec)}. Only filters that never match
+     * missing cells may override this. Implementations must be conservative, i.e. only return <code>false</code> if
+     * the domain proves it (values that the domain doesn't describe, like NaN, must be taken into account); the
+     * default returns <code>true</code>.
+     *
+     * @param domain the domain of the column to filter
+     * @return <code>false</code> only if no value of the column can match the criterion
+     * @since 3.8
+     */
+    protected boolean mayMatchValueIn(final DataColumnDomain domain) {
+        return true;
+    }
+
+    /**
+     * Helper for {@link #mayMatchValueIn(DataColumnDomain)} implementations that checks the possible values of the
+     * domain against {@link #matches(DataCell)}.
+     *
+     * @param domain the domain of the column to filter
+     * @return <code>false</code> if the domain lists its possible values and none of them matches
+     * @since 3.8
+     */
+    protected final boolean anyPossibleValueMatches(final DataColumnDomain domain) {
+        if (!domain.hasValues()) {
+            return true;
+        }
+        for (DataCell value : domain.getValues()) {
+            if (matches(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Implementations should overwrite this for {@link #performDeepFiltering(CollectionDataValue)} to work. Also see
      * {@link #matches(DataRow, int)}.
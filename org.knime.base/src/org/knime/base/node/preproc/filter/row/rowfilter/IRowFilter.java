@@ -112,6 +112,32 @@ public interface IRowFilter extends Cloneable {
      */
     DataTableSpec configure(DataTableSpec inSpec) throws InvalidSettingsException;
 
+    /**
+     * Returns <code>true</code> if it can be told from the table spec (in particular the domain of the columns) that
+     * no row of the table will match the filter. The table then doesn't need to be iterated at all. Only called after
+     * {@link #configure(DataTableSpec)}.
+     *
+     * @param inSpec the spec of the table to filter
+     * @return <code>true</code> if no row can match, <code>false</code> if rows may match (the default)
+     * @since 3.8
+     */
+    default boolean matchesNoRow(final DataTableSpec inSpec) {
+        return false;
+    }
+
+    /**
+     * Returns <code>true</code> if it can be told from the table spec (in particular the domain of the columns) that
+     * all rows of the table will match the filter. The table then doesn't need to be filtered. Only called after
+     * {@link #configure(DataTableSpec)}.
+     *
+     * @param inSpec the spec of the table to filter
+     * @return <code>true</code> if all rows match, <code>false</code> if rows may not match (the default)
+     * @since 3.8
+     */
+    default boolean matchesAllRows(final DataTableSpec inSpec) {
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
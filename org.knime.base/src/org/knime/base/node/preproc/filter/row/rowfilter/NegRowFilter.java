@@ -158,6 +158,22 @@ public DataTableSpec configure(final DataTableSpec inSpec)
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean matchesNoRow(final DataTableSpec inSpec) {
+        return m_inFilter.matchesAllRows(inSpec);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean matchesAllRows(final DataTableSpec inSpec) {
+        return m_inFilter.matchesNoRow(inSpec);
+    }
+
     /**
      * {@inheritDoc}
      */
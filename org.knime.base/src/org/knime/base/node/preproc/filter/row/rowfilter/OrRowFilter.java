@@ -235,6 +235,22 @@ public DataTableSpec configure(final DataTableSpec inSpec)
         return null;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean matchesNoRow(final DataTableSpec inSpec) {
+        return m_in1.matchesNoRow(inSpec) && m_in2.matchesNoRow(inSpec);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean matchesAllRows(final DataTableSpec inSpec) {
+        return m_in1.matchesAllRows(inSpec) || m_in2.matchesAllRows(inSpec);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -48,10 +48,13 @@
 package org.knime.base.node.preproc.filter.row.rowfilter;
 
 import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnDomain;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataType;
 import org.knime.core.data.DataValueComparator;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.LongValue;
 import org.knime.core.data.collection.CollectionDataValue;
 import org.knime.core.node.InvalidSettingsException;
 import org.knime.core.node.NodeSettingsRO;
@@ -86,6 +89,12 @@ public class RangeRowFilter extends AttrValueRowFilter {
      */
     private DataValueComparator m_comparator;
 
+    /**
+     * Whether the column may contain NaN values, which the domain bounds don't cover but which the comparator sorts
+     * above all other values.
+     */
+    private boolean m_mayContainNaN;
+
     /**
      * Creates a filter that compares the value of a data cell in the specified
      * column with the specified range. If the value is in that range the row is
@@ -200,6 +209,7 @@ public DataTableSpec configure(final DataTableSpec inSpec)
         }
 
         m_comparator = colType.getComparator();
+        m_mayContainNaN = colType.isCompatible(DoubleValue.class) && !colType.isCompatible(LongValue.class);
 
         return inSpec;
     }
@@ -283,6 +293,34 @@ public DataCell getUpperBound() {
         return m_upperBound;
     }
 
+    /**
+     * {@inheritDoc}
+     * The range can't match if it lies completely outside the bounds of the domain. NaN values are not covered by the
+     * bounds, they are above any bound (see {@link org.knime.core.data.DoubleValueComparator}) and hence fall into
+     * ranges without upper bound.
+     */
+    @Override
+    protected boolean mayMatchValueIn(final DataColumnDomain domain) {
+        if (m_comparator == null) {
+            // not configured
+            return true;
+        }
+        if (!anyPossibleValueMatches(domain)) {
+            return false;
+        }
+        final DataCell domainLower = domain.getLowerBound();
+        final DataCell domainUpper = domain.getUpperBound();
+        if (m_lowerBound != null && domainUpper != null && !domainUpper.isMissing()
+            && m_comparator.compare(domainUpper, m_lowerBound) < 0 && !(m_upperBound == null && m_mayContainNaN)) {
+            return false;
+        }
+        if (m_upperBound != null && domainLower != null && !domainLower.isMissing()
+            && m_comparator.compare(m_upperBound, domainLower) < 0) {
+            return false;
+        }
+        return true;
+    }
+
     /**
      * {@inheritDoc}
      */
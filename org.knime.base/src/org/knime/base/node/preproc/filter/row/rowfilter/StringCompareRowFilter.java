@@ -52,6 +52,7 @@
 
 import org.knime.base.util.WildcardMatcher;
 import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnDomain;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.collection.CollectionDataValue;
 import org.knime.core.node.InvalidSettingsException;
@@ -341,6 +342,14 @@ public String getPattern() {
     }
 
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mayMatchValueIn(final DataColumnDomain domain) {
+        return anyPossibleValueMatches(domain);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -103,6 +103,14 @@ public DataTableSpec configure(final DataTableSpec inSpec)
         return inSpec;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean matchesAllRows(final DataTableSpec inSpec) {
+        return true;
+    }
+
     /**
      * {@inheritDoc}
      */
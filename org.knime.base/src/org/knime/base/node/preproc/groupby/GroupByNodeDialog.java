@@ -126,6 +126,8 @@ public class GroupByNodeDialog extends NodeDialogPane {
 
     private final SettingsModelBoolean m_inMemory = new SettingsModelBoolean(GroupByNodeModel.CFG_IN_MEMORY, false);
 
+    private final SettingsModelBoolean m_hashAggregation = GroupByNodeModel.createHashAggregationModel();
+
     private final SettingsModelString m_columnNamePolicy =
         new SettingsModelString(GroupByNodeModel.CFG_COLUMN_NAME_POLICY, ColumnNamePolicy.getDefault().getLabel());
 
@@ -274,6 +276,7 @@ protected void inMemoryChanged() {
         final boolean inMem = m_inMemory.getBooleanValue();
         m_retainOrder.setBooleanValue(inMem);
         m_retainOrder.setEnabled(!inMem);
+        m_hashAggregation.setEnabled(!inMem);
     }
 
     /**
@@ -301,6 +304,8 @@ protected JComponent createAdvancedOptionsBox() {
         rootPanel.add(createInMemoryDialog().getComponentPanel(), c);
         c.gridx++;
         rootPanel.add(createRetainOrderDialog().getComponentPanel(), c);
+        c.gridx++;
+        rootPanel.add(createHashAggregationDialog().getComponentPanel(), c);
 
         c.gridy++;
         c.gridx = 0;
@@ -375,6 +380,33 @@ protected final DialogComponentBoolean createInMemoryDialog(final String label,
         return diaComp;
     }
 
+    /**
+     * Creates the hash aggregation dialog with default label and tooltip.
+     *
+     * @return the hash aggregation dialog
+     * @since 3.8
+     */
+    protected final DialogComponentBoolean createHashAggregationDialog() {
+        return createHashAggregationDialog("Aggregate without sorting",
+            "Uses a hash table instead of sorting the input table. Groups that don't fit into memory are written "
+                + "to disk.");
+    }
+
+    /**
+     * Creates the hash aggregation dialog with the given label and tooltip.
+     *
+     * @param label the label
+     * @param toolTip the tooltip which can be null
+     *
+     * @return the hash aggregation dialog
+     * @since 3.8
+     */
+    protected final DialogComponentBoolean createHashAggregationDialog(final String label, final String toolTip) {
+        final DialogComponentBoolean diaComp = new DialogComponentBoolean(m_hashAggregation, label);
+        setToolTipText(diaComp, toolTip);
+        return diaComp;
+    }
+
     /**
      * Creates the value delimiter dialog with default label and tooltip.
      *
@@ -547,6 +579,13 @@ protected void loadSettingsFrom(final NodeSettingsRO settings, final PortObjectS
         } catch (final InvalidSettingsException e) {
             m_inMemory.setBooleanValue(false);
         }
+        try {
+            //this option was introduced in KNIME 3.8
+            m_hashAggregation.loadSettingsFrom(settings);
+        } catch (final InvalidSettingsException e) {
+            m_hashAggregation.setBooleanValue(false);
+        }
+        m_hashAggregation.setEnabled(!m_inMemory.getBooleanValue());
         // this option was introduced in Knime 2.4+
         try {
             m_valueDelimiter.loadSettingsFrom(settings);
@@ -580,6 +619,7 @@ protected void saveSettingsTo(final NodeSettingsWO settings) throws InvalidSetti
         m_dataTypeAggrPanel.saveSettingsTo(settings);
         m_retainOrder.saveSettingsTo(settings);
         m_inMemory.saveSettingsTo(settings);
+        m_hashAggregation.saveSettingsTo(settings);
 
         m_version.saveSettingsTo(settings);
     }
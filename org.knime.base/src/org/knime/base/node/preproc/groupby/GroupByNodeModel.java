@@ -158,6 +158,12 @@ public class GroupByNodeModel extends NodeModel {
     /** Configuration key for the in memory option. */
     protected static final String CFG_IN_MEMORY = "inMemory";
 
+    /**
+     * Configuration key for the hash aggregation option.
+     * @since 3.8
+     */
+    protected static final String CFG_HASH_AGGREGATION = "hashAggregation";
+
     /** Configuration key for the aggregation column name policy. */
     protected static final String CFG_COLUMN_NAME_POLICY = "columnNamePolicy";
 
@@ -187,6 +193,8 @@ public class GroupByNodeModel extends NodeModel {
 
     private final SettingsModelBoolean m_inMemory = new SettingsModelBoolean(CFG_IN_MEMORY, false);
 
+    private final SettingsModelBoolean m_hashAggregation = createHashAggregationModel();
+
     private final SettingsModelString m_columnNamePolicy =
         new SettingsModelString(GroupByNodeModel.CFG_COLUMN_NAME_POLICY,
                 ColumnNamePolicy.getDefault().getLabel());
@@ -204,6 +212,13 @@ static SettingsModelInteger createVersionModel() {
         return new SettingsModelInteger("nodeVersion", 1);
     }
 
+    /**
+     * @return hash aggregation model
+     */
+    static SettingsModelBoolean createHashAggregationModel() {
+        return new SettingsModelBoolean(CFG_HASH_AGGREGATION, false);
+    }
+
     private final List<ColumnAggregator> m_columnAggregators = new LinkedList<>();
 
     private final Collection<DataTypeAggregator> m_dataTypeAggregators = new LinkedList<>();
@@ -300,6 +315,7 @@ protected void saveSettingsTo(final NodeSettingsWO settings) {
         m_columnNamePolicy.saveSettingsTo(settings);
         m_retainOrder.saveSettingsTo(settings);
         m_inMemory.saveSettingsTo(settings);
+        m_hashAggregation.saveSettingsTo(settings);
         m_valueDelimiter.saveSettingsTo(settings);
         m_version.saveSettingsTo(settings);
     }
@@ -434,6 +450,12 @@ protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) throws I
         } catch (final InvalidSettingsException e) {
             m_inMemory.setBooleanValue(false);
         }
+        try {
+            // this option was introduced in KNIME 3.8
+            m_hashAggregation.loadSettingsFrom(settings);
+        } catch (final InvalidSettingsException e) {
+            m_hashAggregation.setBooleanValue(false);
+        }
         m_maxUniqueValues.loadSettingsFrom(settings);
         m_enableHilite.loadSettingsFrom(settings);
         try {
@@ -680,6 +702,9 @@ protected final GroupByTable createGroupByTable(final ExecutionContext exec, fin
         if (inMemory || groupByCols.isEmpty()) {
             resultTable = new MemoryGroupByTable(exec, table, groupByCols, aggregators.toArray(new ColumnAggregator[0]),
                 globalSettings, enableHilite, colNamePolicy, retainOrder);
+        } else if (m_hashAggregation.getBooleanValue()) {
+            resultTable = new HashGroupByTable(exec, table, groupByCols, aggregators.toArray(new ColumnAggregator[0]),
+                globalSettings, enableHilite, colNamePolicy, retainOrder);
         } else {
             resultTable = new BigGroupByTable(exec, table, groupByCols, aggregators.toArray(new ColumnAggregator[0]),
                     globalSettings, enableHilite, colNamePolicy, retainOrder);
@@ -745,6 +770,14 @@ protected boolean isProcessInMemory() {
         return m_inMemory.getBooleanValue();
     }
 
+    /**
+     * @return <code>true</code> if the table should be aggregated using a hash table rather than being sorted
+     * @since 3.8
+     */
+    protected boolean isHashAggregation() {
+        return m_hashAggregation.getBooleanValue();
+    }
+
     /**
      * @return <code>true</code> if any sorting should be performed in memory
      * @deprecated sort in memory is no longer required
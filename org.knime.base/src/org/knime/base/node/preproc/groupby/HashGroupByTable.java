@@ -0,0 +1,324 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.groupby;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.apache.commons.lang.mutable.MutableLong;
+import org.knime.base.data.aggregation.AggregationOperator;
+import org.knime.base.data.aggregation.ColumnAggregator;
+import org.knime.base.data.aggregation.GlobalSettings;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.util.memory.MemoryAlertSystem;
+import org.knime.core.data.util.memory.MemoryAlertSystem.MemoryActionIndicator;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.util.Pair;
+
+/**
+ * A {@link GroupByTable} that aggregates the input table using a hash map from the {@link GroupKey} to the
+ * {@link ColumnAggregator}s of the group and therefore does not need to sort the input table. As long as enough
+ * memory is available this is the same as the {@link MemoryGroupByTable}. If the {@link MemoryAlertSystem} reports
+ * low memory, the groups seen so far are kept (and still updated) but the rows of all new groups are written to one
+ * of {@link #NUMBER_OF_PARTITIONS} partitions on disk, selected by the hash of their group. Once the table has been
+ * read the groups in memory are written to the result table and each partition is aggregated in the same way, using
+ * different bits of the hash on each level so that a partition that doesn't fit into memory is split up further.
+ *
+ * <p>
+ * The groups of the result table are neither sorted nor in the order of their first occurrence, use the retain order
+ * option if the order matters.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+public class HashGroupByTable extends GroupByTable {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(HashGroupByTable.class);
+
+    /** The number of bits of the group hash used to select the partition on each level. */
+    private static final int PARTITION_BITS = 4;
+
+    /** The number of partitions rows are spilled to if memory gets low. */
+    static final int NUMBER_OF_PARTITIONS = 1 << PARTITION_BITS;
+
+    /** The deepest level that may spill rows, partitions below are processed in memory regardless of memory. */
+    private static final int MAX_SPILL_LEVEL = Integer.SIZE / PARTITION_BITS - 1;
+
+    /**Constructor for class HashGroupByTable.
+     * @param exec the <code>ExecutionContext</code>
+     * @param inDataTable the table to aggregate
+     * @param groupByCols the name of all columns to group by
+     * @param colAggregators the aggregation columns with the aggregation method
+     * to use in the order the columns should be appear in the result table
+     * numerical columns
+     * @param globalSettings the global settings
+     * @param enableHilite <code>true</code> if a row key map should be
+     * maintained to enable hiliting
+     * @param colNamePolicy the {@link ColumnNamePolicy} for the
+     * aggregation columns
+     * @param retainOrder returns the row of the table in the same order as the
+     * input table if set to <code>true</code>
+     * @throws CanceledExecutionException if the user has canceled the execution
+     */
+    public HashGroupByTable(final ExecutionContext exec,
+            final BufferedDataTable inDataTable,
+            final List<String> groupByCols,
+            final ColumnAggregator[] colAggregators,
+            final GlobalSettings globalSettings, final boolean enableHilite,
+            final ColumnNamePolicy colNamePolicy, final boolean retainOrder)
+    throws CanceledExecutionException {
+        super(exec, inDataTable, groupByCols, colAggregators, globalSettings,
+                enableHilite, colNamePolicy, retainOrder);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected BufferedDataTable createGroupByTable(final ExecutionContext exec,
+            final BufferedDataTable table, final DataTableSpec resultSpec,
+            final int[] groupColIdx) throws CanceledExecutionException {
+        initMissingValuesMap();
+        final DataTableSpec spec = table.getDataTableSpec();
+        final ColumnAggregator[] colAggregators = getColAggregators();
+        final int[] aggrColIdx = new int[colAggregators.length];
+        for (int i = 0; i < aggrColIdx.length; i++) {
+            aggrColIdx[i] = spec.findColumnIndex(colAggregators[i].getOriginalColName());
+        }
+        final BufferedDataContainer dc = exec.createDataContainer(resultSpec);
+        exec.setMessage("Creating groups");
+        aggregate(exec, table, 0, groupColIdx, aggrColIdx, createMemActionIndicator(), dc, new MutableLong(0));
+        dc.close();
+        return dc.getTable();
+    }
+
+    /**
+     * Returns the indicator that is asked if groups that don't fit into memory need to be spilled to disk. Note that
+     * this method is called during construction.
+     *
+     * @return a new indicator
+     */
+    MemoryActionIndicator createMemActionIndicator() {
+        return MemoryAlertSystem.getInstance().newIndicator();
+    }
+
+    /**
+     * Aggregates the given table (or partition) and adds the group rows to the given container.
+     *
+     * @param exec the {@link ExecutionContext} to use
+     * @param table the table to aggregate
+     * @param level the partitioning level of the table, 0 for the input table
+     * @param groupColIdx the group column indices
+     * @param aggrColIdx the column index of each {@link ColumnAggregator}
+     * @param memIndicator indicates when to start spilling
+     * @param dc the container to add the group rows to
+     * @param groupCounter the number of groups that have been created so far
+     * @throws CanceledExecutionException if the operation has been canceled
+     */
+    private void aggregate(final ExecutionContext exec, final BufferedDataTable table, final int level,
+        final int[] groupColIdx, final int[] aggrColIdx, final MemoryActionIndicator memIndicator,
+        final BufferedDataContainer dc, final MutableLong groupCounter) throws CanceledExecutionException {
+        final ExecutionContext readExec = exec.createSubExecutionContext(0.6);
+        final Map<GroupKey, Pair<ColumnAggregator[], Set<RowKey>>> groups = new LinkedHashMap<>();
+        BufferedDataContainer[] partitions = null;
+        final double numOfRows = table.size();
+        long rowCounter = 0;
+        for (final DataRow row : table) {
+            readExec.checkCanceled();
+            readExec.setProgress(rowCounter++ / numOfRows);
+            final DataCell[] currentGroup = new DataCell[groupColIdx.length];
+            //fetch the current group column values
+            for (int i = 0, length = groupColIdx.length; i < length; i++) {
+                currentGroup[i] = row.getCell(groupColIdx[i]);
+            }
+            final GroupKey groupKey = new GroupKey(currentGroup);
+            Pair<ColumnAggregator[], Set<RowKey>> member = groups.get(groupKey);
+            if (member == null) {
+                if (partitions == null && level <= MAX_SPILL_LEVEL && !groups.isEmpty()
+                        && memIndicator.lowMemoryActionRequired()) {
+                    //keep the groups we have but write the rows of all new groups to disk
+                    LOGGER.debug("Low memory, spilling rows of new groups to disk (level " + level + ", "
+                        + groups.size() + " groups in memory)");
+                    partitions = new BufferedDataContainer[NUMBER_OF_PARTITIONS];
+                }
+                if (partitions != null) {
+                    final int partition = getPartition(groupKey, level);
+                    if (partitions[partition] == null) {
+                        partitions[partition] = exec.createDataContainer(table.getDataTableSpec(), false);
+                    }
+                    partitions[partition].addRowToTable(row);
+                    continue;
+                }
+                final Set<RowKey> rowKeys;
+                if (isEnableHilite()) {
+                    rowKeys = new HashSet<>();
+                } else {
+                    rowKeys = Collections.emptySet();
+                }
+                member = new Pair<>(cloneColumnAggregators(), rowKeys);
+                groups.put(groupKey, member);
+            }
+            //compute the current row values
+            final ColumnAggregator[] colAggregators = member.getFirst();
+            for (int i = 0, length = colAggregators.length; i < length; i++) {
+                colAggregators[i].getOperator(getGlobalSettings()).compute(row, aggrColIdx[i]);
+            }
+            if (isEnableHilite()) {
+                member.getSecond().add(row.getKey());
+            }
+        }
+        createTableRows(dc, groups, groupCounter);
+        groups.clear();
+        if (partitions == null) {
+            exec.setProgress(1.0);
+            return;
+        }
+        //aggregate the spilled partitions, each of them is smaller (in terms of groups) than the table
+        final BufferedDataTable[] partitionTables = new BufferedDataTable[NUMBER_OF_PARTITIONS];
+        long spilledRows = 0;
+        for (int i = 0; i < NUMBER_OF_PARTITIONS; i++) {
+            if (partitions[i] != null) {
+                partitions[i].close();
+                partitionTables[i] = partitions[i].getTable();
+                spilledRows += partitionTables[i].size();
+            }
+        }
+        for (final BufferedDataTable partitionTable : partitionTables) {
+            if (partitionTable != null) {
+                final ExecutionContext partitionExec =
+                    exec.createSubExecutionContext(0.4 * partitionTable.size() / spilledRows);
+                aggregate(partitionExec, partitionTable, level + 1, groupColIdx, aggrColIdx, memIndicator, dc,
+                    groupCounter);
+                exec.clearTable(partitionTable);
+            }
+        }
+    }
+
+    /**
+     * @param groupKey the group
+     * @param level the partitioning level
+     * @return the partition of the group on the given level, each level uses different bits of the hash
+     */
+    private static int getPartition(final GroupKey groupKey, final int level) {
+        //spread the hash code, group values such as small integers have poor lower bits
+        int h = groupKey.hashCode() * 0x9E3779B9;
+        h ^= h >>> 16;
+        return (h >>> (level * PARTITION_BITS)) & (NUMBER_OF_PARTITIONS - 1);
+    }
+
+    /**
+     * Creates and adds the result rows for the given groups to the
+     * given data container. It also handles the row key mapping if hilite
+     * translation is enabled.
+     *
+     * @param dc the {@link BufferedDataContainer} to use
+     * @param groups the groups to add
+     * @param groupCounter the number of groups that have been created
+     * so far
+     */
+    private void createTableRows(final BufferedDataContainer dc,
+            final Map<GroupKey, Pair<ColumnAggregator[], Set<RowKey>>> groups,
+            final MutableLong groupCounter) {
+        for (final Entry<GroupKey, Pair<ColumnAggregator[], Set<RowKey>>> e : groups.entrySet()) {
+            final DataCell[] groupVals = e.getKey().getGroupVals();
+            final ColumnAggregator[] colAggregators = e.getValue().getFirst();
+            final RowKey rowKey = RowKey.createRowKey(groupCounter.longValue());
+            groupCounter.increment();
+            final DataCell[] rowVals =
+                new DataCell[groupVals.length + colAggregators.length];
+            //add the group values first
+            int valIdx = 0;
+            for (final DataCell groupCell : groupVals) {
+                rowVals[valIdx++] = groupCell;
+            }
+            //add the aggregation values
+            for (final ColumnAggregator colAggr : colAggregators) {
+                final AggregationOperator operator =
+                    colAggr.getOperator(getGlobalSettings());
+                rowVals[valIdx++] = operator.getResult();
+                if (operator.isSkipped()) {
+                    //add skipped groups and the column that causes the
+                    //skipping into the skipped groups map
+                    addSkippedGroup(colAggr.getOriginalColName(),
+                            operator.getSkipMessage(), groupVals);
+                }
+                addToMissingValuesMap(colAggr.getOriginalColName(), operator.getMissingValuesCount());
+            }
+            dc.addRowToTable(new DefaultRow(rowKey, rowVals));
+            if (isEnableHilite()) {
+                addHiliteMapping(rowKey, e.getValue().getSecond());
+            }
+        }
+    }
+
+    /**
+     * @return a copy of the column aggregators
+     */
+    private ColumnAggregator[] cloneColumnAggregators() {
+        final ColumnAggregator[] origAggregators = getColAggregators();
+        final ColumnAggregator[] aggregators =
+            new ColumnAggregator[origAggregators.length];
+        for (int i = 0, length = origAggregators.length; i < length; i++) {
+            aggregators[i] = origAggregators[i].clone();
+        }
+        return aggregators;
+    }
+}
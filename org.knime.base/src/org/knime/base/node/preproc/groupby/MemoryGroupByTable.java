@@ -45,6 +45,7 @@
 
 package org.knime.base.node.preproc.groupby;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -52,6 +53,10 @@
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
 import org.knime.base.data.aggregation.AggregationOperator;
 import org.knime.base.data.aggregation.ColumnAggregator;
@@ -66,14 +71,28 @@
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
 
 
 /**
+ * Aggregates all groups in memory. If all aggregation operators are {@link AggregationOperator#isMergeable()
+ * mergeable} and the table is large enough, consecutive blocks of rows are aggregated concurrently on the thread pool
+ * and the partial results of each group are merged afterwards.
  *
  * @author Tobias Koetter, University of Konstanz
  */
 public class MemoryGroupByTable extends GroupByTable {
 
+    /** Minimum number of rows of a table to aggregate its rows concurrently. */
+    static final long PARALLEL_MIN_ROWS = 100000;
+
+    /** Number of consecutive rows that are aggregated by one task at once. */
+    static final int BLOCK_SIZE = 1024;
+
+    /** Queued once per aggregation task after the last block of rows, ends the task. */
+    private static final RowBlock END_OF_TABLE = new RowBlock(-1);
+
     private Map<GroupKey, Set<RowKey>> m_rowKeys;
     private Map<GroupKey, ColumnAggregator[]> m_vals;
 
@@ -153,25 +172,185 @@ protected BufferedDataTable createGroupByTable(final ExecutionContext exec,
         m_vals = new LinkedHashMap<>();
         final ExecutionMonitor groupExec = exec.createSubProgress(0.7);
         final DataTableSpec spec = dataTable.getDataTableSpec();
+        initMissingValuesMap();
+        final int parallelism = getParallelism(dataTable);
+        if (parallelism > 1) {
+            aggregateConcurrently(groupExec, dataTable, groupColIdx, parallelism);
+            return createResultTable(exec.createSubExecutionContext(0.3), resultSpec);
+        }
         final long rowCount = dataTable.size();
         long rowCounter = 0;
-        initMissingValuesMap();
         for (final DataRow row : dataTable) {
             groupExec.checkCanceled();
             groupExec.setProgress(rowCounter++ / (double) rowCount,
                     "Analyzing row " + rowCounter + " of " + rowCount);
-            final DataCell[] currentGroup = new DataCell[groupColIdx.length];
-            //fetch the current group column values
-            for (int i = 0, length = groupColIdx.length; i < length; i++) {
-                currentGroup[i] = row.getCell(groupColIdx[i]);
-            }
-            final GroupKey groupKey = new GroupKey(currentGroup);
+            final GroupKey groupKey = createGroupKey(row, groupColIdx);
             addRowKey(groupKey, row.getKey());
             addRow(spec, groupKey, row);
         }
         return createResultTable(exec.createSubExecutionContext(0.3), resultSpec);
     }
 
+    /**
+     * @param dataTable the table to aggregate
+     * @return the number of tasks that aggregate the rows of the given table concurrently or 1 if the table is
+     *         aggregated sequentially, i.e. if the table is small or one of the operators isn't mergeable
+     */
+    int getParallelism(final BufferedDataTable dataTable) {
+        final int processors = Runtime.getRuntime().availableProcessors();
+        if (processors < 2 || dataTable.size() < PARALLEL_MIN_ROWS) {
+            return 1;
+        }
+        for (final ColumnAggregator aggregator : getColAggregators()) {
+            if (!aggregator.clone().getOperator(getGlobalSettings()).isMergeable()) {
+                return 1;
+            }
+        }
+        return processors;
+    }
+
+    /**
+     * Aggregates the rows of the table concurrently. The calling thread reads the table and hands blocks of
+     * consecutive rows to the aggregation tasks, each of which aggregates into its own map of groups. If all tasks are
+     * busy (or haven't been started since the pool is exhausted) the calling thread aggregates the block itself. The
+     * partial results of a group are merged at the end in the order the groups first occur in the table, such that the
+     * result is the same as the one of the sequential aggregation (up to rounding errors of floating point sums).
+     */
+    private void aggregateConcurrently(final ExecutionMonitor exec, final BufferedDataTable dataTable,
+        final int[] groupColIdx, final int parallelism) throws CanceledExecutionException {
+        final DataTableSpec spec = dataTable.getDataTableSpec();
+        final ColumnAggregator[] origAggregators = getColAggregators();
+        final int[] aggrColIdx = new int[origAggregators.length];
+        for (int i = 0; i < aggrColIdx.length; i++) {
+            aggrColIdx[i] = spec.findColumnIndex(origAggregators[i].getOriginalColName());
+        }
+        final BlockingQueue<RowBlock> queue = new ArrayBlockingQueue<>(2 * parallelism);
+        final Callable<Map<GroupKey, PartialGroup>> task = () -> {
+            final Map<GroupKey, PartialGroup> groups = new HashMap<>();
+            RowBlock block;
+            while ((block = queue.take()) != END_OF_TABLE) {
+                aggregateBlock(block, groupColIdx, aggrColIdx, groups);
+            }
+            return groups;
+        };
+        final ThreadPool pool = createSubPool(parallelism);
+        final List<Future<Map<GroupKey, PartialGroup>>> futures = new ArrayList<>(parallelism);
+        final List<Map<GroupKey, PartialGroup>> partialResults = new ArrayList<>(parallelism + 1);
+        final Map<GroupKey, PartialGroup> ownGroups = new HashMap<>();
+        partialResults.add(ownGroups);
+        boolean success = false;
+        try {
+            for (int i = 0; i < parallelism; i++) {
+                futures.add(pool.enqueue(task));
+            }
+            final long rowCount = dataTable.size();
+            long rowCounter = 0;
+            RowBlock block = new RowBlock(0);
+            for (final DataRow row : dataTable) {
+                exec.checkCanceled();
+                exec.setProgress(rowCounter++ / (double)rowCount, "Analyzing row " + rowCounter + " of " + rowCount);
+                block.m_rows.add(row);
+                if (block.m_rows.size() == BLOCK_SIZE) {
+                    if (!queue.offer(block)) {
+                        aggregateBlock(block, groupColIdx, aggrColIdx, ownGroups);
+                    }
+                    block = new RowBlock(rowCounter);
+                }
+            }
+            aggregateBlock(block, groupColIdx, aggrColIdx, ownGroups);
+            //aggregate the blocks that haven't been picked up by any task
+            while ((block = queue.poll()) != null) {
+                aggregateBlock(block, groupColIdx, aggrColIdx, ownGroups);
+            }
+            //the queue is empty now, so there is room for the end marker of each task
+            for (int i = 0; i < parallelism; i++) {
+                queue.put(END_OF_TABLE);
+            }
+            exec.setMessage("Waiting for aggregation tasks");
+            for (final Future<Map<GroupKey, PartialGroup>> future : futures) {
+                partialResults.add(ThreadPool.await(future));
+            }
+            success = true;
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new CanceledExecutionException("Interrupted while aggregating");
+        } finally {
+            if (!success) {
+                ThreadPool.cancelAll(futures);
+            }
+        }
+        exec.setMessage("Merging partial results");
+        final Map<GroupKey, PartialGroup> groups = new HashMap<>(ownGroups);
+        for (final Map<GroupKey, PartialGroup> partialResult : partialResults.subList(1, partialResults.size())) {
+            for (final Entry<GroupKey, PartialGroup> entry : partialResult.entrySet()) {
+                final PartialGroup group = groups.get(entry.getKey());
+                if (group == null) {
+                    groups.put(entry.getKey(), entry.getValue());
+                } else {
+                    group.merge(entry.getValue(), getGlobalSettings());
+                }
+            }
+        }
+        final List<Entry<GroupKey, PartialGroup>> sortedGroups = new ArrayList<>(groups.entrySet());
+        sortedGroups.sort((e1, e2) -> Long.compare(e1.getValue().m_firstRow, e2.getValue().m_firstRow));
+        for (final Entry<GroupKey, PartialGroup> entry : sortedGroups) {
+            m_vals.put(entry.getKey(), entry.getValue().m_aggregators);
+            if (entry.getValue().m_rowKeys != null) {
+                m_rowKeys.put(entry.getKey(), entry.getValue().m_rowKeys);
+            }
+        }
+    }
+
+    /** Aggregates the rows of the block into the given groups. Called concurrently. */
+    private void aggregateBlock(final RowBlock block, final int[] groupColIdx, final int[] aggrColIdx,
+        final Map<GroupKey, PartialGroup> groups) {
+        final GlobalSettings globalSettings = getGlobalSettings();
+        long rowIdx = block.m_firstRow;
+        for (final DataRow row : block.m_rows) {
+            final GroupKey groupKey = createGroupKey(row, groupColIdx);
+            PartialGroup group = groups.get(groupKey);
+            if (group == null) {
+                group = new PartialGroup(rowIdx, cloneColumnAggregators(), isEnableHilite());
+                groups.put(groupKey, group);
+            }
+            for (int i = 0; i < aggrColIdx.length; i++) {
+                group.m_aggregators[i].getOperator(globalSettings).compute(row, aggrColIdx[i]);
+            }
+            if (group.m_rowKeys != null) {
+                group.m_rowKeys.add(row.getKey());
+            }
+            rowIdx++;
+        }
+    }
+
+    private ColumnAggregator[] cloneColumnAggregators() {
+        final ColumnAggregator[] origAggregators = getColAggregators();
+        final ColumnAggregator[] aggregators = new ColumnAggregator[origAggregators.length];
+        for (int i = 0, length = origAggregators.length; i < length; i++) {
+            aggregators[i] = origAggregators[i].clone();
+        }
+        return aggregators;
+    }
+
+    private static GroupKey createGroupKey(final DataRow row, final int[] groupColIdx) {
+        final DataCell[] currentGroup = new DataCell[groupColIdx.length];
+        //fetch the current group column values
+        for (int i = 0, length = groupColIdx.length; i < length; i++) {
+            currentGroup[i] = row.getCell(groupColIdx[i]);
+        }
+        return new GroupKey(currentGroup);
+    }
+
+    /**
+     * @return a pool running at most the given number of aggregation tasks, sharing the threads of the pool the
+     *         current thread is taken from (or the global thread pool).
+     */
+    private static ThreadPool createSubPool(final int maxThreads) {
+        final ThreadPool currentPool = ThreadPool.currentPool();
+        final ThreadPool parent = currentPool != null ? currentPool : KNIMEConstants.GLOBAL_THREAD_POOL;
+        return parent.createSubPool(maxThreads);
+    }
+
     private BufferedDataTable createResultTable(final ExecutionContext exec,
             final DataTableSpec resultSpec) throws CanceledExecutionException {
         final BufferedDataContainer dc = exec.createDataContainer(resultSpec);
@@ -224,11 +403,7 @@ private void addRow(final DataTableSpec spec, final GroupKey groupKey,
             final DataRow row) {
         ColumnAggregator[] aggregators = m_vals.get(groupKey);
         if (aggregators == null) {
-            final ColumnAggregator[] origAggregators = getColAggregators();
-            aggregators = new ColumnAggregator[origAggregators.length];
-            for (int i = 0, length = origAggregators.length; i < length; i++) {
-                aggregators[i] = origAggregators[i].clone();
-            }
+            aggregators = cloneColumnAggregators();
             m_vals.put(groupKey, aggregators);
         }
         for (final ColumnAggregator aggregator : aggregators) {
@@ -248,4 +423,45 @@ private void addRowKey(final GroupKey groupKey, final RowKey key) {
             keySet.add(key);
         }
     }
+
+    /** Consecutive rows of the input table. */
+    private static final class RowBlock {
+
+        private final long m_firstRow;
+
+        private final List<DataRow> m_rows = new ArrayList<>(BLOCK_SIZE);
+
+        RowBlock(final long firstRow) {
+            m_firstRow = firstRow;
+        }
+    }
+
+    /** The partial aggregation result of a group, computed from a subset of the group's rows. */
+    private static final class PartialGroup {
+
+        /** Index of the first row of the group in the input table, used to restore the order of the groups. */
+        private long m_firstRow;
+
+        private final ColumnAggregator[] m_aggregators;
+
+        /** The keys of the rows of the group or <code>null</code> if hiliting is disabled. */
+        private final Set<RowKey> m_rowKeys;
+
+        PartialGroup(final long firstRow, final ColumnAggregator[] aggregators, final boolean enableHilite) {
+            m_firstRow = firstRow;
+            m_aggregators = aggregators;
+            m_rowKeys = enableHilite ? new HashSet<>() : null;
+        }
+
+        void merge(final PartialGroup other, final GlobalSettings globalSettings) {
+            m_firstRow = Math.min(m_firstRow, other.m_firstRow);
+            for (int i = 0; i < m_aggregators.length; i++) {
+                m_aggregators[i].getOperator(globalSettings)
+                    .merge(other.m_aggregators[i].getOperator(globalSettings));
+            }
+            if (m_rowKeys != null) {
+                m_rowKeys.addAll(other.m_rowKeys);
+            }
+        }
+    }
 }
@@ -47,6 +47,8 @@
  */
 package org.knime.base.node.preproc.joiner;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTable;
 import org.knime.core.data.DataTableSpec;
@@ -56,7 +58,8 @@
 
 /**
  * A Container used to collect DataRows. The container has three
- * categories for inner, left outer and right outer matches.
+ * categories for inner, left outer and right outer matches. Rows can be
+ * added concurrently.
  *
  * @author Heiko Hofer
  */
@@ -71,6 +74,8 @@ final class JoinContainer {
 
     private long m_rowCount;
 
+    private final AtomicLong m_rowIndex = new AtomicLong();
+
     /**
      * Create a new instance.
      * @param settings The settings object of the OutputRow.
@@ -85,17 +90,60 @@ final class JoinContainer {
     /**
      * @return the rowCount
      */
-    long getRowCount() {
+    synchronized long getRowCount() {
         return m_rowCount;
     }
 
+    /**
+     * @return a new index for a row to add, unique within this container.
+     */
+    long nextRowIndex() {
+        return m_rowIndex.getAndIncrement();
+    }
+
+    /**
+     * Create a container for temporary rows. Synchronized with the creation
+     * of the containers of this object since rows are added concurrently.
+     *
+     * @param spec The spec of the rows.
+     * @param exec The execution context.
+     * @return A new container.
+     */
+    synchronized BufferedDataContainer createTempContainer(
+            final DataTableSpec spec, final ExecutionContext exec) {
+        return exec.createDataContainer(spec, false);
+    }
+
+    /**
+     * Close a container created by {@link #createTempContainer}.
+     *
+     * @param container The container to close.
+     * @return The table of the container.
+     */
+    synchronized BufferedDataTable closeTempContainer(
+            final BufferedDataContainer container) {
+        container.close();
+        return container.getTable();
+    }
+
+    /**
+     * Delete a table of a container created by {@link #createTempContainer}.
+     *
+     * @param table The table to delete.
+     * @param exec The execution context.
+     */
+    synchronized void clearTempTable(final BufferedDataTable table,
+            final ExecutionContext exec) {
+        exec.clearTable(table);
+    }
+
     /**
      * Add an inner match to the {@link JoinContainer}.
      *
      * @param row The matching row.
      * @param exec The Execution context.
      */
-    void addMatch(final DataRow row,
+    synchronized void addMatch(final DataRow row,
             final ExecutionContext exec) {
         if (null == m_matches) {
             m_matches = exec.createDataContainer(m_spec);
@@ -112,7 +160,7 @@ void addMatch(final DataRow row,
      * @param row The matching row.
      * @param exec The execution context.
      */
-    void addRightOuter(final DataRow row,
+    synchronized void addRightOuter(final DataRow row,
             final ExecutionContext exec) {
         if (null == m_rightOuter) {
             m_rightOuter = exec.createDataContainer(m_spec);
@@ -130,7 +178,7 @@ void addRightOuter(final DataRow row,
      * @param row The matching row.
      * @param exec The execution context.
      */
-    void addLeftOuter(final DataRow row,
+    synchronized void addLeftOuter(final DataRow row,
             final ExecutionContext exec) {
         if (null == m_leftOuter) {
             m_leftOuter = exec.createDataContainer(m_spec);
@@ -164,7 +212,7 @@ BufferedDataTable getLeftOuter() {
     /**
      * Close this container.
      */
-    public void close() {
+    public synchronized void close() {
         if (null != m_matches) {
             m_matches.close();
         }
@@ -49,21 +49,23 @@
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.knime.base.data.sort.SortedTable;
 import org.knime.base.node.preproc.joiner.Joiner2Settings.CompositionMode;
 import org.knime.base.node.preproc.joiner.Joiner2Settings.DuplicateHandling;
 import org.knime.base.node.preproc.joiner.Joiner2Settings.JoinMode;
+import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataColumnSpecCreator;
 import org.knime.core.data.DataRow;
@@ -72,17 +74,23 @@
 import org.knime.core.data.DoubleValue;
 import org.knime.core.data.RowKey;
 import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.def.DefaultRow;
 import org.knime.core.data.def.DoubleCell;
 import org.knime.core.data.def.IntCell;
 import org.knime.core.data.def.StringCell;
 import org.knime.core.data.util.memory.MemoryAlertSystem;
 import org.knime.core.data.util.memory.MemoryAlertSystem.MemoryActionIndicator;
+import org.knime.core.node.BufferedDataContainer;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
+import org.knime.core.node.streamable.RowInput;
+import org.knime.core.node.streamable.RowOutput;
 import org.knime.core.node.util.ConvenienceMethods;
+import org.knime.core.util.ThreadPool;
 import org.knime.core.util.UniqueNameGenerator;
 
 /**
@@ -131,20 +139,39 @@ public final class Joiner {
     private final List<String> m_configWarnings;
     private final List<String> m_runtimeWarnings;
 
-    private int m_numBits;
-    private int m_bitMask;
-
-    /** The initial number of partitions the rows are read in. If not all
-     * partitions fit in main memory, they are joined subsequently using as
-     * much memory as possible.
+    /**
+     * This field is only used when (m_retainRight && m_matchAny) is true. It
+     * holds the row indices of the right table that matched to a row of the
+     * left table.
+     */
+    private Set<Integer> m_matchedRightRows;
+
+    /** Settings of the rows written to the partitions, which hold the join
+     * cells at fixed positions. */
+    private InputRow.Settings m_partitionInputRowSettings;
+    /** Settings to create output rows from right rows read from the
+     * partitions, which hold the surviving cells first. */
+    private OutputRow.Settings m_partitionOutputRowSettings;
+    private DataTableSpec m_leftPartitionSpec;
+    private DataTableSpec m_rightPartitionSpec;
+
+    /** The number of hash bits defining the initial partitions both tables are
+     * written to in a single pass. Partitions that don't fit in main memory
+     * are split up recursively using more bits.
      */
     private int m_numBitsInitial = 6;
     /** The maximal number of partitions (changed in testing routines). */
     private int m_numBitsMaximal = Integer.SIZE;
 
+    /** The number of additional hash bits used when splitting a partition. */
+    private static final int SPLIT_BITS = 2;
+
     /** Only used for testcases, simulates an out-of-memory event after that many rows added in memory. */
     private int m_rowsAddedBeforeForcedOOM;
 
+    /** Only used for testcases, the number of partitions that have been split up. */
+    private final AtomicInteger m_numSplitPartitions = new AtomicInteger();
+
     /**
      * Creates a new instance.
      *
@@ -489,10 +516,6 @@ public BufferedDataTable computeJoinTable(
             compareDuplicates(leftTable, rightTable, duplicates);
         }
 
-        BufferedDataTable outerTable = rightTable;
-        BufferedDataTable innerTable = leftTable;
-
-
         m_retainRight = JoinMode.RightOuterJoin.equals(m_settings.getJoinMode())
             || JoinMode.FullOuterJoin.equals(m_settings.getJoinMode());
         m_retainLeft = JoinMode.LeftOuterJoin.equals(m_settings.getJoinMode())
@@ -506,64 +529,60 @@ public BufferedDataTable computeJoinTable(
             && m_settings.getLeftJoinColumns().length > 1;
 
         if (m_retainLeft && m_matchAny) {
-            m_globalLeftOuterJoins = new HashSet<Integer>();
+            m_globalLeftOuterJoins = ConcurrentHashMap.newKeySet();
             for (int i = 0; i < leftTable.getRowCount(); i++) {
                 m_globalLeftOuterJoins.add(i);
             }
         }
+        m_matchedRightRows = m_retainRight && m_matchAny
+            ? ConcurrentHashMap.<Integer>newKeySet() : null;
 
 
-        m_inputDataRowSettings = createInputDataRowSettings(leftTable,
-                rightTable);
-        int[] rightSurvivors = getIndicesOf(rightTable, m_rightSurvivors);
+        m_inputDataRowSettings = createInputDataRowSettings(
+                leftTable.getDataTableSpec(), rightTable.getDataTableSpec());
+        int[] rightSurvivors = getIndicesOf(rightTable.getDataTableSpec(),
+                m_rightSurvivors);
         m_outputDataRowSettings = new OutputRow.Settings(
                 rightTable.getDataTableSpec(),
                 rightSurvivors);
-
-        /* numBits -> numPartitions
-         * 0 -> 1
-         * 1 -> 2
-         * 2 -> 4
-         * 3 -> 8
-         * 4 -> 16
-         * 5 -> 32
-         * 6 -> 64
-         * 7 -> 128
-         */
-        m_numBits = m_numBitsInitial;
-        int numPartitions = 0x0001 << m_numBits;
-        m_bitMask = 0;
-        for (int i = 0; i < m_numBits; i++) {
-            m_bitMask += 0x0001 << i;
-        }
-
-        Set<Integer> pendingParts = new TreeSet<Integer>();
-        for (int i = 0; i < numPartitions; i++) {
-            pendingParts.add(i);
-        }
-
+        createPartitionSettings(leftTable, rightTable, rightSurvivors);
 
         JoinContainer joinCont = new JoinContainer(
                 m_outputDataRowSettings);
 
         double[] progressIntervals = new double[] {0.6, 0.2, 0.2};
         exec.setProgress(0.0);
-        while (pendingParts.size() > 0) {
-            Collection<Integer> processedParts = performJoin(
-                    innerTable, outerTable,
-                    joinCont, pendingParts, exec, progressIntervals[0]);
-            pendingParts.removeAll(processedParts);
+        // write both tables to partitions in a single pass each and join the
+        // partitions independently of each other
+        List<Partition> partitions = partitionInputs(leftTable, rightTable,
+                joinCont,
+                exec.createSubExecutionContext(progressIntervals[0] / 2));
+        joinPartitions(partitions, joinCont,
+                exec.createSubExecutionContext(progressIntervals[0] / 2));
+
+        if (m_retainRight && m_matchAny) {
+            // Add right outer joins, the join tuples of a right row may fall
+            // into different partitions
+            int counter = 0;
+            for (DataRow dataRow : rightTable) {
+                exec.checkCanceled();
+                if (!m_matchedRightRows.contains(counter)) {
+                    DataRow outRow = OutputRow.createDataRow(
+                            joinCont.nextRowIndex(), -1, counter, dataRow,
+                            m_outputDataRowSettings);
+                    joinCont.addRightOuter(outRow, exec);
+                }
+                counter++;
+            }
         }
 
-
         if (m_retainLeft && m_matchAny) {
             // Add left outer joins
-            int c = 0;
             for (Integer index : m_globalLeftOuterJoins) {
-                DataRow outRow = OutputRow.createDataRow(c, index, -1,
+                DataRow outRow = OutputRow.createDataRow(
+                        joinCont.nextRowIndex(), index, -1,
                         m_outputDataRowSettings);
                 joinCont.addLeftOuter(outRow, exec);
-                c++;
             }
         }
         joinCont.close();
@@ -575,32 +594,36 @@ public BufferedDataTable computeJoinTable(
         long numRightOuter = null != joinCont.getRightOuter() ? joinCont.getRightOuter().size() : 0;
 
         exec.setMessage("Sort Joined Partitions");
-        Comparator<DataRow> joinComp = OutputRow.createRowComparator();
+        // sorting by the index columns (rather than using OutputRow#createRowComparator) allows for normalized keys
+        List<String> joinSortColumns = OutputRow.getIndexColumnNames(m_outputDataRowSettings.getSpec());
+        boolean[] joinSortAscending = new boolean[]{true, true};
         SortedTable matches = null != joinCont.getMatches()
-        ? new SortedTable(joinCont.getMatches(), joinComp, false,
+        ? new SortedTable(joinCont.getMatches(), joinSortColumns, joinSortAscending, false,
                 exec.createSubExecutionContext(
                         progressIntervals[1] * numMatches / totalNumJoins))
         : null;
         SortedTable leftOuter = null != joinCont.getLeftOuter()
-        ? new SortedTable(joinCont.getLeftOuter(), joinComp, false,
+        ? new SortedTable(joinCont.getLeftOuter(), joinSortColumns, joinSortAscending, false,
                 exec.createSubExecutionContext(
                         progressIntervals[1] * numLeftOuter / totalNumJoins))
         : null;
         SortedTable rightOuter = null != joinCont.getRightOuter()
-        ? new SortedTable(joinCont.getRightOuter(), joinComp, false,
+        ? new SortedTable(joinCont.getRightOuter(), joinSortColumns, joinSortAscending, false,
                 exec.createSubExecutionContext(
                         progressIntervals[1] * numRightOuter / totalNumJoins))
         : null;
 
         exec.setMessage("Merge Joined Partitions");
         // Build sorted table
-        int[] leftSurvivors = getIndicesOf(leftTable, m_leftSurvivors);
+        int[] leftSurvivors = getIndicesOf(leftTable.getDataTableSpec(),
+                m_leftSurvivors);
 
         DataHiliteOutputContainer oc =
             new DataHiliteOutputContainer(joinedTableSpec,
                     m_settings.getEnableHiLite(), leftTable,
                     leftSurvivors, rightSurvivors,
-                    createRowKeyFactory(leftTable, rightTable));
+                    createRowKeyFactory(leftTable.getDataTableSpec(),
+                            rightTable.getDataTableSpec()));
         oc.addTableAndFilterDuplicates(matches,
                 exec.createSubExecutionContext(
                         progressIntervals[2] * numMatches / totalNumJoins));
@@ -618,341 +641,590 @@ public BufferedDataTable computeJoinTable(
         return oc.getTable();
     }
 
-    /** This method start with reading the partitions of the left table defined
-     * in currParts. If memory is low, partitions will be skipped or the
-     * number of partitions will be raised which leads to smaller partitions.
-     * Successfully read partitions will be joined. The return collection
-     * defines the successfully processed partitions.
+    /**
+     * Whether the join can be computed by streaming the left table through
+     * a hash table of the right table with the same output as
+     * {@link #computeJoinTable(BufferedDataTable, BufferedDataTable,
+     * ExecutionContext)}. This is the case for inner and left outer joins
+     * since the rows of the right table that do not match need not be
+     * retained, unless hiliting is enabled (the streamed join creates no
+     * hilite mapping) or duplicate columns are filtered (which requires
+     * comparing the columns of both tables row by row).
+     *
+     * @param settings the settings of the joiner
+     * @return true when {@link #computeJoinTable(RowInput, BufferedDataTable,
+     *         RowOutput, ExecutionContext)} can be used
+     * @since 3.8
+     */
+    public static boolean isStreamable(final Joiner2Settings settings) {
+        return (JoinMode.InnerJoin.equals(settings.getJoinMode())
+            || JoinMode.LeftOuterJoin.equals(settings.getJoinMode()))
+            && !settings.getEnableHiLite()
+            && !DuplicateHandling.Filter.equals(
+                    settings.getDuplicateHandling());
+    }
+
+    /**
+     * Joins the rows of the <code>leftInput</code> with the
+     * <code>rightTable</code> and pushes the joined rows to the
+     * <code>output</code>. The right table is held in a hash table in main
+     * memory whereas the rows of the left input are streamed through it. The
+     * output is the same as the one of {@link #computeJoinTable(
+     * BufferedDataTable, BufferedDataTable, ExecutionContext)}: the joined
+     * rows of a left row are pushed in the order of the right table, the left
+     * outer rows (if any) are buffered and pushed after all matches. If
+     * memory gets low while the hash table is built, the left input is
+     * written to a table and both tables are joined in partitions instead.
      *
-     * @param leftTable The inner input table.
+     * @param leftInput The left input, which is streamed.
      * @param rightTable The right input table.
-     * @param outputContainer The container used for storing matches.
-     * @param pendingParts The parts that are not processed yet.
-     * @param exec The execution context.
-     * @param progressDiff The difference in the progress monitor.
-     * @return The partitions that were successfully processed (read + joined).
+     * @param output The output the joined rows are pushed to, it's closed
+     *            when all left rows are processed.
+     * @param exec The Execution monitor for this execution.
      * @throws CanceledExecutionException when execution is canceled
+     * @throws InvalidSettingsException when inconsistent settings are provided
+     * @throws InterruptedException when the stream is interrupted
+     * @throws IllegalStateException when the settings are not streamable,
+     *             see {@link #isStreamable(Joiner2Settings)}
+     * @since 3.8
      */
-    private Collection<Integer> performJoin(
-            final BufferedDataTable leftTable,
-            final BufferedDataTable rightTable,
-            final JoinContainer outputContainer,
-            final Collection<Integer> pendingParts,
-            final ExecutionContext exec,
-            final double progressDiff) throws CanceledExecutionException  {
-        // Update increment for reporting progress
-        double progress = exec.getProgressMonitor().getProgress();
-        double numRows = leftTable.size() + rightTable.size();
-        double inc = (progressDiff - progress) / numRows;
-
-        Collection<Integer> currParts = new ArrayList<Integer>();
-        currParts.addAll(pendingParts);
-        setMessage("Read", exec, pendingParts, currParts);
-
-        // Partition left table
-        Map <Integer, Map<JoinTuple, Set<Integer>>> leftTableHashed =
-            new HashMap<Integer, Map<JoinTuple, Set<Integer>>>();
-        // This is only used when m_leftRetain is true and m_matchAny is false.
-        // It holds the row indices of the left table that do not match to
-        // any row of the right table
-        Map <Integer, Set<Integer>> leftOuterJoins =
-            new HashMap<Integer, Set<Integer>>();
+    public void computeJoinTable(final RowInput leftInput,
+            final BufferedDataTable rightTable, final RowOutput output,
+            final ExecutionContext exec)
+    throws CanceledExecutionException, InvalidSettingsException,
+            InterruptedException {
+        if (!isStreamable(m_settings)) {
+            throw new IllegalStateException("The join mode \""
+                    + m_settings.getJoinMode() + "\" is not streamable with"
+                    + " hiliting enabled or filtered duplicate columns.");
+        }
+        m_runtimeWarnings.clear();
+        m_leftRowKeyMap.clear();
+        m_rightRowKeyMap.clear();
 
-        MemoryActionIndicator memIndicator = MemoryAlertSystem.getInstance().newIndicator();
+        DataTableSpec leftSpec = leftInput.getDataTableSpec();
+        DataTableSpec rightSpec = rightTable.getDataTableSpec();
+        // This does some input data checking, too
+        DataTableSpec joinedTableSpec =
+            createSpec(new DataTableSpec[] {leftSpec, rightSpec});
 
-        int counter = 0;
-        long rowsAdded = 0;
-        CloseableRowIterator leftIter = leftTable.iterator();
-        while (leftIter.hasNext()) {
+        m_retainRight = false;
+        m_retainLeft = JoinMode.LeftOuterJoin.equals(m_settings.getJoinMode());
+        m_matchAny = m_settings.getCompositionMode()
+            .equals(CompositionMode.MatchAny)
+            && m_settings.getLeftJoinColumns().length > 1;
+        m_inputDataRowSettings = createInputDataRowSettings(leftSpec,
+                rightSpec);
+
+        int[] leftSurvivors = getIndicesOf(leftSpec, m_leftSurvivors);
+        int[] rightSurvivors = getIndicesOf(rightSpec, m_rightSurvivors);
+        JoinedRowKeyFactory rowKeyFactory =
+            createRowKeyFactory(leftSpec, rightSpec);
+
+        // build the hash table of the right table
+        exec.setMessage("Build hash table of bottom input");
+        MemoryActionIndicator memIndicator =
+            MemoryAlertSystem.getInstance().newIndicator();
+        long rowCount = rightTable.size();
+        List<DataCell[]> rightCells = new ArrayList<DataCell[]>();
+        List<RowKey> rightKeys = new ArrayList<RowKey>();
+        Map<JoinTuple, List<Integer>> rightHash =
+            new HashMap<JoinTuple, List<Integer>>();
+        for (DataRow row : rightTable) {
             exec.checkCanceled();
-            boolean saveToAddMoreRows =
-                !memIndicator.lowMemoryActionRequired()
-                    && ((m_rowsAddedBeforeForcedOOM == 0)
-                            || (rowsAdded % m_rowsAddedBeforeForcedOOM != (m_rowsAddedBeforeForcedOOM - 1)));
-
-            if (saveToAddMoreRows) {
-                DataRow row = leftIter.next();
-                InputRow inputDataRow = new InputRow(row, counter,
-                        InputRow.Settings.InDataPort.Left,
-                        m_inputDataRowSettings);
-
-                for (JoinTuple tuple : inputDataRow.getJoinTuples()) {
-                    int partition = tuple.hashCode() & m_bitMask;
-                    if (currParts.contains(partition)) {
-                        addRow(leftTableHashed, leftOuterJoins,
-                                partition, tuple, inputDataRow);
-                        rowsAdded++;
-                    }
-                }
-                counter++;
-                // report progress
-                progress += inc;
-                exec.getProgressMonitor().setProgress(progress);
-            } else {
-                rowsAdded++;
-
-                // Build list of partitions that are not empty
-                List<Integer> nonEmptyPartitions = new ArrayList<Integer>();
-                for (Integer i : currParts) {
-                    if (null != leftTableHashed.get(i)) {
-                        nonEmptyPartitions.add(i);
-                    }
+            int index = rightKeys.size();
+            if (index > 0 && (memIndicator.lowMemoryActionRequired()
+                    || (m_rowsAddedBeforeForcedOOM > 0
+                    && index % m_rowsAddedBeforeForcedOOM == 0))) {
+                // free memory before joining the partitions
+                rightCells = null;
+                rightKeys = null;
+                rightHash = null;
+                LOGGER.debug("Bottom table does not fit in memory (read "
+                        + index + " rows), joining partitions instead.");
+                joinMaterialized(leftInput, rightTable, joinedTableSpec,
+                        output, exec);
+                return;
+            }
+            InputRow inputRow = new InputRow(row, index,
+                    InputRow.Settings.InDataPort.Right,
+                    m_inputDataRowSettings);
+            for (JoinTuple tuple : inputRow.getJoinTuples()) {
+                List<Integer> indices = rightHash.get(tuple);
+                if (null == indices) {
+                    indices = new ArrayList<Integer>(1);
+                    rightHash.put(tuple, indices);
                 }
-                int numNonEmpty = nonEmptyPartitions.size();
-                if (numNonEmpty > 1) {
-                    // remove input partitions to free memory
-                    List<Integer> removeParts = new ArrayList<Integer>();
-                    for (int i = 0; i < numNonEmpty / 2; i++) {
-                        removeParts.add(nonEmptyPartitions.get(i));
-                    }
-                    // remove collected data of the no longer processed
-                    for (int i : removeParts) {
-                        leftTableHashed.remove(i);
-                        if (m_retainLeft && !m_matchAny) {
-                            leftOuterJoins.remove(i);
-                        }
-                    }
-                    currParts.removeAll(removeParts);
-                    LOGGER.debug("Skip partitions while "
-                            + "reading inner table. Currently Processed: "
-                            + currParts + ". Skip: " + removeParts);
-                    // update increment for reporting progress
-                    numRows += leftTable.size() + rightTable.size();
-                    inc = (progressDiff - progress) / numRows;
-
-                    setMessage("Read", exec, pendingParts, currParts);
-                } else if (nonEmptyPartitions.size() == 1) {
-                    if (m_numBits < m_numBitsMaximal) {
-                        LOGGER.debug("Increase number of partitions while "
-                                + "reading inner table. Currently "
-                                + "Processed: " + nonEmptyPartitions);
-
-                        // increase number of partitions
-                        m_numBits = m_numBits + 1;
-                        m_bitMask = m_bitMask | (0x0001 << (m_numBits - 1));
-                        Set<Integer> pending = new TreeSet<Integer>();
-                        pending.addAll(pendingParts);
-                        pendingParts.clear();
-                        for (int i : pending) {
-                            pendingParts.add(i);
-                            int ii = i | (0x0001 << (m_numBits - 1));
-                            pendingParts.add(ii);
-                        }
+                indices.add(index);
+            }
+            DataCell[] cells = new DataCell[rightSurvivors.length];
+            for (int i = 0; i < rightSurvivors.length; i++) {
+                cells[i] = row.getCell(rightSurvivors[i]);
+            }
+            rightCells.add(cells);
+            rightKeys.add(row.getKey());
+            exec.setProgress((index + 1) / (double)rowCount);
+        }
 
-                        int currPart = nonEmptyPartitions.iterator().next();
-                        currParts.clear();
-                        currParts.add(currPart);
-                        // update chunk size
-                        retainPartitions(leftTableHashed, leftOuterJoins,
-                                currPart);
-                        // update increment for reporting progress
-                        numRows += leftTable.size() + rightTable.size();
-                        inc = (progressDiff - progress) / numRows;
-
-                        setMessage("Read", exec, pendingParts, currParts);
-                    } else {
-                        // We have now 2^32 partitions.
-                        // We can only keep going and hope that other nodes
-                        // may free some memory.
-                        LOGGER.warn("Memory is low. "
-                            + "I have no chance to free memory. This may "
-                            + "cause an endless loop.");
-                    }
-                } else if (nonEmptyPartitions.size() < 1) {
-                    // We have only empty partitions.
-                    // Other node consume to much memory,
-                    // we cannot free more memory
-                    LOGGER.warn("Memory is low. "
-                            + "I have no chance to free memory. This may "
-                            + "cause an endless loop.");
+        DataCell[] rightMissing = new DataCell[rightSurvivors.length];
+        Arrays.fill(rightMissing, DataType.getMissingCell());
+        int numCells = leftSurvivors.length + rightSurvivors.length;
+        // the left outer rows follow all matches in the materialized join
+        BufferedDataContainer leftOuter = m_retainLeft
+            ? exec.createDataContainer(joinedTableSpec) : null;
+        // probe with the rows of the left input, in the match any case a
+        // left row may match a right row by different join tuples
+        Set<Integer> matches = new TreeSet<Integer>();
+        int counter = 0;
+        DataRow row;
+        while ((row = leftInput.poll()) != null) {
+            exec.checkCanceled();
+            InputRow inputRow = new InputRow(row, counter,
+                    InputRow.Settings.InDataPort.Left, m_inputDataRowSettings);
+            for (JoinTuple tuple : inputRow.getJoinTuples()) {
+                List<Integer> indices = rightHash.get(tuple);
+                if (null != indices) {
+                    matches.addAll(indices);
                 }
             }
+            for (Integer index : matches) {
+                output.push(createJoinedRow(row, leftSurvivors,
+                        rightKeys.get(index), rightCells.get(index), numCells,
+                        rowKeyFactory));
+            }
+            if (matches.isEmpty() && null != leftOuter) {
+                leftOuter.addRowToTable(createJoinedRow(row, leftSurvivors,
+                        null, rightMissing, numCells, rowKeyFactory));
+            }
+            matches.clear();
+            final int rowIndex = counter;
+            final RowKey rowKey = row.getKey();
+            exec.setMessage(() -> String.format("Row %d (\"%s\")",
+                    rowIndex, rowKey));
+            counter++;
         }
-
-        setMessage("Join", exec, pendingParts, currParts);
-        // Join with outer table
-        joinInMemory(leftTableHashed, leftOuterJoins,
-                currParts, rightTable,
-                outputContainer,
-                exec, inc);
-
-
-        // Log which parts were successfully joined
-        for (int part : currParts) {
-            int numTuples = leftTableHashed.get(part) != null
-            ? leftTableHashed.get(part).values().size() : 0;
-            LOGGER.debug("Joined " + part + " with "
-                    + numTuples + " tuples.");
+        leftInput.close();
+        if (null != leftOuter) {
+            leftOuter.close();
+            exec.setMessage("Add left outer rows");
+            for (DataRow outerRow : leftOuter.getTable()) {
+                exec.checkCanceled();
+                output.push(outerRow);
+            }
+            exec.clearTable(leftOuter.getTable());
         }
-
-        // Garbage collector has problems without this explicit clearance.
-        leftTableHashed.clear();
-        leftOuterJoins.clear();
-
-        // return successfully joined parts
-        return currParts;
+        output.close();
     }
 
     /**
-     * @param exec
-     * @param pendingParts
-     * @param currParts
+     * Writes the left input to a table, joins it with the right table in
+     * partitions and pushes the joined rows to the output. Used if the right
+     * table does not fit in main memory.
      */
-    private void setMessage(final String activity,
-            final ExecutionContext exec,
-            final Collection<Integer> pendingParts,
-            final Collection<Integer> currParts) {
-        exec.setMessage(activity + " " + currParts.size()
-                + " parts | Pending : "
-                + (pendingParts.size() - currParts.size())
-                + " parts | Total: "
-                + (1 << m_numBits)
-                + " parts.");
+    private void joinMaterialized(final RowInput leftInput,
+            final BufferedDataTable rightTable,
+            final DataTableSpec joinedTableSpec, final RowOutput output,
+            final ExecutionContext exec)
+    throws CanceledExecutionException, InvalidSettingsException,
+            InterruptedException {
+        exec.setMessage("Write top input");
+        BufferedDataContainer leftContainer =
+            exec.createDataContainer(leftInput.getDataTableSpec());
+        DataRow row;
+        while ((row = leftInput.poll()) != null) {
+            exec.checkCanceled();
+            leftContainer.addRowToTable(row);
+        }
+        leftInput.close();
+        leftContainer.close();
+        BufferedDataTable leftTable = leftContainer.getTable();
+        BufferedDataTable joinedTable =
+            computeJoinTable(leftTable, rightTable, exec);
+        for (DataRow joinedRow : joinedTable) {
+            exec.checkCanceled();
+            output.push(joinedRow);
+        }
+        output.close();
+        exec.clearTable(leftTable);
+        exec.clearTable(joinedTable);
     }
 
-    /**
-     * Called when the number of partitions is doubled. The innerHash is
-     * traversed and only those entries that are in the given part are
-     * retained. The innerIndexMap is build up so that it contains only
-     * the entries that are in the given part.
-     */
-    private void retainPartitions(
-            final Map<Integer, Map<JoinTuple, Set<Integer>>> innerHash,
-            final Map<Integer, Set<Integer>> innerIndexMap,
-            final int part) {
-        innerIndexMap.clear();
-
-        Map<JoinTuple, Set<Integer>> thisInnerHash = innerHash.get(part);
-        for (Iterator<JoinTuple> iter = thisInnerHash.keySet().iterator();
-        iter.hasNext();) {
-            JoinTuple tuple = iter.next();
-            int index = tuple.hashCode() & m_bitMask;
-            if (index != part) {
-                iter.remove();
-            } else if (m_retainLeft && !m_matchAny) {
-                Set<Integer> thisInnerIndexMap = innerIndexMap.get(index);
-                if (null == thisInnerIndexMap) {
-                    thisInnerIndexMap = new HashSet<Integer>();
-                    innerIndexMap.put(index, thisInnerIndexMap);
-                }
-                for (Integer rowIndex : thisInnerHash.get(tuple)) {
-                    thisInnerIndexMap.add(rowIndex);
-                }
-            }
+    /** Creates an output row of the streamed join, the right key is null
+     * for a left outer row. */
+    private static DataRow createJoinedRow(final DataRow left,
+            final int[] leftSurvivors, final RowKey rightKey,
+            final DataCell[] rightCells, final int numCells,
+            final JoinedRowKeyFactory rowKeyFactory) {
+        DataCell[] cells = new DataCell[numCells];
+        int c = 0;
+        for (int i = 0; i < leftSurvivors.length; i++) {
+            cells[c++] = left.getCell(leftSurvivors[i]);
         }
+        System.arraycopy(rightCells, 0, cells, c, rightCells.length);
+        return new DefaultRow(
+                rowKeyFactory.createJoinedKey(left.getKey(), rightKey), cells);
     }
 
     /**
-     * Add a row to innerHash and innerIndexMap.
-     * @param partition The index of the partition.
-     * @param joinTuple The join tuples of the row.
-     * @param row The row to be added.
+     * Creates the settings of the rows written to the partitions. A left row
+     * is stored with its join cells and its index, a right row with its
+     * surviving cells, its join cells and its index (keeping its row key).
+     * Row keys used as join attributes are stored as string cells.
      */
-    private void addRow(
-            final Map <Integer, Map<JoinTuple, Set<Integer>>> leftTableHashed,
-            final Map <Integer, Set<Integer>> leftOuterJoins,
-            final int partition, final JoinTuple joinTuple,
-            final InputRow row) {
-        if (m_retainLeft  && !m_matchAny) {
-            Set<Integer> indices = leftOuterJoins.get(partition);
-            if (null == indices) {
-                indices = new HashSet<Integer>();
-                leftOuterJoins.put(partition, indices);
-            }
-            indices.add(row.getIndex());
+    private void createPartitionSettings(final BufferedDataTable leftTable,
+            final BufferedDataTable rightTable, final int[] rightSurvivors) {
+        List<Integer> leftJoinIndices =
+            getLeftJoinIndices(leftTable.getDataTableSpec());
+        List<Integer> rightJoinIndices =
+            getRightJoinIndices(rightTable.getDataTableSpec());
+        int numJoinAttributes = leftJoinIndices.size();
+
+        List<DataType> leftTypes = new ArrayList<DataType>();
+        List<Integer> leftPartitionJoinIndices = new ArrayList<Integer>();
+        for (int index : leftJoinIndices) {
+            leftPartitionJoinIndices.add(leftTypes.size());
+            leftTypes.add(index >= 0 ? leftTable.getDataTableSpec()
+                    .getColumnSpec(index).getType() : StringCell.TYPE);
         }
+        leftTypes.add(IntCell.TYPE);
+
+        List<DataType> rightTypes = new ArrayList<DataType>();
+        int[] partitionSurvivors = new int[rightSurvivors.length];
+        for (int i = 0; i < rightSurvivors.length; i++) {
+            partitionSurvivors[i] = rightTypes.size();
+            rightTypes.add(rightTable.getDataTableSpec()
+                    .getColumnSpec(rightSurvivors[i]).getType());
+        }
+        List<Integer> rightPartitionJoinIndices = new ArrayList<Integer>();
+        for (int index : rightJoinIndices) {
+            rightPartitionJoinIndices.add(rightTypes.size());
+            rightTypes.add(index >= 0 ? rightTable.getDataTableSpec()
+                    .getColumnSpec(index).getType() : StringCell.TYPE);
+        }
+        rightTypes.add(IntCell.TYPE);
+        assert numJoinAttributes == rightJoinIndices.size();
 
-        Map<JoinTuple, Set<Integer>> partTuples =
-            leftTableHashed.get(partition);
-        if (null == partTuples) {
-            partTuples = new HashMap<JoinTuple, Set<Integer>>();
-            leftTableHashed.put(partition, partTuples);
+        Map<InputRow.Settings.InDataPort, List<Integer>> joiningIndicesMap =
+            new HashMap<InputRow.Settings.InDataPort, List<Integer>>();
+        joiningIndicesMap.put(InputRow.Settings.InDataPort.Left,
+                leftPartitionJoinIndices);
+        joiningIndicesMap.put(InputRow.Settings.InDataPort.Right,
+                rightPartitionJoinIndices);
+        m_partitionInputRowSettings = new InputRow.Settings(
+                joiningIndicesMap, m_matchAny);
+        m_leftPartitionSpec = createPartitionSpec(leftTypes);
+        m_rightPartitionSpec = createPartitionSpec(rightTypes);
+        m_partitionOutputRowSettings = new OutputRow.Settings(
+                m_rightPartitionSpec, partitionSurvivors);
+    }
+
+    private static DataTableSpec createPartitionSpec(
+            final List<DataType> types) {
+        DataColumnSpec[] cspec = new DataColumnSpec[types.size()];
+        for (int i = 0; i < cspec.length; i++) {
+            cspec[i] = new DataColumnSpecCreator(Integer.toString(i),
+                    types.get(i)).createSpec();
         }
+        return new DataTableSpec(cspec);
+    }
 
+    /** Creates the row written to the partitions for a row of the left
+     * table. */
+    private DataRow createLeftPartitionRow(final DataRow row,
+            final int index) {
+        List<Integer> joinIndices = m_inputDataRowSettings.getJoiningIndices(
+                InputRow.Settings.InDataPort.Left);
+        DataCell[] cells = new DataCell[joinIndices.size() + 1];
+        for (int i = 0; i < joinIndices.size(); i++) {
+            cells[i] = getJoinCell(row, joinIndices.get(i));
+        }
+        cells[cells.length - 1] = new IntCell(index);
+        return new DefaultRow(RowKey.createRowKey((long)index), cells);
+    }
 
-        Set<Integer> c = partTuples.get(joinTuple);
-        if (null != c) {
-            c.add(row.getIndex());
-        } else {
-            Set<Integer> list = new HashSet<Integer>();
-            list.add(row.getIndex());
-            partTuples.put(joinTuple, list);
+    /** Creates the row written to the partitions for a row of the right
+     * table. */
+    private DataRow createRightPartitionRow(final DataRow row,
+            final int index) {
+        int[] survivors = m_outputDataRowSettings.getSurvivors();
+        List<Integer> joinIndices = m_inputDataRowSettings.getJoiningIndices(
+                InputRow.Settings.InDataPort.Right);
+        DataCell[] cells =
+            new DataCell[survivors.length + joinIndices.size() + 1];
+        int c = 0;
+        for (int i = 0; i < survivors.length; i++) {
+            cells[c++] = row.getCell(survivors[i]);
+        }
+        for (int i = 0; i < joinIndices.size(); i++) {
+            cells[c++] = getJoinCell(row, joinIndices.get(i));
         }
+        cells[c] = new IntCell(index);
+        return new DefaultRow(row.getKey(), cells);
+    }
+
+    private static DataCell getJoinCell(final DataRow row, final int index) {
+        // create a StringCell since row IDs may match StringCell's
+        return index >= 0 ? row.getCell(index)
+                : new StringCell(row.getKey().getString());
+    }
+
+    /** @return the index of a row created by createLeftPartitionRow or
+     * createRightPartitionRow. */
+    private static int getPartitionRowIndex(final DataRow partitionRow) {
+        return ((IntCell)partitionRow.getCell(
+                partitionRow.getNumCells() - 1)).getIntValue();
+    }
 
+    /**
+     * Spreads the hash code of the join tuple, join attributes such as small
+     * integers have poor lower bits.
+     */
+    private static int hash(final JoinTuple tuple) {
+        int h = tuple.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
 
+    private static int mask(final int numBits) {
+        return numBits >= Integer.SIZE ? -1 : (0x0001 << numBits) - 1;
     }
 
+    /**
+     * @return the number of bits such that the partitions of both tables can
+     * be written concurrently without exceeding the maximum number of open
+     * files.
+     */
+    private int getMaxPartitionBits() {
+        int maxPartitions = Math.max(1, m_settings.getMaxOpenFiles() / 2);
+        return Integer.SIZE - 1 - Integer.numberOfLeadingZeros(maxPartitions);
+    }
 
     /**
-     * Join given rows in memory and append joined row to the outputCont.
+     * Reads both tables once and writes their rows to the partitions given by
+     * the lowest bits of the hash of their join tuples. Right rows of a
+     * partition without left rows can't match, they are added as right outer
+     * joins (if required) right away and are not written.
      *
-     * @param leftTableHashed Stores the rows of the left input table in parts.
-     * @param leftOuterJoins The same number as found in leftTableHashed used
-     * for left outer joins.
-     * @param currParts The parts of the outer table that will be joined.
-     * @param rightTable The outer table.
-     * @param outputCont The joined rows will be added to this container.
-     * @param exec The {@link ExecutionContext}
-     * @param incProgress The progress increment.
-     * @throws CanceledExecutionException When execution is canceled
+     * @return the partitions that need to be joined
      */
-    private void joinInMemory(
-            final Map <Integer, Map<JoinTuple, Set<Integer>>> leftTableHashed,
-            final Map <Integer, Set<Integer>> leftOuterJoins,
-            final Collection<Integer> currParts,
+    private List<Partition> partitionInputs(final BufferedDataTable leftTable,
             final BufferedDataTable rightTable,
-            final JoinContainer outputCont,
-            final ExecutionContext exec,
-            final double incProgress) throws CanceledExecutionException {
-        double progress = exec.getProgressMonitor().getProgress();
+            final JoinContainer outputContainer,
+            final ExecutionContext exec) throws CanceledExecutionException {
+        int numBits = Math.min(Math.min(m_numBitsInitial, m_numBitsMaximal),
+                getMaxPartitionBits());
+        Partition[] partitions = new Partition[0x0001 << numBits];
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new Partition(i, numBits);
+        }
+        double numRows = leftTable.size() + rightTable.size();
+        long rowCounter = 0;
+        exec.setMessage("Partition top table (" + partitions.length
+                + " parts)");
         int counter = 0;
-        for (DataRow dataRow : rightTable) {
-            progress += incProgress;
-            exec.getProgressMonitor().setProgress(progress);
+        for (DataRow row : leftTable) {
             exec.checkCanceled();
+            exec.setProgress(rowCounter++ / numRows);
+            InputRow inputRow = new InputRow(row, counter,
+                    InputRow.Settings.InDataPort.Left,
+                    m_inputDataRowSettings);
+            DataRow partitionRow = null;
+            for (JoinTuple tuple : inputRow.getJoinTuples()) {
+                int hash = hash(tuple);
+                Partition partition = partitions[hash & mask(numBits)];
+                if (partitionRow == null) {
+                    partitionRow = createLeftPartitionRow(row, counter);
+                }
+                partition.addLeft(partitionRow, counter, hash,
+                        outputContainer, exec);
+            }
+            counter++;
+        }
+        for (Partition partition : partitions) {
+            partition.closeLeft(outputContainer);
+        }
 
-            InputRow rightRow = new InputRow(dataRow, counter,
+        exec.setMessage("Partition bottom table (" + partitions.length
+                + " parts)");
+        counter = 0;
+        for (DataRow row : rightTable) {
+            exec.checkCanceled();
+            exec.setProgress(rowCounter++ / numRows);
+            InputRow inputRow = new InputRow(row, counter,
                     InputRow.Settings.InDataPort.Right,
                     m_inputDataRowSettings);
+            DataRow partitionRow = null;
+            for (JoinTuple tuple : inputRow.getJoinTuples()) {
+                Partition partition = partitions[hash(tuple) & mask(numBits)];
+                if (partition.getNumLeftRows() > 0) {
+                    if (partitionRow == null) {
+                        partitionRow = createRightPartitionRow(row, counter);
+                    }
+                    partition.addRight(partitionRow, counter,
+                            outputContainer, exec);
+                }
+            }
+            if (partitionRow == null && m_retainRight && !m_matchAny) {
+                // add right outer join
+                DataRow outRow = OutputRow.createDataRow(
+                        outputContainer.nextRowIndex(), -1, counter, row,
+                        m_outputDataRowSettings);
+                outputContainer.addRightOuter(outRow, exec);
+            }
+            counter++;
+        }
 
-            boolean matchFoundForRightRow = false;
-            boolean deferMatch = false;
+        List<Partition> pendingParts = new ArrayList<Partition>();
+        for (Partition partition : partitions) {
+            partition.closeRight(outputContainer);
+            if (isJoinRequired(partition)) {
+                pendingParts.add(partition);
+            } else {
+                partition.clear(outputContainer, exec);
+            }
+        }
+        return pendingParts;
+    }
 
-            for (JoinTuple joinTuple : rightRow.getJoinTuples()) {
-                int partition = joinTuple.hashCode() & m_bitMask;
-                if (!currParts.contains(partition)) {
-                    deferMatch = true;
-                    // skip and defer non-match when partition is not in the current partitions
-                    continue;
-                }
+    /** @return whether the partition may produce inner or left outer
+     * joins. */
+    private boolean isJoinRequired(final Partition partition) {
+        return partition.getNumLeftRows() > 0
+            && (partition.getNumRightRows() > 0 || (m_retainLeft && !m_matchAny));
+    }
 
-                Map<JoinTuple, Set<Integer>> leftTuples =
-                    leftTableHashed.get(partition);
-                if (null == leftTuples) {
-                    // skip and check for outer join when the left table does not have rows that fall
-                    // in this partition
-                    deferMatch = false;
-                    continue;
-                }
+    /**
+     * Joins the partitions concurrently on the thread pool.
+     */
+    private void joinPartitions(final List<Partition> partitions,
+            final JoinContainer outputContainer,
+            final ExecutionContext exec) throws CanceledExecutionException {
+        ThreadPool currentPool = ThreadPool.currentPool();
+        ThreadPool parent = currentPool != null ? currentPool
+                : KNIMEConstants.GLOBAL_THREAD_POOL;
+        ThreadPool pool = parent.createSubPool(
+                Runtime.getRuntime().availableProcessors());
+        List<Future<Void>> futures = new ArrayList<Future<Void>>();
+        boolean success = false;
+        try {
+            for (final Partition partition : partitions) {
+                futures.add(pool.enqueue(new Callable<Void>() {
+                    @Override
+                    public Void call() throws CanceledExecutionException {
+                        joinPartition(partition, outputContainer, exec);
+                        return null;
+                    }
+                }));
+            }
+            int numJoined = 0;
+            for (Future<Void> future : futures) {
+                exec.setMessage("Join " + (futures.size() - numJoined)
+                        + " parts | Total: " + futures.size() + " parts.");
+                ThreadPool.await(future);
+                numJoined++;
+                exec.setProgress(numJoined / (double)futures.size());
+            }
+            success = true;
+        } finally {
+            if (!success) {
+                ThreadPool.cancelAll(futures);
+            }
+        }
+    }
 
-                Set<Integer> localLeftOuterJoins = null;
-                if (m_retainLeft  && !m_matchAny) {
-                    localLeftOuterJoins = leftOuterJoins.get(partition);
+    /**
+     * Reads the left rows of the partition into a hash table and joins them
+     * with the right rows of the partition. If memory gets low while reading
+     * the left rows, the partition is split up into smaller partitions which
+     * are joined subsequently. Called concurrently.
+     */
+    private void joinPartition(final Partition partition,
+            final JoinContainer outputContainer,
+            final ExecutionContext exec) throws CanceledExecutionException {
+        MemoryActionIndicator memIndicator =
+            MemoryAlertSystem.getInstance().newIndicator();
+        // splitting doesn't help if all join tuples have the same hash
+        boolean canSplit = partition.getNumBits() < m_numBitsMaximal
+            && !partition.hasSingleHash();
+        Map<JoinTuple, List<Integer>> leftTuples =
+            new HashMap<JoinTuple, List<Integer>>();
+        // This is only used when m_leftRetain is true and m_matchAny is false.
+        // It holds the row indices of the left table that do not match to
+        // any row of the right table
+        Set<Integer> leftOuterJoins = m_retainLeft && !m_matchAny
+            ? new HashSet<Integer>() : null;
+        long rowsAdded = 0;
+        boolean split = false;
+        CloseableRowIterator leftIter = partition.getLeftTable().iterator();
+        try {
+            while (leftIter.hasNext()) {
+                exec.checkCanceled();
+                // at least one row is kept, otherwise memory is consumed by
+                // others and splitting doesn't help
+                if (canSplit && rowsAdded > 0
+                        && (memIndicator.lowMemoryActionRequired()
+                        || (m_rowsAddedBeforeForcedOOM > 0
+                        && rowsAdded % m_rowsAddedBeforeForcedOOM
+                        == m_rowsAddedBeforeForcedOOM - 1))) {
+                    split = true;
+                    break;
+                }
+                DataRow row = leftIter.next();
+                int index = getPartitionRowIndex(row);
+                InputRow inputRow = new InputRow(row, index,
+                        InputRow.Settings.InDataPort.Left,
+                        m_partitionInputRowSettings);
+                for (JoinTuple tuple : inputRow.getJoinTuples()) {
+                    if (partition.contains(hash(tuple))) {
+                        List<Integer> indices = leftTuples.get(tuple);
+                        if (null == indices) {
+                            indices = new ArrayList<Integer>(1);
+                            leftTuples.put(tuple, indices);
+                        }
+                        indices.add(index);
+                        rowsAdded++;
+                    }
+                }
+                if (null != leftOuterJoins) {
+                    leftOuterJoins.add(index);
                 }
+            }
+        } finally {
+            leftIter.close();
+        }
+        if (split) {
+            // free memory before splitting
+            leftTuples = null;
+            leftOuterJoins = null;
+            LOGGER.debug("Split partition " + partition + " while reading "
+                    + "top table after " + rowsAdded + " rows.");
+            splitAndJoin(partition, outputContainer, exec);
+            return;
+        }
 
-                Set<Integer> leftRows = leftTuples.get(joinTuple);
+        for (DataRow dataRow : partition.getRightTable()) {
+            exec.checkCanceled();
+            int rightIndex = getPartitionRowIndex(dataRow);
+            InputRow rightRow = new InputRow(dataRow, rightIndex,
+                    InputRow.Settings.InDataPort.Right,
+                    m_partitionInputRowSettings);
+            boolean matchFoundForRightRow = false;
+            for (JoinTuple joinTuple : rightRow.getJoinTuples()) {
+                if (!partition.contains(hash(joinTuple))) {
+                    // handled in another partition
+                    continue;
+                }
+                List<Integer> leftRows = leftTuples.get(joinTuple);
                 if (null != leftRows) {
                     matchFoundForRightRow = true;
                     for (Integer leftRowIndex : leftRows) {
                         // add inner join
                         DataRow outRow = OutputRow.createDataRow(
-                                outputCont.getRowCount(),
-                                leftRowIndex, rightRow.getIndex(),
-                                dataRow,
-                                m_outputDataRowSettings);
-                        outputCont.addMatch(outRow, exec);
-                        if (m_retainLeft && !m_matchAny) {
-                            localLeftOuterJoins.remove(leftRowIndex);
+                                outputContainer.nextRowIndex(),
+                                leftRowIndex, rightIndex, dataRow,
+                                m_partitionOutputRowSettings);
+                        outputContainer.addMatch(outRow, exec);
+                        if (null != leftOuterJoins) {
+                            leftOuterJoins.remove(leftRowIndex);
                         }
                         if (m_retainLeft && m_matchAny) {
                             m_globalLeftOuterJoins.remove(leftRowIndex);
@@ -960,37 +1232,106 @@ private void joinInMemory(
                     }
                 }
             }
-
-
-            if (m_retainRight && !matchFoundForRightRow && !deferMatch) {
-                long outRowIndex = outputCont.getRowCount();
+            if (matchFoundForRightRow && null != m_matchedRightRows) {
+                m_matchedRightRows.add(rightIndex);
+            }
+            if (m_retainRight && !m_matchAny && !matchFoundForRightRow) {
                 // add right outer join
-                DataRow outRow = OutputRow.createDataRow(outRowIndex,
-                        -1, rightRow.getIndex(),
-                        dataRow,
+                DataRow outRow = OutputRow.createDataRow(
+                        outputContainer.nextRowIndex(), -1, rightIndex,
+                        dataRow, m_partitionOutputRowSettings);
+                outputContainer.addRightOuter(outRow, exec);
+            }
+        }
+
+        if (null != leftOuterJoins) {
+            for (Integer row : leftOuterJoins) {
+                // add left outer join
+                DataRow outRow = OutputRow.createDataRow(
+                        outputContainer.nextRowIndex(), row, -1,
                         m_outputDataRowSettings);
-                outputCont.addRightOuter(outRow, exec);
+                outputContainer.addLeftOuter(outRow, exec);
             }
-            counter++;
         }
+        LOGGER.debug("Joined " + partition + " with " + leftTuples.size()
+                + " tuples.");
+        partition.clear(outputContainer, exec);
+    }
 
-        if (m_retainLeft && !m_matchAny) {
-            for (int partition : leftOuterJoins.keySet()) {
-                for (Integer row : leftOuterJoins.get(partition)) {
-                    // add left outer join
-                    DataRow outRow = OutputRow.createDataRow(
-                            outputCont.getRowCount(),
-                            row, -1,
-                            m_outputDataRowSettings);
-                    outputCont.addLeftOuter(outRow, exec);
+    /**
+     * Splits the partition into smaller partitions using more bits of the
+     * hash and joins them one after another.
+     */
+    private void splitAndJoin(final Partition partition,
+            final JoinContainer outputContainer,
+            final ExecutionContext exec) throws CanceledExecutionException {
+        m_numSplitPartitions.incrementAndGet();
+        int numBits = partition.getNumBits();
+        int splitBits = Math.min(Math.max(1, Math.min(SPLIT_BITS,
+                getMaxPartitionBits())), m_numBitsMaximal - numBits);
+        Partition[] subParts = new Partition[0x0001 << splitBits];
+        for (int i = 0; i < subParts.length; i++) {
+            subParts[i] = new Partition(partition.getId() | (i << numBits),
+                    numBits + splitBits);
+        }
+        for (DataRow row : partition.getLeftTable()) {
+            exec.checkCanceled();
+            int index = getPartitionRowIndex(row);
+            InputRow inputRow = new InputRow(row, index,
+                    InputRow.Settings.InDataPort.Left,
+                    m_partitionInputRowSettings);
+            for (JoinTuple tuple : inputRow.getJoinTuples()) {
+                int hash = hash(tuple);
+                if (partition.contains(hash)) {
+                    subParts[(hash >>> numBits) & mask(splitBits)].addLeft(
+                            row, index, hash, outputContainer, exec);
                 }
             }
         }
-
+        for (Partition subPart : subParts) {
+            subPart.closeLeft(outputContainer);
+        }
+        for (DataRow row : partition.getRightTable()) {
+            exec.checkCanceled();
+            int index = getPartitionRowIndex(row);
+            InputRow inputRow = new InputRow(row, index,
+                    InputRow.Settings.InDataPort.Right,
+                    m_partitionInputRowSettings);
+            boolean added = false;
+            for (JoinTuple tuple : inputRow.getJoinTuples()) {
+                int hash = hash(tuple);
+                if (partition.contains(hash)) {
+                    Partition subPart =
+                        subParts[(hash >>> numBits) & mask(splitBits)];
+                    if (subPart.getNumLeftRows() > 0) {
+                        subPart.addRight(row, index, outputContainer, exec);
+                        added = true;
+                    }
+                }
+            }
+            if (!added && m_retainRight && !m_matchAny) {
+                // add right outer join
+                DataRow outRow = OutputRow.createDataRow(
+                        outputContainer.nextRowIndex(), -1, index, row,
+                        m_partitionOutputRowSettings);
+                outputContainer.addRightOuter(outRow, exec);
+            }
+        }
+        partition.clear(outputContainer, exec);
+        for (Partition subPart : subParts) {
+            subPart.closeRight(outputContainer);
+        }
+        for (Partition subPart : subParts) {
+            if (isJoinRequired(subPart)) {
+                joinPartition(subPart, outputContainer, exec);
+            } else {
+                subPart.clear(outputContainer, exec);
+            }
+        }
     }
 
     private List<Integer> getLeftJoinIndices(
-            final BufferedDataTable leftTable) {
+            final DataTableSpec leftSpec) {
         // Create list of indices for the joining columns (Element of the list
         // is -1 if RowKey should be joined).
         int numJoinAttributes = m_settings.getLeftJoinColumns().length;
@@ -999,15 +1340,14 @@ private List<Integer> getLeftJoinIndices(
         for (int i = 0; i < numJoinAttributes; i++) {
             String joinAttribute = m_settings.getLeftJoinColumns()[i];
             leftTableJoinIndices.add(
-                    leftTable.getDataTableSpec().findColumnIndex(
-                            joinAttribute));
+                    leftSpec.findColumnIndex(joinAttribute));
         }
         return leftTableJoinIndices;
     }
 
 
     private List<Integer> getRightJoinIndices(
-            final BufferedDataTable rightTable) {
+            final DataTableSpec rightSpec) {
         // Create list of indices for the joining columns (Element of the list
         // is -1 if RowKey should be joined).
         int numJoinAttributes = m_settings.getLeftJoinColumns().length;
@@ -1015,18 +1355,18 @@ private List<Integer> getRightJoinIndices(
             new ArrayList<Integer>(numJoinAttributes);
         for (int i = 0; i < numJoinAttributes; i++) {
             String joinAttribute = m_settings.getRightJoinColumns()[i];
-            rightTableJoinIndices.add(rightTable.getDataTableSpec()
-                    .findColumnIndex(joinAttribute));
+            rightTableJoinIndices.add(
+                    rightSpec.findColumnIndex(joinAttribute));
         }
         return rightTableJoinIndices;
     }
 
     private JoinedRowKeyFactory createRowKeyFactory(
-            final BufferedDataTable leftTable,
-            final BufferedDataTable rightTable) {
+            final DataTableSpec leftSpec,
+            final DataTableSpec rightSpec) {
 
 
-        if (useSingleRowKeyFactory(leftTable, rightTable)) {
+        if (useSingleRowKeyFactory(leftSpec, rightSpec)) {
             // This is the special case of row key match row key
             return new UseSingleRowKeyFactory();
         } else {
@@ -1039,10 +1379,10 @@ private JoinedRowKeyFactory createRowKeyFactory(
      * Gives true when the SingleRowKeyFactory should be used.
      */
     private boolean useSingleRowKeyFactory(
-           final BufferedDataTable leftTable,
-           final BufferedDataTable rightTable) {
-        List<Integer> leftTableJoinIndices = getLeftJoinIndices(leftTable);
-        List<Integer> rightTableJoinIndices = getRightJoinIndices(rightTable);
+           final DataTableSpec leftSpec,
+           final DataTableSpec rightSpec) {
+        List<Integer> leftTableJoinIndices = getLeftJoinIndices(leftSpec);
+        List<Integer> rightTableJoinIndices = getRightJoinIndices(rightSpec);
 
         boolean joinRowIdsOnly = true;
         boolean joinRowIds = false;
@@ -1061,10 +1401,10 @@ private boolean useSingleRowKeyFactory(
     }
 
     private InputRow.Settings createInputDataRowSettings(
-            final BufferedDataTable leftTable,
-            final BufferedDataTable rightTable) {
-        List<Integer> leftTableJoinIndices = getLeftJoinIndices(leftTable);
-        List<Integer> rightTableJoinIndices = getRightJoinIndices(rightTable);
+            final DataTableSpec leftSpec,
+            final DataTableSpec rightSpec) {
+        List<Integer> leftTableJoinIndices = getLeftJoinIndices(leftSpec);
+        List<Integer> rightTableJoinIndices = getRightJoinIndices(rightSpec);
 
 
 
@@ -1140,8 +1480,10 @@ public static  void validateSettings(final Joiner2Settings s)
     private void compareDuplicates(final BufferedDataTable leftTable,
             final BufferedDataTable rightTable, final List<String> duplicates) {
 
-        int[] leftIndex = getIndicesOf(leftTable, duplicates);
-        int[] rightIndex = getIndicesOf(rightTable, duplicates);
+        int[] leftIndex = getIndicesOf(leftTable.getDataTableSpec(),
+                duplicates);
+        int[] rightIndex = getIndicesOf(rightTable.getDataTableSpec(),
+                duplicates);
 
         String[] messages = new String[duplicates.size()];
 
@@ -1194,18 +1536,18 @@ private void compareDuplicates(final BufferedDataTable leftTable,
 
     /**
      * Used in compareDuplicates.
-     * @param table A DataTable
+     * @param spec The spec of a DataTable
      * @param cols Columns of the table
      * @return the indices of the given columns in the table.
      */
-    private int[] getIndicesOf(final BufferedDataTable table,
+    private int[] getIndicesOf(final DataTableSpec spec,
             final List<String> cols) {
         int[] indices = new int[cols.size()];
         int c = 0;
 
         for (String col : cols) {
-            for (int i = 0; i < table.getDataTableSpec().getNumColumns(); i++) {
-                if (table.getSpec().getColumnSpec(i).getName().equals(col)) {
+            for (int i = 0; i < spec.getNumColumns(); i++) {
+                if (spec.getColumnSpec(i).getName().equals(col)) {
                     indices[c] = i;
                 }
             }
@@ -1239,5 +1581,158 @@ void setNumBitsMaximal(final int bits) {
         m_numBitsMaximal = bits;
     }
 
-}
+    /**
+     * Used for testing, only.
+     * @return the number of partitions that have been split up since this joiner was created
+     */
+    int getNumSplitPartitions() {
+        return m_numSplitPartitions.get();
+    }
+
+    /**
+     * A partition of both input tables, holding the rows that have a join
+     * tuple whose hash has the id of the partition as lowest bits. The rows
+     * are written to temporary tables, which keep small partitions in memory.
+     */
+    private final class Partition {
+        private final int m_id;
+        private final int m_numBits;
+
+        private BufferedDataContainer m_leftContainer;
+        private BufferedDataContainer m_rightContainer;
+        private BufferedDataTable m_leftTable;
+        private BufferedDataTable m_rightTable;
+        private long m_numLeftRows;
+        private long m_numRightRows;
+
+        /** The index of the row added last, in the match any case a row can
+         * have several join tuples in the same partition. */
+        private int m_lastLeftIndex = -1;
+        private int m_lastRightIndex = -1;
+
+        private boolean m_hasHash;
+        private int m_hash;
+        private boolean m_singleHash = true;
+
+        /**
+         * @param id the lowest bits of the hashes of the partition
+         * @param numBits the number of bits of the id
+         */
+        Partition(final int id, final int numBits) {
+            m_id = id;
+            m_numBits = numBits;
+        }
+
+        int getId() {
+            return m_id;
+        }
+
+        int getNumBits() {
+            return m_numBits;
+        }
+
+        /** @return whether a join tuple with the given hash belongs to this
+         * partition. */
+        boolean contains(final int hash) {
+            return (hash & mask(m_numBits)) == m_id;
+        }
 
+        /** @return whether all join tuples of the left rows have the same
+         * hash. */
+        boolean hasSingleHash() {
+            return m_singleHash;
+        }
+
+        long getNumLeftRows() {
+            return m_numLeftRows;
+        }
+
+        long getNumRightRows() {
+            return m_numRightRows;
+        }
+
+        void addLeft(final DataRow row, final int index, final int hash,
+                final JoinContainer outputContainer,
+                final ExecutionContext exec) {
+            if (!m_hasHash) {
+                m_hash = hash;
+                m_hasHash = true;
+            } else if (hash != m_hash) {
+                m_singleHash = false;
+            }
+            if (index == m_lastLeftIndex) {
+                return;
+            }
+            m_lastLeftIndex = index;
+            if (null == m_leftContainer) {
+                m_leftContainer = outputContainer.createTempContainer(
+                        m_leftPartitionSpec, exec);
+            }
+            m_leftContainer.addRowToTable(row);
+            m_numLeftRows++;
+        }
+
+        void addRight(final DataRow row, final int index,
+                final JoinContainer outputContainer,
+                final ExecutionContext exec) {
+            if (index == m_lastRightIndex) {
+                return;
+            }
+            m_lastRightIndex = index;
+            if (null == m_rightContainer) {
+                m_rightContainer = outputContainer.createTempContainer(
+                        m_rightPartitionSpec, exec);
+            }
+            m_rightContainer.addRowToTable(row);
+            m_numRightRows++;
+        }
+
+        void closeLeft(final JoinContainer outputContainer) {
+            if (null != m_leftContainer) {
+                m_leftTable = outputContainer.closeTempContainer(
+                        m_leftContainer);
+                m_leftContainer = null;
+            }
+        }
+
+        void closeRight(final JoinContainer outputContainer) {
+            if (null != m_rightContainer) {
+                m_rightTable = outputContainer.closeTempContainer(
+                        m_rightContainer);
+                m_rightContainer = null;
+            }
+        }
+
+        /** @return the left table, only available if the partition has
+         * left rows. */
+        BufferedDataTable getLeftTable() {
+            return m_leftTable;
+        }
+
+        Iterable<DataRow> getRightTable() {
+            return null != m_rightTable ? m_rightTable
+                    : Collections.<DataRow>emptyList();
+        }
+
+        /** Deletes the tables of this partition. */
+        void clear(final JoinContainer outputContainer,
+                final ExecutionContext exec) {
+            if (null != m_leftTable) {
+                outputContainer.clearTempTable(m_leftTable, exec);
+                m_leftTable = null;
+            }
+            if (null != m_rightTable) {
+                outputContainer.clearTempTable(m_rightTable, exec);
+                m_rightTable = null;
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return "part " + m_id + " (" + m_numBits + " bits)";
+        }
+    }
+}
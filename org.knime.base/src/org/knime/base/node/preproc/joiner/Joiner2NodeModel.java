@@ -54,6 +54,7 @@
 import java.util.HashMap;
 import java.util.Set;
 
+import org.knime.base.node.preproc.joiner.Joiner2Settings.JoinMode;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.RowKey;
 import org.knime.core.node.BufferedDataTable;
@@ -65,10 +66,20 @@
 import org.knime.core.node.NodeSettings;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.port.PortObjectSpec;
 import org.knime.core.node.property.hilite.DefaultHiLiteMapper;
 import org.knime.core.node.property.hilite.HiLiteHandler;
 import org.knime.core.node.property.hilite.HiLiteMapper;
 import org.knime.core.node.property.hilite.HiLiteTranslator;
+import org.knime.core.node.streamable.InputPortRole;
+import org.knime.core.node.streamable.OutputPortRole;
+import org.knime.core.node.streamable.PartitionInfo;
+import org.knime.core.node.streamable.PortInput;
+import org.knime.core.node.streamable.PortObjectInput;
+import org.knime.core.node.streamable.PortOutput;
+import org.knime.core.node.streamable.RowInput;
+import org.knime.core.node.streamable.RowOutput;
+import org.knime.core.node.streamable.StreamableOperator;
 
 /**
  * This is the model of the joiner node. It delegates the dirty work to the
@@ -133,11 +144,7 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
         BufferedDataTable[] joinedTable = new BufferedDataTable[]{
                 joiner.computeJoinTable(inData[0], inData[1], exec)};
 
-        if (!joiner.getRuntimeWarnings().isEmpty()) {
-            for (String warning : joiner.getRuntimeWarnings()) {
-                setWarningMessage(warning);
-            }
-        }
+        setRuntimeWarnings(joiner);
         m_leftRowKeyMap = joiner.getLeftRowKeyMap();
         m_rightRowKeyMap = joiner.getRightRowKeyMap();
         m_leftMapper = new DefaultHiLiteMapper(m_leftRowKeyMap);
@@ -148,6 +155,79 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
         return joinedTable;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputPortRole[] getInputPortRoles() {
+        if (Joiner.isStreamable(m_settings)) {
+            // the left table is streamed through the hash table of the right,
+            // the left outer rows follow the matches of all left rows
+            return new InputPortRole[]{isDistributable()
+                ? InputPortRole.DISTRIBUTED_STREAMABLE
+                : InputPortRole.NONDISTRIBUTED_STREAMABLE,
+                InputPortRole.NONDISTRIBUTED_NONSTREAMABLE};
+        }
+        return new InputPortRole[]{InputPortRole.NONDISTRIBUTED_NONSTREAMABLE,
+            InputPortRole.NONDISTRIBUTED_NONSTREAMABLE};
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OutputPortRole[] getOutputPortRoles() {
+        return new OutputPortRole[]{isDistributable()
+            ? OutputPortRole.DISTRIBUTED : OutputPortRole.NONDISTRIBUTED};
+    }
+
+    /** Partitions of the left input can be joined independently of each
+     * other only in the case of a streamable inner join, the left outer rows
+     * of a left outer join must follow the matches of all partitions. */
+    private boolean isDistributable() {
+        return Joiner.isStreamable(m_settings)
+            && JoinMode.InnerJoin.equals(m_settings.getJoinMode());
+    }
+
+    /** Sets the runtime warnings of the joiner as a single warning message,
+     * setting them one by one keeps the last one only. */
+    private void setRuntimeWarnings(final Joiner joiner) {
+        if (!joiner.getRuntimeWarnings().isEmpty()) {
+            setWarningMessage(String.join("\n", joiner.getRuntimeWarnings()));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StreamableOperator createStreamableOperator(
+        final PartitionInfo partitionInfo, final PortObjectSpec[] inSpecs)
+        throws InvalidSettingsException {
+        return new StreamableOperator() {
+            @Override
+            public void runFinal(final PortInput[] inputs,
+                final PortOutput[] outputs, final ExecutionContext exec)
+                throws Exception {
+                BufferedDataTable rightTable = (BufferedDataTable)
+                        ((PortObjectInput)inputs[1]).getPortObject();
+                RowOutput output = (RowOutput)outputs[0];
+                if (!Joiner.isStreamable(m_settings)) {
+                    BufferedDataTable leftTable = (BufferedDataTable)
+                            ((PortObjectInput)inputs[0]).getPortObject();
+                    output.setFully(execute(new BufferedDataTable[]{
+                        leftTable, rightTable}, exec)[0]);
+                    return;
+                }
+                RowInput leftInput = (RowInput)inputs[0];
+                Joiner joiner = new Joiner(leftInput.getDataTableSpec(),
+                    rightTable.getDataTableSpec(), m_settings);
+                joiner.computeJoinTable(leftInput, rightTable, output, exec);
+                setRuntimeWarnings(joiner);
+            }
+        };
+    }
+
     /**
      * {@inheritDoc}
      */
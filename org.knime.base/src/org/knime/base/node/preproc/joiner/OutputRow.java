@@ -47,7 +47,9 @@
  */
 package org.knime.base.node.preproc.joiner;
 
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
@@ -197,6 +199,20 @@ public int compare(final DataRow o1, final DataRow o2) {
         };
     }
 
+    /**
+     * The names of the columns holding the left and the right index, sorting by these columns (both ascending) gives
+     * the same order as {@link #createRowComparator()}. In contrast to the comparator it allows the sorter to use
+     * normalized keys.
+     *
+     * @param spec the spec of the rows created by this class, see {@link Settings#getSpec()}
+     * @return The names of the left and the right index column.
+     */
+    static List<String> getIndexColumnNames(final DataTableSpec spec) {
+        final int numColumns = spec.getNumColumns();
+        return Arrays.asList(spec.getColumnSpec(numColumns - 2).getName(),
+            spec.getColumnSpec(numColumns - 1).getName());
+    }
+
     /**
      * A class that stores the common settings for all {@link OutputRow}s.
      *
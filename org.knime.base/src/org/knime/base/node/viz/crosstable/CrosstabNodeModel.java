@@ -787,5 +787,14 @@ protected boolean computeInternal(final DataCell cell) {
             }
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isRemovable() {
+            //negative values are ignored during computation
+            return false;
+        }
+
     }
 }
@@ -113,17 +113,9 @@ public void set(final int row, final int col, final float value) {
                     + "of the matrix (no space reserved)");
         }
         if (row > col) {
-            if (m_withDiagonal) {
-                m_matrix[row * (row + 1) / 2 + col] = value;
-            } else {
-                m_matrix[row * (row - 1) / 2 + col] = value;
-            }
+            m_matrix[index(row, col)] = value;
         } else {
-            if (m_withDiagonal) {
-                m_matrix[col * (col + 1) / 2 + row] = value;
-            } else {
-                m_matrix[col * (col - 1) / 2 + row] = value;
-            }
+            m_matrix[index(col, row)] = value;
         }
     }
 
@@ -141,17 +133,25 @@ public float get(final int row, final int col) {
                     + "of the matrix (not saved)");
         }
         if (row > col) {
-            if (m_withDiagonal) {
-                return m_matrix[row * (row + 1) / 2 + col];
-            } else {
-                return m_matrix[row * (row - 1) / 2 + col];
-            }
+            return m_matrix[index(row, col)];
         } else {
-            if (m_withDiagonal) {
-                return m_matrix[col * (col + 1) / 2 + row];
-            } else {
-                return m_matrix[col * (col - 1) / 2 + row];
-            }
+            return m_matrix[index(col, row)];
+        }
+    }
+
+    /**
+     * Returns the position of a value in the array. The products are computed
+     * as longs since they exceed the integer range for more than 46,340 rows.
+     *
+     * @param row the value's row, not smaller than the column
+     * @param col the value's column
+     * @return the position in the array
+     */
+    private int index(final int row, final int col) {
+        if (m_withDiagonal) {
+            return (int)(row * (row + 1L) / 2) + col;
+        } else {
+            return (int)(row * (row - 1L) / 2) + col;
         }
     }
 
@@ -193,9 +193,9 @@ public boolean storesDiagonal() {
      */
     public int getRowCount() {
         if (m_withDiagonal) {
-            return (-1 + (int)Math.sqrt(1 + 8 * m_matrix.length)) / 2;
+            return (-1 + (int)Math.sqrt(1 + 8L * m_matrix.length)) / 2;
         } else {
-            return (1 + (int)Math.sqrt(1 + 8 * m_matrix.length)) / 2;
+            return (1 + (int)Math.sqrt(1 + 8L * m_matrix.length)) / 2;
         }
     }
 
@@ -57,6 +57,12 @@
  *
  * For creating a k-d tree use the {@link KDTreeBuilder}.
  *
+ * <p>
+ * The tree is stored in flat arrays: the patterns are stored one after the
+ * other in a single array of doubles, ordered such that the patterns of each
+ * terminal bucket are adjacent, and the nodes are indices into the node
+ * arrays. The tree is immutable, queries may be run concurrently.
+ *
  * @param <T> the type of the data that is to be stored in the tree
  *
  * @author Thorsten Meinl, University of Konstanz
@@ -64,22 +70,57 @@
 public class KDTree<T> {
     private final int m_k, m_size;
 
-    private final Node m_root;
+    /** The patterns, <code>m_k</code> values per pattern. */
+    private final double[] m_patterns;
+
+    /** The data associated with the patterns. */
+    private final Object[] m_data;
+
+    /** The split attribute of each node, <code>-1</code> for terminal buckets. */
+    private final int[] m_splitAttributes;
+
+    private final double[] m_splitValues;
+
+    /**
+     * The index of the left child of each non-terminal node, or the index of
+     * the first pattern of each terminal bucket.
+     */
+    private final int[] m_left;
+
+    /**
+     * The index of the right child of each non-terminal node, or the index
+     * after the last pattern of each terminal bucket.
+     */
+    private final int[] m_right;
 
-    private int m_testedPatterns;
+    private volatile int m_testedPatterns;
 
     /**
      * Creates a new optimized k-d tree. This constructor is called by the
-     * {@link KDTreeBuilder}.
+     * {@link KDTreeBuilder}. The root node has index 0.
      *
      * @param k the number of dimensions of the patterns
-     * @param rootNode the root node of the tree
-     * @param size the size of the tree
+     * @param patterns the patterns, <code>k</code> values per pattern
+     * @param data the data associated with the patterns
+     * @param splitAttributes the split attribute of each node,
+     *            <code>-1</code> for terminal buckets
+     * @param splitValues the split value of each node
+     * @param left the left child of each non-terminal node or the first
+     *            pattern of each terminal bucket
+     * @param right the right child of each non-terminal node or the index
+     *            after the last pattern of each terminal bucket
      */
-    KDTree(final int k, final Node rootNode, final int size) {
+    KDTree(final int k, final double[] patterns, final Object[] data,
+            final int[] splitAttributes, final double[] splitValues,
+            final int[] left, final int[] right) {
         m_k = k;
-        m_root = rootNode;
-        m_size = size;
+        m_size = data.length;
+        m_patterns = patterns;
+        m_data = data;
+        m_splitAttributes = splitAttributes;
+        m_splitValues = splitValues;
+        m_left = left;
+        m_right = right;
     }
 
     /**
@@ -116,27 +157,18 @@ public List<NearestNeighbour<T>> getKNearestNeighbours(
                     + m_size + " elements, but " + k + " were requested");
         }
 
-        PriorityQueue<NearestNeighbour<T>> pq =
-                new PriorityQueue<NearestNeighbour<T>>(k);
+        Search<T> search = new Search<T>(m_k, k);
         for (int i = 0; i < k; i++) {
-            pq.add(new NearestNeighbour<T>(null, Double.MAX_VALUE));
+            search.m_pq.add(new NearestNeighbour<T>(null, Double.MAX_VALUE));
         }
 
-        double[] lowerBounds = new double[m_k];
-        double[] upperBounds = new double[m_k];
-
-        for (int i = 0; i < m_k; i++) {
-            lowerBounds[i] = -Double.MAX_VALUE;
-            upperBounds[i] = Double.MAX_VALUE;
-        }
-
-        m_testedPatterns = 0;
-        search(m_root, query, pq, lowerBounds, upperBounds, false);
+        search(0, query, search, false);
+        m_testedPatterns = search.m_testedPatterns;
         LinkedList<NearestNeighbour<T>> results =
                 new LinkedList<NearestNeighbour<T>>();
 
-        while (pq.peek() != null) {
-            NearestNeighbour<T> nn = pq.poll();
+        while (search.m_pq.peek() != null) {
+            NearestNeighbour<T> nn = search.m_pq.poll();
             nn.setDistance(Math.sqrt(nn.getDistance()));
             results.addFirst(nn);
         }
@@ -187,25 +219,16 @@ public List<NearestNeighbour<T>> getMaxDistanceNeighbours(
                     "The query vector has not length " + m_k);
         }
 
-        PriorityQueue<NearestNeighbour<T>> pq =
-                new PriorityQueue<NearestNeighbour<T>>();
-        pq.add(new NearestNeighbour<T>(null, maxDist * maxDist));
-
-        double[] lowerBounds = new double[m_k];
-        double[] upperBounds = new double[m_k];
+        Search<T> search = new Search<T>(m_k, 11);
+        search.m_pq.add(new NearestNeighbour<T>(null, maxDist * maxDist));
 
-        for (int i = 0; i < m_k; i++) {
-            lowerBounds[i] = -Double.MAX_VALUE;
-            upperBounds[i] = Double.MAX_VALUE;
-        }
-
-        m_testedPatterns = 0;
-        search(m_root, query, pq, lowerBounds, upperBounds, true);
+        search(0, query, search, true);
+        m_testedPatterns = search.m_testedPatterns;
         LinkedList<NearestNeighbour<T>> results =
                 new LinkedList<NearestNeighbour<T>>();
 
-        while (pq.peek() != null) {
-            NearestNeighbour<T> nn = pq.poll();
+        while (search.m_pq.peek() != null) {
+            NearestNeighbour<T> nn = search.m_pq.poll();
             nn.setDistance(Math.sqrt(nn.getDistance()));
             if (nn.getData() != null) {
                 // the "border" pattern has null data and must not be included
@@ -213,13 +236,38 @@ public List<NearestNeighbour<T>> getMaxDistanceNeighbours(
             }
         }
 
-        assert (results.getLast().getDistance() <= maxDist);
+        assert (results.isEmpty() || results.getLast().getDistance() <= maxDist);
         return results;
     }
 
+    /**
+     * The state of a single query: the candidate list and the bounds of the
+     * region covered by the current node.
+     */
+    private static final class Search<T> {
+        private final PriorityQueue<NearestNeighbour<T>> m_pq;
+
+        private final double[] m_lowerBounds;
+
+        private final double[] m_upperBounds;
+
+        private int m_testedPatterns;
+
+        Search(final int dimensions, final int initialCapacity) {
+            m_pq = new PriorityQueue<NearestNeighbour<T>>(
+                    Math.max(1, initialCapacity));
+            m_lowerBounds = new double[dimensions];
+            m_upperBounds = new double[dimensions];
+            for (int i = 0; i < dimensions; i++) {
+                m_lowerBounds[i] = -Double.MAX_VALUE;
+                m_upperBounds[i] = Double.MAX_VALUE;
+            }
+        }
+    }
+
     /**
      * Adds a new nearest neighbour to the candidate list, of the passed
-     * terminal node is nearer to the query pattern than the currently farthest
+     * pattern is nearer to the query pattern than the currently farthest
      * neighbour. This method can be used for two purposes: First during the
      * search for the k nearest neighbours of the query pattern. For this the
      * <code>maxDistanceMode</code> parameter must be set to <code>false</code>.
@@ -227,8 +275,8 @@ public List<NearestNeighbour<T>> getMaxDistanceNeighbours(
      * query pattern, if <code>maxDistanceMode</code> is set to
      * <code>true</code>.
      *
-     * @param tn the terminal node under consideration
-     * @param pq the list of nearest neighbours
+     * @param pattern the index of the pattern under consideration
+     * @param search the state of the query
      * @param query the query pattern
      * @param maxDistanceMode <code>true</code> if all nodes up to a maximal
      *            distance should be added, <code>false</code> if the k nearest
@@ -237,17 +285,19 @@ public List<NearestNeighbour<T>> getMaxDistanceNeighbours(
      * @return <code>true</code> if a new nearest neighbour has been found,
      *         <code>false</code> otherwise
      */
-    private boolean addNewNearestNeighbour(final TerminalNode<T> tn,
-            final PriorityQueue<NearestNeighbour<T>> pq, final double[] query,
+    @SuppressWarnings("unchecked")
+    private boolean addNewNearestNeighbour(final int pattern,
+            final Search<T> search, final double[] query,
             final boolean maxDistanceMode) {
-        m_testedPatterns++;
-        double distance = tn.getDistance(query);
+        search.m_testedPatterns++;
+        double distance = getDistance(pattern, query);
 
+        final PriorityQueue<NearestNeighbour<T>> pq = search.m_pq;
         double d = pq.peek().getDistance();
 
         if (d > distance) {
             NearestNeighbour<T> qr =
-                    new NearestNeighbour<T>(tn.getData(), distance);
+                    new NearestNeighbour<T>((T)m_data[pattern], distance);
             pq.offer(qr);
             if (!maxDistanceMode) {
                 pq.poll();
@@ -255,13 +305,31 @@ private boolean addNewNearestNeighbour(final TerminalNode<T> tn,
             return true;
         } else if (d == distance) {
             NearestNeighbour<T> qr =
-                    new NearestNeighbour<T>(tn.getData(), distance);
+                    new NearestNeighbour<T>((T)m_data[pattern], distance);
             pq.offer(qr);
             return true;
         }
         return false;
     }
 
+    /**
+     * Returns the (squared euclidean) distance of a pattern to a query
+     * pattern.
+     *
+     * @param pattern the index of the pattern
+     * @param query a query pattern
+     * @return the distance
+     */
+    private double getDistance(final int pattern, final double[] query) {
+        double distSum = 0;
+        final int offset = pattern * m_k;
+        for (int i = 0; i < m_k; i++) {
+            double dist = query[i] - m_patterns[offset + i];
+            distSum += dist * dist;
+        }
+        return distSum;
+    }
+
     /**
      * Does the recursive search. This method can be used for two purposes:
      * First during the search for the k nearest neighbours of the query
@@ -270,11 +338,11 @@ private boolean addNewNearestNeighbour(final TerminalNode<T> tn,
      * maximum distance from the query pattern, if <code>maxDistanceMode</code>
      * is set to <code>true</code>.
      *
-     * @param node the current node under consideration
+     * @param node the index of the current node under consideration
      * @param query the query pattern
-     * @param pq the priority queue of the currently nearest neighbours
-     * @param lowerBounds the lower bounds array
-     * @param upperBounds the upper bounds array
+     * @param search the state of the query, i.e. the priority queue of the
+     *            currently nearest neighbours and the bounds of the current
+     *            node
      * @param maxDistanceMode <code>true</code> if all nodes up to a maximal
      *            distance should be added, <code>false</code> if the k nearest
      *            neighbours should be found
@@ -282,39 +350,34 @@ private boolean addNewNearestNeighbour(final TerminalNode<T> tn,
      * @return <code>true</code> if the search can be aborted,
      *         <code>false</code> if it should be continued
      */
-    private boolean search(final Node node, final double[] query,
-            final PriorityQueue<NearestNeighbour<T>> pq,
-            final double[] lowerBounds, final double[] upperBounds,
-            final boolean maxDistanceMode) {
-        if (node == null) {
-            return false;
-        }
-        if (node instanceof TerminalBucket) {
+    private boolean search(final int node, final double[] query,
+            final Search<T> search, final boolean maxDistanceMode) {
+        final double[] lowerBounds = search.m_lowerBounds;
+        final double[] upperBounds = search.m_upperBounds;
+        final int keyIndex = m_splitAttributes[node];
+        if (keyIndex < 0) {
             boolean newFound = false;
-            for (TerminalNode<T> tn : ((TerminalBucket<T>)node)) {
+            for (int p = m_left[node]; p < m_right[node]; p++) {
                 newFound |=
-                        addNewNearestNeighbour(tn, pq, query, maxDistanceMode);
+                        addNewNearestNeighbour(p, search, query,
+                                maxDistanceMode);
             }
             if (newFound
-                    && ballWithinBounds(query, pq.peek().getDistance(),
-                            lowerBounds, upperBounds)) {
+                    && ballWithinBounds(query, search.m_pq.peek()
+                            .getDistance(), lowerBounds, upperBounds)) {
                 return true; // search is done
             }
             return false;
         }
 
-        final NonterminalNode n = (NonterminalNode)node;
-
-        final int keyIndex = n.getSplitAttribute();
-        final double keyValue = n.getSplitValue();
+        final double keyValue = m_splitValues[node];
 
         // recursive call on the closer child node
         if (query[keyIndex] <= keyValue) {
             final double temp = upperBounds[keyIndex];
             upperBounds[keyIndex] = keyValue;
             boolean finished =
-                    search(n.getLeft(), query, pq, lowerBounds, upperBounds,
-                            maxDistanceMode);
+                    search(m_left[node], query, search, maxDistanceMode);
             upperBounds[keyIndex] = temp;
             if (finished) {
                 return true;
@@ -323,8 +386,7 @@ && ballWithinBounds(query, pq.peek().getDistance(),
             final double temp = lowerBounds[keyIndex];
             lowerBounds[keyIndex] = keyValue;
             boolean finished =
-                    search(n.getRight(), query, pq, lowerBounds, upperBounds,
-                            maxDistanceMode);
+                    search(m_right[node], query, search, maxDistanceMode);
             lowerBounds[keyIndex] = temp;
             if (finished) {
                 return true;
@@ -336,27 +398,25 @@ && ballWithinBounds(query, pq.peek().getDistance(),
             final double temp = lowerBounds[keyIndex];
             lowerBounds[keyIndex] = keyValue;
 
-            if (boundsOverlapBall(query, pq.peek().getDistance(), lowerBounds,
-                    upperBounds)) {
-                search(n.getRight(), query, pq, lowerBounds, upperBounds,
-                        maxDistanceMode);
+            if (boundsOverlapBall(query, search.m_pq.peek().getDistance(),
+                    lowerBounds, upperBounds)) {
+                search(m_right[node], query, search, maxDistanceMode);
             }
             lowerBounds[keyIndex] = temp;
         } else {
             final double temp = upperBounds[keyIndex];
             upperBounds[keyIndex] = keyValue;
 
-            if (boundsOverlapBall(query, pq.peek().getDistance(), lowerBounds,
-                    upperBounds)) {
-                search(n.getLeft(), query, pq, lowerBounds, upperBounds,
-                        maxDistanceMode);
+            if (boundsOverlapBall(query, search.m_pq.peek().getDistance(),
+                    lowerBounds, upperBounds)) {
+                search(m_left[node], query, search, maxDistanceMode);
             }
 
             upperBounds[keyIndex] = temp;
         }
 
-        if (ballWithinBounds(query, pq.peek().getDistance(), lowerBounds,
-                upperBounds)) {
+        if (ballWithinBounds(query, search.m_pq.peek().getDistance(),
+                lowerBounds, upperBounds)) {
             return true;
         }
 
@@ -441,7 +501,8 @@ private boolean ballWithinBounds(final double[] query,
     /**
      * Returns the number of tested patterns during the last call to
      * {@link #getKNearestNeighbours(double[], int)}. The lower the number the
-     * better the k-d tree could prune the search.
+     * better the k-d tree could prune the search. If queries run concurrently
+     * this is the number of any of the last calls.
      *
      * @return the number of tested patterns
      */
@@ -45,6 +45,7 @@
 package org.knime.base.util.kdtree;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -55,7 +56,8 @@
 /**
  * This class is some kind of factory for the {@link KDTree}. Because an
  * optimized k-d tree needs to inspect all nodes upon building the node, the
- * builder first collects all patterns and then builds the tree.
+ * builder first collects all patterns and then builds the tree. The tree is
+ * stored in flat arrays, see {@link KDTree}.
  * 
  * @param <T> the type of the data stored inside the tree
  * @author Thorsten Meinl, University of Konstanz
@@ -117,8 +119,9 @@ public KDTree<T> buildTree() {
     public KDTree<T> buildTree(final int bucketSize,
             final ExecutionMonitor progMon) throws CanceledExecutionException {
         m_processedPatterns = 0;
-        Node rootNode = buildTree(m_nodes, bucketSize, progMon);
-        return new KDTree<T>(m_k, rootNode, m_nodes.size());
+        NodeArrays nodes = new NodeArrays(m_nodes.size() / Math.max(1, bucketSize) * 2 + 1);
+        buildTree(m_nodes, 0, bucketSize, nodes, progMon);
+        return createTree(nodes);
     }
 
     /**
@@ -142,44 +145,33 @@ public KDTree<T> buildTree(final ExecutionMonitor progMon)
      * @return ann optimized k-d tree
      */
     public KDTree<T> buildTree(final int bucketSize) {
-        Node rootNode = buildTree(m_nodes, bucketSize);
-        return new KDTree<T>(m_k, rootNode, m_nodes.size());
-    }
-
-    /**
-     * Recursive method to build the tree.
-     * 
-     * @param nodes the list of nodes for which a (sub)tree should be built
-     * @param bSize the number of patterns inside the terminal nodes
-     * 
-     * @return a k-d tree for the passed nodes
-     */
-    private Node buildTree(final List<TerminalNode<T>> nodes, final int bSize) {
-        m_processedPatterns = 0;
         try {
-            return buildTree(nodes, bSize, null);
+            return buildTree(bucketSize, null);
         } catch (CanceledExecutionException ex) {
             // cannot happen because we don't have an execution monitor
+            throw new IllegalStateException(ex);
         }
-        return null;
     }
 
     /**
      * Recursive method to build the tree.
      * 
      * @param nodes the list of nodes for which a (sub)tree should be built
+     * @param offset the index of the first of the nodes in the list of all
+     *            nodes (which is sorted such that the patterns of each bucket
+     *            are adjacent)
      * @param bSize the number of patterns inside the terminal nodes
+     * @param nodeArrays the arrays the tree's nodes are added to
      * 
-     * @return a k-d tree for the passed nodes
+     * @return the index of the root node of the (sub)tree
      * @throws CanceledExecutionException if the execution has been canceled
      */
-    private Node buildTree(final List<TerminalNode<T>> nodes, final int bSize,
+    private int buildTree(final List<TerminalNode<T>> nodes, final int offset,
+            final int bSize, final NodeArrays nodeArrays,
             final ExecutionMonitor progMon) throws CanceledExecutionException {
         if (nodes.size() <= bSize) {
             m_processedPatterns += nodes.size();
-            return new TerminalBucket<T>(nodes);
-        } else if (nodes.size() == 0) {
-            return null;
+            return nodeArrays.add(-1, 0, offset, offset + nodes.size());
         }
 
         double maxSpread = -1;
@@ -209,8 +201,15 @@ public int compare(final TerminalNode<T> o1,
         List<TerminalNode<T>> left = nodes.subList(0, mid);
         List<TerminalNode<T>> right = nodes.subList(mid, nodes.size());
 
-        Node leftNode = buildTree(left, bSize, progMon);
-        Node rightNode = buildTree(right, bSize, progMon);
+        // the parent is added first, i.e. the root has index 0
+        final int newNode = nodeArrays.add(maxSpreadKey, median, -1, -1);
+        // (the arrays may grow while adding the children)
+        final int leftNode =
+                buildTree(left, offset, bSize, nodeArrays, progMon);
+        final int rightNode =
+                buildTree(right, offset + mid, bSize, nodeArrays, progMon);
+        nodeArrays.m_left[newNode] = leftNode;
+        nodeArrays.m_right[newNode] = rightNode;
 
         if (progMon != null) {
             progMon.checkCanceled();
@@ -218,11 +217,64 @@ public int compare(final TerminalNode<T> o1,
                     "Added " + m_processedPatterns + " patterns to the tree");
         }
 
-        NonterminalNode newNode =
-                new NonterminalNode(maxSpreadKey, median, leftNode, rightNode);
         return newNode;
     }
 
+    /**
+     * Creates the tree from the node arrays and the patterns, which are now
+     * sorted such that the patterns of each bucket are adjacent.
+     */
+    private KDTree<T> createTree(final NodeArrays nodes) {
+        final double[] patterns = new double[m_nodes.size() * m_k];
+        final Object[] data = new Object[m_nodes.size()];
+        for (int i = 0; i < data.length; i++) {
+            final TerminalNode<T> node = m_nodes.get(i);
+            System.arraycopy(node.getPattern(), 0, patterns, i * m_k, m_k);
+            data[i] = node.getData();
+        }
+        final int size = nodes.m_size;
+        return new KDTree<T>(m_k, patterns, data,
+                Arrays.copyOf(nodes.m_splitAttributes, size),
+                Arrays.copyOf(nodes.m_splitValues, size),
+                Arrays.copyOf(nodes.m_left, size),
+                Arrays.copyOf(nodes.m_right, size));
+    }
+
+    /** The growing arrays of the nodes, see {@link KDTree}. */
+    private static final class NodeArrays {
+        private int[] m_splitAttributes;
+
+        private double[] m_splitValues;
+
+        private int[] m_left, m_right;
+
+        private int m_size;
+
+        NodeArrays(final int initialCapacity) {
+            m_splitAttributes = new int[initialCapacity];
+            m_splitValues = new double[initialCapacity];
+            m_left = new int[initialCapacity];
+            m_right = new int[initialCapacity];
+        }
+
+        /** @return the index of the new node */
+        int add(final int splitAttribute, final double splitValue,
+                final int left, final int right) {
+            if (m_size == m_splitAttributes.length) {
+                final int capacity = 2 * m_size + 1;
+                m_splitAttributes = Arrays.copyOf(m_splitAttributes, capacity);
+                m_splitValues = Arrays.copyOf(m_splitValues, capacity);
+                m_left = Arrays.copyOf(m_left, capacity);
+                m_right = Arrays.copyOf(m_right, capacity);
+            }
+            m_splitAttributes[m_size] = splitAttribute;
+            m_splitValues[m_size] = splitValue;
+            m_left[m_size] = left;
+            m_right[m_size] = right;
+            return m_size++;
+        }
+    }
+
     /**
      * Computes the spread of the attribute inside the passed list of patterns.
      * 
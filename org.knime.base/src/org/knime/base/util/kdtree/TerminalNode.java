@@ -47,13 +47,14 @@
 import java.util.Arrays;
 
 /**
- * This class represents a terminal node inside a k-d tree. The terminal nodes
- * store the pattern and an optional data object associated with the pattern.
+ * This class represents a pattern added to the {@link KDTreeBuilder}, i.e. a
+ * future terminal node inside a k-d tree. The terminal nodes store the pattern
+ * and an optional data object associated with the pattern.
  *
  * @param <T> the type of the data object object associated with the pattern
  * @author Thorsten Meinl, University of Konstanz
  */
-final class TerminalNode<T> implements Node {
+final class TerminalNode<T> {
     private final T m_data;
 
     private final double[] m_pattern;
@@ -87,24 +88,6 @@ public double[] getPattern() {
         return m_pattern;
     }
 
-    /**
-     * Returns the (squared euclidean) distance to a query pattern. The query
-     * pattern must have the same dimension as the pattern inside this node.
-     *
-     * @param query a query pattern.
-     * @return the distance
-     */
-    public double getDistance(final double[] query) {
-        double distSum = 0;
-
-        for (int i = 0; i < query.length; i++) {
-            double dist = query[i] - m_pattern[i];
-            distSum += dist * dist;
-        }
-
-        return distSum;
-    }
-
     /**
      * {@inheritDoc}
      */
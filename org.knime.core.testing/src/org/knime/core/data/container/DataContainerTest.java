@@ -691,29 +691,38 @@ public void testTableDomain() {
         assertEquals(max, r3Cell2);
     }
 
+    /**
+     * Many containers written concurrently all stay asynchronous and share the bounded number of writer threads.
+     *
+     * @throws Exception if an error occurs
+     */
     public void testAsyncWriteLimits() throws Exception {
         Assume.assumeTrue(!DataContainer.SYNCHRONOUS_IO);
         final int limit = Platform.ARCH_X86.equals(Platform.getOSArch()) ? 10 : 50;
         Assert.assertEquals(limit, DataContainer.MAX_ASYNC_WRITE_THREADS);
+        DataContainerWriteService service = DataContainerWriteService.getInstance();
+        assertEquals(limit, service.getMaxWriterCount());
         RowIterator infinitIterator = generateRows(Integer.MAX_VALUE);
         List<DataContainer> containerList = new ArrayList<DataContainer>();
-        try {
-            boolean isAsync;
-            do {
-                int activeCount = DataContainer.ASYNC_EXECUTORS.getActiveCount();
-                DataContainer c = new DataContainer(SPEC_STR_INT_DBL, true, 0);
-                c.addRowToTable(infinitIterator.next());
-                // no activeCount is incremented by one - so order of two lines is important.
-                containerList.add(c);
-                isAsync = activeCount <= limit;
-                assertEquals("unexpected async write behavior, active thread count is " + activeCount,
-                    isAsync, !c.isSynchronousWrite());
-            } while (isAsync);
-        } finally {
+        long rowsWritten = service.getRowsWritten();
+        final int rowsPerContainer = 2 * DataContainer.ASYNC_CACHE_SIZE;
+        for (int i = 0; i < 3 * limit; i++) {
+            DataContainer c = new DataContainer(SPEC_STR_INT_DBL, true, 0);
+            assertFalse("unexpected synchronous write", c.isSynchronousWrite());
+            containerList.add(c);
+        }
+        for (int r = 0; r < rowsPerContainer; r++) {
             for (DataContainer c : containerList) {
-                c.close();
+                c.addRowToTable(infinitIterator.next());
             }
         }
+        assertTrue("Too many writer threads: " + service.getWriterCount(), service.getWriterCount() <= limit);
+        for (DataContainer c : containerList) {
+            c.close();
+            assertEquals(rowsPerContainer, c.size());
+        }
+        assertTrue("Rows not counted as written",
+            service.getRowsWritten() - rowsWritten >= (long)rowsPerContainer * containerList.size());
     }
 
     /**
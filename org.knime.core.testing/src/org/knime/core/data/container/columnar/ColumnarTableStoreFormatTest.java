@@ -0,0 +1,236 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container.columnar;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.UnmaterializedCell;
+import org.knime.core.data.container.Buffer;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.storage.AbstractTableStoreReader;
+import org.knime.core.data.container.storage.AbstractTableStoreWriter;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.ComplexNumberCell;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.NodeSettings;
+import org.knime.core.util.FileUtil;
+
+/**
+ * Tests write and read of the {@link ColumnarTableStoreFormat}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class ColumnarTableStoreFormatTest {
+
+    private static final DataTableSpec SPEC = new DataTableSpec(
+        new String[]{"int", "long", "double", "boolean", "nominal", "unique"},
+        new DataType[]{IntCell.TYPE, LongCell.TYPE, DoubleCell.TYPE, BooleanCell.TYPE, StringCell.TYPE,
+            StringCell.TYPE});
+
+    /** More than a single chunk. */
+    private static final int ROW_COUNT = 3 * ColumnarTableStoreWriter.MAX_CHUNK_SIZE + 17;
+
+    private File m_file;
+
+    private NodeSettings m_settings;
+
+    /**
+     * Writes the test table.
+     * @throws Exception ...
+     */
+    @Before
+    public void setUp() throws Exception {
+        m_file = FileUtil.createTempFile("columnar", ".col");
+        m_settings = new NodeSettings("format");
+        ColumnarTableStoreFormat format = new ColumnarTableStoreFormat();
+        try (AbstractTableStoreWriter writer = format.createWriter(m_file, SPEC, true)) {
+            for (int i = 0; i < ROW_COUNT; i++) {
+                writer.writeRow(createRow(i));
+            }
+            writer.close();
+            writer.writeMetaInfoAfterWrite(m_settings);
+        }
+    }
+
+    /** Deletes the temp file. */
+    @After
+    public void tearDown() {
+        m_file.delete();
+    }
+
+    private static DataRow createRow(final int i) {
+        DataCell missing = DataType.getMissingCell();
+        return new DefaultRow("Row" + i, new DataCell[]{
+            i % 7 == 0 ? missing : new IntCell(i),
+            new LongCell(i * 1000000000L),
+            i % 5 == 0 ? missing : new DoubleCell(i / 3.0),
+            BooleanCell.get(i % 3 == 0),
+            i % 11 == 0 ? missing : new StringCell("Value " + (i % 13)),
+            new StringCell("Unique " + i)});
+    }
+
+    private AbstractTableStoreReader createReader() throws Exception {
+        return new ColumnarTableStoreFormat().createReader(m_file, SPEC, null, m_settings, Buffer.IVERSION, true);
+    }
+
+    /**
+     * Reads all columns and compares them with the input.
+     * @throws Exception ...
+     */
+    @Test
+    public void testWriteReadAllColumns() throws Exception {
+        AbstractTableStoreReader reader = createReader();
+        int i = 0;
+        try (CloseableRowIterator it = reader.iteratorBuilder().build()) {
+            while (it.hasNext()) {
+                DataRow expected = createRow(i);
+                DataRow actual = it.next();
+                assertThat("Row key in row " + i, actual.getKey(), is(expected.getKey()));
+                for (int c = 0; c < SPEC.getNumColumns(); c++) {
+                    assertThat("Cell " + c + " in row " + i, actual.getCell(c), is(expected.getCell(c)));
+                }
+                i++;
+            }
+        }
+        assertThat("Row count", i, is(ROW_COUNT));
+    }
+
+    /**
+     * Reads a subset of columns, others must not be materialized.
+     * @throws Exception ...
+     */
+    @Test
+    public void testColumnProjection() throws Exception {
+        AbstractTableStoreReader reader = createReader();
+        int i = 0;
+        try (CloseableRowIterator it = reader.iteratorBuilder().filterColumns(2, 4).build()) {
+            while (it.hasNext()) {
+                DataRow expected = createRow(i);
+                DataRow actual = it.next();
+                assertThat(actual.getCell(0), instanceOf(UnmaterializedCell.class));
+                assertThat(actual.getCell(2), is(expected.getCell(2)));
+                assertThat(actual.getCell(4), is(expected.getCell(4)));
+                assertThat(actual.getCell(5), instanceOf(UnmaterializedCell.class));
+                i++;
+            }
+        }
+        assertThat("Row count", i, is(ROW_COUNT));
+    }
+
+    /**
+     * Cells whose class differs from the column type and strings that are not valid UTF-16 must be read back as they
+     * were written.
+     * @throws Exception ...
+     */
+    @Test
+    public void testWriteReadForeignCellsAndStrings() throws Exception {
+        DataTableSpec spec = new DataTableSpec(new String[]{"double", "long", "string"},
+            new DataType[]{DoubleCell.TYPE, LongCell.TYPE, StringCell.TYPE});
+        String[] strings =
+            {"plain", "\u00e9\u00e8", "\ud83d\ude00", "unpaired \ud800", "unpaired \udc00 low", "nul \u0000", ""};
+        DataRow[] rows = new DataRow[2 * ColumnarTableStoreWriter.MAX_CHUNK_SIZE + 5];
+        for (int i = 0; i < rows.length; i++) {
+            DataCell doubleCell = i % 3 == 0 ? new IntCell(i) : (i % 3 == 1 ? new LongCell(i) : new DoubleCell(i));
+            DataCell longCell = i % 2 == 0 ? new IntCell(i) : new LongCell(i);
+            rows[i] = new DefaultRow("Row" + i, doubleCell, longCell, new StringCell(strings[i % strings.length]));
+        }
+        File file = FileUtil.createTempFile("columnar", ".col");
+        try {
+            NodeSettings settings = new NodeSettings("format");
+            ColumnarTableStoreFormat format = new ColumnarTableStoreFormat();
+            try (AbstractTableStoreWriter writer = format.createWriter(file, spec, true)) {
+                for (DataRow row : rows) {
+                    writer.writeRow(row);
+                }
+                writer.close();
+                writer.writeMetaInfoAfterWrite(settings);
+            }
+            AbstractTableStoreReader reader = format.createReader(file, spec, null, settings, Buffer.IVERSION, true);
+            int i = 0;
+            try (CloseableRowIterator it = reader.iterator()) {
+                while (it.hasNext()) {
+                    DataRow actual = it.next();
+                    for (int c = 0; c < spec.getNumColumns(); c++) {
+                        DataCell expected = rows[i].getCell(c);
+                        assertThat("Cell class " + c + " in row " + i, actual.getCell(c).getClass().getName(),
+                            is(expected.getClass().getName()));
+                        assertThat("Cell " + c + " in row " + i, actual.getCell(c), is(expected));
+                    }
+                    i++;
+                }
+            }
+            assertThat("Row count", i, is(rows.length));
+        } finally {
+            file.delete();
+        }
+    }
+
+    /** Only primitive types are accepted. */
+    @Test
+    public void testAccepts() {
+        ColumnarTableStoreFormat format = new ColumnarTableStoreFormat();
+        assertThat(format.accepts(SPEC), is(true));
+        assertThat(format.accepts(new DataTableSpec(new String[]{"a"}, new DataType[]{ComplexNumberCell.TYPE})), is(false));
+    }
+
+}
@@ -0,0 +1,160 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container.storage;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Round trip tests for the {@link BuiltInCompressionCodec}s and the LZ4 block streams.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class CompressionCodecTest {
+
+    /** Codecs must be found by their persisted name (also for tables written with old versions). */
+    @Test
+    public void testLookup() {
+        assertThat(BuiltInCompressionCodec.get("Gzip").get(), is(BuiltInCompressionCodec.Gzip));
+        assertThat(BuiltInCompressionCodec.get("None").get(), is(BuiltInCompressionCodec.None));
+        assertThat(BuiltInCompressionCodec.get("lz4").get(), is(BuiltInCompressionCodec.Lz4));
+        assertThat(BuiltInCompressionCodec.get("Snappy").isPresent(), is(false));
+    }
+
+    /** All codecs, compressible and random data, various sizes around the block size. */
+    @Test
+    public void testRoundTrip() throws IOException {
+        final int blockSize = BlockCompressedOutputStream.DEFAULT_BLOCK_SIZE;
+        for (BuiltInCompressionCodec codec : BuiltInCompressionCodec.values()) {
+            for (int length : new int[]{0, 1, 13, blockSize - 1, blockSize, blockSize + 1, 5 * blockSize + 17}) {
+                byte[] compressible = createCompressibleData(length);
+                assertThat(codec + ", length " + length, roundTrip(codec, compressible), is(compressible));
+                byte[] random = new byte[length];
+                new Random(length).nextBytes(random);
+                assertThat(codec + ", length " + length, roundTrip(codec, random), is(random));
+            }
+        }
+    }
+
+    /** Sequential and concurrent (de-)compression must produce the same result. */
+    @Test
+    public void testLz4Parallelism() throws IOException {
+        byte[] data = createCompressibleData(1 << 20);
+        for (int parallelism : new int[]{1, 3}) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (OutputStream out = new BlockCompressedOutputStream(bytes, 1 << 12, parallelism)) {
+                out.write(data);
+            }
+            assertThat("compressed size", bytes.size(), lessThan(data.length / 2));
+            for (int readParallelism : new int[]{1, 4}) {
+                try (InputStream in =
+                    new BlockCompressedInputStream(new ByteArrayInputStream(bytes.toByteArray()), readParallelism)) {
+                    assertThat(readFully(in), is(data));
+                }
+            }
+        }
+    }
+
+    /** Corrupt data must result in an IOException (and not in an unchecked exception). */
+    @Test(expected = IOException.class)
+    public void testLz4CorruptData() throws IOException {
+        byte[] data = createCompressibleData(10000);
+        byte[] compressed = new byte[Lz4BlockCompressor.maxCompressedLength(data.length)];
+        int length = Lz4BlockCompressor.compress(data, data.length, compressed);
+        for (int i = length / 2; i < length; i++) {
+            compressed[i] = (byte)0xFF;
+        }
+        Lz4BlockCompressor.decompress(compressed, 0, length, new byte[data.length], data.length);
+    }
+
+    private static byte[] roundTrip(final CompressionCodec codec, final byte[] data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = codec.createOutputStream(bytes)) {
+            // write in uneven pieces to cross block boundaries
+            for (int i = 0; i < data.length; i += 1000) {
+                out.write(data, i, Math.min(1000, data.length - i));
+            }
+        }
+        try (InputStream in = codec.createInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return readFully(in);
+        }
+    }
+
+    private static byte[] readFully(final InputStream in) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        byte[] buffer = new byte[777];
+        int read;
+        while ((read = in.read(buffer)) >= 0) {
+            result.write(buffer, 0, read);
+        }
+        return result.toByteArray();
+    }
+
+    private static byte[] createCompressibleData(final int length) {
+        Random random = new Random(length);
+        byte[] result = new byte[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = (byte)("Row" + (i / 64) % 100).charAt(i % 5 % 4);
+            if (random.nextInt(50) == 0) {
+                result[i] = (byte)random.nextInt();
+            }
+        }
+        return result;
+    }
+
+}
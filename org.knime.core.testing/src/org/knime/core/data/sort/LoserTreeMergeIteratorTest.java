@@ -0,0 +1,135 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.sort;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+
+/**
+ * Tests {@link LoserTreeMergeIterator} and the merge planning in {@link AbstractTableSorter}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class LoserTreeMergeIteratorTest {
+
+    private static final Comparator<DataRow> COMPARATOR =
+        (r1, r2) -> Integer.compare(((IntValue)r1.getCell(0)).getIntValue(), ((IntValue)r2.getCell(0)).getIntValue());
+
+    /** Merge result must be identical to a stable sort of the concatenated input, for any number of sources. */
+    @Test
+    public void testMergeIsStable() {
+        Random random = new Random(42);
+        for (int sourceCount = 0; sourceCount < 20; sourceCount++) {
+            List<List<DataRow>> sources = new ArrayList<>();
+            List<DataRow> expected = new ArrayList<>();
+            for (int s = 0; s < sourceCount; s++) {
+                List<DataRow> source = new ArrayList<>();
+                int rowCount = random.nextInt(30);
+                for (int i = 0; i < rowCount; i++) {
+                    // few distinct values, many ties
+                    source.add(new DefaultRow("Row" + s + "_" + i, new IntCell(random.nextInt(10))));
+                }
+                Collections.sort(source, COMPARATOR);
+                sources.add(source);
+                expected.addAll(source);
+            }
+            Collections.sort(expected, COMPARATOR);
+            List<Iterable<DataRow>> exhausted = new ArrayList<>();
+            Iterator<DataRow> it = new LoserTreeMergeIterator(sources, COMPARATOR, null, exhausted::add);
+            List<DataRow> actual = new ArrayList<>();
+            while (it.hasNext()) {
+                actual.add(it.next());
+            }
+            assertThat("Merge result for " + sourceCount + " sources", actual, is(expected));
+            assertThat("Exhausted sources", exhausted.size(), is(sourceCount));
+        }
+    }
+
+    /** Merge groups must cover all chunks in order and get down to the requested number of chunks. */
+    @Test
+    public void testCreateMergeGroups() {
+        for (int chunkCount = 2; chunkCount < 200; chunkCount++) {
+            for (int maxOpen = 3; maxOpen < 12; maxOpen++) {
+                for (int maxRemaining : new int[]{1, maxOpen}) {
+                    List<Integer> chunks = new ArrayList<>();
+                    for (int i = 0; i < chunkCount; i++) {
+                        chunks.add(i);
+                    }
+                    while (chunks.size() > maxRemaining) {
+                        List<List<Integer>> groups =
+                            AbstractTableSorter.createMergeGroups(chunks, maxRemaining, maxOpen);
+                        List<Integer> covered = new ArrayList<>();
+                        List<Integer> next = new ArrayList<>();
+                        for (List<Integer> group : groups) {
+                            assertThat("Group size <= " + maxOpen, group.size() <= maxOpen, is(true));
+                            covered.addAll(group);
+                            next.add(group.get(0));
+                        }
+                        assertThat(covered, is(chunks));
+                        assertThat("Progress", next.size() < chunks.size(), is(true));
+                        chunks = next;
+                    }
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,198 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.sort;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Tests {@link NormalizedKeyEncoder}, the order of the keys must be consistent with the order of the cells.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class NormalizedKeyEncoderTest {
+
+    private static final DataTableSpec SPEC = new DataTableSpec(
+        new DataColumnSpecCreator("int", IntCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("long", LongCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("double", DoubleCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("string", StringCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("boolean", BooleanCell.TYPE).createSpec());
+
+    private static final int[] INTS = {Integer.MIN_VALUE, -1, 0, 1, 2, Integer.MAX_VALUE};
+
+    private static final long[] LONGS = {Long.MIN_VALUE, -1L << 40, -1, 0, 1, 1L << 40, Long.MAX_VALUE};
+
+    private static final double[] DOUBLES = {Double.NEGATIVE_INFINITY, -Double.MAX_VALUE, -1.5, -Double.MIN_VALUE,
+        -0.0, 0.0, Double.MIN_VALUE, 1.5, Double.MAX_VALUE, Double.POSITIVE_INFINITY, Double.NaN};
+
+    private static final String LONG_PREFIX = new String(new char[NormalizedKeyEncoder.MAX_STRING_KEY_LENGTH])
+        .replace('\0', 'x');
+
+    private static final String[] STRINGS = {"", "\0", "\0\0", "\u0001", "a", "a\0", "a\u0001", "ab", "b", "\u0100",
+        "\uffff", LONG_PREFIX, LONG_PREFIX + "a", LONG_PREFIX + "b", LONG_PREFIX + "\0"};
+
+    /** Key order must match the cell order for each sort column, direction and placement of missing values. */
+    @Test
+    public void testKeyOrder() {
+        List<DataRow> rows = createRows(new Random(42), 300);
+        int[][] sortColumns = {{0}, {1}, {2}, {3}, {-1}, {0, 3}, {3, 1}, {2, 0, 1}, {1, 2, 3, -1}, {0, 4, 1}};
+        for (int[] indices : sortColumns) {
+            for (boolean ascending : new boolean[]{true, false}) {
+                for (boolean missingsToEnd : new boolean[]{true, false}) {
+                    boolean[] sortAscending = new boolean[indices.length];
+                    for (int i = 0; i < indices.length; i++) {
+                        // alternate directions for multi column keys
+                        sortAscending[i] = (i % 2 == 0) == ascending;
+                    }
+                    checkOrder(rows, indices, sortAscending, missingsToEnd);
+                }
+            }
+        }
+    }
+
+    /** Only leading supported columns are encoded, exact only if there are no strings and all columns are used. */
+    @Test
+    public void testCreate() {
+        boolean[] asc1 = {true};
+        boolean[] asc2 = {true, true};
+        assertThat(NormalizedKeyEncoder.create(SPEC, new int[]{4}, asc1, false), is(nullValue()));
+        assertThat(NormalizedKeyEncoder.create(SPEC, new int[]{0}, asc1, false).isExact(), is(true));
+        assertThat(NormalizedKeyEncoder.create(SPEC, new int[]{0, 2}, asc2, false).isExact(), is(true));
+        assertThat(NormalizedKeyEncoder.create(SPEC, new int[]{0, 3}, asc2, false).isExact(), is(false));
+        assertThat(NormalizedKeyEncoder.create(SPEC, new int[]{-1}, asc1, false).isExact(), is(false));
+        NormalizedKeyEncoder encoder = NormalizedKeyEncoder.create(SPEC, new int[]{1, 4}, asc2, false);
+        assertThat(encoder, is(notNullValue()));
+        assertThat(encoder.isExact(), is(false));
+    }
+
+    private static void checkOrder(final List<DataRow> rows, final int[] indices, final boolean[] sortAscending,
+        final boolean missingsToEnd) {
+        NormalizedKeyEncoder encoder = NormalizedKeyEncoder.create(SPEC, indices, sortAscending, missingsToEnd);
+        Comparator<DataRow> comparator = createReferenceComparator(indices, sortAscending, missingsToEnd);
+        List<byte[]> keys = new ArrayList<>();
+        for (DataRow row : rows) {
+            keys.add(encoder.encode(row));
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            for (int j = 0; j < rows.size(); j++) {
+                int expected = Integer.signum(comparator.compare(rows.get(i), rows.get(j)));
+                int keyComparison = Integer.signum(NormalizedKeyEncoder.compareKeys(keys.get(i), keys.get(j)));
+                if (keyComparison != 0 || encoder.isExact()) {
+                    assertThat("Comparison of " + rows.get(i) + " and " + rows.get(j), keyComparison, is(expected));
+                }
+            }
+        }
+    }
+
+    /** Same order as the comparator created in {@link AbstractTableSorter#setSortColumns}. */
+    private static Comparator<DataRow> createReferenceComparator(final int[] indices, final boolean[] sortAscending,
+        final boolean missingsToEnd) {
+        return (r1, r2) -> {
+            for (int i = 0; i < indices.length; i++) {
+                int c;
+                if (indices[i] < 0) {
+                    c = r1.getKey().getString().compareTo(r2.getKey().getString());
+                } else {
+                    DataCell c1 = r1.getCell(indices[i]);
+                    DataCell c2 = r2.getCell(indices[i]);
+                    if (missingsToEnd && (c1.isMissing() || c2.isMissing())) {
+                        c = Boolean.compare(c1.isMissing(), c2.isMissing());
+                        c = sortAscending[i] ? c : -c;
+                    } else {
+                        c = SPEC.getColumnSpec(indices[i]).getType().getComparator().compare(c1, c2);
+                    }
+                }
+                if (c != 0) {
+                    return sortAscending[i] ? c : -c;
+                }
+            }
+            return 0;
+        };
+    }
+
+    private static List<DataRow> createRows(final Random random, final int count) {
+        List<DataRow> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            DataCell[] cells = new DataCell[SPEC.getNumColumns()];
+            cells[0] = new IntCell(INTS[random.nextInt(INTS.length)]);
+            cells[1] = new LongCell(LONGS[random.nextInt(LONGS.length)]);
+            cells[2] = new DoubleCell(DOUBLES[random.nextInt(DOUBLES.length)]);
+            cells[3] = new StringCell(STRINGS[random.nextInt(STRINGS.length)]);
+            cells[4] = BooleanCell.get(random.nextBoolean());
+            for (int c = 0; c < 4; c++) {
+                if (random.nextInt(8) == 0) {
+                    cells[c] = DataType.getMissingCell();
+                }
+            }
+            rows.add(new DefaultRow(STRINGS[random.nextInt(STRINGS.length)] + i, cells));
+        }
+        return rows;
+    }
+
+}
@@ -140,9 +140,24 @@ public final void testMultiStageMerge() throws CanceledExecutionException {
         runMemoryTest(100, 5, 8);
     }
 
+    /**
+     * Test merge in several rounds, chunks are written and merged concurrently.
+     * @throws CanceledExecutionException
+     */
+    @Test
+    public final void testParallelMultiStageMerge() throws CanceledExecutionException {
+        runMemoryTest(100, 2, 3, 4);
+    }
+
     private void runMemoryTest(final int numRows,
             final int maxNumRowsPerContainer,
             final int maxOpenContainers) throws CanceledExecutionException {
+        runMemoryTest(numRows, maxNumRowsPerContainer, maxOpenContainers, 1);
+    }
+
+    private void runMemoryTest(final int numRows,
+            final int maxNumRowsPerContainer,
+            final int maxOpenContainers, final int parallelism) throws CanceledExecutionException {
         // Create data with fields that consume a lot memory
         DataTable inputTable = new TestData(numRows, 1);
 
@@ -156,6 +171,7 @@ private void runMemoryTest(final int numRows,
 
 
         sorter.setMaxRows(maxNumRowsPerContainer);
+        sorter.setParallelism(parallelism);
         // 10MB free memory
         long currentlyUsed = MemoryAlertSystem.getUsedMemory();
         double fraction = Math.min(1, (currentlyUsed + (10 << 20)) / (double)MemoryAlertSystem.getMaximumMemory());
@@ -0,0 +1,196 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.node.exec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.knime.core.node.workflow.NodeID;
+
+/**
+ * Tests for {@link ForkJoinNodeExecutionJobManager}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class ForkJoinNodeExecutionJobManagerTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final NodeID m_id = new NodeID(1);
+
+    /**
+     * Checks that all jobs are executed and that no more jobs run at the same time than there are slots.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testDispatchAndCompletion() throws Exception {
+        ForkJoinNodeExecutionJobManager manager = new ForkJoinNodeExecutionJobManager(2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger finished = new AtomicInteger();
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(manager.enqueue(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                finished.incrementAndGet();
+            }, m_id, "workflow"));
+        }
+        for (Future<Void> future : futures) {
+            future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        assertEquals("Unexpected number of finished jobs", 20, finished.get());
+        assertTrue("More jobs running than slots: " + maxRunning.get(), maxRunning.get() <= 2);
+        awaitIdle(manager);
+        assertEquals("Queued jobs left", 0, manager.getQueuedJobCount());
+        assertEquals("Wait time of a finished job left", -1, manager.getWaitTime(m_id));
+    }
+
+    /**
+     * Checks that the queues of different workflows are served in turn.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testRoundRobinAcrossWorkflows() throws Exception {
+        ForkJoinNodeExecutionJobManager manager = new ForkJoinNodeExecutionJobManager(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Void> blocking = manager.enqueue(() -> {
+            blocked.countDown();
+            awaitUninterruptibly(release);
+        }, m_id, "A");
+        assertTrue("Blocking job not started", blocked.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        List<Future<Void>> futures = new ArrayList<>();
+        for (String job : Arrays.asList("A1", "A2", "A3", "B1", "B2")) {
+            futures.add(manager.enqueue(() -> order.add(job), m_id, job.substring(0, 1)));
+        }
+        assertEquals("Unexpected number of queued jobs", 5, manager.getQueuedJobCount());
+        release.countDown();
+        blocking.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        for (Future<Void> future : futures) {
+            future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        assertEquals("Workflows not served in turn", Arrays.asList("A1", "B1", "A2", "B2", "A3"), order);
+    }
+
+    /**
+     * Checks that canceling a queued job removes it from its queue and that canceling a running job interrupts it and
+     * releases its slot.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testCancelQueuedAndRunningJob() throws Exception {
+        ForkJoinNodeExecutionJobManager manager = new ForkJoinNodeExecutionJobManager(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Future<Void> running = manager.enqueue(() -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        }, m_id, "workflow");
+        assertTrue("Job not started", started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        AtomicBoolean queuedRan = new AtomicBoolean();
+        Future<Void> queued = manager.enqueue(() -> queuedRan.set(true), m_id, "workflow");
+        assertEquals("Unexpected number of queued jobs", 1, manager.getQueuedJobCount());
+        assertTrue("Queued job not canceled", queued.cancel(true));
+        assertEquals("Canceled job still queued", 0, manager.getQueuedJobCount());
+
+        assertTrue("Running job not canceled", running.cancel(true));
+        assertTrue("Running job not interrupted", interrupted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        // the slot of the canceled job is free again
+        AtomicBoolean nextRan = new AtomicBoolean();
+        manager.enqueue(() -> nextRan.set(true), m_id, "workflow").get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertTrue("Job after canceled jobs not executed", nextRan.get());
+        assertFalse("Canceled queued job executed", queuedRan.get());
+        awaitIdle(manager);
+    }
+
+    /** A job's future is done before its slot is released, wait for the release. */
+    private static void awaitIdle(final ForkJoinNodeExecutionJobManager manager) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS);
+        while (manager.getRunningJobCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals("Running jobs left", 0, manager.getRunningJobCount());
+    }
+
+    private static void awaitUninterruptibly(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
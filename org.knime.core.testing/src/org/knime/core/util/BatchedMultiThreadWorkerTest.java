@@ -0,0 +1,164 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link BatchedMultiThreadWorker}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class BatchedMultiThreadWorkerTest {
+
+    /**
+     * Checks that cheap elements are computed in blocks and processed in the input order.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testOrderAndBatching() throws Exception {
+        final List<Integer> input = IntStream.range(0, 100000).boxed().collect(Collectors.toList());
+        final List<Integer> output = new ArrayList<Integer>();
+        final int[] maxBatchSize = new int[1];
+        BatchedMultiThreadWorker<Integer, Integer> worker = new BatchedMultiThreadWorker<Integer, Integer>(20, 4, 64) {
+            @Override
+            protected Integer computeElement(final Integer in, final long index) throws Exception {
+                assertEquals("Unexpected index", in.longValue(), index);
+                return 2 * in;
+            }
+
+            @Override
+            protected void processFinished(final ComputationTask task)
+                throws ExecutionException, CancellationException, InterruptedException {
+                maxBatchSize[0] = Math.max(maxBatchSize[0], task.getInput().size());
+                super.processFinished(task);
+            }
+
+            @Override
+            protected void processFinished(final Integer in, final Integer out, final long index)
+                throws ExecutionException, CancellationException, InterruptedException {
+                assertEquals("Unexpected index", in.longValue(), index);
+                assertEquals("Unexpected output", 2 * in, out.intValue());
+                output.add(in);
+            }
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            worker.setExecutor(executor);
+            worker.runBatched(input);
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals("Unexpected output order", input, output);
+        assertTrue("Elements not processed in blocks", maxBatchSize[0] > 1);
+        assertTrue("Block too large: " + maxBatchSize[0], maxBatchSize[0] <= 64);
+    }
+
+    /**
+     * Checks that blocks given by the caller are computed as they are and that their elements are indexed
+     * consecutively across the blocks.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testGivenBlocks() throws Exception {
+        final List<List<Integer>> blocks = new ArrayList<List<Integer>>();
+        int next = 0;
+        for (int size : new int[]{3, 1, 0, 7, 2}) {
+            blocks.add(IntStream.range(next, next + size).boxed().collect(Collectors.toList()));
+            next += size;
+        }
+        final List<Integer> output = new ArrayList<Integer>();
+        final List<Integer> blockSizes = new ArrayList<Integer>();
+        BatchedMultiThreadWorker<Integer, Integer> worker = new BatchedMultiThreadWorker<Integer, Integer>(20, 4, 64) {
+            @Override
+            protected Integer computeElement(final Integer in, final long index) throws Exception {
+                assertEquals("Unexpected index", in.longValue(), index);
+                return 2 * in;
+            }
+
+            @Override
+            protected void processFinished(final ComputationTask task)
+                throws ExecutionException, CancellationException, InterruptedException {
+                blockSizes.add(task.getInput().size());
+                super.processFinished(task);
+            }
+
+            @Override
+            protected void processFinished(final Integer in, final Integer out, final long index)
+                throws ExecutionException, CancellationException, InterruptedException {
+                assertEquals("Unexpected index", in.longValue(), index);
+                assertEquals("Unexpected output", 2 * in, out.intValue());
+                output.add(in);
+            }
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            worker.setExecutor(executor);
+            worker.run(blocks);
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals("Unexpected output order", IntStream.range(0, next).boxed().collect(Collectors.toList()), output);
+        assertEquals("Blocks not computed as given", blocks.stream().map(List::size).collect(Collectors.toList()),
+            blockSizes);
+    }
+}
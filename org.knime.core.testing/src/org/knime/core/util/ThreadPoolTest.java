@@ -50,8 +50,11 @@
 import static org.junit.Assert.assertThat;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.osgi.internal.framework.ContextFinder;
@@ -434,4 +437,34 @@ public ClassLoader call() throws Exception {
             Thread.currentThread().setContextClassLoader(cl);
         }
     }
+
+    /**
+     * Checks that {@link ThreadPool#runInvisible(Callable)} can be called from a thread of a fork/join pool and lets
+     * the fork/join pool run other tasks while the callable blocks.
+     *
+     * @throws Exception if an error occurs
+     */
+    public void testInvisibleInForkJoinPool() throws Exception {
+        final ThreadPool root = new ThreadPool(1);
+        final ForkJoinPool forkJoinPool = new ForkJoinPool(1);
+        final CountDownLatch latch = new CountDownLatch(1);
+        try {
+            Future<Boolean> waiting = forkJoinPool.submit(new Callable<Boolean>() {
+                @Override
+                public Boolean call() throws Exception {
+                    return root.runInvisible(new Callable<Boolean>() {
+                        @Override
+                        public Boolean call() throws Exception {
+                            forkJoinPool.execute(() -> latch.countDown());
+                            return latch.await(10, TimeUnit.SECONDS);
+                        }
+                    });
+                }
+            });
+            assertThat("Blocked fork/join thread has not been compensated", waiting.get(), Is.is(true));
+        } finally {
+            forkJoinPool.shutdownNow();
+            root.shutdown();
+        }
+    }
 }
@@ -333,12 +333,6 @@ static boolean isUseCompressionForBlobs(final CellClassInfo cellClassInfo) {
         return result;
     }
 
-    /** Compression on the binary (main) file. */
-    enum CompressionFormat {
-        Gzip,
-        None;
-    }
-
     /** the file to write to. */
     private File m_binFile;
 
@@ -118,19 +118,7 @@ public final class BufferFromFileIteratorVersion20 extends FromFileIterator {
             + BufferFromFileIteratorVersion1x.class.getSimpleName();
         BufferedInputStream bufferedStream =
             new BufferedInputStream(new FileInputStream(tableFormatReader.getBinFile()));
-        InputStream in;
-        switch (tableFormatReader.getBinFileCompressionFormat()) {
-            case Gzip:
-                in = new GZIPInputStream(bufferedStream);
-                // buffering is important when reading gzip streams
-                in = new BufferedInputStream(in);
-                break;
-            case None:
-                in = bufferedStream;
-                break;
-            default:
-                throw new IOException("Unsupported compression format: " + tableFormatReader.getBinFileCompressionFormat());
-        }
+        InputStream in = tableFormatReader.getBinFileCompressionCodec().createInputStream(bufferedStream);
         m_dataCellStreamReader = new DataCellStreamReader(tableFormatReader);
         m_inStream = new BlockableDCObjectInputVersion2(in, m_dataCellStreamReader);
     }
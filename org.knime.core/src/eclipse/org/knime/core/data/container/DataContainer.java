@@ -51,23 +51,12 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.lang.ref.WeakReference;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Callable;
-import java.util.concurrent.Exchanger;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
-import java.util.concurrent.SynchronousQueue;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
@@ -145,12 +134,22 @@ public class DataContainer implements RowAppender {
     public static final int DEF_MIN_FREE_DISC_SPACE_IN_TEMP_IN_MB = 100;
 
     /**
-     * For asynchronous table writing (default) the cache size. It's the number of rows that are kept in memory until
-     * handed off to the write routines.
+     * For asynchronous table writing (default) the cache size. It's the maximum number of rows that are kept in memory
+     * until handed off to the write routines. Rows are usually handed off earlier, once their estimated size reaches
+     * {@link #DEF_ASYNC_BATCH_SIZE_IN_BYTES}.
      *
      * @see KNIMEConstants#PROPERTY_ASYNC_WRITE_CACHE_SIZE
      */
-    public static final int DEF_ASYNC_CACHE_SIZE = 10;
+    public static final int DEF_ASYNC_CACHE_SIZE = 1000;
+
+    /**
+     * For asynchronous table writing (default) the estimated number of bytes of the rows that are kept in memory until
+     * handed off to the write routines.
+     *
+     * @see KNIMEConstants#PROPERTY_ASYNC_WRITE_BATCH_SIZE
+     * @since 3.8
+     */
+    public static final int DEF_ASYNC_BATCH_SIZE_IN_BYTES = 128 * 1024;
 
     /**
      * The default number of possible values being kept at most. If the number of possible values in a column exceeds
@@ -236,6 +235,26 @@ public class DataContainer implements RowAppender {
             }
         }
         ASYNC_CACHE_SIZE = asyncCacheSize;
+
+        int asyncBatchSize = DEF_ASYNC_BATCH_SIZE_IN_BYTES;
+        String envAsyncBatch = KNIMEConstants.PROPERTY_ASYNC_WRITE_BATCH_SIZE;
+        String valAsyncBatch = System.getProperty(envAsyncBatch);
+        if (valAsyncBatch != null) {
+            String s = valAsyncBatch.trim();
+            try {
+                int newSize = Integer.parseInt(s);
+                if (newSize < 0) {
+                    throw new NumberFormatException("async write batch size < 0" + newSize);
+                }
+                asyncBatchSize = newSize;
+                LOGGER.debug("Setting asynchronous write batch size to " + asyncBatchSize + " byte(s)");
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Unable to parse property " + envAsyncBatch + ", using default ("
+                    + DEF_ASYNC_BATCH_SIZE_IN_BYTES + ")", e);
+            }
+        }
+        ASYNC_BATCH_SIZE_IN_BYTES = asyncBatchSize;
+        ASYNC_MAX_PENDING_BYTES = Math.min(256L << 20, Runtime.getRuntime().maxMemory() / 8);
         if (Boolean.getBoolean(KNIMEConstants.PROPERTY_SYNCHRONOUS_IO)) {
             LOGGER.debug("Using synchronous IO; " + KNIMEConstants.PROPERTY_SYNCHRONOUS_IO + " is set");
             SYNCHRONOUS_IO = true;
@@ -268,22 +287,15 @@ public class DataContainer implements RowAppender {
      */
     public static final int MAX_POSSIBLE_VALUES;
 
-    /** Size of buffers. */
+    /** Maximum number of rows in a batch handed off to the write routines. */
     static final int ASYNC_CACHE_SIZE;
 
-    /** The executor, which runs the IO tasks. Currently used only while writing rows. */
-    static final ThreadPoolExecutor ASYNC_EXECUTORS =
-    // see also Executors.newCachedThreadPool(ThreadFactory)
-        new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(),
-            new ThreadFactory() {
-                private final AtomicInteger m_threadCount = new AtomicInteger();
-
-                /** {@inheritDoc} */
-                @Override
-                public Thread newThread(final Runnable r) {
-                    return new Thread(r, "KNIME-TableIO-" + m_threadCount.incrementAndGet());
-                }
-            });
+    /** Estimated number of bytes after which a batch is handed off to the write routines. */
+    static final int ASYNC_BATCH_SIZE_IN_BYTES;
+
+    /** Estimated number of bytes of all batches handed off but not yet written, see
+     * {@link DataContainerWriteService}. */
+    static final long ASYNC_MAX_PENDING_BYTES;
 
     /**
      * Whether to use synchronous IO while adding rows to a buffer or reading from an file iterator. This is by default
@@ -292,7 +304,7 @@ public Thread newThread(final Runnable r) {
     static final boolean SYNCHRONOUS_IO;
 
     /**
-     * the maximum number of asynchronous write threads, each additional container will switch to synchronous mode.
+     * The number of asynchronous write threads, which are shared by all containers.
      */
     static final int MAX_ASYNC_WRITE_THREADS;
 
@@ -301,9 +313,6 @@ public Thread newThread(final Runnable r) {
 
     private static final Object FLUSH_CACHE = new Object();
 
-    /** Put into read queue to signal failure while writing a row. */
-    private static final Object CONTAINER_WRITE_FAILED = new Object();
-
     /**
      * The object that instantiates the buffer, may be set right after constructor call before any rows are added.
      */
@@ -319,26 +328,24 @@ public Thread newThread(final Runnable r) {
     private int m_size;
 
     /**
-     * The object that represent the pending task of adding a data rows to a table.
+     * The writer handing the rows to the write routines of this container.
      */
-    private Future<Void> m_asyncAddFuture;
+    private DataContainerWriteService.Writer m_asyncWriter;
 
     private AtomicReference<Throwable> m_writeThrowable;
 
     /**
      * Whether this container writes synchronously, i.e. when rows come in they get written immediately. If true the
-     * fields {@link #m_asyncAddFuture} and {@link #m_writeThrowable} are null. This field coincides most of times with
-     * the {@link #SYNCHRONOUS_IO}, but may be true if there are too many concurrent write threads (more than
-     * {@value #MAX_ASYNC_WRITE_THREADS}).
+     * fields {@link #m_asyncWriter} and {@link #m_writeThrowable} are null. This field coincides with the
+     * {@link #SYNCHRONOUS_IO} unless synchronous IO is forced.
      */
     private final boolean m_isSynchronousWrite;
 
-    /** The asynchronous queue holding the most recently added rows. */
-    private Exchanger<List<Object>> m_rowBufferExchanger;
-
+    /** The most recently added rows, which haven't been handed off to the writer yet. */
     private List<Object> m_fillingRowBuffer;
 
-    private List<Object> m_emptyingRowBuffer;
+    /** The estimated size of the rows in {@link #m_fillingRowBuffer}. */
+    private long m_fillingRowBufferBytes;
 
     private int m_maxRowsInMemory;
 
@@ -430,25 +437,15 @@ protected DataContainer(final DataTableSpec spec, final boolean initDomain, fina
         }
         m_spec = spec;
         m_duplicateChecker = new DuplicateChecker();
-        boolean isSynchronousWrite = forceSynchronousIO || SYNCHRONOUS_IO;
-        if (!isSynchronousWrite && ASYNC_EXECUTORS.getActiveCount() > MAX_ASYNC_WRITE_THREADS) {
-            LOGGER.debug("Number of Table IO write threads exceeds " + MAX_ASYNC_WRITE_THREADS
-                + " -- switching to synchronous write mode");
-            isSynchronousWrite = true;
-        }
-        m_isSynchronousWrite = isSynchronousWrite;
+        m_isSynchronousWrite = forceSynchronousIO || SYNCHRONOUS_IO;
         if (m_isSynchronousWrite) {
             m_fillingRowBuffer = null;
-            m_emptyingRowBuffer = null;
-            m_asyncAddFuture = null;
-            m_rowBufferExchanger = null;
+            m_asyncWriter = null;
             m_writeThrowable = null;
         } else {
-            m_fillingRowBuffer = new ArrayList<Object>(ASYNC_CACHE_SIZE);
-            m_emptyingRowBuffer = new ArrayList<Object>(ASYNC_CACHE_SIZE);
-            m_rowBufferExchanger = new Exchanger<List<Object>>();
+            m_fillingRowBuffer = new ArrayList<Object>();
             m_writeThrowable = new AtomicReference<Throwable>();
-            m_asyncAddFuture = ASYNC_EXECUTORS.submit(new ASyncWriteCallable(this, NodeContext.getContext()));
+            m_asyncWriter = DataContainerWriteService.getInstance().createWriter(this, NodeContext.getContext());
         }
 
         m_domainCreator = new DataTableDomainCreator(m_spec, initDomain);
@@ -615,12 +612,10 @@ public void close() {
         if (!m_isSynchronousWrite) {
             try {
                 offerToAsynchronousQueue(CONTAINER_CLOSE);
-                m_asyncAddFuture.get();
+                m_asyncWriter.awaitClose();
                 checkAsyncWriteThrowable();
             } catch (InterruptedException e) {
                 throw new DataContainerException("Adding rows to table was interrupted", e);
-            } catch (ExecutionException e) {
-                throw new DataContainerException("Adding rows to table threw exception", e);
             }
         }
         // create table spec _after_ all_ rows have been added (i.e. wait for
@@ -647,38 +642,55 @@ public void close() {
 
     /**
      * Adds the argument object (which will be a DataRow unless when called from close()) to the filling data row queue.
-     * It will exchange the filling queue with the emptying queue from the write thread in case the queue is full.
+     * It will hand off the queue to the writer in case its estimated size exceeds {@link #ASYNC_BATCH_SIZE_IN_BYTES}
+     * (or it holds {@link #ASYNC_CACHE_SIZE} rows). This blocks while the writers are too much behind.
      *
      * @param object the object to add.
      */
     private void offerToAsynchronousQueue(final Object object) {
         m_fillingRowBuffer.add(object);
-        if (m_fillingRowBuffer.size() >= ASYNC_CACHE_SIZE || object == CONTAINER_CLOSE || object == FLUSH_CACHE) {
-            while (true) {
-                try {
-                    m_fillingRowBuffer = m_rowBufferExchanger.exchange(m_fillingRowBuffer, 30, TimeUnit.SECONDS);
-                    if (!m_fillingRowBuffer.isEmpty()) {
-                        Object ob = m_fillingRowBuffer.get(0);
-                        assert ob == CONTAINER_WRITE_FAILED : "Not expected element in write queue: " + ob;
-                        m_fillingRowBuffer.clear();
-                        checkAsyncWriteThrowable();
-                    }
-                    return;
-                } catch (TimeoutException e) {
-                    if (m_asyncAddFuture.isDone()) {
-                        checkAsyncWriteThrowable();
-                        // if we reach this code, the write process has not
-                        // thrown an exception (the above line will likely
-                        // throw an exc.)
-                        throw new DataContainerException("Writing to table has unexpectedly stopped");
-                    }
-                    continue;
-                } catch (InterruptedException e) {
-                    m_asyncAddFuture.cancel(true);
-                    throw new DataContainerException("Adding rows to buffer was interrupted", e);
+        if (object instanceof DataRow) {
+            m_fillingRowBufferBytes += DataContainerWriteService.estimateSize((DataRow)object);
+        }
+        boolean isClose = object == CONTAINER_CLOSE;
+        if (m_fillingRowBufferBytes >= ASYNC_BATCH_SIZE_IN_BYTES || m_fillingRowBuffer.size() >= ASYNC_CACHE_SIZE
+            || isClose || object == FLUSH_CACHE) {
+            try {
+                m_asyncWriter.submit(m_fillingRowBuffer, m_fillingRowBufferBytes, isClose);
+            } catch (InterruptedException e) {
+                throw new DataContainerException("Adding rows to buffer was interrupted", e);
+            }
+            m_fillingRowBuffer = isClose ? null : new ArrayList<Object>();
+            m_fillingRowBufferBytes = 0;
+        }
+    }
+
+    /**
+     * Writes a batch of rows handed off by {@link #offerToAsynchronousQueue(Object)}, called by the
+     * {@link DataContainerWriteService}. Any problem is memorized and reported by the next call of
+     * {@link #addRowToTable(DataRow)} or {@link #close()}, subsequent rows are discarded.
+     *
+     * @param batch the rows and markers to write
+     * @return the number of rows written
+     */
+    int writeAsynchronousBatch(final List<Object> batch) {
+        if (m_writeThrowable.get() != null) {
+            return 0;
+        }
+        int rowCount = 0;
+        try {
+            for (Object obj : batch) {
+                if (obj == FLUSH_CACHE) {
+                    m_buffer.flushBuffer();
+                } else if (obj != CONTAINER_CLOSE) {
+                    addRowToTableWrite((DataRow)obj);
+                    rowCount++;
                 }
             }
+        } catch (Throwable t) {
+            m_writeThrowable.compareAndSet(null, t);
         }
+        return rowCount;
     }
 
     /**
@@ -902,7 +914,7 @@ protected Map<Integer, ContainerTable> getLocalTableRepository() {
 
     /**
      * @return the isSynchronousWrite whether the data is written in the same thread that calls addRow. Property depends
-     *         on system property {@link #SYNCHRONOUS_IO} and the number of concurrent writes.
+     *         on system property {@link #SYNCHRONOUS_IO}.
      */
     boolean isSynchronousWrite() {
         return m_isSynchronousWrite;
@@ -1184,95 +1196,6 @@ public static final boolean isContainerTable(final DataTable table) {
         return table instanceof ContainerTable;
     }
 
-    /**
-     * Background task that will write the output data. This is kept as static inner class in order to allow for a
-     * garbage collection of the outer class (which indicates an early stopped buffer writing).
-     */
-    private static final class ASyncWriteCallable implements Callable<Void> {
-
-        private final WeakReference<DataContainer> m_containerRef;
-
-        private final NodeContext m_context;
-
-        /**
-         * @param cont The outer container.
-         * @param context owner node information, if any.
-         */
-        ASyncWriteCallable(final DataContainer cont, final NodeContext context) {
-            m_context = context;
-            m_containerRef = new WeakReference<DataContainer>(cont);
-        }
-
-        /** {@inheritDoc} */
-        @Override
-        public Void call() throws Exception {
-            NodeContext.pushContext(m_context);
-            try {
-                return callWithContext();
-            } finally {
-                NodeContext.removeLastContext();
-            }
-        }
-
-        private Void callWithContext() throws Exception {
-            DataContainer d = m_containerRef.get();
-            if (d == null) {
-                // data container was already discarded (no rows added)
-                return null;
-            }
-            List<Object> queue = d.m_emptyingRowBuffer;
-            final AtomicReference<Throwable> throwable = d.m_writeThrowable;
-            final Exchanger<List<Object>> exchanger = d.m_rowBufferExchanger;
-            try {
-                do {
-                    final int size = queue.size();
-                    for (int i = 0; i < size; i++) {
-                        Object obj = queue.set(i, null);
-                        if (obj == CONTAINER_CLOSE) {
-                            assert i == size - 1;
-                            // table has been closed
-                            // (some non-DataRow was queued)
-                            return null;
-                        } else if (obj == FLUSH_CACHE) {
-                            assert i == size - 1;
-                            d.m_buffer.flushBuffer();
-                        } else {
-                            DataRow row = (DataRow)obj;
-                            d.addRowToTableWrite(row);
-                        }
-                    }
-                    queue.clear();
-                    d = null;
-                    try {
-                        queue = exchanger.exchange(queue, 30, TimeUnit.SECONDS);
-                    } catch (TimeoutException te) {
-                        // can be safely ignored, do another loop on the same
-                        // (empty!) queue (or don't if container is gc'ed)
-                    }
-                    d = m_containerRef.get();
-                } while (d != null);
-                // m_containerRef.get() returned null -> close() was never
-                // called on the container (which was garbage collected
-                // already); we can end this thread
-                LOGGER.debug("Ending DataContainer write thread since container was garbage collected");
-                return null;
-            } catch (Throwable t) {
-                throwable.compareAndSet(null, t);
-                boolean callExchange = !queue.contains(CONTAINER_CLOSE);
-                queue.clear();
-                queue.add(CONTAINER_WRITE_FAILED);
-                if (callExchange) {
-                    try {
-                        exchanger.exchange(queue, 30, TimeUnit.SECONDS);
-                    } catch (Exception e) {
-                        // ignore
-                    }
-                }
-                return null;
-            }
-        }
-    }
-
     /**
      * Helper class to create a Buffer instance given a binary file and the data table spec.
      */
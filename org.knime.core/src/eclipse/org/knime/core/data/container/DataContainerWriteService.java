@@ -0,0 +1,336 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.collection.CollectionDataValue;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.workflow.NodeContext;
+
+/**
+ * Shared service writing the rows added to asynchronous {@link DataContainer DataContainers}. Rows are handed off in
+ * batches whose size is limited by their (estimated) number of bytes. All containers share a fixed number of writer
+ * threads; the batches of a container are written in the order they were submitted and by one thread at a time, and
+ * the containers take turns after each batch. The bytes of all batches that are submitted but not yet written are
+ * bounded: a container submitting a batch blocks until enough of the pending batches have been written
+ * (backpressure).
+ *
+ * <p>
+ * The metrics of the service (queue depth, pending and written bytes) can be used for monitoring.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+public final class DataContainerWriteService {
+
+    private static final DataContainerWriteService INSTANCE = new DataContainerWriteService(
+        DataContainer.MAX_ASYNC_WRITE_THREADS, DataContainer.ASYNC_MAX_PENDING_BYTES);
+
+    /** Estimated size of a row or cell without its content. */
+    private static final int OBJECT_OVERHEAD = 16;
+
+    /** Estimated size of a cell of an unknown type (and of an element of a collection). */
+    private static final int DEFAULT_CELL_SIZE = 64;
+
+    /** Estimated size of a blob cell, whose content isn't accessed for the estimate. */
+    private static final int BLOB_CELL_SIZE = 4096;
+
+    private final ThreadPoolExecutor m_executor;
+
+    /** Budget of pending bytes in units of kilobytes. */
+    private final Semaphore m_pendingKBytes;
+
+    private final int m_maxPendingKBytes;
+
+    private final AtomicInteger m_queuedBatches = new AtomicInteger();
+
+    private final AtomicLong m_pendingBytes = new AtomicLong();
+
+    private final AtomicLong m_bytesWritten = new AtomicLong();
+
+    private final AtomicLong m_rowsWritten = new AtomicLong();
+
+    /**
+     * @param maxThreads the number of writer threads
+     * @param maxPendingBytes the maximum number of bytes submitted but not yet written
+     */
+    DataContainerWriteService(final int maxThreads, final long maxPendingBytes) {
+        m_maxPendingKBytes = (int)Math.max(1, Math.min(Integer.MAX_VALUE, maxPendingBytes >> 10));
+        m_pendingKBytes = new Semaphore(m_maxPendingKBytes);
+        m_executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                private final AtomicInteger m_threadCount = new AtomicInteger();
+
+                /** {@inheritDoc} */
+                @Override
+                public Thread newThread(final Runnable r) {
+                    return new Thread(r, "KNIME-TableIO-" + m_threadCount.incrementAndGet());
+                }
+            });
+        m_executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * @return the service used by all data containers
+     */
+    public static DataContainerWriteService getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return the number of batches submitted but not yet written
+     */
+    public int getQueuedBatchCount() {
+        return m_queuedBatches.get();
+    }
+
+    /**
+     * @return the estimated number of bytes submitted but not yet written
+     */
+    public long getPendingBytes() {
+        return m_pendingBytes.get();
+    }
+
+    /**
+     * @return the estimated number of bytes written since startup
+     */
+    public long getBytesWritten() {
+        return m_bytesWritten.get();
+    }
+
+    /**
+     * @return the number of rows written since startup
+     */
+    public long getRowsWritten() {
+        return m_rowsWritten.get();
+    }
+
+    /**
+     * @return the number of threads currently writing rows
+     */
+    public int getActiveWriterCount() {
+        return m_executor.getActiveCount();
+    }
+
+    /**
+     * @return the number of writer threads currently alive (idle threads time out)
+     */
+    public int getWriterCount() {
+        return m_executor.getPoolSize();
+    }
+
+    /**
+     * @return the maximum number of writer threads
+     */
+    public int getMaxWriterCount() {
+        return m_executor.getMaximumPoolSize();
+    }
+
+    /**
+     * Estimates the number of bytes a row occupies, which determines the size of a batch. The content of string cells
+     * is accounted for exactly, primitive cells by the size of their value; collections are estimated by their number
+     * of elements and blobs (which are not accessed) as well as any other cell by a constant. The estimate is a rough
+     * measure meant to bound the memory of the pending rows, it isn't exact.
+     *
+     * @param row the row
+     * @return its estimated size in bytes
+     */
+    static long estimateSize(final DataRow row) {
+        long size = OBJECT_OVERHEAD + 2L * row.getKey().getString().length();
+        final int numCells = row.getNumCells();
+        for (int i = 0; i < numCells; i++) {
+            // don't access blobs, they are written separately
+            DataCell cell = row instanceof BlobSupportDataRow ? ((BlobSupportDataRow)row).getRawCell(i)
+                : row.getCell(i);
+            size += estimateSize(cell);
+        }
+        return size;
+    }
+
+    private static long estimateSize(final DataCell cell) {
+        if (cell instanceof StringCell) {
+            return OBJECT_OVERHEAD + 2L * ((StringCell)cell).getStringValue().length();
+        } else if (cell instanceof DoubleCell || cell instanceof LongCell || cell instanceof IntCell
+            || cell instanceof BooleanCell || cell.isMissing()) {
+            return OBJECT_OVERHEAD + 8;
+        } else if (cell instanceof BlobWrapperDataCell || cell instanceof BlobDataCell) {
+            return BLOB_CELL_SIZE;
+        } else if (cell instanceof CollectionDataValue) {
+            // elements aren't accessed, they may be blobs themselves
+            return OBJECT_OVERHEAD + (long)((CollectionDataValue)cell).size() * DEFAULT_CELL_SIZE;
+        }
+        return DEFAULT_CELL_SIZE;
+    }
+
+    /**
+     * Creates the writer of a container, which runs the write routines of the container.
+     *
+     * @param container the container
+     * @param context the node context the rows are written in
+     * @return a new writer
+     */
+    Writer createWriter(final DataContainer container, final NodeContext context) {
+        return new Writer(container, context);
+    }
+
+    /** A batch of rows and markers. */
+    private static final class Batch {
+        private final List<Object> m_objects;
+
+        private final long m_bytes;
+
+        private final int m_kBytes;
+
+        private final boolean m_isLast;
+
+        Batch(final List<Object> objects, final long bytes, final int kBytes, final boolean isLast) {
+            m_objects = objects;
+            m_bytes = bytes;
+            m_kBytes = kBytes;
+            m_isLast = isLast;
+        }
+    }
+
+    /** The writer of one container, which queues its batches until a writer thread is available. */
+    final class Writer {
+        private final DataContainer m_container;
+
+        private final NodeContext m_context;
+
+        /** Guarded by this. */
+        private final Queue<Batch> m_batches = new ArrayDeque<>();
+
+        /** Whether a writer thread is about to write the next batch, guarded by this. */
+        private boolean m_isScheduled;
+
+        private final CountDownLatch m_closedLatch = new CountDownLatch(1);
+
+        Writer(final DataContainer container, final NodeContext context) {
+            m_container = container;
+            m_context = context;
+        }
+
+        /**
+         * Submits a batch for writing, blocks as long as too many bytes are pending.
+         *
+         * @param objects the rows and markers
+         * @param bytes the estimated size of the rows
+         * @param isLast whether it's the last batch of the container
+         * @throws InterruptedException if interrupted while waiting
+         */
+        void submit(final List<Object> objects, final long bytes, final boolean isLast) throws InterruptedException {
+            int kBytes = (int)Math.min(m_maxPendingKBytes, Math.max(1, bytes >> 10));
+            m_pendingKBytes.acquire(kBytes);
+            m_pendingBytes.addAndGet(bytes);
+            m_queuedBatches.incrementAndGet();
+            synchronized (this) {
+                m_batches.add(new Batch(objects, bytes, kBytes, isLast));
+                if (!m_isScheduled) {
+                    m_isScheduled = true;
+                    m_executor.execute(this::writeNextBatch);
+                }
+            }
+        }
+
+        /**
+         * Waits until the last batch has been written.
+         *
+         * @throws InterruptedException if interrupted while waiting
+         */
+        void awaitClose() throws InterruptedException {
+            m_closedLatch.await();
+        }
+
+        private void writeNextBatch() {
+            Batch batch;
+            synchronized (this) {
+                batch = m_batches.poll();
+            }
+            int rowCount = 0;
+            NodeContext.pushContext(m_context);
+            try {
+                rowCount = m_container.writeAsynchronousBatch(batch.m_objects);
+            } finally {
+                NodeContext.removeLastContext();
+                m_queuedBatches.decrementAndGet();
+                m_pendingBytes.addAndGet(-batch.m_bytes);
+                m_bytesWritten.addAndGet(batch.m_bytes);
+                m_rowsWritten.addAndGet(rowCount);
+                m_pendingKBytes.release(batch.m_kBytes);
+                if (batch.m_isLast) {
+                    m_closedLatch.countDown();
+                }
+                synchronized (this) {
+                    if (m_batches.isEmpty()) {
+                        m_isScheduled = false;
+                    } else {
+                        // let other containers take their turn
+                        m_executor.execute(this::writeNextBatch);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -51,11 +51,14 @@
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Optional;
 
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.IDataRepository;
 import org.knime.core.data.container.storage.AbstractTableStoreReader;
 import org.knime.core.data.container.storage.AbstractTableStoreWriter;
+import org.knime.core.data.container.storage.BuiltInCompressionCodec;
+import org.knime.core.data.container.storage.CompressionCodec;
 import org.knime.core.data.container.storage.TableStoreFormat;
 import org.knime.core.node.InvalidSettingsException;
 import org.knime.core.node.KNIMEConstants;
@@ -77,9 +80,13 @@ public final class DefaultTableStoreFormat implements TableStoreFormat {
 
     /**
      * Static field to enable/disable the usage of a GZipInput/OutpuStream when writing the binary data. This option
-     * defaults to {@value DataContainer#DEF_GZIP_COMPRESSION}. */
+     * defaults to {@value DataContainer#DEF_GZIP_COMPRESSION}. Only used if
+     * {@link KNIMEConstants#PROPERTY_TABLE_COMPRESSION_CODEC} is not set. */
     static final boolean IS_USE_GZIP;
 
+    /** The codec used when writing the binary data, see {@link KNIMEConstants#PROPERTY_TABLE_COMPRESSION_CODEC}. */
+    static final CompressionCodec COMPRESSION_CODEC;
+
     static {
         // prefer this block over Boolean.getBoolean(...) to cover typos
         // on command line (warn on console)
@@ -102,12 +109,20 @@ public final class DefaultTableStoreFormat implements TableStoreFormat {
         if (debugLog) {
             LOGGER.debug("Setting table stream compression to " + IS_USE_GZIP);
         }
-    }
-
-    /** Compression on the binary (main) file. */
-    enum CompressionFormat {
-            Gzip,
-            None;
+        final CompressionCodec legacyCodec = IS_USE_GZIP ? BuiltInCompressionCodec.Gzip : BuiltInCompressionCodec.None;
+        final String codecString = System.getProperty(KNIMEConstants.PROPERTY_TABLE_COMPRESSION_CODEC);
+        if (codecString == null) {
+            COMPRESSION_CODEC = legacyCodec;
+        } else {
+            Optional<CompressionCodec> codec = BuiltInCompressionCodec.get(codecString.trim());
+            if (codec.isPresent()) {
+                LOGGER.debug("Setting table stream compression codec to " + codec.get().getName());
+            } else {
+                LOGGER.warn("Unable to read property " + KNIMEConstants.PROPERTY_TABLE_COMPRESSION_CODEC + " (\""
+                        + codecString + "\"); defaulting to " + legacyCodec.getName());
+            }
+            COMPRESSION_CODEC = codec.orElse(legacyCodec);
+        }
     }
 
     @Override
@@ -51,9 +51,10 @@
 import java.io.IOException;
 
 import org.knime.core.data.DataTableSpec;
-import org.knime.core.data.container.Buffer.CompressionFormat;
 import org.knime.core.data.container.storage.AbstractTableStoreReader;
 import org.knime.core.data.container.storage.AbstractTableStoreWriter;
+import org.knime.core.data.container.storage.BuiltInCompressionCodec;
+import org.knime.core.data.container.storage.CompressionCodec;
 import org.knime.core.node.InvalidSettingsException;
 import org.knime.core.node.NodeSettingsRO;
 
@@ -63,7 +64,7 @@
  */
 final class DefaultTableStoreReader extends AbstractTableStoreReader {
 
-    private CompressionFormat m_compressionFormat;
+    private final CompressionCodec m_compressionCodec;
     private final File m_binFile;
     private final DataTableSpec m_spec;
     private final boolean m_isReadRowKey;
@@ -95,22 +96,19 @@ final class DefaultTableStoreReader extends AbstractTableStoreReader {
         m_spec = spec;
         m_isReadRowKey = isReadRowKey;
 
-        final CompressionFormat cF;
+        final CompressionCodec codec;
         if (version < 3) { // stream was not zipped in KNIME 1.1.x
-            cF = CompressionFormat.None;
+            codec = BuiltInCompressionCodec.None;
         } else if (version >= 8) { // added sometime between format 8 and 9 - no increment of version number
             String compFormat =
-                settings.getString(DefaultTableStoreFormat.CFG_COMPRESSION, CompressionFormat.Gzip.name());
-            try {
-                cF = CompressionFormat.valueOf(compFormat);
-            } catch (Exception e) {
-                throw new InvalidSettingsException(String.format("Unable to parse \"%s\" property (\"%s\"): %s",
-                    DefaultTableStoreFormat.CFG_COMPRESSION, compFormat, e.getMessage()), e);
-            }
+                settings.getString(DefaultTableStoreFormat.CFG_COMPRESSION, BuiltInCompressionCodec.Gzip.getName());
+            codec = BuiltInCompressionCodec.get(compFormat).orElseThrow(() -> new InvalidSettingsException(
+                String.format("Unable to parse \"%s\" property (\"%s\"): unknown compression codec",
+                    DefaultTableStoreFormat.CFG_COMPRESSION, compFormat)));
         } else {
-            cF = CompressionFormat.Gzip;
+            codec = BuiltInCompressionCodec.Gzip;
         }
-        m_compressionFormat = cF;
+        m_compressionCodec = codec;
     }
 
     @Override
@@ -130,9 +128,9 @@ public TableStoreCloseableRowIterator iterator() {
         }
     }
 
-    /** @return Whether stream is zipped. */
-    CompressionFormat getBinFileCompressionFormat() {
-        return m_compressionFormat;
+    /** @return The codec the binary stream was compressed with. */
+    CompressionCodec getBinFileCompressionCodec() {
+        return m_compressionCodec;
     }
 
     /** @return Underlying binary file. */
@@ -50,15 +50,14 @@
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.zip.GZIPOutputStream;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.RowKey;
 import org.knime.core.data.container.DCObjectOutputVersion2.BlockableDCObjectOutputVersion2;
-import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
 import org.knime.core.data.container.storage.AbstractTableStoreWriter;
+import org.knime.core.data.container.storage.CompressionCodec;
 import org.knime.core.node.NodeSettingsWO;
 
 /**
@@ -67,7 +66,7 @@
  */
 final class DefaultTableStoreWriter extends AbstractTableStoreWriter implements KNIMEStreamConstants {
 
-    private final CompressionFormat m_compressionFormat;
+    private final CompressionCodec m_compressionCodec;
 
     /**
      * the stream that writes to the file, it's a special object output stream, in which we can mark the end of an entry
@@ -86,7 +85,7 @@ final class DefaultTableStoreWriter extends AbstractTableStoreWriter implements
     public DefaultTableStoreWriter(final DataTableSpec spec, final OutputStream outputStream, final boolean writeRowKey)
         throws IOException {
         super(spec, writeRowKey);
-        m_compressionFormat = DefaultTableStoreFormat.IS_USE_GZIP ? CompressionFormat.Gzip : CompressionFormat.None;
+        m_compressionCodec = DefaultTableStoreFormat.COMPRESSION_CODEC;
         m_outStream = initOutFile(new BufferedOutputStream(outputStream));
     }
 
@@ -127,30 +126,14 @@ void writeRowKey(final RowKey key, final BlockableDCObjectOutputVersion2 outStre
      * Creates short cut array and wraps the argument stream in a {@link DCObjectOutputVersion2}.
      */
     private BlockableDCObjectOutputVersion2 initOutFile(final OutputStream outStream) throws IOException {
-        BlockableOutputStream bos;
-        OutputStream wrap;
-        switch (m_compressionFormat) {
-            case Gzip:
-                wrap = new GZIPOutputStream(outStream);
-                // buffering the input stream is important as the blockable
-                // stream, which will be put on top of it, reads bytes individually
-                // (had a table, on which a single read-scan took ~6min without
-                // and ~30s with buffering)
-                wrap = new BufferedOutputStream(wrap);
-                break;
-            case None:
-                wrap = outStream;
-                break;
-            default:
-                throw new IOException("Unsupported compression format: " + m_compressionFormat);
-        }
+        OutputStream wrap = m_compressionCodec.createOutputStream(outStream);
         return new BlockableDCObjectOutputVersion2(wrap, this);
     }
 
     /** {@inheritDoc} */
     @Override
     public void writeMetaInfoAfterWrite(final NodeSettingsWO settings) {
-        settings.addString(DefaultTableStoreFormat.CFG_COMPRESSION, m_compressionFormat.name());
+        settings.addString(DefaultTableStoreFormat.CFG_COMPRESSION, m_compressionCodec.getName());
         super.writeMetaInfoAfterWrite(settings);
     }
 
@@ -86,7 +86,7 @@
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
 import org.knime.core.node.workflow.WorkflowDataRepository;
-import org.knime.core.util.MultiThreadWorker;
+import org.knime.core.util.BatchedMultiThreadWorker;
 import org.knime.core.util.Pair;
 
 /**
@@ -106,6 +106,12 @@ public final class RearrangeColumnsTable implements DataTable, KnowsRowCountTabl
 
     private static final DataRow DUMMY_ROW = new DefaultRow(DUMMY_KEY, new DataCell[0]);
 
+    /**
+     * Upper bound for the number of rows cached while processing concurrently (the rows in all queued blocks), limits
+     * the block size for large queues.
+     */
+    private static final int MAX_CACHED_ROWS_CONCURRENT = 10000;
+
     /**
      * If this table just filters columns from the reference table, we use this dummy iterator to provide empty appended
      * cells.
@@ -462,11 +468,14 @@ private static void calcNewColsASynchronously(final BufferedDataTable table, fin
         assert facForProgress != null;
         assert workers > 0 : "Nr workers <= 0: " + workers;
         assert queueSize > 0 : "queue size <= 0: " + queueSize;
+        // queue size and workers count blocks of rows
+        int maxBatchSize =
+            Math.max(1, Math.min(BatchedMultiThreadWorker.DEF_MAX_BATCH_SIZE, MAX_CACHED_ROWS_CONCURRENT / queueSize));
         ConcurrentNewColCalculator calculator =
-            new ConcurrentNewColCalculator(queueSize, workers, container, subProgress, finalRowCount,
+            new ConcurrentNewColCalculator(queueSize, workers, maxBatchSize, container, subProgress, finalRowCount,
                 newColsProducerMapping, facForProgress);
         try {
-            calculator.run(table);
+            calculator.runBatched(table);
         } catch (InterruptedException e) {
             CanceledExecutionException cee = new CanceledExecutionException(e.getMessage());
             cee.initCause(e);
@@ -693,9 +702,9 @@ Buffer createBuffer(final File binFile, final File blobDir, final File fileStore
     /**
      * The MultiThreadWorker that processes the input rows concurrently. Only used if the cell factory is an
      * {@link AbstractCellFactory} with parallel processing ( {@link AbstractCellFactory#setParallelProcessing(boolean)}
-     * )
+     * ). Cheap rows are computed in blocks, see {@link BatchedMultiThreadWorker}.
      */
-    private static final class ConcurrentNewColCalculator extends MultiThreadWorker<DataRow, DataRow> {
+    private static final class ConcurrentNewColCalculator extends BatchedMultiThreadWorker<DataRow, DataRow> {
 
         private final ExecutionMonitor m_subProgress;
 
@@ -710,6 +719,7 @@ private static final class ConcurrentNewColCalculator extends MultiThreadWorker<
         /**
          * @param maxQueueSize
          * @param maxActiveInstanceSize
+         * @param maxBatchSize
          * @param table
          * @param subProgress
          * @param reducedList
@@ -717,9 +727,9 @@ private static final class ConcurrentNewColCalculator extends MultiThreadWorker<
          * @param container
          */
         private ConcurrentNewColCalculator(final int maxQueueSize, final int maxActiveInstanceSize,
-            final DataContainer container, final ExecutionMonitor subProgress, final long totalRowCount,
-            final NewColumnsProducerMapping reducedList, final CellFactory facForProgress) {
-            super(maxQueueSize, maxActiveInstanceSize);
+            final int maxBatchSize, final DataContainer container, final ExecutionMonitor subProgress,
+            final long totalRowCount, final NewColumnsProducerMapping reducedList, final CellFactory facForProgress) {
+            super(maxQueueSize, maxActiveInstanceSize, maxBatchSize);
             m_container = container;
             m_subProgress = subProgress;
             m_totalRowCount = totalRowCount;
@@ -729,19 +739,16 @@ private ConcurrentNewColCalculator(final int maxQueueSize, final int maxActiveIn
 
         /** {@inheritDoc} */
         @Override
-        protected DataRow compute(final DataRow in, final long index) throws Exception {
+        protected DataRow computeElement(final DataRow in, final long index) throws Exception {
             return calcNewCellsForRow(in, m_reducedList);
         }
 
         /** {@inheritDoc} */
         @Override
-        protected void processFinished(final ComputationTask task) throws ExecutionException, CancellationException,
-            InterruptedException {
-            int r = (int)task.getIndex(); // row count in table is integer
-            RowKey key = task.getInput().getKey();
-            DataRow append = task.get(); // exception falls through
+        protected void processFinished(final DataRow in, final DataRow append, final long index)
+            throws ExecutionException, CancellationException, InterruptedException {
             m_container.addRowToTable(append);
-            m_facForProgress.setProgress(r + 1, m_totalRowCount, key, m_subProgress);
+            m_facForProgress.setProgress(index + 1, m_totalRowCount, in.getKey(), m_subProgress);
             try {
                 m_subProgress.checkCanceled();
             } catch (CanceledExecutionException cee) {
@@ -0,0 +1,333 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container.columnar;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataType;
+import org.knime.core.data.container.BufferFromFileIteratorVersion20.DataCellStreamReader;
+import org.knime.core.data.container.DCObjectInputVersion2;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Decodes a segment written by a {@link ColumnChunkWriter}. Values are decoded lazily from the underlying (usually
+ * memory mapped) buffer when a cell is requested; the buffer itself is never copied.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+abstract class ColumnChunkReader {
+
+    /** Validity bitmap or <code>null</code> if the chunk does not contain missing values. */
+    private final long[] m_validity;
+
+    /** Foreign cells by their index or <code>null</code> if the chunk does not contain foreign cells. */
+    private final Map<Integer, DataCell> m_foreignCells;
+
+    /**
+     * Reads the validity information and the foreign cells and leaves the argument buffer positioned at the start of
+     * the payload.
+     *
+     * @param segment the segment, positioned at its start, in {@link ColumnarTableStoreFormat#BYTE_ORDER}
+     * @param rowCount number of values in the chunk
+     * @param cellReader reads foreign cells, see {@link ColumnChunkWriter}
+     * @throws IOException if a foreign cell can't be read
+     */
+    ColumnChunkReader(final ByteBuffer segment, final int rowCount, final DataCellStreamReader cellReader)
+        throws IOException {
+        final byte flags = segment.get();
+        if ((flags & ColumnChunkWriter.FLAG_MISSING) != 0) {
+            m_validity = new long[ColumnChunkWriter.bitmapWords(rowCount)];
+            segment.asLongBuffer().get(m_validity);
+            segment.position(segment.position() + m_validity.length * 8);
+        } else {
+            m_validity = null;
+        }
+        if ((flags & ColumnChunkWriter.FLAG_FOREIGN_CELLS) != 0) {
+            m_foreignCells = readForeignCells(segment, cellReader);
+        } else {
+            m_foreignCells = null;
+        }
+    }
+
+    private static Map<Integer, DataCell> readForeignCells(final ByteBuffer segment,
+        final DataCellStreamReader cellReader) throws IOException {
+        final int count = segment.getInt();
+        final int[] indices = new int[count];
+        segment.asIntBuffer().get(indices);
+        segment.position(segment.position() + 4 * count);
+        final int[] offsets = new int[count + 1];
+        segment.asIntBuffer().get(offsets);
+        segment.position(segment.position() + 4 * (count + 1));
+        final Map<Integer, DataCell> foreignCells = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            final byte[] bytes = new byte[offsets[i + 1] - offsets[i]];
+            segment.get(bytes);
+            final DCObjectInputVersion2 in = new DCObjectInputVersion2(new ByteArrayInputStream(bytes), cellReader);
+            foreignCells.put(indices[i], cellReader.readDataCell(in));
+        }
+        return foreignCells;
+    }
+
+    /**
+     * Get the cell at the given index.
+     *
+     * @param index the index in the chunk
+     * @return the cell, possibly the missing cell
+     * @throws IOException if the segment is corrupt
+     */
+    final DataCell getCell(final int index) throws IOException {
+        if (m_validity != null && (m_validity[index >>> 6] & (1L << index)) == 0) {
+            return DataType.getMissingCell();
+        }
+        if (m_foreignCells != null) {
+            final DataCell foreignCell = m_foreignCells.get(index);
+            if (foreignCell != null) {
+                return foreignCell;
+            }
+        }
+        return getValue(index);
+    }
+
+    /**
+     * @param index the index in the chunk, whose value is known to be present and not to be a foreign cell
+     * @return the cell
+     * @throws IOException if the segment is corrupt
+     */
+    abstract DataCell getValue(int index) throws IOException;
+
+    /**
+     * Slices the remaining content of the argument buffer, retaining the byte order.
+     *
+     * @param segment the buffer
+     * @return a new buffer sharing the content
+     */
+    static ByteBuffer slice(final ByteBuffer segment) {
+        return segment.slice().order(ColumnarTableStoreFormat.BYTE_ORDER);
+    }
+
+    /** Reader for {@link IntCell}s. */
+    static final class IntChunkReader extends ColumnChunkReader {
+
+        private final IntBuffer m_values;
+
+        IntChunkReader(final ByteBuffer segment, final int rowCount, final DataCellStreamReader cellReader)
+            throws IOException {
+            super(segment, rowCount, cellReader);
+            m_values = slice(segment).asIntBuffer();
+        }
+
+        @Override
+        DataCell getValue(final int index) {
+            return new IntCell(m_values.get(index));
+        }
+    }
+
+    /** Reader for {@link LongCell}s. */
+    static final class LongChunkReader extends ColumnChunkReader {
+
+        private final LongBuffer m_values;
+
+        LongChunkReader(final ByteBuffer segment, final int rowCount, final DataCellStreamReader cellReader)
+            throws IOException {
+            super(segment, rowCount, cellReader);
+            m_values = slice(segment).asLongBuffer();
+        }
+
+        @Override
+        DataCell getValue(final int index) {
+            return new LongCell(m_values.get(index));
+        }
+    }
+
+    /** Reader for {@link DoubleCell}s. */
+    static final class DoubleChunkReader extends ColumnChunkReader {
+
+        private final DoubleBuffer m_values;
+
+        DoubleChunkReader(final ByteBuffer segment, final int rowCount, final DataCellStreamReader cellReader)
+            throws IOException {
+            super(segment, rowCount, cellReader);
+            m_values = slice(segment).asDoubleBuffer();
+        }
+
+        @Override
+        DataCell getValue(final int index) {
+            return new DoubleCell(m_values.get(index));
+        }
+    }
+
+    /** Reader for {@link BooleanCell}s. */
+    static final class BooleanChunkReader extends ColumnChunkReader {
+
+        private final LongBuffer m_values;
+
+        BooleanChunkReader(final ByteBuffer segment, final int rowCount, final DataCellStreamReader cellReader)
+            throws IOException {
+            super(segment, rowCount, cellReader);
+            m_values = slice(segment).asLongBuffer();
+        }
+
+        @Override
+        DataCell getValue(final int index) {
+            return BooleanCell.get((m_values.get(index >>> 6) & (1L << index)) != 0);
+        }
+    }
+
+    /**
+     * Reader for strings (cells and row keys). Dictionary entries are decoded once per chunk so that repeated values
+     * share the same {@link StringCell} instance.
+     */
+    static final class StringChunkReader extends ColumnChunkReader {
+
+        private final IntBuffer m_offsets;
+
+        private final ByteBuffer m_bytes;
+
+        /** Decoded dictionary, <code>null</code> if the strings are stored plain. */
+        private final StringCell[] m_dictionary;
+
+        private final ByteBuffer m_codes;
+
+        private final int m_codeWidth;
+
+        StringChunkReader(final ByteBuffer segment, final int rowCount, final DataCellStreamReader cellReader)
+            throws IOException {
+            super(segment, rowCount, cellReader);
+            final byte encoding = segment.get();
+            final int stringCount = segment.getInt();
+            m_offsets = slice(segment).asIntBuffer();
+            segment.position(segment.position() + 4 * (stringCount + 1));
+            final int byteCount = m_offsets.get(stringCount);
+            m_bytes = slice(segment);
+            if (encoding == ColumnChunkWriter.StringChunkWriter.ENCODING_DICTIONARY) {
+                segment.position(segment.position() + byteCount);
+                m_codeWidth = segment.get();
+                m_codes = slice(segment);
+                m_dictionary = new StringCell[stringCount];
+                for (int i = 0; i < stringCount; i++) {
+                    m_dictionary[i] = new StringCell(getString(i));
+                }
+            } else {
+                m_codeWidth = 0;
+                m_codes = null;
+                m_dictionary = null;
+            }
+        }
+
+        /**
+         * @param index index of the string in the string section (row index for plain encoding, dictionary index
+         *            otherwise)
+         * @return the decoded string
+         */
+        String getString(final int index) {
+            final int start = m_offsets.get(index);
+            final byte[] bytes = new byte[m_offsets.get(index + 1) - start];
+            final ByteBuffer dup = m_bytes.duplicate();
+            dup.position(start);
+            dup.get(bytes);
+            return decodeModifiedUTF8(bytes);
+        }
+
+        /**
+         * Decodes bytes written by {@link ColumnChunkWriter.StringChunkWriter#encodeModifiedUTF8(String)}.
+         *
+         * @param bytes the modified UTF-8 bytes
+         * @return the string
+         */
+        static String decodeModifiedUTF8(final byte[] bytes) {
+            final char[] chars = new char[bytes.length];
+            int length = 0;
+            for (int i = 0; i < bytes.length;) {
+                final int b = bytes[i++] & 0xFF;
+                if (b < 0x80) {
+                    chars[length++] = (char)b;
+                } else if (b < 0xE0) {
+                    chars[length++] = (char)(((b & 0x1F) << 6) | (bytes[i++] & 0x3F));
+                } else {
+                    chars[length++] = (char)(((b & 0x0F) << 12) | ((bytes[i++] & 0x3F) << 6) | (bytes[i++] & 0x3F));
+                }
+            }
+            return new String(chars, 0, length);
+        }
+
+        @Override
+        DataCell getValue(final int index) throws IOException {
+            if (m_dictionary == null) {
+                return new StringCell(getString(index));
+            }
+            final int code;
+            switch (m_codeWidth) {
+                case 1:
+                    code = m_codes.get(index) & 0xFF;
+                    break;
+                case 2:
+                    code = m_codes.getShort(index * 2) & 0xFFFF;
+                    break;
+                case 4:
+                    code = m_codes.getInt(index * 4);
+                    break;
+                default:
+                    throw new IOException("Invalid dictionary code width: " + m_codeWidth);
+            }
+            return m_dictionary[code];
+        }
+    }
+
+}
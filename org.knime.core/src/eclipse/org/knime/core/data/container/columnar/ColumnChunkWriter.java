@@ -0,0 +1,538 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container.columnar;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.knime.core.data.BooleanValue;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.LongValue;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.container.DCObjectOutputVersion2;
+import org.knime.core.data.container.storage.AbstractTableStoreWriter;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Collects the values of a single column for one chunk of rows and encodes them into a segment. A segment consists of
+ * a flag byte, an optional validity bitmap (one bit per row, set if the value is present), an optional section of
+ * foreign cells and the type specific payload. All numbers are written in {@link ColumnarTableStoreFormat#BYTE_ORDER}.
+ *
+ * <p>
+ * Foreign cells are cells whose class differs from the cell class of the column type, e.g. an {@link IntCell} in a
+ * {@link DoubleCell#TYPE} column. They are serialized the same way the
+ * {@link org.knime.core.data.container.DefaultTableStoreFormat} writes cells so that they are read back as they were
+ * added, their slots in the payload are left empty.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+abstract class ColumnChunkWriter {
+
+    /** Bit in the flag byte of a segment, set if the segment contains missing values. */
+    static final byte FLAG_MISSING = 1;
+
+    /** Bit in the flag byte of a segment, set if the segment contains foreign cells. */
+    static final byte FLAG_FOREIGN_CELLS = 2;
+
+    private final Class<? extends DataCell> m_cellClass;
+
+    private final long[] m_validity;
+
+    private int m_size;
+
+    private boolean m_hasMissing;
+
+    /** Indices of the foreign cells in the chunk, in ascending order. */
+    private final List<Integer> m_foreignIndices = new ArrayList<>();
+
+    /** The foreign cells, parallel to {@link #m_foreignIndices}. */
+    private final List<DataCell> m_foreignCells = new ArrayList<>();
+
+    /** The serialized foreign cells, set in {@link #prepareEncoding(AbstractTableStoreWriter)}. */
+    private byte[][] m_encodedForeignCells;
+
+    /**
+     * @param capacity maximum number of values in a chunk
+     * @param cellClass the cell class of the column type, cells of other classes are stored as foreign cells
+     */
+    ColumnChunkWriter(final int capacity, final Class<? extends DataCell> cellClass) {
+        m_validity = new long[bitmapWords(capacity)];
+        m_cellClass = cellClass;
+    }
+
+    /**
+     * Adds the next value of the chunk.
+     *
+     * @param cell the cell, possibly missing
+     */
+    final void add(final DataCell cell) {
+        if (cell.isMissing()) {
+            m_hasMissing = true;
+            m_size++;
+        } else if (cell.getClass() == m_cellClass) {
+            addValue(markPresent(), cell);
+        } else {
+            m_foreignIndices.add(markPresent());
+            m_foreignCells.add(cell);
+        }
+    }
+
+    /**
+     * Appends a non-missing slot to the chunk.
+     *
+     * @return the index of the new slot
+     */
+    final int markPresent() {
+        final int index = m_size++;
+        m_validity[index >>> 6] |= 1L << index;
+        return index;
+    }
+
+    /** @return number of values added since the last {@link #reset()}. */
+    final int size() {
+        return m_size;
+    }
+
+    /**
+     * Prepares the encoding of the current chunk and returns the number of bytes required to write it.
+     *
+     * @param tableStoreWriter the writer of the table, used to serialize foreign cells
+     * @return size of the segment in bytes
+     * @throws IOException if a foreign cell can't be serialized
+     */
+    final int prepareEncoding(final AbstractTableStoreWriter tableStoreWriter) throws IOException {
+        int validityBytes = m_hasMissing ? bitmapWords(m_size) * 8 : 0;
+        int foreignBytes = 0;
+        m_encodedForeignCells = null;
+        if (!m_foreignCells.isEmpty()) {
+            m_encodedForeignCells = new byte[m_foreignCells.size()][];
+            foreignBytes = 4 + 4 * m_foreignCells.size() + 4 * (m_foreignCells.size() + 1);
+            for (int i = 0; i < m_encodedForeignCells.length; i++) {
+                m_encodedForeignCells[i] = serialize(m_foreignCells.get(i), tableStoreWriter);
+                foreignBytes += m_encodedForeignCells[i].length;
+            }
+        }
+        return 1 + validityBytes + foreignBytes + preparePayload(m_size);
+    }
+
+    /** Serializes the cell like the default format does (type shortcut followed by the cell's serializer output). */
+    private static byte[] serialize(final DataCell cell, final AbstractTableStoreWriter tableStoreWriter)
+        throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DCObjectOutputVersion2 out = new DCObjectOutputVersion2(bytes, tableStoreWriter)) {
+            tableStoreWriter.writeDataCell(cell, out);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Writes the segment into the argument buffer; {@link #prepareEncoding(AbstractTableStoreWriter)} must have been
+     * called before.
+     *
+     * @param buffer to write to, having at least the space returned by
+     *            {@link #prepareEncoding(AbstractTableStoreWriter)}
+     */
+    final void encode(final ByteBuffer buffer) {
+        final int flags = (m_hasMissing ? FLAG_MISSING : 0) | (m_encodedForeignCells != null ? FLAG_FOREIGN_CELLS : 0);
+        buffer.put((byte)flags);
+        if (m_hasMissing) {
+            for (int i = 0, words = bitmapWords(m_size); i < words; i++) {
+                buffer.putLong(m_validity[i]);
+            }
+        }
+        if (m_encodedForeignCells != null) {
+            buffer.putInt(m_encodedForeignCells.length);
+            for (int index : m_foreignIndices) {
+                buffer.putInt(index);
+            }
+            int offset = 0;
+            buffer.putInt(offset);
+            for (byte[] encoded : m_encodedForeignCells) {
+                offset += encoded.length;
+                buffer.putInt(offset);
+            }
+            for (byte[] encoded : m_encodedForeignCells) {
+                buffer.put(encoded);
+            }
+        }
+        encodePayload(buffer, m_size);
+    }
+
+    /** Clears the content so that the writer can be used for the next chunk. */
+    final void reset() {
+        Arrays.fill(m_validity, 0L);
+        m_size = 0;
+        m_hasMissing = false;
+        m_foreignIndices.clear();
+        m_foreignCells.clear();
+        m_encodedForeignCells = null;
+        resetPayload();
+    }
+
+    /**
+     * Stores a non-missing value.
+     *
+     * @param index the index in the chunk
+     * @param cell the non-missing cell, an instance of the cell class of the column type
+     */
+    abstract void addValue(int index, DataCell cell);
+
+    /**
+     * @param size number of values in the chunk
+     * @return number of bytes needed to encode the payload
+     */
+    abstract int preparePayload(int size);
+
+    /**
+     * @param buffer to write to
+     * @param size number of values in the chunk
+     */
+    abstract void encodePayload(ByteBuffer buffer, int size);
+
+    /** Called when the chunk is reset, by default does nothing (primitive values are overwritten). */
+    void resetPayload() {
+    }
+
+    /**
+     * @param bits number of bits
+     * @return number of longs needed to store the bits
+     */
+    static int bitmapWords(final int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    /** Writer for {@link IntValue}s. */
+    static final class IntChunkWriter extends ColumnChunkWriter {
+
+        private final int[] m_values;
+
+        IntChunkWriter(final int capacity) {
+            super(capacity, IntCell.class);
+            m_values = new int[capacity];
+        }
+
+        @Override
+        void addValue(final int index, final DataCell cell) {
+            m_values[index] = ((IntValue)cell).getIntValue();
+        }
+
+        @Override
+        int preparePayload(final int size) {
+            return size * 4;
+        }
+
+        @Override
+        void encodePayload(final ByteBuffer buffer, final int size) {
+            buffer.asIntBuffer().put(m_values, 0, size);
+            buffer.position(buffer.position() + size * 4);
+        }
+    }
+
+    /** Writer for {@link LongValue}s. */
+    static final class LongChunkWriter extends ColumnChunkWriter {
+
+        private final long[] m_values;
+
+        LongChunkWriter(final int capacity) {
+            super(capacity, LongCell.class);
+            m_values = new long[capacity];
+        }
+
+        @Override
+        void addValue(final int index, final DataCell cell) {
+            m_values[index] = ((LongValue)cell).getLongValue();
+        }
+
+        @Override
+        int preparePayload(final int size) {
+            return size * 8;
+        }
+
+        @Override
+        void encodePayload(final ByteBuffer buffer, final int size) {
+            buffer.asLongBuffer().put(m_values, 0, size);
+            buffer.position(buffer.position() + size * 8);
+        }
+    }
+
+    /** Writer for {@link DoubleValue}s. */
+    static final class DoubleChunkWriter extends ColumnChunkWriter {
+
+        private final double[] m_values;
+
+        DoubleChunkWriter(final int capacity) {
+            super(capacity, DoubleCell.class);
+            m_values = new double[capacity];
+        }
+
+        @Override
+        void addValue(final int index, final DataCell cell) {
+            m_values[index] = ((DoubleValue)cell).getDoubleValue();
+        }
+
+        @Override
+        int preparePayload(final int size) {
+            return size * 8;
+        }
+
+        @Override
+        void encodePayload(final ByteBuffer buffer, final int size) {
+            buffer.asDoubleBuffer().put(m_values, 0, size);
+            buffer.position(buffer.position() + size * 8);
+        }
+    }
+
+    /** Writer for {@link BooleanValue}s, values are stored as bitmap. */
+    static final class BooleanChunkWriter extends ColumnChunkWriter {
+
+        private final long[] m_values;
+
+        BooleanChunkWriter(final int capacity) {
+            super(capacity, BooleanCell.class);
+            m_values = new long[bitmapWords(capacity)];
+        }
+
+        @Override
+        void addValue(final int index, final DataCell cell) {
+            if (((BooleanValue)cell).getBooleanValue()) {
+                m_values[index >>> 6] |= 1L << index;
+            }
+        }
+
+        @Override
+        int preparePayload(final int size) {
+            return bitmapWords(size) * 8;
+        }
+
+        @Override
+        void encodePayload(final ByteBuffer buffer, final int size) {
+            for (int i = 0, words = bitmapWords(size); i < words; i++) {
+                buffer.putLong(m_values[i]);
+            }
+        }
+
+        @Override
+        void resetPayload() {
+            Arrays.fill(m_values, 0L);
+        }
+    }
+
+    /**
+     * Writer for {@link StringValue}s (and row keys). If the chunk contains at most half as many distinct values as
+     * rows the strings are dictionary encoded, otherwise they are stored plain (offset array followed by the modified
+     * UTF-8 bytes, see {@link java.io.DataInput#readUTF()}, which unlike standard UTF-8 also round-trips unpaired
+     * surrogates).
+     */
+    static final class StringChunkWriter extends ColumnChunkWriter {
+
+        /** Encoding marker for plain strings. */
+        static final byte ENCODING_PLAIN = 0;
+
+        /** Encoding marker for dictionary encoded strings. */
+        static final byte ENCODING_DICTIONARY = 1;
+
+        private final String[] m_values;
+
+        private final boolean m_allowDictionary;
+
+        private byte[][] m_encodedStrings;
+
+        private int m_encodedStringCount;
+
+        private int[] m_codes;
+
+        private int m_codeWidth;
+
+        /**
+         * @param capacity maximum number of values in a chunk
+         * @param allowDictionary whether dictionary encoding is considered at all (false for row keys, which are
+         *            unique)
+         */
+        StringChunkWriter(final int capacity, final boolean allowDictionary) {
+            super(capacity, StringCell.class);
+            m_values = new String[capacity];
+            m_allowDictionary = allowDictionary;
+        }
+
+        @Override
+        void addValue(final int index, final DataCell cell) {
+            m_values[index] = ((StringValue)cell).getStringValue();
+        }
+
+        /** @param value the non-null string to add (used for row keys). */
+        void addString(final String value) {
+            m_values[markPresent()] = value;
+        }
+
+        @Override
+        int preparePayload(final int size) {
+            m_codes = null;
+            if (m_allowDictionary) {
+                Map<String, Integer> dictionary = new HashMap<>();
+                int[] codes = new int[size];
+                for (int i = 0; i < size && dictionary.size() <= size / 2; i++) {
+                    if (m_values[i] != null) {
+                        Integer code = dictionary.get(m_values[i]);
+                        if (code == null) {
+                            code = dictionary.size();
+                            dictionary.put(m_values[i], code);
+                        }
+                        codes[i] = code;
+                    }
+                }
+                if (dictionary.size() <= size / 2) {
+                    m_codes = codes;
+                    String[] entries = new String[dictionary.size()];
+                    for (Map.Entry<String, Integer> e : dictionary.entrySet()) {
+                        entries[e.getValue()] = e.getKey();
+                    }
+                    m_codeWidth = entries.length <= 0xFF ? 1 : (entries.length <= 0xFFFF ? 2 : 4);
+                    return 2 + encodeStrings(entries, entries.length) + size * m_codeWidth;
+                }
+            }
+            return 1 + encodeStrings(m_values, size);
+        }
+
+        /**
+         * Encodes the strings in modified UTF-8 (null is encoded as empty string), returns the bytes needed to store
+         * them.
+         */
+        private int encodeStrings(final String[] strings, final int count) {
+            m_encodedStrings = new byte[count][];
+            m_encodedStringCount = count;
+            int length = 4 + 4 * (count + 1);
+            for (int i = 0; i < count; i++) {
+                m_encodedStrings[i] = strings[i] == null ? new byte[0] : encodeModifiedUTF8(strings[i]);
+                length += m_encodedStrings[i].length;
+            }
+            return length;
+        }
+
+        @Override
+        void encodePayload(final ByteBuffer buffer, final int size) {
+            buffer.put(m_codes != null ? ENCODING_DICTIONARY : ENCODING_PLAIN);
+            buffer.putInt(m_encodedStringCount);
+            int offset = 0;
+            buffer.putInt(offset);
+            for (int i = 0; i < m_encodedStringCount; i++) {
+                offset += m_encodedStrings[i].length;
+                buffer.putInt(offset);
+            }
+            for (int i = 0; i < m_encodedStringCount; i++) {
+                buffer.put(m_encodedStrings[i]);
+            }
+            if (m_codes != null) {
+                buffer.put((byte)m_codeWidth);
+                for (int i = 0; i < size; i++) {
+                    switch (m_codeWidth) {
+                        case 1:
+                            buffer.put((byte)m_codes[i]);
+                            break;
+                        case 2:
+                            buffer.putShort((short)m_codes[i]);
+                            break;
+                        default:
+                            buffer.putInt(m_codes[i]);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Encodes a string like {@link java.io.DataOutput#writeUTF(String)} but without the length prefix and without
+         * its length limit.
+         *
+         * @param s the string
+         * @return the modified UTF-8 bytes
+         */
+        static byte[] encodeModifiedUTF8(final String s) {
+            final int length = s.length();
+            int byteCount = 0;
+            for (int i = 0; i < length; i++) {
+                final char c = s.charAt(i);
+                byteCount += c >= 0x0001 && c <= 0x007F ? 1 : (c <= 0x07FF ? 2 : 3);
+            }
+            final byte[] bytes = new byte[byteCount];
+            int pos = 0;
+            for (int i = 0; i < length; i++) {
+                final char c = s.charAt(i);
+                if (c >= 0x0001 && c <= 0x007F) {
+                    bytes[pos++] = (byte)c;
+                } else if (c <= 0x07FF) {
+                    bytes[pos++] = (byte)(0xC0 | (c >> 6));
+                    bytes[pos++] = (byte)(0x80 | (c & 0x3F));
+                } else {
+                    bytes[pos++] = (byte)(0xE0 | (c >> 12));
+                    bytes[pos++] = (byte)(0x80 | ((c >> 6) & 0x3F));
+                    bytes[pos++] = (byte)(0x80 | (c & 0x3F));
+                }
+            }
+            return bytes;
+        }
+
+        @Override
+        void resetPayload() {
+            Arrays.fill(m_values, null);
+            m_encodedStrings = null;
+            m_codes = null;
+        }
+    }
+
+}
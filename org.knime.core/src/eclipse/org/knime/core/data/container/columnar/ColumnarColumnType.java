@@ -0,0 +1,205 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container.columnar;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.container.BufferFromFileIteratorVersion20.DataCellStreamReader;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * The column types that can be persisted by the {@link ColumnarTableStoreFormat}. Each type knows how to create a
+ * writer that collects a chunk of values into primitive arrays and a reader that decodes such a chunk from a (memory
+ * mapped) byte buffer.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+enum ColumnarColumnType {
+
+    /** {@link IntCell}, 4 bytes per value. */
+    INT(IntCell.TYPE, 4) {
+        @Override
+        ColumnChunkWriter createChunkWriter(final int capacity) {
+            return new ColumnChunkWriter.IntChunkWriter(capacity);
+        }
+
+        @Override
+        ColumnChunkReader createChunkReader(final ByteBuffer segment, final int rowCount,
+            final DataCellStreamReader cellReader) throws IOException {
+            return new ColumnChunkReader.IntChunkReader(segment, rowCount, cellReader);
+        }
+    },
+
+    /** {@link LongCell}, 8 bytes per value. */
+    LONG(LongCell.TYPE, 8) {
+        @Override
+        ColumnChunkWriter createChunkWriter(final int capacity) {
+            return new ColumnChunkWriter.LongChunkWriter(capacity);
+        }
+
+        @Override
+        ColumnChunkReader createChunkReader(final ByteBuffer segment, final int rowCount,
+            final DataCellStreamReader cellReader) throws IOException {
+            return new ColumnChunkReader.LongChunkReader(segment, rowCount, cellReader);
+        }
+    },
+
+    /** {@link DoubleCell}, 8 bytes per value. */
+    DOUBLE(DoubleCell.TYPE, 8) {
+        @Override
+        ColumnChunkWriter createChunkWriter(final int capacity) {
+            return new ColumnChunkWriter.DoubleChunkWriter(capacity);
+        }
+
+        @Override
+        ColumnChunkReader createChunkReader(final ByteBuffer segment, final int rowCount,
+            final DataCellStreamReader cellReader) throws IOException {
+            return new ColumnChunkReader.DoubleChunkReader(segment, rowCount, cellReader);
+        }
+    },
+
+    /** {@link BooleanCell}, one bit per value. */
+    BOOLEAN(BooleanCell.TYPE, 1) {
+        @Override
+        ColumnChunkWriter createChunkWriter(final int capacity) {
+            return new ColumnChunkWriter.BooleanChunkWriter(capacity);
+        }
+
+        @Override
+        ColumnChunkReader createChunkReader(final ByteBuffer segment, final int rowCount,
+            final DataCellStreamReader cellReader) throws IOException {
+            return new ColumnChunkReader.BooleanChunkReader(segment, rowCount, cellReader);
+        }
+    },
+
+    /** {@link StringCell}, dictionary encoded if there are few distinct values in a chunk. */
+    STRING(StringCell.TYPE, 32) {
+        @Override
+        ColumnChunkWriter createChunkWriter(final int capacity) {
+            return new ColumnChunkWriter.StringChunkWriter(capacity, true);
+        }
+
+        @Override
+        ColumnChunkReader createChunkReader(final ByteBuffer segment, final int rowCount,
+            final DataCellStreamReader cellReader) throws IOException {
+            return new ColumnChunkReader.StringChunkReader(segment, rowCount, cellReader);
+        }
+    };
+
+    private final DataType m_type;
+
+    private final int m_estimatedBytesPerValue;
+
+    private ColumnarColumnType(final DataType type, final int estimatedBytesPerValue) {
+        m_type = type;
+        m_estimatedBytesPerValue = estimatedBytesPerValue;
+    }
+
+    /** @return a rough estimate of the number of bytes a single value occupies on disc, used to size chunks. */
+    int getEstimatedBytesPerValue() {
+        return m_estimatedBytesPerValue;
+    }
+
+    /**
+     * Creates a new writer collecting up to <code>capacity</code> values.
+     *
+     * @param capacity the maximum number of values in a chunk
+     * @return a new writer
+     */
+    abstract ColumnChunkWriter createChunkWriter(int capacity);
+
+    /**
+     * Creates a reader on a segment previously written by a writer created via {@link #createChunkWriter(int)}.
+     *
+     * @param segment the segment, positioned at its start and limited to its end
+     * @param rowCount the number of values in the segment
+     * @param cellReader reads the foreign cells of the segment
+     * @return a new reader
+     * @throws IOException if a foreign cell can't be read
+     */
+    abstract ColumnChunkReader createChunkReader(ByteBuffer segment, int rowCount, DataCellStreamReader cellReader)
+        throws IOException;
+
+    /**
+     * Finds the column type for a given data type. Only exact matches are supported, e.g. a column whose type is a
+     * super type of {@link IntCell#TYPE} is not supported.
+     *
+     * @param type the type in question
+     * @return the corresponding column type or <code>null</code> if the type can't be stored column-wise
+     */
+    static ColumnarColumnType get(final DataType type) {
+        for (ColumnarColumnType t : values()) {
+            if (t.m_type.equals(type)) {
+                return t;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Determines the column types for all columns in the argument spec.
+     *
+     * @param spec the spec of the table
+     * @return the column types, possibly containing <code>null</code> elements for unsupported columns
+     */
+    static ColumnarColumnType[] get(final DataTableSpec spec) {
+        ColumnarColumnType[] types = new ColumnarColumnType[spec.getNumColumns()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = get(spec.getColumnSpec(i).getType());
+        }
+        return types;
+    }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container.columnar;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteOrder;
+
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.IDataRepository;
+import org.knime.core.data.container.storage.AbstractTableStoreReader;
+import org.knime.core.data.container.storage.AbstractTableStoreWriter;
+import org.knime.core.data.container.storage.TableStoreFormat;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeSettingsRO;
+
+/**
+ * Table format that stores the data column by column in chunks of rows. Each column of a chunk is written as a
+ * fixed-width primitive segment (with an optional validity bitmap for missing values, strings are dictionary encoded
+ * where beneficial). Files are read via memory mapping and iterators that were created with a column filter (see
+ * {@link org.knime.core.data.RowIteratorBuilder#filterColumns(int...)}) only touch the segments of the selected
+ * columns.
+ *
+ * <p>
+ * The format only accepts tables whose columns are all of type {@link IntCell}, {@link LongCell},
+ * {@link DoubleCell}, {@link BooleanCell} or {@link StringCell}; other tables are written using the
+ * {@link org.knime.core.data.container.DefaultTableStoreFormat}. Missing values are stored without their error
+ * message. Cells whose class differs from the column type (e.g. an {@link IntCell} in a {@link DoubleCell} column) are
+ * serialized individually, like the default format does, so that they are read back unchanged.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @noextend This class is not intended to be subclassed by clients.
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class ColumnarTableStoreFormat implements TableStoreFormat {
+
+    /** Byte order used for all numbers in the file. */
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    /** Magic number at the start of the chunk index and at the very end of the file. */
+    static final int MAGIC_NUMBER = 0x4B4E4343;
+
+    /** Version of the binary layout, increment on incompatible changes. */
+    static final int FORMAT_VERSION = 1;
+
+    /** Config key for the number of rows per chunk (informational). */
+    static final String CFG_CHUNK_SIZE = "columnar.chunk.size";
+
+    private static final String VERSION = "columnar_" + FORMAT_VERSION;
+
+    @Override
+    public String getName() {
+        return "Columnar (primitive types only, memory mapped)";
+    }
+
+    @Override
+    public String getFilenameSuffix() {
+        return ".col";
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean accepts(final DataTableSpec spec) {
+        for (ColumnarColumnType t : ColumnarColumnType.get(spec)) {
+            if (t == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AbstractTableStoreWriter createWriter(final File binFile, final DataTableSpec spec,
+        final boolean writeRowKey) throws IOException {
+        return createWriter(new FileOutputStream(binFile), spec, writeRowKey);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AbstractTableStoreWriter createWriter(final OutputStream output, final DataTableSpec spec,
+        final boolean writeRowKey) throws IOException {
+        return new ColumnarTableStoreWriter(spec, output, writeRowKey);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AbstractTableStoreReader createReader(final File binFile, final DataTableSpec spec,
+        final IDataRepository dataRepository, final NodeSettingsRO settings, final int version,
+        final boolean isReadRowKey) throws IOException, InvalidSettingsException {
+        return new ColumnarTableStoreReader(binFile, spec, settings, version, isReadRowKey);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getVersion() {
+        return VERSION;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean validateVersion(final String versionString) {
+        return VERSION.equals(versionString);
+    }
+
+}
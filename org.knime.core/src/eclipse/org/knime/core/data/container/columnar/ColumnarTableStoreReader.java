@@ -0,0 +1,397 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container.columnar;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowIteratorBuilder;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.UnmaterializedCell;
+import org.knime.core.data.container.BlobSupportDataRow;
+import org.knime.core.data.container.BufferFromFileIteratorVersion20.DataCellStreamReader;
+import org.knime.core.data.container.storage.AbstractTableStoreReader;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.NodeSettingsRO;
+
+/**
+ * Reader for the {@link ColumnarTableStoreFormat}. The chunk index is read once when the reader is created; iterators
+ * memory map one chunk at a time and only decode the segments of the columns they were asked for (see
+ * {@link #iteratorBuilder()}), all other cells are returned as {@link UnmaterializedCell}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class ColumnarTableStoreReader extends AbstractTableStoreReader {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(ColumnarTableStoreReader.class);
+
+    private final ColumnarColumnType[] m_types;
+
+    private final boolean m_isReadRowKey;
+
+    /** Whether the file contains the row keys (as first segment of each chunk). */
+    private final boolean m_hasRowKeySegment;
+
+    private final int[] m_chunkRowCounts;
+
+    private final long[][] m_segmentOffsets;
+
+    private final int[][] m_segmentLengths;
+
+    private final long m_rowCount;
+
+    /** Reads the foreign cells of the segments, see {@link ColumnChunkWriter}. */
+    private final DataCellStreamReader m_cellReader;
+
+    /**
+     * @param binFile the file to read from
+     * @param spec the spec of the table
+     * @param settings the settings written by the {@link ColumnarTableStoreWriter}
+     * @param version the buffer version
+     * @param isReadRowKey whether row keys are to be read
+     * @throws IOException if the file can't be read or is corrupt
+     * @throws InvalidSettingsException if the settings are invalid
+     */
+    ColumnarTableStoreReader(final File binFile, final DataTableSpec spec, final NodeSettingsRO settings,
+        final int version, final boolean isReadRowKey) throws IOException, InvalidSettingsException {
+        super(binFile, spec, settings, version);
+        readCellClassInfoArrayFromMetaVersion2(settings);
+        m_types = ColumnarColumnType.get(spec);
+        m_isReadRowKey = isReadRowKey;
+        m_cellReader = new DataCellStreamReader(this);
+        try (RandomAccessFile raf = new RandomAccessFile(binFile, "r"); FileChannel channel = raf.getChannel()) {
+            final long fileSize = channel.size();
+            if (fileSize < 12) {
+                throw new IOException("Invalid file \"" + binFile.getName() + "\", size is " + fileSize + " bytes");
+            }
+            final ByteBuffer trailer = readFully(channel, fileSize - 12, 12);
+            final long footerOffset = trailer.getLong();
+            checkMagicNumber(trailer.getInt(), binFile);
+            final ByteBuffer footer = readFully(channel, footerOffset, (int)(fileSize - 12 - footerOffset));
+            checkMagicNumber(footer.getInt(), binFile);
+            final int formatVersion = footer.getInt();
+            if (formatVersion > ColumnarTableStoreFormat.FORMAT_VERSION) {
+                throw new IOException("Unsupported columnar format version " + formatVersion
+                    + " (was file written with a newer version of KNIME?)");
+            }
+            final int columnCount = footer.getInt();
+            if (columnCount != m_types.length) {
+                throw new IOException("File contains " + columnCount + " columns but table spec has "
+                    + m_types.length);
+            }
+            m_hasRowKeySegment = footer.get() != 0;
+            final int segmentCount = columnCount + (m_hasRowKeySegment ? 1 : 0);
+            final int chunkCount = footer.getInt();
+            m_chunkRowCounts = new int[chunkCount];
+            m_segmentOffsets = new long[chunkCount][segmentCount];
+            m_segmentLengths = new int[chunkCount][segmentCount];
+            long rowCount = 0;
+            for (int c = 0; c < chunkCount; c++) {
+                m_chunkRowCounts[c] = footer.getInt();
+                rowCount += m_chunkRowCounts[c];
+                for (int s = 0; s < segmentCount; s++) {
+                    m_segmentOffsets[c][s] = footer.getLong();
+                    m_segmentLengths[c][s] = footer.getInt();
+                }
+            }
+            m_rowCount = rowCount;
+        }
+    }
+
+    private static ByteBuffer readFully(final FileChannel channel, final long position, final int length)
+        throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length).order(ColumnarTableStoreFormat.BYTE_ORDER);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file at position " + (position + buffer.position()));
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static void checkMagicNumber(final int magic, final File binFile) throws IOException {
+        if (magic != ColumnarTableStoreFormat.MAGIC_NUMBER) {
+            throw new IOException("File \"" + binFile.getName() + "\" is not a columnar table file (invalid magic "
+                + "number " + Integer.toHexString(magic) + ")");
+        }
+    }
+
+    /** @return number of rows as per the chunk index. */
+    long size() {
+        return m_rowCount;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TableStoreCloseableRowIterator iterator() {
+        TableStoreCloseableRowIterator iterator = createIterator(null);
+        registerNewIteratorInstance(iterator);
+        return iterator;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Column filtering is pushed into the reader, i.e. segments of unselected columns are not touched at all.
+     */
+    @Override
+    public RowIteratorBuilder<? extends TableStoreCloseableRowIterator> iteratorBuilder() {
+        return new RowIteratorBuilder<TableStoreCloseableRowIterator>() {
+
+            private int[] m_selectedColumns;
+
+            @Override
+            public RowIteratorBuilder<TableStoreCloseableRowIterator> filterColumns(final int... indices) {
+                getSpec().verifyIndices(indices);
+                m_selectedColumns = indices.clone();
+                return this;
+            }
+
+            @Override
+            public RowIteratorBuilder<TableStoreCloseableRowIterator> filterColumns(final String... columns) {
+                return filterColumns(getSpec().columnsToIndices(columns));
+            }
+
+            @Override
+            public TableStoreCloseableRowIterator build() {
+                TableStoreCloseableRowIterator iterator = createIterator(m_selectedColumns);
+                registerNewIteratorInstance(iterator);
+                return iterator;
+            }
+        };
+    }
+
+    private TableStoreCloseableRowIterator createIterator(final int[] selectedColumns) {
+        boolean[] isSelected = new boolean[m_types.length];
+        if (selectedColumns == null) {
+            Arrays.fill(isSelected, true);
+        } else {
+            for (int i : selectedColumns) {
+                isSelected[i] = true;
+            }
+        }
+        try {
+            return new ColumnarRowIterator(isSelected);
+        } catch (IOException ioe) {
+            checkAndReportOpenFiles(ioe);
+            throw new RuntimeException("Cannot read file \"" + getFile().getName() + "\"", ioe);
+        }
+    }
+
+    /** Iterator that maps one chunk at a time and decodes the selected columns. */
+    private final class ColumnarRowIterator extends TableStoreCloseableRowIterator {
+
+        private final boolean[] m_isSelected;
+
+        private final ColumnChunkReader[] m_columnReaders;
+
+        private ColumnChunkReader.StringChunkReader m_keyReader;
+
+        private RandomAccessFile m_file;
+
+        /** Index of the current chunk. */
+        private int m_chunk = -1;
+
+        /** Index of the next row within the current chunk. */
+        private int m_indexInChunk;
+
+        /** Index of the next row in the table. */
+        private long m_pointer;
+
+        private boolean m_hasThrownReadException;
+
+        ColumnarRowIterator(final boolean[] isSelected) throws IOException {
+            m_isSelected = isSelected;
+            m_columnReaders = new ColumnChunkReader[isSelected.length];
+            m_file = new RandomAccessFile(getFile(), "r");
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public synchronized boolean hasNext() {
+            boolean hasNext = m_pointer < m_rowCount;
+            if (!hasNext && m_file != null) {
+                close();
+            }
+            return hasNext;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public synchronized BlobSupportDataRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Iterator at end");
+            }
+            final DataCell[] cells = new DataCell[m_isSelected.length];
+            if (m_file == null) { // iterator was closed
+                Arrays.fill(cells, DataType.getMissingCell());
+                m_pointer++;
+                return new BlobSupportDataRow(new RowKey("INVALID_ROW (table is closed) - (Row " + m_pointer + ")"),
+                    cells);
+            }
+            try {
+                while (m_chunk < 0 || m_indexInChunk >= m_chunkRowCounts[m_chunk]) {
+                    mapChunk(m_chunk + 1);
+                }
+            } catch (IOException ioe) {
+                throw new RuntimeException("Unable to read chunk " + (m_chunk + 1) + " from file \""
+                    + getFile().getName() + "\": " + ioe.getMessage(), ioe);
+            }
+            final int index = m_indexInChunk++;
+            final long pointer = m_pointer++;
+            final RowKey key;
+            if (!m_isReadRowKey) {
+                key = DUMMY_ROW_KEY;
+            } else if (m_keyReader != null) {
+                key = new RowKey(m_keyReader.getString(index));
+            } else {
+                key = RowKey.createRowKey(pointer);
+            }
+            for (int i = 0; i < cells.length; i++) {
+                if (m_columnReaders[i] == null) {
+                    cells[i] = UnmaterializedCell.getInstance();
+                } else {
+                    try {
+                        cells[i] = m_columnReaders[i].getCell(index);
+                    } catch (IOException | RuntimeException e) {
+                        handleReadThrowable(e, pointer);
+                        cells[i] = DataType.getMissingCell();
+                    }
+                }
+            }
+            return new BlobSupportDataRow(key, cells);
+        }
+
+        /**
+         * Maps the argument chunk. Only the range spanning the selected segments is mapped, pages of unselected
+         * segments in that range are never touched and hence never read from disc.
+         */
+        private void mapChunk(final int chunk) throws IOException {
+            final long[] offsets = m_segmentOffsets[chunk];
+            final int[] lengths = m_segmentLengths[chunk];
+            final int keySegment = m_hasRowKeySegment ? 1 : 0;
+            long start = Long.MAX_VALUE;
+            long end = Long.MIN_VALUE;
+            for (int s = 0; s < offsets.length; s++) {
+                if (isSegmentSelected(s, keySegment)) {
+                    start = Math.min(start, offsets[s]);
+                    end = Math.max(end, offsets[s] + lengths[s]);
+                }
+            }
+            final int rowCount = m_chunkRowCounts[chunk];
+            MappedByteBuffer mapped = null;
+            if (start < end) {
+                mapped = m_file.getChannel().map(MapMode.READ_ONLY, start, end - start);
+                mapped.order(ColumnarTableStoreFormat.BYTE_ORDER);
+            }
+            m_keyReader = m_hasRowKeySegment && m_isReadRowKey ? new ColumnChunkReader.StringChunkReader(
+                segment(mapped, start, offsets[0], lengths[0]), rowCount, m_cellReader) : null;
+            for (int i = 0; i < m_columnReaders.length; i++) {
+                final int s = i + keySegment;
+                m_columnReaders[i] = m_isSelected[i] ? m_types[i].createChunkReader(
+                    segment(mapped, start, offsets[s], lengths[s]), rowCount, m_cellReader) : null;
+            }
+            m_chunk = chunk;
+            m_indexInChunk = 0;
+        }
+
+        private boolean isSegmentSelected(final int segment, final int keySegment) {
+            if (segment < keySegment) {
+                return m_isReadRowKey;
+            }
+            return m_isSelected[segment - keySegment];
+        }
+
+        private ByteBuffer segment(final ByteBuffer mapped, final long mappedStart, final long offset,
+            final int length) {
+            final ByteBuffer dup = mapped.duplicate();
+            dup.position((int)(offset - mappedStart));
+            dup.limit((int)(offset - mappedStart) + length);
+            return ColumnChunkReader.slice(dup);
+        }
+
+        /** Handle exceptions, make sure to issue errors only once. */
+        private void handleReadThrowable(final Throwable throwable, final long pointer) {
+            String message = "Errors while reading row " + (pointer + 1) + " from file \"" + getFile().getName()
+                + "\": " + throwable.getMessage();
+            if (!m_hasThrownReadException) {
+                LOGGER.error(message + "; Suppressing further warnings.", throwable);
+            } else {
+                LOGGER.debug(message, throwable);
+            }
+            m_hasThrownReadException = true;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public synchronized boolean performClose() throws IOException {
+            if (m_file == null) {
+                return false;
+            }
+            RandomAccessFile file = m_file;
+            m_file = null;
+            Arrays.fill(m_columnReaders, null);
+            m_keyReader = null;
+            file.close();
+            return true;
+        }
+    }
+
+}
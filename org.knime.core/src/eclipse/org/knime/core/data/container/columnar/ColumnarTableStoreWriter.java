@@ -0,0 +1,254 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container.columnar;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.container.storage.AbstractTableStoreWriter;
+import org.knime.core.node.NodeSettingsWO;
+
+/**
+ * Writer for the {@link ColumnarTableStoreFormat}. Rows are collected in primitive per-column arrays until a chunk is
+ * full; the chunk is then written column by column. The file ends with an index of all segment offsets.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class ColumnarTableStoreWriter extends AbstractTableStoreWriter {
+
+    /** Approximate number of bytes of a single (uncompressed) chunk, used to determine the rows per chunk. */
+    private static final int TARGET_CHUNK_BYTES = 4 << 20;
+
+    /** Lower bound of rows per chunk. */
+    static final int MIN_CHUNK_SIZE = 1024;
+
+    /** Upper bound of rows per chunk. */
+    static final int MAX_CHUNK_SIZE = 1 << 16;
+
+    private final OutputStream m_outStream;
+
+    /** Row key writer or <code>null</code> if row keys are not written. */
+    private final ColumnChunkWriter.StringChunkWriter m_keyWriter;
+
+    private final ColumnChunkWriter[] m_columnWriters;
+
+    private final int m_chunkSize;
+
+    /** Row counts of all chunks written so far. */
+    private final List<Integer> m_chunkRowCounts;
+
+    /** Offsets of all segments written so far, one array per chunk. */
+    private final List<long[]> m_segmentOffsets;
+
+    /** Lengths of all segments written so far, one array per chunk. */
+    private final List<int[]> m_segmentLengths;
+
+    /** Number of rows in the current (not yet written) chunk. */
+    private int m_currentChunkRowCount;
+
+    private ByteBuffer m_scratch;
+
+    /** Number of bytes written to the stream. */
+    private long m_position;
+
+    private boolean m_isClosed;
+
+    /**
+     * @param spec the spec of the table, must be {@link ColumnarTableStoreFormat#accepts(DataTableSpec) accepted}
+     * @param outputStream to write to, will be closed when the writer is closed
+     * @param writeRowKey whether to store the row keys
+     */
+    ColumnarTableStoreWriter(final DataTableSpec spec, final OutputStream outputStream, final boolean writeRowKey) {
+        super(spec, writeRowKey);
+        ColumnarColumnType[] types = ColumnarColumnType.get(spec);
+        m_chunkSize = determineChunkSize(types, writeRowKey);
+        m_columnWriters = new ColumnChunkWriter[types.length];
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] == null) {
+                throw new IllegalArgumentException("Column \"" + spec.getColumnSpec(i).getName()
+                    + "\" can't be written in columnar format, type: " + spec.getColumnSpec(i).getType());
+            }
+            m_columnWriters[i] = types[i].createChunkWriter(m_chunkSize);
+        }
+        m_keyWriter = writeRowKey ? new ColumnChunkWriter.StringChunkWriter(m_chunkSize, false) : null;
+        m_outStream = new BufferedOutputStream(outputStream);
+        m_chunkRowCounts = new ArrayList<>();
+        m_segmentOffsets = new ArrayList<>();
+        m_segmentLengths = new ArrayList<>();
+        m_scratch = ByteBuffer.allocate(1 << 16).order(ColumnarTableStoreFormat.BYTE_ORDER);
+    }
+
+    /** Number of rows per chunk so that a chunk roughly occupies {@link #TARGET_CHUNK_BYTES}. */
+    private static int determineChunkSize(final ColumnarColumnType[] types, final boolean writeRowKey) {
+        long bytesPerRow = writeRowKey ? ColumnarColumnType.STRING.getEstimatedBytesPerValue() : 0;
+        for (ColumnarColumnType t : types) {
+            bytesPerRow += t == null ? 0 : t.getEstimatedBytesPerValue();
+        }
+        long rows = TARGET_CHUNK_BYTES / Math.max(bytesPerRow, 1);
+        return (int)Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, rows));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeRow(final DataRow row) throws IOException {
+        if (m_keyWriter != null) {
+            m_keyWriter.addString(row.getKey().getString());
+        }
+        for (int i = 0; i < m_columnWriters.length; i++) {
+            m_columnWriters[i].add(row.getCell(i));
+        }
+        if (++m_currentChunkRowCount >= m_chunkSize) {
+            flushChunk();
+        }
+    }
+
+    /** Writes all segments of the current chunk and records their position in the index. */
+    private void flushChunk() throws IOException {
+        final int rowCount = m_currentChunkRowCount;
+        m_currentChunkRowCount = 0;
+        final int segmentCount = m_columnWriters.length + (m_keyWriter != null ? 1 : 0);
+        final long[] offsets = new long[segmentCount];
+        final int[] lengths = new int[segmentCount];
+        int s = 0;
+        if (m_keyWriter != null) {
+            offsets[s] = m_position;
+            lengths[s] = writeSegment(m_keyWriter);
+            s++;
+        }
+        for (ColumnChunkWriter w : m_columnWriters) {
+            offsets[s] = m_position;
+            lengths[s] = writeSegment(w);
+            s++;
+        }
+        m_chunkRowCounts.add(rowCount);
+        m_segmentOffsets.add(offsets);
+        m_segmentLengths.add(lengths);
+    }
+
+    /** Encodes and writes a single segment, resets the writer and returns the number of bytes written. */
+    private int writeSegment(final ColumnChunkWriter writer) throws IOException {
+        final int length = writer.prepareEncoding(this);
+        ensureScratchCapacity(length);
+        m_scratch.clear();
+        writer.encode(m_scratch);
+        assert m_scratch.position() == length : "Segment size mismatch: " + m_scratch.position() + " vs. " + length;
+        write(m_scratch);
+        writer.reset();
+        return length;
+    }
+
+    private void ensureScratchCapacity(final int length) {
+        if (m_scratch.capacity() < length) {
+            m_scratch = ByteBuffer.allocate(Math.max(length, 2 * m_scratch.capacity()))
+                .order(ColumnarTableStoreFormat.BYTE_ORDER);
+        }
+    }
+
+    /** Writes the content of the (array-backed) buffer up to its position. */
+    private void write(final ByteBuffer buffer) throws IOException {
+        m_outStream.write(buffer.array(), 0, buffer.position());
+        m_position += buffer.position();
+    }
+
+    /** Writes the index of all chunks followed by the trailer (index offset and magic number). */
+    private void writeFooter() throws IOException {
+        final int segmentCount = m_columnWriters.length + (m_keyWriter != null ? 1 : 0);
+        final int chunkCount = m_chunkRowCounts.size();
+        final long footerOffset = m_position;
+        ensureScratchCapacity(4 + 4 + 4 + 1 + 4 + chunkCount * (4 + 12 * segmentCount) + 8 + 4);
+        m_scratch.clear();
+        m_scratch.putInt(ColumnarTableStoreFormat.MAGIC_NUMBER);
+        m_scratch.putInt(ColumnarTableStoreFormat.FORMAT_VERSION);
+        m_scratch.putInt(m_columnWriters.length);
+        m_scratch.put(m_keyWriter != null ? (byte)1 : (byte)0);
+        m_scratch.putInt(chunkCount);
+        for (int c = 0; c < chunkCount; c++) {
+            m_scratch.putInt(m_chunkRowCounts.get(c));
+            final long[] offsets = m_segmentOffsets.get(c);
+            final int[] lengths = m_segmentLengths.get(c);
+            for (int s = 0; s < segmentCount; s++) {
+                m_scratch.putLong(offsets[s]);
+                m_scratch.putInt(lengths[s]);
+            }
+        }
+        m_scratch.putLong(footerOffset);
+        m_scratch.putInt(ColumnarTableStoreFormat.MAGIC_NUMBER);
+        write(m_scratch);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeMetaInfoAfterWrite(final NodeSettingsWO settings) {
+        settings.addInt(ColumnarTableStoreFormat.CFG_CHUNK_SIZE, m_chunkSize);
+        super.writeMetaInfoAfterWrite(settings);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() throws IOException {
+        if (m_isClosed) {
+            return;
+        }
+        m_isClosed = true;
+        try {
+            if (m_currentChunkRowCount > 0) {
+                flushChunk();
+            }
+            writeFooter();
+        } finally {
+            m_outStream.close();
+        }
+    }
+
+}
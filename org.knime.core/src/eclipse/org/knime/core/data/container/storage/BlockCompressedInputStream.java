@@ -0,0 +1,229 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container.storage;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Reads a stream written by {@link BlockCompressedOutputStream}. Frames are read sequentially from the underlying
+ * stream by the calling thread; if a parallelism greater than one is requested, the following frames are decompressed
+ * ahead of time on a shared pool of daemon threads.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class BlockCompressedInputStream extends InputStream {
+
+    private final DataInputStream m_in;
+
+    private final int m_parallelism;
+
+    /** Blocks being decompressed concurrently, in stream order. Empty if parallelism is 1. */
+    private final Deque<Future<byte[]>> m_pendingBlocks;
+
+    private byte[] m_block;
+
+    private int m_position;
+
+    private int m_limit;
+
+    /** Set when the end marker (or the end of the underlying stream) has been read. */
+    private boolean m_isEndOfFrames;
+
+    /**
+     * @param in the stream to read frames from
+     * @param parallelism number of blocks that are decompressed concurrently, 1 to decompress in the calling thread
+     */
+    BlockCompressedInputStream(final InputStream in, final int parallelism) {
+        m_in = new DataInputStream(in);
+        m_parallelism = Math.max(1, parallelism);
+        m_pendingBlocks = new ArrayDeque<>();
+        m_block = new byte[0];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int read() throws IOException {
+        if (m_position >= m_limit && !nextBlock()) {
+            return -1;
+        }
+        return m_block[m_position++] & 0xFF;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (m_position >= m_limit && !nextBlock()) {
+            return -1;
+        }
+        final int n = Math.min(len, m_limit - m_position);
+        System.arraycopy(m_block, m_position, b, off, n);
+        m_position += n;
+        return n;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int available() throws IOException {
+        return m_limit - m_position;
+    }
+
+    /** Makes the next block available, returns false at the end of the stream. */
+    private boolean nextBlock() throws IOException {
+        if (m_parallelism == 1) {
+            final byte[] frame = readFrame();
+            if (frame == null) {
+                return false;
+            }
+            m_block = decodeFrame(frame);
+        } else {
+            while (!m_isEndOfFrames && m_pendingBlocks.size() < m_parallelism) {
+                final byte[] frame = readFrame();
+                if (frame != null) {
+                    m_pendingBlocks.addLast(BlockCompressedOutputStream.sharedExecutor().submit(
+                        () -> decodeFrame(frame)));
+                }
+            }
+            if (m_pendingBlocks.isEmpty()) {
+                return false;
+            }
+            m_block = awaitBlock(m_pendingBlocks.removeFirst());
+        }
+        m_position = 0;
+        m_limit = m_block.length;
+        return true;
+    }
+
+    private byte[] awaitBlock(final Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            cancelPendingBlocks();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for block decompression");
+        } catch (ExecutionException e) {
+            cancelPendingBlocks();
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException)cause;
+            }
+            throw new IOException("Block decompression failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    private void cancelPendingBlocks() {
+        for (Future<byte[]> f : m_pendingBlocks) {
+            f.cancel(true);
+        }
+        m_pendingBlocks.clear();
+    }
+
+    /** Reads the next frame (header and data), returns null at the end of the stream. */
+    private byte[] readFrame() throws IOException {
+        if (m_isEndOfFrames) {
+            return null;
+        }
+        final int rawLength;
+        try {
+            rawLength = m_in.readInt();
+        } catch (EOFException eof) {
+            m_isEndOfFrames = true;
+            return null;
+        }
+        final int storedLength = m_in.readInt();
+        if (rawLength == 0) {
+            m_isEndOfFrames = true;
+            return null;
+        }
+        if (rawLength < 0 || storedLength < 0 || storedLength > rawLength) {
+            throw new IOException("Corrupt block header (raw length " + rawLength + ", stored length "
+                + storedLength + ")");
+        }
+        final byte[] frame = new byte[BlockCompressedOutputStream.FRAME_HEADER_LENGTH + storedLength];
+        BlockCompressedOutputStream.writeInt(frame, 0, rawLength);
+        BlockCompressedOutputStream.writeInt(frame, 4, storedLength);
+        m_in.readFully(frame, BlockCompressedOutputStream.FRAME_HEADER_LENGTH, storedLength);
+        return frame;
+    }
+
+    /** Decompresses a frame as returned by {@link #readFrame()}. */
+    static byte[] decodeFrame(final byte[] frame) throws IOException {
+        final int rawLength = readInt(frame, 0);
+        final int storedLength = readInt(frame, 4);
+        final byte[] block = new byte[rawLength];
+        if (storedLength == rawLength) {
+            System.arraycopy(frame, BlockCompressedOutputStream.FRAME_HEADER_LENGTH, block, 0, rawLength);
+        } else {
+            Lz4BlockCompressor.decompress(frame, BlockCompressedOutputStream.FRAME_HEADER_LENGTH, storedLength, block,
+                rawLength);
+        }
+        return block;
+    }
+
+    private static int readInt(final byte[] b, final int pos) {
+        return ((b[pos] & 0xFF) << 24) | ((b[pos + 1] & 0xFF) << 16) | ((b[pos + 2] & 0xFF) << 8) | (b[pos + 3] & 0xFF);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() throws IOException {
+        cancelPendingBlocks();
+        m_in.close();
+    }
+
+}
@@ -0,0 +1,268 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container.storage;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Output stream that splits the data into blocks of fixed size and compresses each block independently using
+ * {@link Lz4BlockCompressor}. Each block is written as a frame:
+ *
+ * <pre>
+ *   int rawLength | int storedLength | byte[storedLength] data
+ * </pre>
+ *
+ * If compression doesn't reduce the size of a block, it is stored uncompressed (<code>storedLength ==
+ * rawLength</code>). The stream is terminated by a frame with <code>rawLength == 0</code>. As blocks are independent,
+ * they can be compressed and decompressed concurrently; if a parallelism greater than one is requested, blocks are
+ * compressed on a shared pool of daemon threads while the caller continues to fill the next block.
+ *
+ * <p>
+ * {@link #flush()} only writes blocks that are complete; the currently filled block is written on {@link #close()}
+ * (same semantics as {@link java.util.zip.GZIPOutputStream} without sync flush).
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class BlockCompressedOutputStream extends OutputStream {
+
+    /** Default uncompressed size of a block. */
+    static final int DEFAULT_BLOCK_SIZE = 1 << 16;
+
+    /** Size of a frame header (raw length and stored length). */
+    static final int FRAME_HEADER_LENGTH = 8;
+
+    private final OutputStream m_out;
+
+    private final int m_blockSize;
+
+    private final int m_parallelism;
+
+    /** Frames that are being compressed concurrently, in stream order. Empty if parallelism is 1. */
+    private final Deque<Future<byte[]>> m_pendingFrames;
+
+    private byte[] m_block;
+
+    private int m_count;
+
+    private boolean m_isClosed;
+
+    /**
+     * @param out the stream to write the frames to
+     * @param blockSize the uncompressed size of a block
+     * @param parallelism number of blocks that are compressed concurrently, 1 to compress in the calling thread
+     */
+    BlockCompressedOutputStream(final OutputStream out, final int blockSize, final int parallelism) {
+        m_out = out;
+        m_blockSize = blockSize;
+        m_parallelism = Math.max(1, parallelism);
+        m_pendingFrames = new ArrayDeque<>();
+        m_block = new byte[blockSize];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(final int b) throws IOException {
+        if (m_count == m_blockSize) {
+            writeBlock();
+        }
+        m_block[m_count++] = (byte)b;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (m_count == m_blockSize) {
+                writeBlock();
+            }
+            final int n = Math.min(remaining, m_blockSize - m_count);
+            System.arraycopy(b, offset, m_block, m_count, n);
+            m_count += n;
+            offset += n;
+            remaining -= n;
+        }
+    }
+
+    /** Compresses the current block (possibly asynchronously) and starts a new one. */
+    private void writeBlock() throws IOException {
+        if (m_count == 0) {
+            return;
+        }
+        final byte[] block = m_block;
+        final int count = m_count;
+        if (m_parallelism == 1) {
+            m_out.write(encodeFrame(block, count));
+        } else {
+            m_pendingFrames.addLast(sharedExecutor().submit(() -> encodeFrame(block, count)));
+            m_block = new byte[m_blockSize];
+            while (m_pendingFrames.size() >= m_parallelism) {
+                writePendingFrame();
+            }
+        }
+        m_count = 0;
+    }
+
+    /** Waits for the oldest pending frame and writes it. */
+    private void writePendingFrame() throws IOException {
+        final Future<byte[]> future = m_pendingFrames.removeFirst();
+        try {
+            m_out.write(future.get());
+        } catch (InterruptedException e) {
+            cancelPendingFrames();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for block compression");
+        } catch (ExecutionException e) {
+            cancelPendingFrames();
+            throw new IOException("Block compression failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private void cancelPendingFrames() {
+        for (Future<byte[]> f : m_pendingFrames) {
+            f.cancel(true);
+        }
+        m_pendingFrames.clear();
+    }
+
+    /** Compresses a block and returns the complete frame (header and data). */
+    static byte[] encodeFrame(final byte[] block, final int count) {
+        final byte[] data = new byte[Lz4BlockCompressor.maxCompressedLength(count)];
+        final int compressedLength = Lz4BlockCompressor.compress(block, count, data);
+        final boolean isStoreRaw = compressedLength >= count;
+        final int storedLength = isStoreRaw ? count : compressedLength;
+        final byte[] frame = new byte[FRAME_HEADER_LENGTH + storedLength];
+        writeInt(frame, 0, count);
+        writeInt(frame, 4, storedLength);
+        System.arraycopy(isStoreRaw ? block : data, 0, frame, FRAME_HEADER_LENGTH, storedLength);
+        return frame;
+    }
+
+    /** Big endian int. */
+    static void writeInt(final byte[] b, final int pos, final int value) {
+        b[pos] = (byte)(value >>> 24);
+        b[pos + 1] = (byte)(value >>> 16);
+        b[pos + 2] = (byte)(value >>> 8);
+        b[pos + 3] = (byte)value;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Writes all completed blocks and flushes the underlying stream. The block currently being filled is not
+     * written.
+     */
+    @Override
+    public void flush() throws IOException {
+        while (!m_pendingFrames.isEmpty()) {
+            writePendingFrame();
+        }
+        m_out.flush();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() throws IOException {
+        if (m_isClosed) {
+            return;
+        }
+        m_isClosed = true;
+        try {
+            writeBlock();
+            while (!m_pendingFrames.isEmpty()) {
+                writePendingFrame();
+            }
+            m_out.write(new byte[FRAME_HEADER_LENGTH]); // end marker: raw length 0
+        } finally {
+            cancelPendingFrames();
+            m_out.close();
+        }
+    }
+
+    /** @return the (lazily created) pool used to compress and decompress blocks concurrently. */
+    static ExecutorService sharedExecutor() {
+        return ExecutorHolder.EXECUTOR;
+    }
+
+    /** Lazy initialization holder. */
+    private static final class ExecutorHolder {
+        private static final ExecutorService EXECUTOR;
+
+        static {
+            final int nThreads = Runtime.getRuntime().availableProcessors();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(nThreads, nThreads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                    private final AtomicInteger m_threadCount = new AtomicInteger();
+
+                    /** {@inheritDoc} */
+                    @Override
+                    public Thread newThread(final Runnable r) {
+                        Thread t = new Thread(r, "KNIME-Table-Codec-" + m_threadCount.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    }
+                });
+            executor.allowCoreThreadTimeOut(true);
+            EXECUTOR = executor;
+        }
+    }
+
+}
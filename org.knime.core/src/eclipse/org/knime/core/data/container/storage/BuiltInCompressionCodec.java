@@ -0,0 +1,141 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The compression codecs shipped with KNIME. The enum constant names are persisted, the names of the first two
+ * constants must not change as they are also used by tables written with previous versions.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ * @noreference This enum is not intended to be referenced by clients.
+ */
+public enum BuiltInCompressionCodec implements CompressionCodec {
+
+    /** GZIP compression, good compression ratio but slow (especially when compressing). */
+    Gzip {
+        @Override
+        public OutputStream createOutputStream(final OutputStream out) throws IOException {
+            // buffering the output stream is important as the blockable
+            // stream, which will be put on top of it, writes bytes individually
+            return new BufferedOutputStream(new GZIPOutputStream(out));
+        }
+
+        @Override
+        public InputStream createInputStream(final InputStream in) throws IOException {
+            // buffering is important when reading gzip streams
+            // (had a table, on which a single read-scan took ~6min without
+            // and ~30s with buffering)
+            return new BufferedInputStream(new GZIPInputStream(in));
+        }
+    },
+
+    /** No compression. */
+    None {
+        @Override
+        public OutputStream createOutputStream(final OutputStream out) {
+            return out;
+        }
+
+        @Override
+        public InputStream createInputStream(final InputStream in) {
+            return in;
+        }
+    },
+
+    /**
+     * LZ4 block compression. Fast (de-)compression with a lower compression ratio than {@link #Gzip}. The data is split
+     * into independent blocks of 64kB, which are compressed and decompressed concurrently to the thread producing or
+     * consuming the data.
+     */
+    Lz4 {
+        @Override
+        public OutputStream createOutputStream(final OutputStream out) {
+            return new BlockCompressedOutputStream(out, BlockCompressedOutputStream.DEFAULT_BLOCK_SIZE,
+                getParallelism());
+        }
+
+        @Override
+        public InputStream createInputStream(final InputStream in) {
+            return new BlockCompressedInputStream(in, getParallelism());
+        }
+    };
+
+    /** @return the name of the enum constant. */
+    @Override
+    public String getName() {
+        return name();
+    }
+
+    /** Number of blocks (de-)compressed concurrently per stream, 1 on single core machines. */
+    private static int getParallelism() {
+        return Math.min(4, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Finds a codec by its persisted name.
+     *
+     * @param name the name as returned by {@link #getName()}, case-insensitive
+     * @return the codec or an empty optional if there is no codec with that name
+     */
+    public static Optional<CompressionCodec> get(final String name) {
+        return Arrays.stream(values()).filter(c -> c.getName().equalsIgnoreCase(name))
+            .map(c -> (CompressionCodec)c).findFirst();
+    }
+
+}
@@ -40,15 +40,52 @@
  *  propagated with or for interoperation with KNIME.  The owner of a Node
  *  may freely choose the license terms applicable to such Node, including
  *  when such Node is propagated with or for interoperation with KNIME.
- * ------------------------------------------------------------------------
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
  */
-package org.knime.base.util.kdtree;
+package org.knime.core.data.container.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 /**
- * Empty interface for nodes in the k-d tree.
- *  
- * @author Thorsten Meinl, University of Konstanz
+ * Compression applied to the binary stream of a table store. The name of the codec is persisted along with the table
+ * (see {@link AbstractTableStoreWriter#writeMetaInfoAfterWrite(org.knime.core.node.NodeSettingsWO)}) and used to find
+ * the codec again when the table is read.
+ *
+ * <p>
+ * Codecs are expected to be stateless; the streams they create are used by a single thread.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ * @noreference This interface is not intended to be referenced by clients.
  */
-interface Node {
+public interface CompressionCodec {
+
+    /** @return the (persisted) name of the codec, not null. */
+    String getName();
+
+    /**
+     * Wraps the argument stream so that data written to the returned stream is compressed. Closing the returned stream
+     * closes the argument stream.
+     *
+     * @param out the stream to write the compressed data to
+     * @return a new stream accepting uncompressed data
+     * @throws IOException if the stream can't be created
+     */
+    OutputStream createOutputStream(OutputStream out) throws IOException;
+
+    /**
+     * Wraps the argument stream so that data read from the returned stream is decompressed. Closing the returned stream
+     * closes the argument stream.
+     *
+     * @param in the stream to read compressed data from
+     * @return a new stream returning uncompressed data
+     * @throws IOException if the stream can't be created (e.g. the header is corrupt)
+     */
+    InputStream createInputStream(InputStream in) throws IOException;
 
 }
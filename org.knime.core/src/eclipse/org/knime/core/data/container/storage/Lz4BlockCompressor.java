@@ -0,0 +1,246 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container.storage;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Pure Java implementation of the LZ4 block format (no frame format, no native code). The compressor uses a single
+ * hash table lookup per position (the "fast" LZ4 strategy), which trades compression ratio for speed. Blocks are
+ * limited to 64k match distance as per the LZ4 specification.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class Lz4BlockCompressor {
+
+    private static final int MIN_MATCH = 4;
+
+    /** The last 5 bytes of a block are always literals. */
+    private static final int LAST_LITERALS = 5;
+
+    /** The last match must start at least 12 bytes before the end of the block. */
+    private static final int MF_LIMIT = 12;
+
+    private static final int MAX_DISTANCE = (1 << 16) - 1;
+
+    private static final int HASH_LOG = 14;
+
+    private static final int RUN_MASK = 15;
+
+    /** Hash table per thread, blocks are compressed concurrently. */
+    private static final ThreadLocal<int[]> HASH_TABLE = ThreadLocal.withInitial(() -> new int[1 << HASH_LOG]);
+
+    private Lz4BlockCompressor() {
+    }
+
+    /**
+     * @param length the length of the uncompressed data
+     * @return the size of a buffer that is guaranteed to hold the compressed data
+     */
+    static int maxCompressedLength(final int length) {
+        return length + length / 255 + 16;
+    }
+
+    /**
+     * Compresses <code>src[0..srcLength)</code> into <code>dst</code>.
+     *
+     * @param src the uncompressed data
+     * @param srcLength number of bytes to compress
+     * @param dst the destination, at least {@link #maxCompressedLength(int)} in size
+     * @return the number of bytes written to <code>dst</code>
+     */
+    static int compress(final byte[] src, final int srcLength, final byte[] dst) {
+        int anchor = 0;
+        int op = 0;
+        if (srcLength > MF_LIMIT) {
+            final int[] hashTable = HASH_TABLE.get();
+            Arrays.fill(hashTable, -1);
+            final int mfLimit = srcLength - MF_LIMIT;
+            final int matchLimit = srcLength - LAST_LITERALS;
+            int ip = 0;
+            while (ip < mfLimit) {
+                final int sequence = readInt(src, ip);
+                final int hash = hash(sequence);
+                int ref = hashTable[hash];
+                hashTable[hash] = ip;
+                if (ref < 0 || ip - ref > MAX_DISTANCE || readInt(src, ref) != sequence) {
+                    ip++;
+                    continue;
+                }
+                // extend match backwards (into the pending literals)
+                while (ip > anchor && ref > 0 && src[ip - 1] == src[ref - 1]) {
+                    ip--;
+                    ref--;
+                }
+                int matchLength = MIN_MATCH;
+                while (ip + matchLength < matchLimit && src[ip + matchLength] == src[ref + matchLength]) {
+                    matchLength++;
+                }
+                op = writeSequence(src, anchor, ip - anchor, ip - ref, matchLength, dst, op);
+                ip += matchLength;
+                anchor = ip;
+                if (ip - 2 < mfLimit) {
+                    hashTable[hash(readInt(src, ip - 2))] = ip - 2;
+                }
+            }
+        }
+        return writeLastLiterals(src, anchor, srcLength - anchor, dst, op);
+    }
+
+    /**
+     * Decompresses a block.
+     *
+     * @param src the compressed data
+     * @param srcOffset start of the compressed data in <code>src</code>
+     * @param srcLength number of compressed bytes
+     * @param dst the destination, at least <code>dstLength</code> in size
+     * @param dstLength the expected length of the uncompressed data
+     * @throws IOException if the data is corrupt
+     */
+    static void decompress(final byte[] src, final int srcOffset, final int srcLength, final byte[] dst,
+        final int dstLength) throws IOException {
+        final int srcEnd = srcOffset + srcLength;
+        int ip = srcOffset;
+        int op = 0;
+        try {
+            while (true) {
+                final int token = src[ip++] & 0xFF;
+                int literalLength = token >>> 4;
+                if (literalLength == RUN_MASK) {
+                    int b;
+                    do {
+                        b = src[ip++] & 0xFF;
+                        literalLength += b;
+                    } while (b == 255);
+                }
+                System.arraycopy(src, ip, dst, op, literalLength);
+                ip += literalLength;
+                op += literalLength;
+                if (ip >= srcEnd) {
+                    break;
+                }
+                final int offset = (src[ip] & 0xFF) | ((src[ip + 1] & 0xFF) << 8);
+                ip += 2;
+                int matchLength = token & RUN_MASK;
+                if (matchLength == RUN_MASK) {
+                    int b;
+                    do {
+                        b = src[ip++] & 0xFF;
+                        matchLength += b;
+                    } while (b == 255);
+                }
+                matchLength += MIN_MATCH;
+                final int ref = op - offset;
+                if (offset == 0 || ref < 0) {
+                    throw new IOException("Invalid match offset " + offset + " at position " + op);
+                }
+                if (offset >= matchLength) {
+                    System.arraycopy(dst, ref, dst, op, matchLength);
+                } else {
+                    // overlapping copy, e.g. run length encoded data
+                    for (int i = 0; i < matchLength; i++) {
+                        dst[op + i] = dst[ref + i];
+                    }
+                }
+                op += matchLength;
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Corrupt LZ4 block (read position " + ip + ", write position " + op + ")", e);
+        }
+        if (op != dstLength) {
+            throw new IOException("Corrupt LZ4 block, decompressed " + op + " bytes but expected " + dstLength);
+        }
+    }
+
+    private static int writeSequence(final byte[] src, final int literalStart, final int literalLength,
+        final int offset, final int matchLength, final byte[] dst, final int dstPos) {
+        int op = dstPos;
+        final int tokenPos = op++;
+        op = writeLength(literalLength, dst, op);
+        System.arraycopy(src, literalStart, dst, op, literalLength);
+        op += literalLength;
+        dst[op++] = (byte)offset;
+        dst[op++] = (byte)(offset >>> 8);
+        op = writeLength(matchLength - MIN_MATCH, dst, op);
+        dst[tokenPos] = (byte)((Math.min(literalLength, RUN_MASK) << 4) | Math.min(matchLength - MIN_MATCH, RUN_MASK));
+        return op;
+    }
+
+    private static int writeLastLiterals(final byte[] src, final int literalStart, final int literalLength,
+        final byte[] dst, final int dstPos) {
+        int op = dstPos;
+        dst[op++] = (byte)(Math.min(literalLength, RUN_MASK) << 4);
+        op = writeLength(literalLength, dst, op);
+        System.arraycopy(src, literalStart, dst, op, literalLength);
+        return op + literalLength;
+    }
+
+    /** Writes the extension bytes of a length field (only if length >= 15). */
+    private static int writeLength(final int length, final byte[] dst, final int dstPos) {
+        int op = dstPos;
+        if (length >= RUN_MASK) {
+            int remaining = length - RUN_MASK;
+            while (remaining >= 255) {
+                dst[op++] = (byte)255;
+                remaining -= 255;
+            }
+            dst[op++] = (byte)remaining;
+        }
+        return op;
+    }
+
+    private static int readInt(final byte[] b, final int pos) {
+        return (b[pos] & 0xFF) | ((b[pos + 1] & 0xFF) << 8) | ((b[pos + 2] & 0xFF) << 16) | ((b[pos + 3] & 0xFF) << 24);
+    }
+
+    private static int hash(final int sequence) {
+        return (sequence * -1640531535) >>> (32 - HASH_LOG);
+    }
+
+}
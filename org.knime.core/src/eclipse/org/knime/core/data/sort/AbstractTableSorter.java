@@ -51,17 +51,18 @@
 import java.text.NumberFormat;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.NoSuchElementException;
-import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.Future;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
@@ -78,7 +79,9 @@
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
+import org.knime.core.util.ThreadPool;
 
 /**
  * Class to sort a table. See <a href="package.html">package description</a> for details.
@@ -118,12 +121,26 @@ abstract class AbstractTableSorter {
 
     private boolean m_sortInMemory = false;
 
+    /**
+     * Maximum number of chunks that are sorted and written, respectively merged, concurrently. Only changed in unit
+     * test.
+     */
+    private int m_parallelism = Runtime.getRuntime().availableProcessors();
+
     /** The RowComparator to compare two DataRows (inner class). */
     private Comparator<DataRow> m_rowComparator;
 
+    /** Encoder for the sort columns if the comparator was created via setSortColumns, otherwise null. */
+    private NormalizedKeyEncoder m_keyEncoder;
+
+    private boolean m_useNormalizedKeys = true;
+
     private DataContainer m_currentContainer;
 
-    private Queue<Iterable<DataRow>> m_chunksContainer = new LinkedList<Iterable<DataRow>>();
+    private Queue<SortedChunk> m_chunksContainer = new LinkedList<SortedChunk>();
+
+    /** Guards creation, closing and clearing of temporary containers, which happens from different threads. */
+    private final Object m_containerLock = new Object();
 
     private double m_progress;
 
@@ -272,12 +289,16 @@ public AbstractTableSorter(final DataTable inputTable, final long rowsCount, fin
         setSortColumns(inclList, sortAscending, sortMissingsToEnd);
     }
 
-    /** @param rowComparator the rowComparator to set */
+    /**
+     * @param rowComparator the rowComparator to set. Chunks of the table are sorted and merged concurrently, the
+     *            comparator must therefore be thread-safe (most comparators are as they don't have state).
+     */
     public void setRowComparator(final Comparator<DataRow> rowComparator) {
         if (rowComparator == null) {
             throw new NullPointerException("Argument must not be null.");
         }
         m_rowComparator = rowComparator;
+        m_keyEncoder = null;
     }
 
     /**
@@ -334,6 +355,32 @@ public void setSortColumns(final Collection<String> inclList, final boolean[] so
             indices[curIndex++] = index;
         }
         setRowComparator(new RowComparator(indices, sortAscending, sortMissingsToEnd, spec));
+        m_keyEncoder = NormalizedKeyEncoder.create(spec, indices, sortAscending, sortMissingsToEnd);
+    }
+
+    /**
+     * @return the useNormalizedKeys field, see {@link #setUseNormalizedKeys(boolean)} for details.
+     * @since 3.8
+     */
+    public boolean getUseNormalizedKeys() {
+        return m_useNormalizedKeys;
+    }
+
+    /**
+     * Whether to sort and merge on normalized keys (see {@link NormalizedKeyEncoder}) if the sort order is defined
+     * via {@link #setSortColumns(Collection, boolean[], boolean)}. The sort columns of each row are then encoded once
+     * into a byte array and rows are compared by comparing these arrays, which is considerably faster than comparing
+     * the cells. It has no effect if a custom row comparator is used or if the first sort column is not of a supported
+     * type. The result is the same in either case.
+     *
+     * <p>
+     * The default value for this option is <b>true</b>.
+     *
+     * @param useNormalizedKeys whether to use normalized keys
+     * @since 3.8
+     */
+    public void setUseNormalizedKeys(final boolean useNormalizedKeys) {
+        m_useNormalizedKeys = useNormalizedKeys;
     }
 
     /**
@@ -347,7 +394,8 @@ public int getMaxOpenContainers() {
 
     /**
      * Changes the number of maximum open containers (=files) during the sorting. Containers are used in the k-way merge
-     * sort, the higher the number the fewer iterations in the final merge need to be done.
+     * sort, the higher the number the fewer iterations in the final merge need to be done. Note that intermediate
+     * merges run concurrently, each of them reading from at most that many containers.
      *
      * <p>
      * The default is {@value #DEF_MAX_OPENCONTAINER}.
@@ -372,6 +420,19 @@ void setMaxRows(final int maxRows) {
         m_maxRowsPerChunk = maxRows;
     }
 
+    /**
+     * Set the maximum number of chunks that are sorted or merged concurrently, defaults to the number of available
+     * processors. This field is modified from the testing framework.
+     *
+     * @param parallelism the parallelism to set, at least 1
+     */
+    void setParallelism(final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Invalid parallelism: " + parallelism);
+        }
+        m_parallelism = parallelism;
+    }
+
     /**
      * Set memory service. Used in unit test.
      *
@@ -451,7 +512,7 @@ private DataTable sortInMemory(final ExecutionMonitor exec) throws CanceledExecu
         }
 
         exec.setMessage("Sorting");
-        Collections.sort(rowList, m_rowComparator);
+        sortRows(rowList);
 
         exec.setMessage("Creating sorted table");
 
@@ -525,6 +586,10 @@ private DataTable sortOnDisk(final ExecutionMonitor exec) throws CanceledExecuti
     }
 
     /**
+     * Merges the chunks created so far. Chunks are merged in rounds; the merges within a round are independent of
+     * each other and run concurrently. Each merge reads at most {@link #m_maxOpenContainers} chunks, which are
+     * consecutive in the chunk queue so that rows comparing equal keep their input order.
+     *
      * @param exec execution context
      * @param mergeCompletely if <code>true</code> the chunks are merged until only one chunk is left, otherwise the
      *            algorithm returns after at most {@link #m_maxOpenContainers} chunks are used
@@ -533,49 +598,121 @@ private DataTable sortOnDisk(final ExecutionMonitor exec) throws CanceledExecuti
      */
     Iterator<DataRow> mergeChunks(final ExecutionMonitor exec, final boolean mergeCompletely)
         throws CanceledExecutionException {
-        while (!m_chunksContainer.isEmpty()) {
+        final int maxRemainingChunks = mergeCompletely ? 1 : m_maxOpenContainers;
+        final ThreadPool pool = createSubPool();
+        while (m_chunksContainer.size() > maxRemainingChunks) {
             exec.setMessage("Merging temporary tables, " + m_chunksContainer.size() + " remaining");
-            if (m_chunksContainer.size() < m_maxOpenContainers) {
-                if (m_rowsInInputTable > 0) {
-                    m_incProgress = (1.0 - m_progress) / m_rowsInInputTable;
+            List<SortedChunk> chunks = new ArrayList<>(m_chunksContainer);
+            m_chunksContainer.clear();
+            List<List<SortedChunk>> groups = createMergeGroups(chunks, maxRemainingChunks, m_maxOpenContainers);
+            long roundRowCount = 0;
+            for (List<SortedChunk> group : groups) {
+                if (group.size() > 1) {
+                    for (SortedChunk chunk : group) {
+                        roundRowCount += chunk.m_size;
+                    }
                 }
-            } else {
-                if (m_rowsInInputTable > 0) {
-                    double estimatedReads =
-                        Math.ceil(m_chunksContainer.size() / (double)m_maxOpenContainers) * m_rowsInInputTable;
-                    m_incProgress = (1.0 - m_progress) / estimatedReads;
+            }
+            // the final pass over all rows is still to come
+            double roundProgress = m_rowsInInputTable > 0
+                ? (1.0 - m_progress) * roundRowCount / (roundRowCount + m_rowsInInputTable) : 0.0;
+            List<Future<SortedChunk>> mergedChunks = new ArrayList<>(groups.size());
+            try {
+                for (List<SortedChunk> group : groups) {
+                    if (group.size() == 1) {
+                        mergedChunks.add(null);
+                    } else {
+                        long groupRowCount = group.stream().mapToLong(c -> c.m_size).sum();
+                        ExecutionMonitor subExec = exec.createSubProgress(
+                            roundRowCount > 0 ? roundProgress * groupRowCount / roundRowCount : 0.0);
+                        mergedChunks.add(pool.enqueue(() -> mergeToChunk(group, subExec)));
+                    }
+                }
+                for (int i = 0; i < groups.size(); i++) {
+                    Future<SortedChunk> future = mergedChunks.get(i);
+                    m_chunksContainer.add(future == null ? groups.get(i).get(0) : ThreadPool.await(future));
                 }
+            } finally {
+                ThreadPool.cancelAll(mergedChunks);
             }
-
-            Queue<MergeEntry> containersToMerge = new ArrayDeque<>();
-
-            for (int i = 0; !m_chunksContainer.isEmpty() && i < m_maxOpenContainers; i++) {
-                containersToMerge.add(new MergeEntry(m_chunksContainer.poll(), i, m_rowComparator));
+            for (List<SortedChunk> group : groups) {
+                if (group.size() > 1) {
+                    group.forEach(this::clearChunk);
+                }
             }
+            m_progress += roundProgress;
+            exec.setProgress(m_progress);
+        }
+        if (m_chunksContainer.isEmpty()) {
+            return Collections.<DataRow>emptyList().iterator();
+        }
+        List<Iterable<DataRow>> toMerge = new ArrayList<>(m_chunksContainer.size());
+        for (SortedChunk chunk : m_chunksContainer) {
+            toMerge.add(chunk.m_rows);
+        }
+        m_chunksContainer.clear();
+        return new LoserTreeMergeIterator(toMerge, m_rowComparator, getKeyEncoder(), this::clearIfTable);
+    }
 
-            MergingIterator mergingIterator = new MergingIterator(containersToMerge);
-
-            if (m_chunksContainer.isEmpty() && (!mergeCompletely || containersToMerge.size() == 1)) {
-                return mergingIterator;
-            } else {
-                if (m_rowsInInputTable > 0) {
-                    // increment progress
-                    m_progress += m_incProgress;
-                    exec.setProgress(m_progress);
-                }
-                openChunk();
+    /**
+     * Splits the chunks into consecutive groups, each group is merged into a single chunk. If possible only as many
+     * chunks are merged as needed to get down to <code>maxRemainingChunks</code>, otherwise all chunks are merged
+     * (in groups of about equal size).
+     *
+     * @param <T> the type of the chunks
+     * @param chunks the chunks
+     * @param maxRemainingChunks the number of chunks that may remain
+     * @param maxGroupSize the maximum number of chunks in a group (number of open containers)
+     * @return the groups covering all chunks, groups of size 1 are not merged
+     */
+    static <T> List<List<T>> createMergeGroups(final List<T> chunks, final int maxRemainingChunks,
+        final int maxGroupSize) {
+        final int chunkCount = chunks.size();
+        final int excess = chunkCount - maxRemainingChunks;
+        int mergeCount = (excess + maxGroupSize - 2) / (maxGroupSize - 1);
+        int mergedChunkCount;
+        if (mergeCount * maxGroupSize <= chunkCount) {
+            // this round will be the last one, merge only as many chunks as required
+            mergedChunkCount = excess + mergeCount;
+        } else {
+            mergeCount = (chunkCount + maxGroupSize - 1) / maxGroupSize;
+            mergedChunkCount = chunkCount;
+        }
+        List<List<T>> groups = new ArrayList<>();
+        int index = 0;
+        for (int i = 0; i < mergeCount; i++) {
+            int groupSize = mergedChunkCount / mergeCount + (i < mergedChunkCount % mergeCount ? 1 : 0);
+            groups.add(new ArrayList<>(chunks.subList(index, index + groupSize)));
+            index += groupSize;
+        }
+        for (; index < chunkCount; index++) {
+            groups.add(Collections.singletonList(chunks.get(index)));
+        }
+        return groups;
+    }
 
-                try {
-                    while (mergingIterator.hasNext()) {
-                        addRowToChunk(mergingIterator.next());
-                        exec.checkCanceled();
-                    }
-                } finally {
-                    closeChunk();
-                }
+    /** Merges the argument chunks into a new temporary container. Called concurrently. */
+    private SortedChunk mergeToChunk(final List<SortedChunk> chunks, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        long rowCount = 0;
+        List<Iterable<DataRow>> toMerge = new ArrayList<>(chunks.size());
+        for (SortedChunk chunk : chunks) {
+            toMerge.add(chunk.m_rows);
+            rowCount += chunk.m_size;
+        }
+        DataContainer container = createChunkContainer();
+        Iterator<DataRow> mergingIterator =
+            new LoserTreeMergeIterator(toMerge, m_rowComparator, getKeyEncoder(), null);
+        long count = 0;
+        while (mergingIterator.hasNext()) {
+            container.addRowToTable(mergingIterator.next());
+            exec.checkCanceled();
+            count++;
+            if (rowCount > 0) {
+                exec.setProgress(count / (double)rowCount);
             }
         }
-        return Collections.<DataRow>emptyList().iterator();
+        return new SortedChunk(closeChunkContainer(container), count);
     }
 
     private long createInitialChunks(final ExecutionMonitor exec, final DataTable dataTable)
@@ -588,70 +725,147 @@ private long createInitialChunks(final ExecutionMonitor exec, final DataTable da
 
         MemoryActionIndicator memObservable = m_memService.newIndicator();
 
+        final ThreadPool pool = createSubPool();
+        // chunks that are sorted and written concurrently while reading continues, in input order
+        final Deque<Future<SortedChunk>> pendingChunks = new ArrayDeque<>();
         exec.setMessage("Reading table");
-        for (Iterator<DataRow> iter = dataTable.iterator(); iter.hasNext();) {
-            counter++;
-            rowsInCurrentChunk++;
-            exec.checkCanceled();
-            String message = "Reading table, " + counter + " rows read";
-            if (m_rowsInInputTable > 0) {
-                m_progress += m_incProgress;
-                exec.setProgress(m_progress, message);
-            } else {
-                exec.setMessage(message);
-            }
-            DataRow row = iter.next();
-            buffer.add(row);
-            if ((memObservable.lowMemoryActionRequired() && (rowsInCurrentChunk >= m_maxOpenContainers))
-                || (counter % m_maxRowsPerChunk == 0)) {
-                LOGGER.debug("Writing chunk [" + chunkStartRow + ":" + counter + "] - mem usage: " + getMemUsage());
+        try {
+            for (Iterator<DataRow> iter = dataTable.iterator(); iter.hasNext();) {
+                counter++;
+                rowsInCurrentChunk++;
+                exec.checkCanceled();
+                String message = "Reading table, " + counter + " rows read";
                 if (m_rowsInInputTable > 0) {
-                    long estimatedIncrements = m_rowsInInputTable - counter + buffer.size();
-                    m_incProgress = (0.5 - m_progress) / estimatedIncrements;
+                    m_progress += m_incProgress;
+                    exec.setProgress(m_progress, message);
+                } else {
+                    exec.setMessage(message);
                 }
-                exec.setMessage("Sorting temporary buffer");
-                // sort buffer
-                Collections.sort(buffer, m_rowComparator);
-                // write buffer to disk
-                openChunk();
-                final int totalBufferSize = buffer.size();
-                for (int i = 0; i < totalBufferSize; i++) {
-                    exec.setMessage("Writing temporary table -- " + i + "/" + totalBufferSize);
-                    // must not use Iterator#remove as it causes
-                    // array copies
-                    DataRow next = buffer.set(i, null);
-                    addRowToChunk(next);
-                    exec.checkCanceled();
-                    if (m_rowsInInputTable > 0) {
-                        m_progress += m_incProgress;
-                        exec.setProgress(m_progress);
+                DataRow row = iter.next();
+                buffer.add(row);
+                final boolean isLowMemory =
+                    memObservable.lowMemoryActionRequired() && (rowsInCurrentChunk >= m_maxOpenContainers);
+                if (isLowMemory || (counter % m_maxRowsPerChunk == 0)) {
+                    LOGGER.debug("Writing chunk [" + chunkStartRow + ":" + counter + "] - mem usage: " + getMemUsage());
+                    final List<DataRow> chunkRows = buffer;
+                    buffer = new ArrayList<DataRow>();
+                    pendingChunks.add(pool.enqueue(() -> sortAndWriteChunk(chunkRows, exec)));
+                    // the rows are only released once they are written; if memory is low wait for all chunks
+                    // but the last, otherwise limit the number of chunks in flight
+                    final int maxPendingChunks = isLowMemory ? 1 : m_parallelism;
+                    while (pendingChunks.size() > maxPendingChunks) {
+                        m_chunksContainer.add(ThreadPool.await(pendingChunks.peekFirst()));
+                        pendingChunks.removeFirst();
                     }
+                    chunkStartRow = counter + 1;
+                    rowsInCurrentChunk = 0;
                 }
-                buffer.clear();
-                closeChunk();
-
-                LOGGER.debug("Wrote chunk [" + chunkStartRow + ":" + counter + "] - mem usage: " + getMemUsage());
-                chunkStartRow = counter + 1;
-                rowsInCurrentChunk = 0;
             }
+            exec.setMessage("Writing temporary tables");
+            while (!pendingChunks.isEmpty()) {
+                m_chunksContainer.add(ThreadPool.await(pendingChunks.peekFirst()));
+                pendingChunks.removeFirst();
+            }
+        } finally {
+            ThreadPool.cancelAll(pendingChunks);
         }
         // Add buffer to the chunks
         if (!buffer.isEmpty()) {
             // sort buffer
-            Collections.sort(buffer, m_rowComparator);
-            m_chunksContainer.add(buffer);
+            sortRows(buffer);
+            m_chunksContainer.add(new SortedChunk(buffer, buffer.size()));
         }
         outerCounter = counter;
         return outerCounter;
     }
 
+    /** Sorts the rows and writes them to a new temporary container. Called concurrently. */
+    private SortedChunk sortAndWriteChunk(final List<DataRow> rows, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        sortRows(rows);
+        DataContainer container = createChunkContainer();
+        final int totalBufferSize = rows.size();
+        for (int i = 0; i < totalBufferSize; i++) {
+            // must not use Iterator#remove as it causes
+            // array copies
+            container.addRowToTable(rows.set(i, null));
+            exec.checkCanceled();
+        }
+        return new SortedChunk(closeChunkContainer(container), totalBufferSize);
+    }
+
+    /** @return the key encoder to use or null if rows are compared using the row comparator. */
+    private NormalizedKeyEncoder getKeyEncoder() {
+        return m_useNormalizedKeys ? m_keyEncoder : null;
+    }
+
+    /** Sorts the list (stable), using normalized keys if possible. Called concurrently. */
+    private void sortRows(final List<DataRow> rows) {
+        final NormalizedKeyEncoder keyEncoder = getKeyEncoder();
+        if (keyEncoder == null) {
+            Collections.sort(rows, m_rowComparator);
+            return;
+        }
+        final KeyedRow[] keyedRows = new KeyedRow[rows.size()];
+        for (int i = 0; i < keyedRows.length; i++) {
+            DataRow row = rows.get(i);
+            keyedRows[i] = new KeyedRow(keyEncoder.encode(row), row);
+        }
+        final boolean isExact = keyEncoder.isExact();
+        Arrays.sort(keyedRows, (r1, r2) -> {
+            int c = NormalizedKeyEncoder.compareKeys(r1.m_key, r2.m_key);
+            return c != 0 || isExact ? c : m_rowComparator.compare(r1.m_row, r2.m_row);
+        });
+        for (int i = 0; i < keyedRows.length; i++) {
+            rows.set(i, keyedRows[i].m_row);
+        }
+    }
+
+    /**
+     * @return a pool running at most {@link #m_parallelism} sort or merge tasks, sharing the threads of the pool the
+     *         current thread is taken from (or the global thread pool).
+     */
+    private ThreadPool createSubPool() {
+        ThreadPool currentPool = ThreadPool.currentPool();
+        ThreadPool parent = currentPool != null ? currentPool : KNIMEConstants.GLOBAL_THREAD_POOL;
+        return parent.createSubPool(m_parallelism);
+    }
+
+    /** @return a new (empty) container for a temporary chunk. */
+    private DataContainer createChunkContainer() {
+        synchronized (m_containerLock) {
+            DataContainer container = createDataContainer(m_dataTableSpec, true);
+            container.setMaxPossibleValues(0);
+            return container;
+        }
+    }
+
+    /** Closes a container created by {@link #createChunkContainer()} and returns its table. */
+    private DataTable closeChunkContainer(final DataContainer container) {
+        synchronized (m_containerLock) {
+            container.close();
+            return container.getTable();
+        }
+    }
+
+    private void clearChunk(final SortedChunk chunk) {
+        clearIfTable(chunk.m_rows);
+    }
+
+    private void clearIfTable(final Iterable<DataRow> rows) {
+        if (rows instanceof DataTable) {
+            synchronized (m_containerLock) {
+                clearTable((DataTable)rows);
+            }
+        }
+    }
+
     /**
      * Opens a chunk data container to accept rows using {@link #addRowToChunk(DataRow)}, {@link #closeChunk()} closes
      * the current container and adds it to the chunk list.
      */
     void openChunk() {
-        m_currentContainer = createDataContainer(m_dataTableSpec, true);
-        m_currentContainer.setMaxPossibleValues(0);
+        m_currentContainer = createChunkContainer();
     }
 
     /**
@@ -669,11 +883,11 @@ void addRowToChunk(final DataRow dataRow) {
      */
     void closeChunk() {
         if (m_currentContainer != null) {
-            m_currentContainer.close();
+            DataTable table = closeChunkContainer(m_currentContainer);
             if (m_itemCount > 0) {
-                m_chunksContainer.offer(m_currentContainer.getTable());
+                m_chunksContainer.offer(new SortedChunk(table, m_itemCount));
             } else {
-                clearTable(m_currentContainer.getTable());
+                clearIfTable(table);
             }
             m_itemCount = 0;
         }
@@ -693,176 +907,29 @@ private String getMemUsage() {
         return "avail: " + availS + "MB, total: " + totalS + "MB, free: " + freeS + "MB";
     }
 
-    private final class MergeEntry implements Comparable<MergeEntry>, Iterator<DataRow> {
-        private DataRow m_row;
-
-        private Iterable<DataRow> m_iterable;
-
-        private Iterator<DataRow> m_iterator;
-
-        private int m_index;
-
-        private Comparator<DataRow> m_comparator;
-
-        /**
-         * @param iterator
-         * @param index
-         * @param comparator
-         */
-        MergeEntry(final Iterable<DataRow> iterable, final int index, final Comparator<DataRow> comparator) {
-            m_iterable = iterable;
-            m_index = index;
-            m_comparator = comparator;
-        }
-
-        private void open() {
-            if (m_iterator == null) {
-                m_iterator = m_iterable.iterator();
-                if (m_iterator.hasNext()) {
-                    m_row = m_iterator.next();
-                }
-            }
-        }
-
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public boolean hasNext() {
-            // open the file lazily
-            if (m_row == null) {
-                if (m_iterable instanceof DataTable) {
-                    clearTable((DataTable)m_iterable);
-                }
-                return false;
-            }
-            return true;
-        }
-
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public DataRow next() {
-            // open the file lazily
-            if (m_row == null) {
-                throw new NoSuchElementException();
-            }
-            DataRow toReturn = m_row;
-            m_row = m_iterator.hasNext() ? m_iterator.next() : null;
-            return toReturn;
-        }
-
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public void remove() {
-            throw new UnsupportedOperationException();
-        }
+    /** A row along with its normalized key, used during in-memory sorting. */
+    private static final class KeyedRow {
 
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public int compareTo(final MergeEntry that) {
-            int value = m_comparator.compare(this.m_row, that.m_row);
-            if (value == 0) {
-                return this.m_index - that.m_index;
-            } else {
-                return value;
-            }
-        }
+        private final byte[] m_key;
 
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public int hashCode() {
-            final int prime = 31;
-            int result = 1;
-            result = prime * result + m_index;
-            result = prime * result + ((m_row == null) ? 0 : m_row.hashCode());
-            return result;
-        }
+        private final DataRow m_row;
 
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public boolean equals(final Object obj) {
-            if (this == obj) {
-                return true;
-            }
-            if (obj == null) {
-                return false;
-            }
-            if (getClass() != obj.getClass()) {
-                return false;
-            }
-            MergeEntry other = (MergeEntry)obj;
-            return (this.compareTo(other) == 0);
+        KeyedRow(final byte[] key, final DataRow row) {
+            m_key = key;
+            m_row = row;
         }
     }
 
-    /**
-     * Lazily opens the given MergeEntry's (The runs of this merging step) and returns the rows.
-     *
-     * @author Marcel Hanser
-     */
-    private static final class MergingIterator implements Iterator<DataRow> {
-        private Queue<MergeEntry> m_containerToMerge;
+    /** A sorted run of rows, either a temporary table or (for the last chunk) a list in memory. */
+    private static final class SortedChunk {
 
-        private boolean m_opened = false;
+        private final Iterable<DataRow> m_rows;
 
-        /**
-         * @param containerToMerge
-         */
-        private MergingIterator(final Queue<MergeEntry> containerToMerge) {
-            super();
-            m_containerToMerge = containerToMerge;
-        }
-
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public boolean hasNext() {
-            if (!m_opened) {
-                Queue<MergeEntry> sortedEntries = new PriorityQueue<>();
-                for (MergeEntry entry : m_containerToMerge) {
-                    entry.open();
-                    sortedEntries.add(entry);
-                }
-                m_containerToMerge = sortedEntries;
-                m_opened = true;
-            }
-            return !m_containerToMerge.isEmpty();
-        }
-
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public DataRow next() {
-            if (hasNext()) {
-                MergeEntry first = m_containerToMerge.poll();
-                DataRow currentCell = first.next();
-                if (first.hasNext()) {
-                    m_containerToMerge.offer(first);
-                }
-                return currentCell;
-            } else {
-                throw new NoSuchElementException();
-            }
-        }
+        private final long m_size;
 
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public void remove() {
-            throw new UnsupportedOperationException();
+        SortedChunk(final Iterable<DataRow> rows, final long size) {
+            m_rows = rows;
+            m_size = size;
         }
     }
 
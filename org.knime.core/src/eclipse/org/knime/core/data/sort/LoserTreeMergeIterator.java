@@ -0,0 +1,222 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.sort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+import org.knime.core.data.DataRow;
+
+/**
+ * k-way merge of sorted row sources using a tournament tree of losers. Each call to {@link #next()} costs
+ * <code>log2(k)</code> comparisons (a binary heap as in {@link java.util.PriorityQueue} needs up to twice as many).
+ *
+ * <p>
+ * The merge is stable: rows comparing equal are returned in the order of their sources (and within a source in the
+ * order of the source). The sources are opened lazily on the first call to {@link #hasNext()}.
+ *
+ * <p>
+ * If a {@link NormalizedKeyEncoder} is given, each row is encoded once when it becomes the head of its source and the
+ * matches are decided by comparing the keys; the comparator is then only used for ties of non-exact keys.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class LoserTreeMergeIterator implements Iterator<DataRow> {
+
+    private final List<? extends Iterable<DataRow>> m_sources;
+
+    private final Comparator<DataRow> m_comparator;
+
+    private final NormalizedKeyEncoder m_keyEncoder;
+
+    private final Consumer<Iterable<DataRow>> m_exhaustedCallback;
+
+    /** Number of sources, also used as index of the virtual "minus infinity" source during initialization. */
+    private final int m_k;
+
+    /** m_tree[0] is the index of the overall winner, m_tree[1..k-1] the losers of the inner matches. */
+    private final int[] m_tree;
+
+    /** The current head row of each source, null if exhausted. */
+    private final DataRow[] m_heads;
+
+    /** The normalized keys of the head rows, only used if there is a key encoder. */
+    private final byte[][] m_headKeys;
+
+    private final List<Iterator<DataRow>> m_iterators;
+
+    private boolean m_isOpened;
+
+    /**
+     * @param sources the sorted sources, in order of precedence for equal rows
+     * @param comparator the comparator the sources are sorted by
+     * @param keyEncoder encoder for the sort columns matching the comparator, may be null
+     * @param exhaustedCallback called with a source once all rows of it are returned (e.g. to delete temporary
+     *            tables), may be null
+     */
+    LoserTreeMergeIterator(final List<? extends Iterable<DataRow>> sources, final Comparator<DataRow> comparator,
+        final NormalizedKeyEncoder keyEncoder, final Consumer<Iterable<DataRow>> exhaustedCallback) {
+        m_sources = sources;
+        m_comparator = comparator;
+        m_keyEncoder = keyEncoder;
+        m_exhaustedCallback = exhaustedCallback;
+        m_k = sources.size();
+        m_tree = new int[Math.max(1, m_k)];
+        m_heads = new DataRow[m_k];
+        m_headKeys = keyEncoder != null ? new byte[m_k][] : null;
+        m_iterators = new ArrayList<>(m_k);
+    }
+
+    private void open() {
+        for (int i = 0; i < m_k; i++) {
+            Iterator<DataRow> it = m_sources.get(i).iterator();
+            m_iterators.add(it);
+            setHead(i, it.hasNext() ? it.next() : null);
+            if (m_heads[i] == null) {
+                sourceExhausted(i);
+            }
+        }
+        if (m_k == 0) {
+            return;
+        }
+        // all matches are initially won by the virtual source m_k ...
+        for (int i = 0; i < m_k; i++) {
+            m_tree[i] = m_k;
+        }
+        // ... which is then replaced by real sources one by one
+        for (int i = m_k - 1; i >= 0; i--) {
+            adjust(i);
+        }
+    }
+
+    /** Replays the matches from the leaf of the argument source up to the root. */
+    private void adjust(final int source) {
+        int winner = source;
+        for (int t = (source + m_k) >>> 1; t > 0; t >>>= 1) {
+            final int opponent = m_tree[t];
+            if (isBefore(opponent, winner)) {
+                m_tree[t] = winner;
+                winner = opponent;
+            }
+        }
+        m_tree[0] = winner;
+    }
+
+    /** Whether the head of source a is returned before the head of source b. Exhausted sources are last. */
+    private boolean isBefore(final int a, final int b) {
+        if (a == m_k) {
+            return true;
+        } else if (b == m_k) {
+            return false;
+        }
+        final DataRow rowA = m_heads[a];
+        final DataRow rowB = m_heads[b];
+        if (rowA == null) {
+            return false;
+        } else if (rowB == null) {
+            return true;
+        }
+        int c;
+        if (m_keyEncoder != null) {
+            c = NormalizedKeyEncoder.compareKeys(m_headKeys[a], m_headKeys[b]);
+            if (c == 0 && !m_keyEncoder.isExact()) {
+                c = m_comparator.compare(rowA, rowB);
+            }
+        } else {
+            c = m_comparator.compare(rowA, rowB);
+        }
+        return c < 0 || (c == 0 && a < b);
+    }
+
+    private void setHead(final int source, final DataRow row) {
+        m_heads[source] = row;
+        if (m_keyEncoder != null) {
+            m_headKeys[source] = row != null ? m_keyEncoder.encode(row) : null;
+        }
+    }
+
+    private void sourceExhausted(final int source) {
+        if (m_exhaustedCallback != null) {
+            m_exhaustedCallback.accept(m_sources.get(source));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasNext() {
+        if (!m_isOpened) {
+            open();
+            m_isOpened = true;
+        }
+        return m_k > 0 && m_heads[m_tree[0]] != null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DataRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final int winner = m_tree[0];
+        final DataRow result = m_heads[winner];
+        final Iterator<DataRow> it = m_iterators.get(winner);
+        if (it.hasNext()) {
+            setHead(winner, it.next());
+        } else {
+            setHead(winner, null);
+            sourceExhausted(winner);
+        }
+        adjust(winner);
+        return result;
+    }
+
+}
@@ -0,0 +1,348 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataValueComparator;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.DoubleValueComparator;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.IntValueComparator;
+import org.knime.core.data.LongValue;
+import org.knime.core.data.LongValueComparator;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.StringValueComparator;
+
+/**
+ * Encodes the sort columns of a row into a normalized key, a byte array whose unsigned lexicographic order (see
+ * {@link #compareKeys(byte[], byte[])}) is the order of the rows as defined by the sort columns, the sort direction
+ * and the placement of missing values. Rows are encoded once, comparing the keys is then much cheaper than comparing
+ * the cells using the columns' {@link DataValueComparator}.
+ *
+ * <p>
+ * Columns whose comparator is one of {@link IntValueComparator}, {@link LongValueComparator},
+ * {@link DoubleValueComparator} or {@link StringValueComparator} (and the row key) are supported. Only the leading
+ * supported sort columns are encoded; also string values are encoded only up to a maximum length. Two rows with equal
+ * keys may therefore still be different with respect to the sort order, which is indicated by
+ * {@link #isExact()} &mdash; in that case ties must be resolved by comparing the rows.
+ *
+ * <p>
+ * Instances are immutable and may be used concurrently.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+public final class NormalizedKeyEncoder {
+
+    /** Number of characters of a string value that are encoded. */
+    static final int MAX_STRING_KEY_LENGTH = 64;
+
+    /** Encoding of a string value: terminator (two bytes), escaped 0 byte and truncation marker. */
+    private static final byte STRING_TERMINATOR = 0x00;
+
+    private static final byte STRING_ESCAPE = (byte)0xFF;
+
+    private static final byte STRING_TRUNCATED = 0x01;
+
+    /** The type specific encoding of a (non-missing) value. */
+    private enum ColumnEncoding {
+            INT {
+                @Override
+                boolean encode(final DataCell cell, final KeyBuilder key) {
+                    key.putInt(((IntValue)cell).getIntValue() ^ Integer.MIN_VALUE);
+                    return true;
+                }
+            },
+            LONG {
+                @Override
+                boolean encode(final DataCell cell, final KeyBuilder key) {
+                    key.putLong(((LongValue)cell).getLongValue() ^ Long.MIN_VALUE);
+                    return true;
+                }
+            },
+            DOUBLE {
+                @Override
+                boolean encode(final DataCell cell, final KeyBuilder key) {
+                    // same order as Double#compare: -0.0 < 0.0, NaN is largest
+                    long bits = Double.doubleToLongBits(((DoubleValue)cell).getDoubleValue());
+                    key.putLong(bits < 0 ? ~bits : bits ^ Long.MIN_VALUE);
+                    return true;
+                }
+            },
+            STRING {
+                @Override
+                boolean encode(final DataCell cell, final KeyBuilder key) {
+                    return key.putString(((StringValue)cell).getStringValue());
+                }
+            };
+
+        /**
+         * Appends the value of the cell.
+         *
+         * @return false if the encoding is truncated (no further columns must be appended)
+         */
+        abstract boolean encode(DataCell cell, KeyBuilder key);
+
+        /** @return the encoding matching the comparator or null if the comparator is not supported. */
+        static ColumnEncoding get(final DataValueComparator comparator) {
+            final Class<?> cl = comparator.getClass();
+            if (cl == IntValueComparator.class) {
+                return INT;
+            } else if (cl == LongValueComparator.class) {
+                return LONG;
+            } else if (cl == DoubleValueComparator.class) {
+                return DOUBLE;
+            } else if (cl == StringValueComparator.class) {
+                return STRING;
+            }
+            return null;
+        }
+    }
+
+    /** Column indices, -1 for the row key. */
+    private final int[] m_indices;
+
+    private final ColumnEncoding[] m_encodings;
+
+    private final boolean[] m_sortAscending;
+
+    /** The (first) byte written for a missing cell, per column. */
+    private final byte[] m_missingBytes;
+
+    private final boolean m_isExact;
+
+    private NormalizedKeyEncoder(final int[] indices, final ColumnEncoding[] encodings,
+        final boolean[] sortAscending, final boolean sortMissingsToEnd, final boolean isExact) {
+        m_indices = indices;
+        m_encodings = encodings;
+        m_sortAscending = sortAscending;
+        m_missingBytes = new byte[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            // missing values are smaller than any other value unless sorted to the end, the order is reversed when
+            // sorting descending (see RowComparator in AbstractTableSorter)
+            boolean isMissingFirst = sortAscending[i] && !sortMissingsToEnd;
+            m_missingBytes[i] = isMissingFirst ? (byte)0x00 : (byte)0xFF;
+        }
+        m_isExact = isExact;
+    }
+
+    /**
+     * Creates an encoder for the given sort columns, whereby the order is the same as the one of a comparator created
+     * via {@link BufferedDataTableSorter#setSortColumns(java.util.Collection, boolean[], boolean)}.
+     *
+     * @param spec the spec of the table to sort
+     * @param indices the indices of the sort columns, -1 for the row key
+     * @param sortAscending the sort direction per sort column
+     * @param sortMissingsToEnd whether missing values are sorted to the end (independent of the direction)
+     * @return a new encoder or null if the first sort column is not supported
+     */
+    public static NormalizedKeyEncoder create(final DataTableSpec spec, final int[] indices,
+        final boolean[] sortAscending, final boolean sortMissingsToEnd) {
+        if (indices.length != sortAscending.length) {
+            throw new IllegalArgumentException("Length of arguments vary: " + indices.length + " vs. "
+                + sortAscending.length);
+        }
+        List<ColumnEncoding> encodings = new ArrayList<>();
+        for (int index : indices) {
+            ColumnEncoding encoding = index < 0 ? ColumnEncoding.STRING
+                : ColumnEncoding.get(spec.getColumnSpec(index).getType().getComparator());
+            if (encoding == null) {
+                break;
+            }
+            encodings.add(encoding);
+        }
+        final int length = encodings.size();
+        if (length == 0) {
+            return null;
+        }
+        boolean isExact = length == indices.length && !encodings.contains(ColumnEncoding.STRING);
+        return new NormalizedKeyEncoder(Arrays.copyOf(indices, length),
+            encodings.toArray(new ColumnEncoding[length]), Arrays.copyOf(sortAscending, length), sortMissingsToEnd,
+            isExact);
+    }
+
+    /**
+     * @return true if equal keys imply that the rows are equal with respect to the sort order. If false, rows with
+     *         equal keys need to be compared using the row comparator.
+     */
+    public boolean isExact() {
+        return m_isExact;
+    }
+
+    /**
+     * @param row the row to encode
+     * @return the normalized key of the row
+     */
+    public byte[] encode(final DataRow row) {
+        KeyBuilder key = new KeyBuilder(8 + 9 * m_indices.length);
+        for (int i = 0; i < m_indices.length; i++) {
+            final int start = key.m_length;
+            final int index = m_indices[i];
+            boolean isComplete = true;
+            if (index < 0) {
+                key.put((byte)0x01);
+                isComplete = key.putString(row.getKey().getString());
+            } else {
+                DataCell cell = row.getCell(index);
+                if (cell.isMissing()) {
+                    key.put(m_missingBytes[i]);
+                    // no payload, the missing byte is never inverted
+                    continue;
+                }
+                key.put((byte)0x01);
+                isComplete = m_encodings[i].encode(cell, key);
+            }
+            if (!m_sortAscending[i]) {
+                key.invert(start);
+            }
+            if (!isComplete) {
+                break;
+            }
+        }
+        return key.toByteArray();
+    }
+
+    /**
+     * Compares two keys created by {@link #encode(DataRow)} lexicographically, bytes are compared unsigned.
+     *
+     * @param key1 first key
+     * @param key2 second key
+     * @return a negative integer, zero, or a positive integer as the first key is less than, equal to, or greater than
+     *         the second
+     */
+    public static int compareKeys(final byte[] key1, final byte[] key2) {
+        final int length = Math.min(key1.length, key2.length);
+        for (int i = 0; i < length; i++) {
+            if (key1[i] != key2[i]) {
+                return (key1[i] & 0xFF) - (key2[i] & 0xFF);
+            }
+        }
+        return key1.length - key2.length;
+    }
+
+    /** Growable byte array, big endian. */
+    private static final class KeyBuilder {
+
+        private byte[] m_bytes;
+
+        private int m_length;
+
+        KeyBuilder(final int capacity) {
+            m_bytes = new byte[capacity];
+        }
+
+        private void ensureCapacity(final int additional) {
+            if (m_length + additional > m_bytes.length) {
+                m_bytes = Arrays.copyOf(m_bytes, Math.max(2 * m_bytes.length, m_length + additional));
+            }
+        }
+
+        void put(final byte b) {
+            ensureCapacity(1);
+            m_bytes[m_length++] = b;
+        }
+
+        void putInt(final int v) {
+            ensureCapacity(4);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                m_bytes[m_length++] = (byte)(v >>> shift);
+            }
+        }
+
+        void putLong(final long v) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                m_bytes[m_length++] = (byte)(v >>> shift);
+            }
+        }
+
+        /**
+         * Appends the UTF-16 code units (which gives the order of {@link String#compareTo(String)}), 0 bytes are
+         * escaped so that the terminator sorts before any character.
+         *
+         * @return false if the string was truncated
+         */
+        boolean putString(final String s) {
+            final int length = Math.min(s.length(), MAX_STRING_KEY_LENGTH);
+            ensureCapacity(4 * length + 2);
+            for (int i = 0; i < length; i++) {
+                final char c = s.charAt(i);
+                putStringByte((byte)(c >>> 8));
+                putStringByte((byte)c);
+            }
+            final boolean isTruncated = s.length() > length;
+            m_bytes[m_length++] = STRING_TERMINATOR;
+            m_bytes[m_length++] = isTruncated ? STRING_TRUNCATED : STRING_TERMINATOR;
+            return !isTruncated;
+        }
+
+        private void putStringByte(final byte b) {
+            m_bytes[m_length++] = b;
+            if (b == STRING_TERMINATOR) {
+                m_bytes[m_length++] = STRING_ESCAPE;
+            }
+        }
+
+        void invert(final int start) {
+            for (int i = start; i < m_length; i++) {
+                m_bytes[i] = (byte)~m_bytes[i];
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(m_bytes, m_length);
+        }
+    }
+
+}
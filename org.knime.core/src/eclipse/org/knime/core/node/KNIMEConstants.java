@@ -119,8 +119,9 @@ public final class KNIMEConstants {
     public static final String PROPERTY_SYNCHRONOUS_IO = "knime.synchronous.io";
 
     /** Java property to customize the write cache for asynchronous
-     * table writing. It specifies the size of a temporary buffer for data rows
-     * that is used during table creating. Once this buffer is full (or there
+     * table writing. It specifies the maximum number of rows in a temporary
+     * buffer for data rows that is used during table creating (see also
+     * {@link #PROPERTY_ASYNC_WRITE_BATCH_SIZE}). Once this buffer is full (or there
      * are no more rows to write), this buffer is handed over to the writing
      * routines to write the data output stream. The larger the buffer, the
      * smaller the synchronization overhead but the larger the memory
@@ -133,6 +134,20 @@ public final class KNIMEConstants {
     public static final String PROPERTY_ASYNC_WRITE_CACHE_SIZE =
         "knime.async.io.cachesize";
 
+    /** Java property to customize the batch size for asynchronous table
+     * writing. It specifies the estimated number of bytes of the data rows
+     * that are buffered during table creation before they are handed over to
+     * the writing routines (unless the buffer holds the maximum number of rows
+     * given by {@link #PROPERTY_ASYNC_WRITE_CACHE_SIZE} before).
+     * <p>
+     * The default value is {@value
+     * org.knime.core.data.container.DataContainer#DEF_ASYNC_BATCH_SIZE_IN_BYTES}.
+     * This property has no effect if tables are written synchronously
+     * (see {@link #PROPERTY_SYNCHRONOUS_IO}).
+     * @since 3.8 */
+    public static final String PROPERTY_ASYNC_WRITE_BATCH_SIZE =
+        "knime.async.io.batchsize";
+
     /** The number of nominal values kept in the domain when adding rows to a table. This is only the default and
      * may be overruled by individual node implementations. If not specified the default is {@value
      * org.knime.core.data.container.DataContainer#DEF_MAX_POSSIBLE_VALUES}.
@@ -165,6 +180,13 @@ public final class KNIMEConstants {
     public static final String PROPERTY_TABLE_GZIP_COMPRESSION =
         "knime.compress.io";
 
+    /** Java property to choose the compression codec used for table streams, one of "Gzip", "Lz4" or "None"
+     * (case-insensitive). If set, it takes precedence over {@link #PROPERTY_TABLE_GZIP_COMPRESSION}. Tables written
+     * with one codec can be read regardless of the value of this property as the codec is stored with the table.
+     * @since 3.8 */
+    public static final String PROPERTY_TABLE_COMPRESSION_CODEC =
+        "knime.compress.io.codec";
+
     /** Java property to enable/disable row ID duplicate checks on tables.
      * Tables in KNIME are supposed to have unique IDs, whereby the uniqueness
      * is asserted using a duplicate checker. This property will disable this
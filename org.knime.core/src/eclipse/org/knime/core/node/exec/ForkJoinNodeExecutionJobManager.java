@@ -0,0 +1,312 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.node.exec;
+
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.workflow.AbstractNodeExecutionJobManager;
+import org.knime.core.node.workflow.NodeContainer;
+import org.knime.core.node.workflow.NodeExecutionJob;
+import org.knime.core.node.workflow.NodeID;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.WorkflowManager;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Job manager that executes nodes in a work-stealing {@link ForkJoinPool}. In contrast to the
+ * {@link ThreadNodeExecutionJobManager} the node jobs don't occupy threads of the
+ * {@link KNIMEConstants#GLOBAL_THREAD_POOL}, hence tasks that a node submits to the global pool while executing
+ * don't compete with node jobs waiting for execution. Blocking calls to {@link ThreadPool#runInvisible(java.util.concurrent.Callable)}
+ * let the fork/join pool activate a spare thread and fork/join tasks (e.g. parallel streams) created by a node are
+ * executed and stolen by the threads of this pool.
+ *
+ * <p>
+ * At most {@link #getMaxRunningJobs()} nodes execute at the same time. Jobs waiting for execution are queued per
+ * workflow project and the queues are served round-robin, so a workflow with many executable nodes doesn't starve
+ * other workflows (e.g. on a server). The number of queued and running jobs as well as the time the nodes waited
+ * for execution are available for monitoring.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+public class ForkJoinNodeExecutionJobManager extends AbstractNodeExecutionJobManager {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(ForkJoinNodeExecutionJobManager.class);
+
+    /** The singleton instance, using as many threads as the global thread pool. */
+    public static final ForkJoinNodeExecutionJobManager INSTANCE =
+        new ForkJoinNodeExecutionJobManager(KNIMEConstants.GLOBAL_THREAD_POOL.getMaxThreads());
+
+    private final ForkJoinPool m_pool;
+
+    private final int m_maxRunningJobs;
+
+    /** Jobs waiting for execution per workflow project, the first queue is served next. Guarded by this. */
+    private final Map<Object, Queue<JobTask>> m_queues = new LinkedHashMap<>();
+
+    /** Guarded by this. */
+    private int m_queuedJobs;
+
+    /** Guarded by this. */
+    private int m_runningJobs;
+
+    private final AtomicLong m_startedJobs = new AtomicLong();
+
+    private final AtomicLong m_totalWaitTime = new AtomicLong();
+
+    /** The time the running job of a node waited for execution, removed when the job is done. */
+    private final Map<NodeID, Long> m_waitTimes = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new job manager with its own fork/join pool.
+     *
+     * @param maxRunningJobs the maximum number of nodes executing at the same time, also the parallelism of the pool
+     */
+    public ForkJoinNodeExecutionJobManager(final int maxRunningJobs) {
+        if (maxRunningJobs <= 0) {
+            throw new IllegalArgumentException("Number of running jobs must be positive: " + maxRunningJobs);
+        }
+        m_maxRunningJobs = maxRunningJobs;
+        ForkJoinWorkerThreadFactory threadFactory = pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("KNIME-Node-Executor-" + thread.getPoolIndex());
+            return thread;
+        };
+        // asynchronous (FIFO) mode as node jobs are never joined
+        m_pool = new ForkJoinPool(maxRunningJobs, threadFactory, null, true);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NodeExecutionJob submitJob(final NodeContainer nc, final PortObject[] data) {
+        if (!(nc instanceof SingleNodeContainer)) {
+            throw new IllegalStateException(getClass().getSimpleName()
+                    + " is not able to execute a metanode: " + nc.getNameWithID());
+        }
+        LocalNodeExecutionJob job = new LocalNodeExecutionJob((SingleNodeContainer)nc, data);
+        job.setFuture(enqueue(job, nc.getID(), getWorkflowKey(nc)));
+        return job;
+    }
+
+    /**
+     * Queues the job and hands it to the pool once a slot is free and its workflow is next in turn.
+     *
+     * @param job the job to run
+     * @param nodeID the id of the node the job executes
+     * @param workflowKey the key of the queue of the job, jobs with the same key are executed in submission order
+     * @return the future of the job, canceling it removes the job from its queue
+     */
+    Future<Void> enqueue(final Runnable job, final NodeID nodeID, final Object workflowKey) {
+        JobTask task = new JobTask(job, nodeID, workflowKey);
+        synchronized (this) {
+            m_queues.computeIfAbsent(workflowKey, k -> new ArrayDeque<>()).add(task);
+            m_queuedJobs++;
+            dispatch();
+        }
+        return task;
+    }
+
+    /** Jobs of nodes in the same workflow project are queued together, including nodes in metanodes. */
+    private static Object getWorkflowKey(final NodeContainer nc) {
+        WorkflowManager parent = nc.getParent();
+        return parent == WorkflowManager.ROOT ? parent : parent.getProjectWFM();
+    }
+
+    /** Hands queued jobs to the pool as long as there are free slots, taking one job per workflow in turn. */
+    private synchronized void dispatch() {
+        while (m_runningJobs < m_maxRunningJobs && m_queuedJobs > 0) {
+            Iterator<Map.Entry<Object, Queue<JobTask>>> it = m_queues.entrySet().iterator();
+            Map.Entry<Object, Queue<JobTask>> first = it.next();
+            JobTask task = first.getValue().poll();
+            it.remove();
+            if (!first.getValue().isEmpty()) {
+                // move the workflow to the end of the round
+                m_queues.put(first.getKey(), first.getValue());
+            }
+            m_queuedJobs--;
+            m_runningJobs++;
+            m_pool.execute(task);
+        }
+    }
+
+    private synchronized void jobFinished() {
+        m_runningJobs--;
+        dispatch();
+    }
+
+    /** Removes a job that has been canceled before it was handed to the pool. */
+    private synchronized void removeQueued(final JobTask task) {
+        Queue<JobTask> queue = m_queues.get(task.m_workflowKey);
+        if (queue != null && queue.remove(task)) {
+            m_queuedJobs--;
+            if (queue.isEmpty()) {
+                m_queues.remove(task.m_workflowKey);
+            }
+        }
+    }
+
+    /** @return the maximum number of nodes executing at the same time */
+    public int getMaxRunningJobs() {
+        return m_maxRunningJobs;
+    }
+
+    /** @return the number of jobs waiting for a free slot */
+    public synchronized int getQueuedJobCount() {
+        return m_queuedJobs;
+    }
+
+    /** @return the number of jobs handed to the pool that haven't finished yet */
+    public synchronized int getRunningJobCount() {
+        return m_runningJobs;
+    }
+
+    /** @return the average time in milliseconds the started jobs waited for execution */
+    public long getAverageWaitTime() {
+        long started = m_startedJobs.get();
+        return started == 0 ? 0 : m_totalWaitTime.get() / started;
+    }
+
+    /**
+     * @param id the id of a node
+     * @return the time in milliseconds the currently running job of the node waited for execution or -1 if the node
+     *         isn't executed by this job manager at the moment
+     */
+    public long getWaitTime(final NodeID id) {
+        Long waitTime = m_waitTimes.get(id);
+        return waitTime == null ? -1 : waitTime;
+    }
+
+    /** @return the number of tasks stolen by the threads of the pool, see {@link ForkJoinPool#getStealCount()} */
+    public long getStealCount() {
+        return m_pool.getStealCount();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getID() {
+        return ForkJoinNodeExecutionJobManagerFactory.INSTANCE.getID();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "Work-Stealing Job Manager";
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public URL getIcon() {
+        return null;
+    }
+
+    /** The future of a node job, which releases its slot when done. */
+    private final class JobTask extends FutureTask<Void> {
+        private final NodeID m_nodeID;
+
+        private final Object m_workflowKey;
+
+        private final long m_submitTime = System.currentTimeMillis();
+
+        private final ClassLoader m_contextClassloader = Thread.currentThread().getContextClassLoader();
+
+        JobTask(final Runnable job, final NodeID nodeID, final Object workflowKey) {
+            super(job, null);
+            m_nodeID = nodeID;
+            m_workflowKey = workflowKey;
+        }
+
+        @Override
+        public void run() {
+            if (isCancelled()) {
+                jobFinished();
+                return;
+            }
+            long waitTime = System.currentTimeMillis() - m_submitTime;
+            m_waitTimes.put(m_nodeID, waitTime);
+            m_totalWaitTime.addAndGet(waitTime);
+            m_startedJobs.incrementAndGet();
+            LOGGER.debugWithFormat("Node %s waited %d ms for execution (%d queued, %d running jobs)", m_nodeID,
+                waitTime, getQueuedJobCount(), getRunningJobCount());
+            // set context classloader of thread that submitted this job
+            Thread thread = Thread.currentThread();
+            ClassLoader previousContextClassloader = thread.getContextClassLoader();
+            thread.setContextClassLoader(m_contextClassloader);
+            try {
+                super.run();
+            } finally {
+                thread.setContextClassLoader(previousContextClassloader);
+                m_waitTimes.remove(m_nodeID, waitTime);
+                jobFinished();
+            }
+        }
+
+        @Override
+        public boolean cancel(final boolean mayInterruptIfRunning) {
+            boolean canceled = super.cancel(mayInterruptIfRunning);
+            if (canceled) {
+                removeQueued(this);
+            }
+            return canceled;
+        }
+    }
+}
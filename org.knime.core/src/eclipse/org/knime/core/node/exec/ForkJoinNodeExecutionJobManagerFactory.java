@@ -40,38 +40,48 @@
  *  propagated with or for interoperation with KNIME.  The owner of a Node
  *  may freely choose the license terms applicable to such Node, including
  *  when such Node is propagated with or for interoperation with KNIME.
- * ------------------------------------------------------------------------
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
  */
-package org.knime.base.util.kdtree;
+package org.knime.core.node.exec;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import org.knime.core.node.workflow.NodeExecutionJobManagerFactory;
 
 /**
- * This class represents a terminal bucket in a k-d tree. A bucket contains
- * several terminal nodes.
- * 
- * @param <T> the type of the data stored inside the tree
- * @author Thorsten Meinl, University of Konstanz
+ * Factory for the {@link ForkJoinNodeExecutionJobManager}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
  */
-class TerminalBucket<T> implements Node, Iterable<TerminalNode<T>> {
-    private final ArrayList<TerminalNode<T>> m_nodes =
-        new ArrayList<TerminalNode<T>>();
-    
+public class ForkJoinNodeExecutionJobManagerFactory
+    implements NodeExecutionJobManagerFactory {
+
+    /** The singleton instance. */
+    public static final ForkJoinNodeExecutionJobManagerFactory INSTANCE =
+        new ForkJoinNodeExecutionJobManagerFactory();
+
     /**
-     * Creates a new terminal bucket.
-     * 
-     * @param nodes the nodes inside the bucket
+     * {@inheritDoc}
      */
-    public TerminalBucket(final List<TerminalNode<T>> nodes) {
-        m_nodes.addAll(nodes);
+    @Override
+    public String getID() {
+        return getClass().getName();
     }
 
     /**
      * {@inheritDoc}
      */
-    public Iterator<TerminalNode<T>> iterator() {
-        return m_nodes.iterator();
+    @Override
+    public String getLabel() {
+        return "Work-Stealing Job Manager";
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ForkJoinNodeExecutionJobManager getInstance() {
+        return ForkJoinNodeExecutionJobManager.INSTANCE;
     }
+
 }
@@ -0,0 +1,256 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** A {@link MultiThreadWorker} that processes contiguous blocks of input elements in each computation. This is
+ * useful if the computation of a single element is cheap, in which case the overhead of creating, scheduling and
+ * ordering a task per element would dominate.
+ *
+ * <p>The size of the blocks is adapted to the measured cost per element: a block is sized such that its computation
+ * takes about {@link #TARGET_BATCH_NANOS} (but holds at most {@link #getMaxBatchSize()} elements). Expensive
+ * elements are therefore still computed one by one, as in the unbatched worker. The first block contains a single
+ * element as there are no measurements yet.
+ *
+ * <p>The output is finally {@link #processFinished(Object, Object, long) processed} element by element and in the
+ * input order. If the computation of an element fails, the computation of its block fails, which aborts the execution
+ * unless the implementation handles the exception in {@link #processFinished(MultiThreadWorker.ComputationTask)}.
+ *
+ * @param <In> The type of input to be processed.
+ * @param <Out> The output type generated by the {@link #computeElement(Object, long)} method.
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+public abstract class BatchedMultiThreadWorker<In, Out> extends MultiThreadWorker<List<In>, List<Out>> {
+
+    /** The time a computation of a block should take. */
+    public static final long TARGET_BATCH_NANOS = 500000L;
+
+    /** The default maximum number of elements in a block. */
+    public static final int DEF_MAX_BATCH_SIZE = 512;
+
+    private final int m_maxBatchSize;
+
+    private final AtomicLong m_computedElements = new AtomicLong();
+
+    private final AtomicLong m_computeNanos = new AtomicLong();
+
+    /** Creates new worker with a bounded finished job queue and a maximum number of active jobs, whereby a job
+     * computes a block of elements.
+     * @param maxQueueSize Maximum number of finished blocks that are cached to ensure the output ordering.
+     * @param maxActiveInstanceSize The maximum number of simultaneously computed blocks.
+     * @param maxBatchSize The maximum number of elements in a block.
+     * @throws IllegalArgumentException if queue size &lt; running instance count or the batch size is not positive
+     */
+    public BatchedMultiThreadWorker(final int maxQueueSize, final int maxActiveInstanceSize,
+        final int maxBatchSize) {
+        super(maxQueueSize, maxActiveInstanceSize);
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + maxBatchSize);
+        }
+        m_maxBatchSize = maxBatchSize;
+    }
+
+    /** @return the maximum number of elements in a block */
+    public final int getMaxBatchSize() {
+        return m_maxBatchSize;
+    }
+
+    /** Processes the input elements in blocks, see {@link #run(Iterable)}.
+     * @param inputIterable The input elements.
+     * @throws InterruptedException If the main execution has been interrupted.
+     * @throws ExecutionException If an exception is thrown in a worker thread that is not otherwise handled.
+     * @throws CancellationException If {@link #cancel(boolean)} has been called.
+     */
+    public void runBatched(final Iterable<In> inputIterable) throws InterruptedException, ExecutionException {
+        super.run(() -> new BatchIterator(inputIterable.iterator()));
+    }
+
+    /** Processes the input elements in the given blocks instead of blocks of adaptive size. The elements are
+     * indexed consecutively across the blocks.
+     * @param inputIterable The blocks of input elements.
+     * @throws InterruptedException If the main execution has been interrupted.
+     * @throws ExecutionException If an exception is thrown in a worker thread that is not otherwise handled.
+     * @throws CancellationException If {@link #cancel(boolean)} has been called.
+     */
+    @Override
+    public void run(final Iterable<List<In>> inputIterable) throws InterruptedException, ExecutionException {
+        super.run(() -> new BlockIterator(inputIterable.iterator()));
+    }
+
+    /** @return the size of the next block based on the cost of the elements computed so far */
+    private int nextBatchSize() {
+        long elements = m_computedElements.get();
+        long nanos = m_computeNanos.get();
+        if (elements == 0) {
+            return 1;
+        }
+        long nanosPerElement = Math.max(1, nanos / elements);
+        return (int)Math.max(1, Math.min(m_maxBatchSize, TARGET_BATCH_NANOS / nanosPerElement));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final List<Out> compute(final List<In> in, final long index) throws Exception {
+        long firstIndex = ((Batch)in).m_firstIndex;
+        List<Out> result = new ArrayList<Out>(in.size());
+        long start = System.nanoTime();
+        for (int i = 0; i < in.size(); i++) {
+            result.add(computeElement(in.get(i), firstIndex + i));
+        }
+        m_computeNanos.addAndGet(System.nanoTime() - start);
+        m_computedElements.addAndGet(in.size());
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void processFinished(final ComputationTask task)
+        throws ExecutionException, CancellationException, InterruptedException {
+        List<In> in = task.getInput();
+        long firstIndex = ((Batch)in).m_firstIndex;
+        List<Out> out = task.get(); // exception falls through
+        for (int i = 0; i < in.size(); i++) {
+            processFinished(in.get(i), out.get(i), firstIndex + i);
+        }
+    }
+
+    /** Performs the computation for a given input. This method is called concurrently for elements of different
+     * blocks.
+     * @param in The element.
+     * @param index The index of the element in the input.
+     * @return The computed output
+     * @throws Exception Any exception, aborts the computation of the block.
+     */
+    protected abstract Out computeElement(In in, long index) throws Exception;
+
+    /** Post-process the output of an element. This method is <b>not called concurrently</b> and called in the order of
+     * the input.
+     * @param in The element.
+     * @param out Its output.
+     * @param index The index of the element in the input.
+     * @throws ExecutionException If the processing fails, causes the entire calculation to stop.
+     * @throws CancellationException If canceled (abort)
+     * @throws InterruptedException If canceled (abort)
+     */
+    protected abstract void processFinished(In in, Out out, long index)
+        throws ExecutionException, CancellationException, InterruptedException;
+
+    /** A block of elements, which knows the index of its first element. */
+    @SuppressWarnings("serial")
+    private final class Batch extends ArrayList<In> {
+        private final long m_firstIndex;
+
+        Batch(final long firstIndex, final int size) {
+            super(size);
+            m_firstIndex = firstIndex;
+        }
+    }
+
+    /** Copies the given blocks into batches, which know the index of their first element. */
+    private final class BlockIterator implements Iterator<List<In>> {
+        private final Iterator<List<In>> m_iterator;
+
+        private long m_nextIndex;
+
+        BlockIterator(final Iterator<List<In>> iterator) {
+            m_iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return m_iterator.hasNext();
+        }
+
+        @Override
+        public List<In> next() {
+            List<In> block = m_iterator.next();
+            Batch batch = new Batch(m_nextIndex, block.size());
+            batch.addAll(block);
+            m_nextIndex += batch.size();
+            return batch;
+        }
+    }
+
+    /** Collects the elements of the input into blocks of adaptive size. */
+    private final class BatchIterator implements Iterator<List<In>> {
+        private final Iterator<In> m_iterator;
+
+        private long m_nextIndex;
+
+        BatchIterator(final Iterator<In> iterator) {
+            m_iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return m_iterator.hasNext();
+        }
+
+        @Override
+        public List<In> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int size = nextBatchSize();
+            Batch batch = new Batch(m_nextIndex, size);
+            while (batch.size() < size && m_iterator.hasNext()) {
+                batch.add(m_iterator.next());
+            }
+            m_nextIndex += batch.size();
+            return batch;
+        }
+    }
+}
@@ -48,6 +48,7 @@
  */
 package org.knime.core.util;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -58,6 +59,8 @@
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
@@ -571,18 +574,25 @@ public int getRunningThreads() {
      * taken out of this pool or any ancestor pool the number of invisible
      * threads is increased, so that it is not counted and one additional thread
      * is allowed to run. This method should only be used if the Runnable does
-     * nothing more than submitting jobs.
+     * nothing more than submitting jobs. If the current thread belongs to a
+     * {@link ForkJoinPool} (e.g. it executes a node job of the
+     * {@link org.knime.core.node.exec.ForkJoinNodeExecutionJobManager}) the
+     * callable is run as a {@link ForkJoinPool.ManagedBlocker}, so that the
+     * fork/join pool may activate a spare thread while the callable waits.
      *
      * @param <T> Type of the argument (result type)
      * @param r A callable, which will be executed by the thread invoking this
      *            method.
      * @return T The result of the callable.
-     * @throws IllegalThreadStateException if the current thread is not taken
-     *             out of a thread pool
+     * @throws IllegalThreadStateException if the current thread is neither
+     *             taken out of a thread pool nor of a fork/join pool
      * @throws ExecutionException if the callable could not be executed for some
      *             reason
      */
     public <T> T runInvisible(final Callable<T> r) throws ExecutionException {
+        if (Thread.currentThread() instanceof ForkJoinWorkerThread) {
+            return runManagedBlock(r);
+        }
         if (!(Thread.currentThread() instanceof Worker)) {
             throw new IllegalThreadStateException("The current thread is not "
                     + "taken out of a thread pool");
@@ -622,6 +632,44 @@ public <T> T runInvisible(final Callable<T> r) throws ExecutionException {
 
     }
 
+    private static <T> T runManagedBlock(final Callable<T> r)
+            throws ExecutionException {
+        final class Blocker implements ForkJoinPool.ManagedBlocker {
+            private boolean m_done;
+
+            private T m_result;
+
+            private Exception m_exception;
+
+            @Override
+            public boolean block() {
+                try {
+                    m_result = r.call();
+                } catch (Exception ex) {
+                    m_exception = ex;
+                }
+                m_done = true;
+                return true;
+            }
+
+            @Override
+            public boolean isReleasable() {
+                return m_done;
+            }
+        }
+        Blocker blocker = new Blocker();
+        try {
+            ForkJoinPool.managedBlock(blocker);
+        } catch (InterruptedException ex) {
+            // never thrown by the blocker, which keeps the callable's exception
+            throw new ExecutionException(ex);
+        }
+        if (blocker.m_exception != null) {
+            throw new ExecutionException(blocker.m_exception);
+        }
+        return blocker.m_result;
+    }
+
     /**
      * Sets the maximum number of threads in the pool. If the new value is
      * smaller than the old value running surplus threads will not be
@@ -802,6 +850,86 @@ public static ThreadPool currentPool() {
         }
     }
 
+    /**
+     * Waits for the argument future and returns its result. If the current thread is taken from a thread pool, it
+     * doesn't count as running while waiting (see {@link #runInvisible(Callable)}) so that the tasks it waits for can
+     * run. Exceptions thrown by the task are rethrown unwrapped, an interruption is reported as cancellation.
+     *
+     * @param <T> the result type
+     * @param future the future to wait for
+     * @return the result of the future
+     * @throws CanceledExecutionException if the task was canceled or the waiting thread got interrupted
+     * @since 3.8
+     */
+    public static <T> T await(final Future<T> future) throws CanceledExecutionException {
+        try {
+            ThreadPool currentPool = currentPool();
+            if (currentPool != null) {
+                return currentPool.runInvisible(future::get);
+            }
+            return future.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new CanceledExecutionException("Interrupted while waiting for concurrent tasks");
+        } catch (CancellationException ce) {
+            throw new CanceledExecutionException("Concurrent task has been canceled");
+        } catch (ExecutionException ee) {
+            Throwable cause = ee.getCause();
+            // runInvisible wraps the exception thrown by Future#get
+            while (cause instanceof ExecutionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof CanceledExecutionException) {
+                throw (CanceledExecutionException)cause;
+            } else if (cause instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+                throw new CanceledExecutionException("Interrupted while waiting for concurrent tasks");
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new RuntimeException("Concurrent task failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Waits for all argument futures, see {@link #await(Future)}. If waiting fails (the task failed, was canceled or
+     * the current thread got interrupted) the remaining futures are canceled.
+     *
+     * @param futures the futures to wait for, in the order they are waited for
+     * @throws CanceledExecutionException if a task was canceled or the waiting thread got interrupted
+     * @since 3.8
+     */
+    public static void awaitAll(final Collection<? extends Future<?>> futures) throws CanceledExecutionException {
+        boolean success = false;
+        try {
+            for (Future<?> future : futures) {
+                await(future);
+            }
+            success = true;
+        } finally {
+            if (!success) {
+                cancelAll(futures);
+            }
+        }
+    }
+
+    /**
+     * Cancels all argument futures that are not done yet, interrupting their tasks if running. <code>null</code>
+     * elements are ignored.
+     *
+     * @param futures the futures to cancel
+     * @since 3.8
+     */
+    public static void cancelAll(final Collection<? extends Future<?>> futures) {
+        for (Future<?> future : futures) {
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+    }
+
     /**
      * Returns the size of the future queue (needed by the unit test).
      *
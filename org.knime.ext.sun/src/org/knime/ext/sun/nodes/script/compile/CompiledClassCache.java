@@ -0,0 +1,460 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.ext.sun.nodes.script.compile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.ForwardingJavaFileObject;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.JavaFileObject.Kind;
+
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.util.LRUCache;
+
+/**
+ * Process-wide cache of compiled byte code, used by the expression based nodes (String Manipulation, Math Formula,
+ * Java Snippet, ...) so that identical snippets are compiled only once per JVM. Entries are identified by a
+ * {@link #createKey(String, File[], String[], Iterable) key}, which is a hash over the source code, the content of
+ * the class path and the Java version. The number of entries held in memory is bounded by the system property
+ * <code>knime.compiledclasscache.size</code>; if the system property <code>knime.compiledclasscache.persist</code>
+ * is set the byte code is also written to the KNIME home directory in the workspace and re-used after restarts.
+ *
+ * <p>Compilers wrap their file manager into a {@link ClassFileRecorder} to collect the generated class files and
+ * {@link #put(String, Map) put} them into the cache after a successful compilation. On a cache hit the class files
+ * are {@link #restore(String, File) restored} into the output directory instead of invoking the compiler.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+public final class CompiledClassCache {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(CompiledClassCache.class);
+
+    /** Maximum number of compiled snippets held in memory (and on disk, if persisted). */
+    private static final int MAX_SIZE = Math.max(1, Integer.getInteger("knime.compiledclasscache.size", 200));
+
+    /** Whether compiled snippets are also persisted in the workspace. */
+    private static final boolean PERSIST = Boolean.getBoolean("knime.compiledclasscache.persist");
+
+    /** Name of the directory in the KNIME home directory holding persisted entries. */
+    private static final String PERSIST_DIR_NAME = "compiled-classes";
+
+    private static final CompiledClassCache INSTANCE = new CompiledClassCache();
+
+    /** Digests of class path entries, keyed by absolute path. */
+    private static final Map<String, ClassPathDigest> CLASSPATH_DIGESTS = new ConcurrentHashMap<>();
+
+    private final LRUCache<String, Map<String, byte[]>> m_cache = new LRUCache<>(MAX_SIZE + 1);
+
+    private CompiledClassCache() {
+    }
+
+    /**
+     * @return the singleton instance, not null
+     */
+    public static CompiledClassCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Creates the key identifying a compilation. The class path entries are hashed by content (memorized as long as
+     * the modification times and sizes of all contained files are unchanged) so that equal class paths in different
+     * temp directories result in the same key. Sources are identified by their file name, i.e. the name of their
+     * public class, and their content, but not by their location.
+     *
+     * @param javaVersion the source/target version, e.g. "1.8"
+     * @param classpath the compile time class path, may be null
+     * @param additionalArgs additional compiler arguments, may be null
+     * @param sources the sources to compile
+     * @return the key, a hex string
+     * @throws IOException if the sources or class path entries can't be read
+     */
+    public static String createKey(final String javaVersion, final File[] classpath, final String[] additionalArgs,
+        final Iterable<? extends JavaFileObject> sources) throws IOException {
+        final MessageDigest digest = newDigest();
+        update(digest, javaVersion);
+        if (additionalArgs != null) {
+            for (String arg : additionalArgs) {
+                update(digest, arg);
+            }
+        }
+        if (classpath != null) {
+            for (File f : classpath) {
+                digest.update(getClassPathDigest(f));
+            }
+        }
+        for (JavaFileObject source : sources) {
+            update(digest, getFileName(source));
+            update(digest, source.getCharContent(false).toString());
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Writes the class files cached under the given key into the output directory.
+     *
+     * @param key the key as created by {@link #createKey(String, File[], String[], Iterable)}
+     * @param outputDir the directory to write the class files to (the compiler's class output)
+     * @return true if the key was found and the class files were written, false if the caller needs to compile
+     */
+    public boolean restore(final String key, final File outputDir) {
+        final Map<String, byte[]> classFiles = get(key);
+        if (classFiles == null) {
+            return false;
+        }
+        try {
+            for (Map.Entry<String, byte[]> e : classFiles.entrySet()) {
+                final File classFile = new File(outputDir, e.getKey());
+                classFile.getParentFile().mkdirs();
+                try (OutputStream out = new FileOutputStream(classFile)) {
+                    out.write(e.getValue());
+                }
+            }
+        } catch (IOException ioe) {
+            LOGGER.debug("Unable to restore cached class files to \"" + outputDir.getAbsolutePath() + "\": "
+                + ioe.getMessage(), ioe);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Adds the class files of a successful compilation.
+     *
+     * @param key the key as created by {@link #createKey(String, File[], String[], Iterable)}
+     * @param classFiles class files as collected by a {@link ClassFileRecorder}, keyed by their relative path
+     */
+    public void put(final String key, final Map<String, byte[]> classFiles) {
+        if (classFiles.isEmpty()) {
+            return;
+        }
+        final Map<String, byte[]> copy = Collections.unmodifiableMap(new LinkedHashMap<>(classFiles));
+        synchronized (m_cache) {
+            m_cache.put(key, copy);
+        }
+        if (PERSIST) {
+            persist(key, copy);
+        }
+    }
+
+    /** Removes all entries held in memory (persisted entries are kept). */
+    public void clear() {
+        synchronized (m_cache) {
+            m_cache.clear();
+        }
+    }
+
+    private Map<String, byte[]> get(final String key) {
+        Map<String, byte[]> classFiles;
+        synchronized (m_cache) {
+            classFiles = m_cache.get(key);
+        }
+        if (classFiles == null && PERSIST) {
+            classFiles = load(key);
+            if (classFiles != null) {
+                synchronized (m_cache) {
+                    m_cache.put(key, classFiles);
+                }
+            }
+        }
+        return classFiles;
+    }
+
+    private static File getPersistDir() {
+        return new File(KNIMEConstants.getKNIMEHomeDir(), PERSIST_DIR_NAME);
+    }
+
+    private static void persist(final String key, final Map<String, byte[]> classFiles) {
+        final File dir = getPersistDir();
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            LOGGER.debug("Unable to create directory for compiled classes: " + dir.getAbsolutePath());
+            return;
+        }
+        final File tmpFile;
+        try {
+            // unique per call, the same snippet may be persisted by concurrent compilations
+            tmpFile = File.createTempFile(key, ".tmp", dir);
+        } catch (IOException ioe) {
+            LOGGER.debug("Unable to persist compiled classes: " + ioe.getMessage(), ioe);
+            return;
+        }
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(tmpFile))) {
+            for (Map.Entry<String, byte[]> e : classFiles.entrySet()) {
+                out.putNextEntry(new ZipEntry(e.getKey()));
+                out.write(e.getValue());
+                out.closeEntry();
+            }
+        } catch (IOException ioe) {
+            LOGGER.debug("Unable to persist compiled classes: " + ioe.getMessage(), ioe);
+            tmpFile.delete();
+            return;
+        }
+        final File file = new File(dir, key + ".zip");
+        if (!tmpFile.renameTo(file)) {
+            tmpFile.delete();
+        }
+        // keep the on-disk cache bounded, too (oldest files are discarded)
+        final File[] files = dir.listFiles((d, name) -> name.endsWith(".zip"));
+        if (files != null && files.length > MAX_SIZE) {
+            Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+            for (int i = 0; i < files.length - MAX_SIZE; i++) {
+                files[i].delete();
+            }
+        }
+    }
+
+    private static Map<String, byte[]> load(final String key) {
+        final File file = new File(getPersistDir(), key + ".zip");
+        if (!file.isFile()) {
+            return null;
+        }
+        final Map<String, byte[]> classFiles = new LinkedHashMap<>();
+        try (ZipInputStream in = new ZipInputStream(new FileInputStream(file))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                classFiles.put(entry.getName(), readFully(in));
+            }
+        } catch (IOException ioe) {
+            LOGGER.debug("Unable to read persisted compiled classes from \"" + file.getAbsolutePath() + "\": "
+                + ioe.getMessage(), ioe);
+            file.delete();
+            return null;
+        }
+        file.setLastModified(System.currentTimeMillis());
+        return classFiles.isEmpty() ? null : Collections.unmodifiableMap(classFiles);
+    }
+
+    /**
+     * @return the last path segment of the source's name, e.g. "Expression1a2b.java" for a file in a temp directory
+     */
+    private static String getFileName(final JavaFileObject source) {
+        final String name = source.getName();
+        return name.substring(Math.max(name.lastIndexOf('/'), name.lastIndexOf(File.separatorChar)) + 1);
+    }
+
+    private static byte[] getClassPathDigest(final File file) throws IOException {
+        final String path = file.getAbsolutePath();
+        // the modification time of a directory doesn't change if a nested file is changed, so the stamp covers
+        // the modification times and sizes of all files in the tree
+        final MessageDigest stampDigest = newDigest();
+        updateWithStamp(stampDigest, file, "");
+        final byte[] stamp = stampDigest.digest();
+        ClassPathDigest d = CLASSPATH_DIGESTS.get(path);
+        if (d == null || !Arrays.equals(d.m_stamp, stamp)) {
+            final MessageDigest digest = newDigest();
+            updateWithContent(digest, file, "");
+            d = new ClassPathDigest(stamp, digest.digest());
+            CLASSPATH_DIGESTS.put(path, d);
+        }
+        return d.m_digest;
+    }
+
+    private static void updateWithStamp(final MessageDigest digest, final File file, final String relativePath) {
+        update(digest, relativePath);
+        if (file.isDirectory()) {
+            final File[] children = file.listFiles();
+            if (children != null) {
+                Arrays.sort(children);
+                for (File child : children) {
+                    updateWithStamp(digest, child, relativePath + "/" + child.getName());
+                }
+            }
+        } else if (file.isFile()) {
+            update(digest, file.lastModified() + ":" + file.length());
+        }
+    }
+
+    private static void updateWithContent(final MessageDigest digest, final File file, final String relativePath)
+        throws IOException {
+        update(digest, relativePath);
+        if (file.isDirectory()) {
+            final File[] children = file.listFiles();
+            if (children != null) {
+                Arrays.sort(children);
+                for (File child : children) {
+                    updateWithContent(digest, child, relativePath + "/" + child.getName());
+                }
+            }
+        } else if (file.isFile()) {
+            final byte[] buffer = new byte[8192];
+            try (InputStream in = new FileInputStream(file)) {
+                int read;
+                while ((read = in.read(buffer)) >= 0) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            // SHA-256 is required to be available on every Java platform
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+    }
+
+    private static void update(final MessageDigest digest, final String s) {
+        digest.update(s.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte)0);
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final StringBuilder b = new StringBuilder(2 * bytes.length);
+        for (byte by : bytes) {
+            b.append(Character.forDigit((by >> 4) & 0xF, 16)).append(Character.forDigit(by & 0xF, 16));
+        }
+        return b.toString();
+    }
+
+    private static byte[] readFully(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) >= 0) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    /** Digest of a class path entry along with the stamp of the file properties it was computed for. */
+    private static final class ClassPathDigest {
+        private final byte[] m_stamp;
+        private final byte[] m_digest;
+
+        ClassPathDigest(final byte[] stamp, final byte[] digest) {
+            m_stamp = stamp;
+            m_digest = digest;
+        }
+    }
+
+    /**
+     * File manager that records the class files written by the compiler (in addition to writing them via the
+     * delegate) so that they can be {@link CompiledClassCache#put(String, Map) put} into the cache.
+     */
+    public static final class ClassFileRecorder extends ForwardingJavaFileManager<JavaFileManager> {
+
+        private final Map<String, byte[]> m_classFiles = Collections.synchronizedMap(new HashMap<>());
+
+        /**
+         * @param delegate the file manager doing the actual work
+         */
+        public ClassFileRecorder(final JavaFileManager delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(final Location location, final String className, final Kind kind,
+            final FileObject sibling) throws IOException {
+            final JavaFileObject file = super.getJavaFileForOutput(location, className, kind, sibling);
+            if (kind != Kind.CLASS) {
+                return file;
+            }
+            final String path = className.replace('.', '/') + Kind.CLASS.extension;
+            return new ForwardingJavaFileObject<JavaFileObject>(file) {
+                @Override
+                public OutputStream openOutputStream() throws IOException {
+                    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                    return new FilterOutputStream(super.openOutputStream()) {
+                        @Override
+                        public void write(final int b) throws IOException {
+                            out.write(b);
+                            bytes.write(b);
+                        }
+
+                        @Override
+                        public void write(final byte[] b, final int off, final int len) throws IOException {
+                            out.write(b, off, len);
+                            bytes.write(b, off, len);
+                        }
+
+                        @Override
+                        public void close() throws IOException {
+                            super.close();
+                            m_classFiles.put(path, bytes.toByteArray());
+                        }
+                    };
+                }
+            };
+        }
+
+        /**
+         * @return the class files written so far, keyed by their path relative to the class output
+         */
+        public Map<String, byte[]> getClassFiles() {
+            synchronized (m_classFiles) {
+                return new LinkedHashMap<>(m_classFiles);
+            }
+        }
+    }
+}
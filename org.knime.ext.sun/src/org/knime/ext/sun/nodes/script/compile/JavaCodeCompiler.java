@@ -76,6 +76,7 @@
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.util.CheckUtils;
 import org.knime.core.util.FileUtil;
+import org.knime.ext.sun.nodes.script.compile.CompiledClassCache.ClassFileRecorder;
 
 /** Utilizes {@link JavaCompiler} (by default the eclipse compiler)
  * to compile java file objects.
@@ -257,14 +258,31 @@ public void compile() throws CompilationFailedException {
                         + "\": " + e.getMessage(), e);
             }
         }
+        // identical snippets (e.g. in loops or many nodes with the same expression) are compiled once per JVM
+        final CompiledClassCache cache = CompiledClassCache.getInstance();
+        String cacheKey;
+        try {
+            cacheKey = CompiledClassCache.createKey(javaVersion, m_classpaths, m_additionalCompileArgs,
+                Arrays.asList(m_sources));
+        } catch (IOException ioe) {
+            LOGGER.debug("Unable to determine cache key for compilation, compiling: " + ioe.getMessage(), ioe);
+            cacheKey = null;
+        }
+        if (cacheKey != null && cache.restore(cacheKey, m_outputFileLocation)) {
+            return;
+        }
         DiagnosticCollector<JavaFileObject> digsCollector = new DiagnosticCollector<JavaFileObject>();
         boolean compileCallSuccess;
         try (StandardJavaFileManager stdFileMgr = compiler.getStandardFileManager(
             digsCollector, null, StandardCharsets.UTF_8)) {
             stdFileMgr.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singleton(m_outputFileLocation));
-            CompilationTask compileTask = compiler.getTask(logString, stdFileMgr,
+            ClassFileRecorder fileMgr = new ClassFileRecorder(stdFileMgr);
+            CompilationTask compileTask = compiler.getTask(logString, fileMgr,
                 digsCollector, compileArgs, null, Arrays.asList(m_sources));
             compileCallSuccess = compileTask.call();
+            if (compileCallSuccess && cacheKey != null) {
+                cache.put(cacheKey, fileMgr.getClassFiles());
+            }
         } catch (IOException ioe) {
             LOGGER.error(ioe);
             compileCallSuccess = false;
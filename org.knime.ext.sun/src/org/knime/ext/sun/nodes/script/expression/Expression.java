@@ -55,10 +55,11 @@
 import java.net.URLClassLoader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Objects;
 
 import javax.tools.JavaFileObject.Kind;
 
@@ -116,9 +117,6 @@ public enum FieldType {
     /** Identifier for row count. */
     public static final String ROWCOUNT = "ROWCOUNT";
 
-    /** An unique id to ensure uniqueness of class names (per vm). */
-    private static final AtomicInteger COUNTER = new AtomicInteger();
-
     /** These imports are put in the import section of the source file. */
     private static final String[] DEFAULT_IMPORTS =
         new String[]{"java.text.*", "java.util.*", "java.io.*",
@@ -168,10 +166,14 @@ private Expression(final String body, final Map<InputField, ExpressionField> fie
         boolean isArrayReturn = settings.isArrayReturn();
         String header = settings.getHeader();
         String source;
-        String name = "Expression" + COUNTER.getAndIncrement();
         String[] imports = null != settings.getImports()
                 ? settings.getImports()
                 : getDefaultImports();
+        // the class name is derived from the expression (rather than a counter) so that identical expressions
+        // generate identical sources and are compiled only once, see CompiledClassCache; the class names don't
+        // need to be unique as each expression is loaded by its own class loader
+        String name = "Expression" + Integer.toHexString(Objects.hash(
+            body, header, rType.getName(), Arrays.hashCode(imports), version, isArrayReturn));
         // Generate the well known source of the Expression
         switch (version) {
         case VERSION_1X:
@@ -0,0 +1,200 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.rules.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.knime.base.node.rules.engine.Condition.MatchOutcome.MatchState;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.workflow.FlowVariable;
+
+/**
+ * Tests {@link CompiledRuleSet} against the evaluation of the rules one after the other.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class CompiledRuleSetTest {
+
+    private static final DataTableSpec SPEC = new DataTableSpec(
+        new DataColumnSpecCreator("Str", StringCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("Dbl", DoubleCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("Int", IntCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("Bool", BooleanCell.TYPE).createSpec());
+
+    private static final VariableProvider PROVIDER = new VariableProvider() {
+        @Override
+        public Object readVariable(final String name, final Class<?> type) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int getRowCount() {
+            return 0;
+        }
+
+        @Override
+        public int getRowIndex() {
+            return 0;
+        }
+    };
+
+    private static List<Rule> parse(final String... rules) throws ParseException {
+        final RuleFactory factory = RuleFactory.getInstance(RuleNodeSettings.RuleEngine).cloned();
+        factory.disableMissingComparisons();
+        factory.disableNaNComparisons();
+        final List<Rule> result = new ArrayList<>();
+        for (String rule : rules) {
+            final Rule r = factory.parse(rule, SPEC, Collections.<String, FlowVariable> emptyMap());
+            if (r.getCondition().isEnabled()) {
+                result.add(r);
+            }
+        }
+        return result;
+    }
+
+    private static Rule firstMatch(final List<Rule> rules, final DataRow row) {
+        for (Rule r : rules) {
+            if (r.getCondition().matches(row, PROVIDER).getOutcome() == MatchState.matchedAndStop) {
+                return r;
+            }
+        }
+        return null;
+    }
+
+    private static List<DataRow> rows() {
+        final List<DataRow> rows = new ArrayList<>();
+        final String[] strings = {"a", "b", "c", "d"};
+        final double[] doubles = {0, 1, 1.5, Double.NaN, -0.0};
+        int i = 0;
+        for (String s : strings) {
+            for (double d : doubles) {
+                for (int n = 0; n < 3; n++) {
+                    rows.add(new DefaultRow("Row" + i++, new StringCell(s), new DoubleCell(d), new IntCell(n),
+                        BooleanCell.get(n % 2 == 0)));
+                }
+            }
+        }
+        final DataCell missing = DataType.getMissingCell();
+        rows.add(new DefaultRow("Row" + i++, missing, missing, missing, missing));
+        rows.add(new DefaultRow("Row" + i++, new StringCell("a"), missing, new IntCell(1), missing));
+        return rows;
+    }
+
+    private static void assertSameMatches(final List<Rule> rules) {
+        final CompiledRuleSet compiled = CompiledRuleSet.compile(rules);
+        for (DataRow row : rows()) {
+            assertSame(row.toString(), firstMatch(rules, row), compiled.findFirstMatch(row, PROVIDER));
+        }
+    }
+
+    /**
+     * Equality tests on a string column are indexed.
+     *
+     * @throws ParseException should not happen
+     */
+    @Test
+    public void testStringIndex() throws ParseException {
+        final List<Rule> rules = parse("$Str$ = \"a\" AND $Int$ > 0 => 1", "$Int$ = 2 => 2", "$Str$ = \"b\" => 3",
+            "// comment", "$Str$ = \"a\" => 4", "\"c\" = $Str$ => 5", "$Dbl$ > 1 => 6");
+        assertTrue(CompiledRuleSet.compile(rules).isIndexed());
+        assertSameMatches(rules);
+    }
+
+    /**
+     * Equality tests on numeric columns are indexed with the semantics of the comparators.
+     *
+     * @throws ParseException should not happen
+     */
+    @Test
+    public void testNumericIndex() throws ParseException {
+        assertSameMatches(parse("$Dbl$ = 1 => 1", "$Dbl$ = 0 => 2", "$Dbl$ = 1.5 => 3", "$Str$ LIKE \"*\" => 4"));
+        assertSameMatches(parse("$Int$ = 1 => 1", "$Int$ = 2 => 2", "$Int$ = 1.0 => 3", "MISSING $Int$ => 4"));
+    }
+
+    /**
+     * Catch-all and constant false rules.
+     *
+     * @throws ParseException should not happen
+     */
+    @Test
+    public void testNotIndexed() throws ParseException {
+        final List<Rule> rules = parse("FALSE => 0", "MISSING $Bool$ => 1", "$Str$ = \"a\" => 2", "TRUE => 3",
+            "$Str$ = \"b\" => 4");
+        final CompiledRuleSet compiled = CompiledRuleSet.compile(rules);
+        assertFalse(compiled.isIndexed());
+        assertEquals(3, compiled.getRuleCount());
+        assertSameMatches(rules);
+    }
+
+    /**
+     * No rules.
+     */
+    @Test
+    public void testEmpty() {
+        assertSameMatches(Arrays.<Rule> asList());
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.ext.sun.nodes.script.compile;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.tools.JavaFileObject;
+import javax.tools.JavaFileObject.Kind;
+import javax.tools.SimpleJavaFileObject;
+
+import org.eclipse.jdt.internal.compiler.tool.EclipseFileObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.util.FileUtil;
+
+/**
+ * Test for {@link CompiledClassCache}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class CompiledClassCacheTest {
+
+    private File m_tempDir;
+
+    /**
+     * Creates a temp directory for class path and output.
+     *
+     * @throws IOException if the directory can't be created
+     */
+    @Before
+    public void setUp() throws IOException {
+        m_tempDir = FileUtil.createTempDir("compiledclasscachetest");
+    }
+
+    /** Deletes the temp directory. */
+    @After
+    public void tearDown() {
+        FileUtil.deleteRecursively(m_tempDir);
+    }
+
+    private static JavaFileObject source(final String name, final String code) {
+        return new SimpleJavaFileObject(URI.create("string:///" + name + Kind.SOURCE.extension), Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+
+    /**
+     * Keys depend on source, class path content and Java version, but not on the location of the class path.
+     *
+     * @throws IOException if files can't be written
+     */
+    @Test
+    public void testCreateKey() throws IOException {
+        final File jar1 = new File(m_tempDir, "dir1/lib.jar");
+        final File jar2 = new File(m_tempDir, "dir2/lib.jar");
+        jar1.getParentFile().mkdirs();
+        jar2.getParentFile().mkdirs();
+        Files.write(jar1.toPath(), new byte[]{1, 2, 3});
+        Files.write(jar2.toPath(), new byte[]{1, 2, 3});
+
+        final String code = "public class A { int a = 1; }";
+        final String key = CompiledClassCache.createKey("1.8", new File[]{jar1}, null,
+            Collections.singleton(source("A", code)));
+        assertEquals("Same class path content in different location", key, CompiledClassCache.createKey("1.8",
+            new File[]{jar2}, null, Collections.singleton(source("A", code))));
+        assertNotEquals("Different source", key, CompiledClassCache.createKey("1.8", new File[]{jar1}, null,
+            Collections.singleton(source("A", "public class A { int a = 2; }"))));
+        assertNotEquals("Different java version", key, CompiledClassCache.createKey("1.7", new File[]{jar1}, null,
+            Collections.singleton(source("A", code))));
+
+        Files.write(jar2.toPath(), new byte[]{1, 2, 3, 4});
+        assertNotEquals("Different class path content", key, CompiledClassCache.createKey("1.8",
+            new File[]{jar2}, null, Collections.singleton(source("A", code))));
+    }
+
+    /**
+     * Equal source files in different (per node instance) temp directories result in the same key.
+     *
+     * @throws IOException if files can't be written
+     */
+    @Test
+    public void testCreateKeyForSourceFiles() throws IOException {
+        final String code = "public class Expression1 { int a = 1; }";
+        final File file1 = new File(m_tempDir, "instance1/Expression1.java");
+        final File file2 = new File(m_tempDir, "instance2/Expression1.java");
+        file1.getParentFile().mkdirs();
+        file2.getParentFile().mkdirs();
+        Files.write(file1.toPath(), code.getBytes(StandardCharsets.UTF_8));
+        Files.write(file2.toPath(), code.getBytes(StandardCharsets.UTF_8));
+
+        final JavaFileObject source1 =
+            new EclipseFileObject("Expression1", file1.toURI(), Kind.SOURCE, StandardCharsets.UTF_8);
+        final JavaFileObject source2 =
+            new EclipseFileObject("Expression1", file2.toURI(), Kind.SOURCE, StandardCharsets.UTF_8);
+        final String key = CompiledClassCache.createKey("1.8", null, null, Collections.singleton(source1));
+        assertEquals("Same source in different location", key,
+            CompiledClassCache.createKey("1.8", null, null, Collections.singleton(source2)));
+
+        final File file3 = new File(m_tempDir, "instance3/Expression2.java");
+        file3.getParentFile().mkdirs();
+        Files.write(file3.toPath(), code.getBytes(StandardCharsets.UTF_8));
+        final JavaFileObject source3 =
+            new EclipseFileObject("Expression2", file3.toURI(), Kind.SOURCE, StandardCharsets.UTF_8);
+        assertNotEquals("Different class name", key,
+            CompiledClassCache.createKey("1.8", null, null, Collections.singleton(source3)));
+    }
+
+    /**
+     * Changing a file nested in a class path directory changes the key, even if the modification time of the
+     * directory stays the same.
+     *
+     * @throws IOException if files can't be written
+     */
+    @Test
+    public void testCreateKeyForChangedClassPathDirectory() throws IOException {
+        final File classDir = new File(m_tempDir, "classes");
+        final File nestedFile = new File(classDir, "org/example/C.class");
+        nestedFile.getParentFile().mkdirs();
+        Files.write(nestedFile.toPath(), new byte[]{1, 2, 3});
+        final long dirModified = classDir.lastModified();
+
+        final JavaFileObject source = source("A", "public class A { }");
+        final String key =
+            CompiledClassCache.createKey("1.8", new File[]{classDir}, null, Collections.singleton(source));
+        assertEquals("Unchanged class path directory", key,
+            CompiledClassCache.createKey("1.8", new File[]{classDir}, null, Collections.singleton(source)));
+
+        Files.write(nestedFile.toPath(), new byte[]{1, 2, 3, 4});
+        classDir.setLastModified(dirModified);
+        assertNotEquals("Changed nested file", key,
+            CompiledClassCache.createKey("1.8", new File[]{classDir}, null, Collections.singleton(source)));
+    }
+
+    /**
+     * Class files put into the cache are restored into a new output directory.
+     *
+     * @throws IOException if files can't be read
+     */
+    @Test
+    public void testPutAndRestore() throws IOException {
+        final CompiledClassCache cache = CompiledClassCache.getInstance();
+        final String key = CompiledClassCache.createKey("1.8", null, null,
+            Collections.singleton(source("B", "public class B { class Inner {} }")));
+        final File outputDir = new File(m_tempDir, "out");
+        outputDir.mkdirs();
+        assertFalse("Unknown key must not be restored", cache.restore(key, outputDir));
+
+        final Map<String, byte[]> classFiles = new HashMap<>();
+        classFiles.put("B.class", new byte[]{(byte)0xCA, (byte)0xFE});
+        classFiles.put("B$Inner.class", new byte[]{(byte)0xBA, (byte)0xBE});
+        cache.put(key, classFiles);
+
+        assertTrue("Cached key must be restored", cache.restore(key, outputDir));
+        assertArrayEquals(classFiles.get("B.class"), Files.readAllBytes(new File(outputDir, "B.class").toPath()));
+        assertArrayEquals(classFiles.get("B$Inner.class"),
+            Files.readAllBytes(new File(outputDir, "B$Inner.class").toPath()));
+
+        cache.clear();
+        assertFalse("Cleared cache must not restore", cache.restore(key, new File(m_tempDir, "out2")));
+    }
+}
@@ -91,7 +91,6 @@
 import javax.swing.tree.DefaultMutableTreeNode;
 import javax.tools.Diagnostic;
 import javax.tools.DiagnosticCollector;
-import javax.tools.JavaCompiler.CompilationTask;
 import javax.tools.JavaFileObject;
 import javax.tools.JavaFileObject.Kind;
 
@@ -1137,13 +1136,13 @@ private synchronized Class<? extends AbstractJSnippet> createSnippetClass() {
             m_snippetCache.invalidate();
             StringWriter log = new StringWriter();
             DiagnosticCollector<JavaFileObject> digsCollector = new DiagnosticCollector<>();
-            CompilationTask compileTask = null;
+            boolean success;
             try {
-                compileTask = compiler.getTask(log, digsCollector);
+                // identical snippets are compiled only once per JVM (see CompiledClassCache)
+                success = compiler.compile(log, digsCollector);
             } catch (IOException e) {
                 throw new IllegalStateException("Compile with errors: " + e.getMessage(), e);
             }
-            boolean success = compileTask.call();
             if (!success) {
                 StringBuilder msg = new StringBuilder();
                 msg.append("Compile with errors:\n");
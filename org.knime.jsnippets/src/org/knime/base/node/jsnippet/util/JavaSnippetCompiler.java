@@ -60,11 +60,14 @@
 
 import javax.tools.DiagnosticCollector;
 import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileManager;
 import javax.tools.JavaFileObject;
 import javax.tools.StandardJavaFileManager;
 
 import org.apache.commons.io.FilenameUtils;
 import org.eclipse.jdt.internal.compiler.tool.EclipseCompiler;
+import org.knime.ext.sun.nodes.script.compile.CompiledClassCache;
+import org.knime.ext.sun.nodes.script.compile.CompiledClassCache.ClassFileRecorder;
 
 /**
  * Utility class to compile a java snippet.
@@ -81,11 +84,17 @@ public class JavaSnippetCompiler {
 //    private static final NodeLogger LOGGER =
 //        NodeLogger.getLogger(JavaCodeCompiler.class);
 
+    /** The source and target version of the compiled snippets. */
+    private static final String JAVA_VERSION = "1.8";
+
     private JSnippet<?> m_snippet;
     private ArrayList<String> m_compileArgs;
 
     private EclipseCompiler m_compiler;
 
+    /** Collects the class files of the last {@link #compile(Writer, DiagnosticCollector)} call. */
+    private ClassFileRecorder m_classFileRecorder;
+
     /**
      * Create a new instance.
      *
@@ -107,6 +116,43 @@ public JavaSnippetCompiler(final JSnippet<?> snippet) {
      */
     public CompilationTask getTask(final Writer out, final DiagnosticCollector<JavaFileObject> digsCollector)
         throws IOException {
+        return createTask(out, digsCollector, false);
+    }
+
+    /**
+     * Compiles the snippet into its {@link JSnippet#getTempClassPath() temp class path}. If an identical snippet (same
+     * source and class path) was compiled before in this JVM, the class files are taken from the
+     * {@link CompiledClassCache} and the compiler is not invoked at all.
+     *
+     * @param out a Writer for additional output from the compiler; use System.err if null
+     * @param digsCollector a diagnostic listener; if null use the compiler's default method for reporting diagnostics
+     * @return true if the snippet was compiled successfully (or taken from the cache), false otherwise
+     * @throws IOException if temporary jar files cannot be created
+     * @since 3.8
+     */
+    public boolean compile(final Writer out, final DiagnosticCollector<JavaFileObject> digsCollector)
+        throws IOException {
+        final CompiledClassCache cache = CompiledClassCache.getInstance();
+        final String cacheKey = CompiledClassCache.createKey(JAVA_VERSION, m_snippet.getCompiletimeClassPath(), null,
+            m_snippet.getCompilationUnits());
+        if (cache.restore(cacheKey, m_snippet.getTempClassPath())) {
+            return true;
+        }
+        final boolean success = createTask(out, digsCollector, true).call();
+        if (success) {
+            cache.put(cacheKey, m_classFileRecorder.getClassFiles());
+        }
+        return success;
+    }
+
+    /**
+     * Creates the compilation task, see {@link #getTask(Writer, DiagnosticCollector)}.
+     *
+     * @param record whether to wrap the file manager in a {@link ClassFileRecorder} (assigned to
+     *            {@link #m_classFileRecorder})
+     */
+    private CompilationTask createTask(final Writer out, final DiagnosticCollector<JavaFileObject> digsCollector,
+        final boolean record) throws IOException {
 
         if (m_compiler == null) {
             m_compileArgs = new ArrayList<>();
@@ -118,9 +164,9 @@ public CompilationTask getTask(final Writer out, final DiagnosticCollector<JavaF
                 .collect(Collectors.joining(File.pathSeparator)));
 
             m_compileArgs.add("-source");
-            m_compileArgs.add("1.8");
+            m_compileArgs.add(JAVA_VERSION);
             m_compileArgs.add("-target");
-            m_compileArgs.add("1.8");
+            m_compileArgs.add(JAVA_VERSION);
             m_compileArgs.add("-encoding");
             m_compileArgs.add("UTF-8");
 
@@ -131,7 +177,12 @@ public CompilationTask getTask(final Writer out, final DiagnosticCollector<JavaF
         try (final StandardJavaFileManager stdFileMgr =
             m_compiler.getStandardFileManager(digsCollector, null, Charset.forName("UTF-8"))) {
 
-            final CompilationTask compileTask = m_compiler.getTask(out, stdFileMgr, digsCollector, m_compileArgs, null,
+            JavaFileManager fileMgr = stdFileMgr;
+            if (record) {
+                m_classFileRecorder = new ClassFileRecorder(stdFileMgr);
+                fileMgr = m_classFileRecorder;
+            }
+            final CompilationTask compileTask = m_compiler.getTask(out, fileMgr, digsCollector, m_compileArgs, null,
                 m_snippet.getCompilationUnits());
             return compileTask;
         }
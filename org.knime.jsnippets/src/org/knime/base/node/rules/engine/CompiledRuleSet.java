@@ -0,0 +1,352 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.rules.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.knime.base.node.rules.engine.Condition.GenericCondition;
+import org.knime.base.node.rules.engine.Condition.MatchOutcome.MatchState;
+import org.knime.base.node.rules.engine.Expression.ASTType;
+import org.knime.base.node.rules.engine.ExpressionFactory.ColumnReference;
+import org.knime.core.data.BooleanValue;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DataValueComparator;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.DoubleValueComparator;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.IntValueComparator;
+import org.knime.core.data.LongValue;
+import org.knime.core.data.LongValueComparator;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.StringValueComparator;
+
+/**
+ * A list of {@link Rule}s prepared for the evaluation on many rows. Finds the first matching rule like iterating over
+ * the rules and checking for {@link MatchState#matchedAndStop}, but
+ * <ul>
+ * <li>drops the rules that can never match (constant false conditions, rules after a catch-all rule),</li>
+ * <li>evaluates the conditions' {@link Expression}s directly, without creating
+ * {@link org.knime.base.node.rules.engine.Condition.MatchOutcome}s,</li>
+ * <li>indexes the rules by their equality test on a column ({@code $col$ = "value"}, also as part of an {@code AND})
+ * like a decision table: for each row only the rules with the row's value and the rules without equality test on that
+ * column are evaluated. The column tested by most rules is used for the index.</li>
+ * </ul>
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+public final class CompiledRuleSet {
+
+    /** Minimal number of rules with an equality test on the same column to create an index. */
+    private static final int MIN_INDEXED_RULES = 2;
+
+    /** How the values of a column are compared, determines the keys of the index. */
+    private enum KeyType {
+        STRING, DOUBLE, INT, LONG;
+
+        /**
+         * @param cmp the comparator of the equality test
+         * @return the key type with equal semantics, or {@code null} if the comparator is not supported
+         */
+        static KeyType of(final DataValueComparator cmp) {
+            final Class<?> cl = cmp.getClass();
+            if (cl == StringValueComparator.class) {
+                return STRING;
+            } else if (cl == DoubleValueComparator.class) {
+                return DOUBLE;
+            } else if (cl == IntValueComparator.class) {
+                return INT;
+            } else if (cl == LongValueComparator.class) {
+                return LONG;
+            }
+            return null;
+        }
+
+        /**
+         * @param cell a non-missing cell
+         * @return the key (equal iff the comparator returns {@code 0}), or {@code null} if the cell is not compatible
+         */
+        Object key(final DataCell cell) {
+            switch (this) {
+                case STRING:
+                    return cell instanceof StringValue ? ((StringValue)cell).getStringValue() : null;
+                case DOUBLE:
+                    // Double#equals is consistent with Double#compare (also for NaN and -0.0)
+                    return cell instanceof DoubleValue ? Double.valueOf(((DoubleValue)cell).getDoubleValue()) : null;
+                case INT:
+                    return cell instanceof IntValue ? Integer.valueOf(((IntValue)cell).getIntValue()) : null;
+                case LONG:
+                    return cell instanceof LongValue ? Long.valueOf(((LongValue)cell).getLongValue()) : null;
+                default:
+                    throw new IllegalStateException("Unknown key type: " + this);
+            }
+        }
+    }
+
+    private final Rule[] m_rules;
+
+    /** The condition expressions, {@code null} where {@link Condition#matches(DataRow, VariableProvider)} is used. */
+    private final Expression[] m_conditions;
+
+    /** Index of the column used for the index, {@code -1} if there is no index. */
+    private final int m_indexColumn;
+
+    private final KeyType m_keyType;
+
+    /** Rules to evaluate (in order) per key of the index column. */
+    private final Map<Object, int[]> m_candidates;
+
+    /** Rules to evaluate if the key is not in {@link #m_candidates} (rules without a test on the index column). */
+    private final int[] m_otherCandidates;
+
+    /** All rules, used if the cell of the index column is incompatible. */
+    private final int[] m_allCandidates;
+
+    private CompiledRuleSet(final Rule[] rules, final Expression[] conditions, final int indexColumn,
+        final KeyType keyType, final Map<Object, int[]> candidates, final int[] otherCandidates) {
+        m_rules = rules;
+        m_conditions = conditions;
+        m_indexColumn = indexColumn;
+        m_keyType = keyType;
+        m_candidates = candidates;
+        m_otherCandidates = otherCandidates;
+        m_allCandidates = new int[rules.length];
+        Arrays.setAll(m_allCandidates, i -> i);
+    }
+
+    /**
+     * Prepares the rules for evaluation.
+     *
+     * @param rules The enabled {@link Rule}s in order of their priority.
+     * @return The {@link CompiledRuleSet}.
+     */
+    public static CompiledRuleSet compile(final List<Rule> rules) {
+        final List<Rule> reachable = new ArrayList<>(rules.size());
+        for (Rule rule : rules) {
+            final Condition condition = rule.getCondition();
+            if (condition.isConstantFalse()) {
+                continue;
+            }
+            reachable.add(rule);
+            if (condition.isCatchAll()) {
+                break;
+            }
+        }
+        final Rule[] ruleArray = reachable.toArray(new Rule[reachable.size()]);
+        final Expression[] conditions = new Expression[ruleArray.length];
+        // equality tests per rule: column index -> (key type, key)
+        final List<Map<Integer, Object[]>> equalities = new ArrayList<>(ruleArray.length);
+        final Map<Integer, Map<KeyType, Integer>> counts = new HashMap<>();
+        for (int i = 0; i < ruleArray.length; i++) {
+            final Condition condition = ruleArray[i].getCondition();
+            final Map<Integer, Object[]> ruleEqualities = new HashMap<>();
+            if (condition instanceof GenericCondition) {
+                conditions[i] = ((GenericCondition)condition).getExpression();
+                collectEqualities(conditions[i], ruleEqualities);
+            }
+            equalities.add(ruleEqualities);
+            for (Map.Entry<Integer, Object[]> e : ruleEqualities.entrySet()) {
+                counts.computeIfAbsent(e.getKey(), k -> new HashMap<>()).merge((KeyType)e.getValue()[0], 1,
+                    Integer::sum);
+            }
+        }
+        int indexColumn = -1;
+        KeyType keyType = null;
+        int max = MIN_INDEXED_RULES - 1;
+        for (Map.Entry<Integer, Map<KeyType, Integer>> e : counts.entrySet()) {
+            for (Map.Entry<KeyType, Integer> typeCount : e.getValue().entrySet()) {
+                if (typeCount.getValue() > max) {
+                    max = typeCount.getValue();
+                    indexColumn = e.getKey();
+                    keyType = typeCount.getKey();
+                }
+            }
+        }
+        if (indexColumn < 0) {
+            return new CompiledRuleSet(ruleArray, conditions, -1, null, null, null);
+        }
+        final Map<Object, List<Integer>> indexed = new LinkedHashMap<>();
+        final List<Integer> others = new ArrayList<>();
+        for (int i = 0; i < ruleArray.length; i++) {
+            final Object[] equality = equalities.get(i).get(indexColumn);
+            if (equality != null && equality[0] == keyType) {
+                indexed.computeIfAbsent(equality[1], k -> new ArrayList<>()).add(i);
+            } else {
+                others.add(i);
+            }
+        }
+        final int[] otherCandidates = others.stream().mapToInt(Integer::intValue).toArray();
+        final Map<Object, int[]> candidates = new HashMap<>();
+        for (Map.Entry<Object, List<Integer>> e : indexed.entrySet()) {
+            final int[] merged = new int[e.getValue().size() + otherCandidates.length];
+            int k = 0;
+            for (Integer i : e.getValue()) {
+                merged[k++] = i;
+            }
+            System.arraycopy(otherCandidates, 0, merged, k, otherCandidates.length);
+            // keep the order of the rules
+            Arrays.sort(merged);
+            candidates.put(e.getKey(), merged);
+        }
+        return new CompiledRuleSet(ruleArray, conditions, indexColumn, keyType, candidates, otherCandidates);
+    }
+
+    /**
+     * Collects the equality tests of a column with a constant that have to be true for the condition to match.
+     *
+     * @param condition The condition {@link Expression}.
+     * @param result Column index to key type and key of the tested value.
+     */
+    private static void collectEqualities(final Expression condition, final Map<Integer, Object[]> result) {
+        if (condition.getTreeType() == ASTType.And) {
+            for (Expression child : condition.getChildren()) {
+                collectEqualities(child, result);
+            }
+        } else if (condition.getTreeType() == ASTType.Equals && condition.getChildren().size() == 2) {
+            final Expression left = condition.getChildren().get(0);
+            final Expression right = condition.getChildren().get(1);
+            final ColumnReference columnRef;
+            final Expression constant;
+            if (left instanceof ColumnReference && right.isConstant()) {
+                columnRef = (ColumnReference)left;
+                constant = right;
+            } else if (right instanceof ColumnReference && left.isConstant()) {
+                columnRef = (ColumnReference)right;
+                constant = left;
+            } else {
+                return;
+            }
+            if (columnRef.getOutputType().isCompatible(BooleanValue.class)) {
+                // missing booleans are read as false, so the row's cell is not what is compared
+                return;
+            }
+            // same comparator as chosen by the parser (see BaseRuleParser)
+            final KeyType keyType = KeyType.of(
+                DataType.getCommonSuperType(left.getOutputType(), right.getOutputType()).getComparator());
+            final DataCell value = constant.evaluate(null, null).getValue();
+            if (keyType == null || value.isMissing()) {
+                return;
+            }
+            final Object key = keyType.key(value);
+            if (key != null) {
+                result.putIfAbsent(columnRef.getColumnIndex(), new Object[]{keyType, key});
+            }
+        }
+    }
+
+    /**
+     * Finds the first rule that matches the row.
+     *
+     * @param row The {@link DataRow}.
+     * @param provider The {@link VariableProvider}.
+     * @return The first matching {@link Rule}, or {@code null} if no rule matches.
+     */
+    public Rule findFirstMatch(final DataRow row, final VariableProvider provider) {
+        final int[] candidates;
+        if (m_indexColumn < 0) {
+            candidates = m_allCandidates;
+        } else {
+            final DataCell cell = row.getCell(m_indexColumn);
+            if (cell.isMissing()) {
+                // missing values never equal a (non-missing) constant
+                candidates = m_otherCandidates;
+            } else {
+                final Object key = m_keyType.key(cell);
+                if (key == null) {
+                    candidates = m_allCandidates;
+                } else {
+                    final int[] keyCandidates = m_candidates.get(key);
+                    candidates = keyCandidates == null ? m_otherCandidates : keyCandidates;
+                }
+            }
+        }
+        for (int i : candidates) {
+            if (matches(i, row, provider)) {
+                return m_rules[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param i Index of the rule.
+     * @param row The {@link DataRow}.
+     * @param provider The {@link VariableProvider}.
+     * @return Whether the condition would return {@link MatchState#matchedAndStop}.
+     */
+    private boolean matches(final int i, final DataRow row, final VariableProvider provider) {
+        final Expression condition = m_conditions[i];
+        if (condition == null) {
+            return m_rules[i].getCondition().matches(row, provider).getOutcome() == MatchState.matchedAndStop;
+        }
+        // same as GenericCondition#matches
+        final DataCell cell = condition.evaluate(row, provider).getValue();
+        return !cell.isMissing() && cell instanceof BooleanValue && ((BooleanValue)cell).getBooleanValue();
+    }
+
+    /**
+     * @return The number of rules that can match, i.e. without constant false rules and rules after a catch-all rule.
+     */
+    public int getRuleCount() {
+        return m_rules.length;
+    }
+
+    /**
+     * @return Whether the rules are indexed by an equality test on a column.
+     */
+    public boolean isIndexed() {
+        return m_indexColumn >= 0;
+    }
+}
@@ -156,6 +156,18 @@ public ASTType getTreeType() {
         }
     }
 
+    /**
+     * {@link Expression} for column references, knows the index of the referenced column.
+     *
+     * @since 3.8
+     */
+    abstract static class ColumnReference extends Expression.Base {
+        /**
+         * @return The index of the referenced column in the input table.
+         */
+        abstract int getColumnIndex();
+    }
+
     /**
      * An {@link Expression} base class for regular expressions. <br/>
      * {@link Expression#isConstant()} optimization is only done on the right (pattern) {@link Expression}.
@@ -856,7 +868,15 @@ private Expression columnRefImpl(final DataTableSpec spec, final String columnRe
         final DataType type = spec.getColumnSpec(position).getType();
         final boolean isBoolean = type.isCompatible(BooleanValue.class);
         assert (!booleanArgumentOfMissing || isBoolean) : type;
-        return new Expression.Base() {
+        return new ColumnReference() {
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            int getColumnIndex() {
+                return position;
+            }
 
             /**
              * {@inheritDoc}
@@ -192,12 +192,13 @@ private ColumnRearranger createRearranger(final DataTableSpec inSpec, final List
         DataColumnSpec cs = colSpecCreator.createSpec();
 
         final boolean disallowLongOutputForCompatibility = m_settings.isDisallowLongOutputForCompatibility();
+        final CompiledRuleSet compiledRules = CompiledRuleSet.compile(rules);
         VariableProvider.SingleCellFactoryProto cellFactory = new VariableProvider.SingleCellFactoryProto(cs) {
             private long m_rowIndex = -1L;
             @Override
             public DataCell getCell(final DataRow row) {
                 m_rowIndex++;
-                return getRulesOutcome(outType, row, rules, disallowLongOutputForCompatibility, this);
+                return getRulesOutcome(outType, row, compiledRules, disallowLongOutputForCompatibility, this);
             }
 
             @Override
@@ -427,32 +428,60 @@ public static final DataCell getRulesOutcome(final DataType outType, final DataR
         final boolean isDisallowLongOutputForCompatibility, final VariableProvider variableProvider) {
         for (Rule r : rules) {
             if (r.getCondition().matches(row, variableProvider).getOutcome() == MatchState.matchedAndStop) {
-                Outcome outcome2 = r.getOutcome();
-                //                        r.getSideEffect().perform(row, this);
-                DataCell cell = (DataCell)outcome2.getComputedResult(row, variableProvider);
-                // in versions < 3.2 the output was never long ... so casting to int
-                // (instanceof check for LongCELL as this is what our code generates
-                // ... don't want Booleans (also implementing Long), for instance)
-                if (cell instanceof LongCell && isDisallowLongOutputForCompatibility) {
-                    long l = ((LongValue)cell).getLongValue();
-                    if (l > Integer.MAX_VALUE) {
-                        throw new RuntimeException("Values larger than " + Integer.MAX_VALUE
-                            + " not supported in old instances of the node -- recreate the node "
-                            + "(node was created using an KNIME version < 3.2");
-                    }
-                    cell = new IntCell((int)l);
-                }
-                if (outType.equals(StringCell.TYPE) && !cell.isMissing()
-                        && !cell.getType().equals(StringCell.TYPE)) {
-                    return new StringCell(cell.toString());
-                } else {
-                    return cell;
-                }
+                return computeOutcome(outType, row, r, isDisallowLongOutputForCompatibility, variableProvider);
             }
         }
         return DataType.getMissingCell();
     }
 
+    /**
+     * Same as {@link #getRulesOutcome(DataType, DataRow, List, boolean, VariableProvider)}, but with the rules
+     * prepared for the evaluation on many rows.
+     *
+     * @param outType The output type.
+     * @param row The input row.
+     * @param rules The {@link CompiledRuleSet}.
+     * @param isDisallowLongOutputForCompatibility Whether long outcomes have to be converted to int.
+     * @param variableProvider The {@link VariableProvider}.
+     * @return The outcome of the first matching rule, or a missing cell if no rule matches.
+     * @noreference This method is not intended to be referenced by clients.
+     * @since 3.8
+     */
+    public static final DataCell getRulesOutcome(final DataType outType, final DataRow row,
+        final CompiledRuleSet rules, final boolean isDisallowLongOutputForCompatibility,
+        final VariableProvider variableProvider) {
+        final Rule r = rules.findFirstMatch(row, variableProvider);
+        if (r == null) {
+            return DataType.getMissingCell();
+        }
+        return computeOutcome(outType, row, r, isDisallowLongOutputForCompatibility, variableProvider);
+    }
+
+    private static DataCell computeOutcome(final DataType outType, final DataRow row, final Rule r,
+        final boolean isDisallowLongOutputForCompatibility, final VariableProvider variableProvider) {
+        Outcome outcome2 = r.getOutcome();
+        //                        r.getSideEffect().perform(row, this);
+        DataCell cell = (DataCell)outcome2.getComputedResult(row, variableProvider);
+        // in versions < 3.2 the output was never long ... so casting to int
+        // (instanceof check for LongCELL as this is what our code generates
+        // ... don't want Booleans (also implementing Long), for instance)
+        if (cell instanceof LongCell && isDisallowLongOutputForCompatibility) {
+            long l = ((LongValue)cell).getLongValue();
+            if (l > Integer.MAX_VALUE) {
+                throw new RuntimeException("Values larger than " + Integer.MAX_VALUE
+                    + " not supported in old instances of the node -- recreate the node "
+                    + "(node was created using an KNIME version < 3.2");
+            }
+            cell = new IntCell((int)l);
+        }
+        if (outType.equals(StringCell.TYPE) && !cell.isMissing()
+                && !cell.getType().equals(StringCell.TYPE)) {
+            return new StringCell(cell.toString());
+        } else {
+            return cell;
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public Object readVariable(final String name, final Class<?> type) {
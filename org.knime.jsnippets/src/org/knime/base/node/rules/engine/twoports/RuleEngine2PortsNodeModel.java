@@ -26,6 +26,7 @@
 import org.dmg.pmml.SimpleRuleDocument.SimpleRule;
 import org.knime.base.node.mine.decisiontree2.PMMLPredicate;
 import org.knime.base.node.rules.engine.BaseRuleParser.ParseState;
+import org.knime.base.node.rules.engine.CompiledRuleSet;
 import org.knime.base.node.rules.engine.Expression;
 import org.knime.base.node.rules.engine.Rule;
 import org.knime.base.node.rules.engine.RuleEngineNodeModel;
@@ -321,13 +322,14 @@ private Pair<ColumnRearranger, PortObject> computeRearrangerWithoutPMML(final Da
         final MutableLong rowIndex = new MutableLong();
         final ExecutionMonitor exec = new ExecutionMonitor();
         final boolean disallowLongOutputForCompatibility = m_settings.isDisallowLongOutputForCompatibility();
+        final CompiledRuleSet compiledRules = CompiledRuleSet.compile(ruleList);
         VariableProvider.SingleCellFactoryProto fac = new VariableProvider.SingleCellFactoryProto(
             new DataColumnSpecCreator(outputColumnName, outType).createSpec()) {
             @Override
             public DataCell getCell(final DataRow row) {
                 setProgress(rowIndex.longValue(), m_rowCount, row.getKey(), exec);
                 rowIndex.increment();
-                return RuleEngineNodeModel.getRulesOutcome(outType, row, ruleList,
+                return RuleEngineNodeModel.getRulesOutcome(outType, row, compiledRules,
                     disallowLongOutputForCompatibility, this);
             }
 
@@ -59,9 +59,9 @@
 import java.time.format.DateTimeParseException;
 import java.time.temporal.Temporal;
 import java.time.temporal.TemporalAmount;
+import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Iterator;
-import java.util.LinkedList;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
@@ -119,8 +119,9 @@ final class LoopStartWindowNodeModel extends NodeModel implements LoopStartNodeT
     // number of rows
     private long m_rowCount;
 
-    // buffered rows used for overlapping
-    private LinkedList<DataRow> m_bufferedRows;
+    // buffered rows used for overlapping (array based ring buffer); rows are appended at the end and taken from the
+    // front, time triggered windows also push a row that has been read ahead back to the front
+    private ArrayDeque<DataRow> m_bufferedRows;
 
     // Name of the chosen time column
     private String m_timeColumnName;
@@ -252,7 +253,9 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final Ex
 
         if (m_currRow == 0) {
             m_rowIterator = table.iterator();
-            m_bufferedRows = new LinkedList<>();
+            /* For event triggered windows at most the overlap of two windows is buffered. */
+            m_bufferedRows = m_windowConfig.getTrigger() == Trigger.ROW
+                ? new ArrayDeque<>(Math.max(1, m_windowConfig.getEventWindowSize())) : new ArrayDeque<>();
 
             m_nColumns = table.getSpec().getNumColumns();
 
@@ -0,0 +1,197 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.timeseries.node.movagg;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+import java.util.LinkedList;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.base.data.aggregation.AggregationMethods;
+import org.knime.base.data.aggregation.AggregationOperator;
+import org.knime.base.data.aggregation.ColumnAggregator;
+import org.knime.base.data.aggregation.GlobalSettings;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+
+/**
+ * Tests for {@link WindowAggregator}, each kind of aggregator must give the same results as recomputing the operator
+ * over the current window.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class WindowAggregatorTest {
+
+    private static final DataTableSpec SPEC =
+        new DataTableSpec(new DataColumnSpecCreator("Value", DoubleCell.TYPE).createSpec());
+
+    /**
+     * Tests the removing aggregator.
+     */
+    @Test
+    public void testRemovable() {
+        for (final String methodId : new String[]{"Count", "Sum_V2.5.2", "Mean", "Variance",
+            "Geometric standard deviation"}) {
+            assertWindows(methodId, "RemovingWindowAggregator");
+        }
+    }
+
+    /**
+     * Tests the two stacks of the minimum and maximum.
+     */
+    @Test
+    public void testMinMax() {
+        for (final String methodId : new String[]{"Minimum", "Maximum"}) {
+            assertWindows(methodId, "TwoStacksWindowAggregator");
+        }
+    }
+
+    /**
+     * Tests the aggregator that recomputes the whole window.
+     */
+    @Test
+    public void testRecomputing() {
+        assertWindows("Median", "RecomputingWindowAggregator");
+    }
+
+    /**
+     * Slides fixed length windows over the rows and moves a window of random length over them, which grows and
+     * shrinks at arbitrary points as e.g. the first and last windows of a central moving aggregation.
+     */
+    private static void assertWindows(final String methodId, final String aggregatorType) {
+        final DataRow[] rows = createRows(new Random(42), 300);
+        final boolean[] inclMissingOptions = AggregationMethods.getMethod4Id(methodId).supportsMissingValueOption()
+            ? new boolean[]{false, true} : new boolean[]{false};
+        for (final boolean inclMissing : inclMissingOptions) {
+            for (final int length : new int[]{1, 2, 7, 50}) {
+                final LinkedList<DataRow> window = new LinkedList<>();
+                final WindowAggregator aggregator = create(methodId, inclMissing, window, aggregatorType);
+                for (final DataRow row : rows) {
+                    if (window.size() == length) {
+                        aggregator.removeFirst();
+                        window.removeFirst();
+                    }
+                    window.add(row);
+                    aggregator.add(row);
+                    assertResult(methodId + " of window length " + length + " in row " + row.getKey(), methodId,
+                        inclMissing, window, aggregator);
+                }
+            }
+            final Random random = new Random(7);
+            final LinkedList<DataRow> window = new LinkedList<>();
+            final WindowAggregator aggregator = create(methodId, inclMissing, window, aggregatorType);
+            for (final DataRow row : rows) {
+                while (!window.isEmpty() && random.nextInt(3) == 0) {
+                    aggregator.removeFirst();
+                    window.removeFirst();
+                }
+                window.add(row);
+                aggregator.add(row);
+                assertResult(methodId + " of random window in row " + row.getKey(), methodId, inclMissing, window,
+                    aggregator);
+            }
+            while (window.size() > 1) {
+                aggregator.removeFirst();
+                window.removeFirst();
+                assertResult(methodId + " of shrinking window of size " + window.size(), methodId, inclMissing,
+                    window, aggregator);
+            }
+        }
+    }
+
+    private static DataRow[] createRows(final Random random, final int count) {
+        final DataRow[] rows = new DataRow[count];
+        for (int i = 0; i < count; i++) {
+            final DataCell value = random.nextInt(5) == 0 ? DataType.getMissingCell()
+                : new DoubleCell(Math.exp(Math.round(random.nextGaussian() * 100) / 100.0));
+            rows[i] = new DefaultRow(RowKey.createRowKey((long)i), value);
+        }
+        return rows;
+    }
+
+    private static AggregationOperator createOperator(final String methodId, final boolean inclMissing) {
+        final GlobalSettings globalSettings = GlobalSettings.builder().setDataTableSpec(SPEC).build();
+        return new ColumnAggregator(SPEC.getColumnSpec(0), AggregationMethods.getMethod4Id(methodId), inclMissing)
+            .getOperator(globalSettings);
+    }
+
+    private static WindowAggregator create(final String methodId, final boolean inclMissing,
+        final LinkedList<DataRow> window, final String aggregatorType) {
+        final WindowAggregator aggregator = WindowAggregator.create(createOperator(methodId, inclMissing), 0, window);
+        assertThat("Unexpected aggregator for " + methodId, aggregator.getClass().getSimpleName(),
+            is(aggregatorType));
+        return aggregator;
+    }
+
+    private static void assertResult(final String msg, final String methodId, final boolean inclMissing,
+        final LinkedList<DataRow> window, final WindowAggregator aggregator) {
+        final AggregationOperator recomputed = createOperator(methodId, inclMissing);
+        for (final DataRow row : window) {
+            recomputed.compute(row, 0);
+        }
+        final DataCell expected = recomputed.getResult();
+        final DataCell actual = aggregator.getResult();
+        if (expected instanceof DoubleValue && actual instanceof DoubleValue) {
+            final double expectedValue = ((DoubleValue)expected).getDoubleValue();
+            assertEquals(msg, expectedValue, ((DoubleValue)actual).getDoubleValue(),
+                1e-9 * Math.max(1, Math.abs(expectedValue)));
+        } else {
+            assertThat(msg, actual, is(expected));
+        }
+    }
+}
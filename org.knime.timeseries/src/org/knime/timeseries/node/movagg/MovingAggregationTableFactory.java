@@ -219,11 +219,12 @@ private BufferedDataTable getForwardTable(final ExecutionMonitor exec, final Buf
         final BufferedDataContainer dc) throws CanceledExecutionException {
         final int rowCount = table.getRowCount();
         final LinkedList<DataRow> window = new LinkedList<>();
+        final WindowAggregator[] aggregators = createAggregators(window);
         int rowIdx = 0;
         for (final DataRow row : table) {
             exec.setProgress(rowIdx / (double) rowCount, "Processing row " + rowIdx++ + " of " + rowCount);
             exec.checkCanceled();
-            window.add(row);
+            addToWindow(window, aggregators, row);
             final boolean windowFull = window.size() >= m_windowLength;
             if (!windowFull) {
                 //we have to fill the window first
@@ -236,19 +237,13 @@ private BufferedDataTable getForwardTable(final ExecutionMonitor exec, final Buf
             for (final int colIdx : m_cols2KeepIdxs) {
                 cells[idx++] = firstRow.getCell(colIdx);
             }
-            for (int i = 0, length = m_ops.length; i < length; i++) {
-                final int colIdx = m_aggrColIdxs[i];
-                final AggregationOperator op = m_ops[i];
-                for (final DataRow windowRow : window) {
-                    op.compute(windowRow, colIdx);
-                }
-                cells[idx++] = op.getResult();
-                op.reset();
+            for (final WindowAggregator aggregator : aggregators) {
+                cells[idx++] = aggregator.getResult();
             }
             dc.addRowToTable(new DefaultRow(firstRow.getKey(), cells));
             //remove the first row only when the window is full
             //not during the missing value handling phase!
-            window.removeFirst();
+            removeFirstFromWindow(window, aggregators);
         }
         //we have to handle the remaining rows in the window
         while (!window.isEmpty()) {
@@ -260,21 +255,15 @@ private BufferedDataTable getForwardTable(final ExecutionMonitor exec, final Buf
             for (final int colIdx : m_cols2KeepIdxs) {
                 cells[idx++] = firstRow.getCell(colIdx);
             }
-            for (int i = 0, length = m_ops.length; i < length; i++) {
+            for (final WindowAggregator aggregator : aggregators) {
                 if (m_handleMissings) {
-                    final int colIdx = m_aggrColIdxs[i];
-                    final AggregationOperator op = m_ops[i];
-                    for (final DataRow windowRow : window) {
-                        op.compute(windowRow, colIdx);
-                    }
-                    cells[idx++] = op.getResult();
-                    op.reset();
+                    cells[idx++] = aggregator.getResult();
                 } else {
                     //the window is not yet full return missing cells
                     cells[idx++] = DataType.getMissingCell();
                 }
             }
-            window.removeFirst();
+            removeFirstFromWindow(window, aggregators);
             dc.addRowToTable(new DefaultRow(firstRow.getKey(), cells));
         }
         dc.close();
@@ -284,12 +273,13 @@ private BufferedDataTable getCenterTable(final ExecutionMonitor exec, final Buff
         final BufferedDataContainer dc) throws CanceledExecutionException {
         final int rowCount = table.getRowCount();
         final LinkedList<DataRow> window = new LinkedList<>();
+        final WindowAggregator[] aggregators = createAggregators(window);
         int rowIdx = 0;
         int centerIdx = -1;
         for (final DataRow row : table) {
             exec.setProgress(rowIdx / (double) rowCount, "Processing row " + rowIdx++ + " of " + rowCount);
             exec.checkCanceled();
-            window.add(row);
+            addToWindow(window, aggregators, row);
             //we have to subtract 1 since the indexing of the array starts with 0
             centerIdx = window.size() - m_windowLength / 2 - 1;
             if (centerIdx < 0) {
@@ -304,15 +294,9 @@ private BufferedDataTable getCenterTable(final ExecutionMonitor exec, final Buff
                 cells[idx++] = centerRow.getCell(colIdx);
             }
             final boolean windowFull = window.size() >= m_windowLength;
-            for (int i = 0, length = m_ops.length; i < length; i++) {
+            for (final WindowAggregator aggregator : aggregators) {
                 if (windowFull || m_handleMissings) {
-                    final int colIdx = m_aggrColIdxs[i];
-                    final AggregationOperator op = m_ops[i];
-                    for (final DataRow windowRow : window) {
-                        op.compute(windowRow, colIdx);
-                    }
-                    cells[idx++] = op.getResult();
-                    op.reset();
+                    cells[idx++] = aggregator.getResult();
                 } else {
                     //the window is not yet full return missing cells
                     cells[idx++] = DataType.getMissingCell();
@@ -322,7 +306,7 @@ private BufferedDataTable getCenterTable(final ExecutionMonitor exec, final Buff
             //remove the first row only when the window is full
             //not during the missing value handling phase!
             if (windowFull) {
-                window.removeFirst();
+                removeFirstFromWindow(window, aggregators);
             }
         }
         //we have to handle the remaining rows in the window
@@ -335,21 +319,15 @@ private BufferedDataTable getCenterTable(final ExecutionMonitor exec, final Buff
             for (final int colIdx : m_cols2KeepIdxs) {
                 cells[idx++] = centerRow.getCell(colIdx);
             }
-            for (int i = 0, length = m_ops.length; i < length; i++) {
+            for (final WindowAggregator aggregator : aggregators) {
                 if (m_handleMissings) {
-                    final int colIdx = m_aggrColIdxs[i];
-                    final AggregationOperator op = m_ops[i];
-                    for (final DataRow windowRow : window) {
-                        op.compute(windowRow, colIdx);
-                    }
-                    cells[idx++] = op.getResult();
-                    op.reset();
+                    cells[idx++] = aggregator.getResult();
                 } else {
                     //the window is not yet full return missing cells
                     cells[idx++] = DataType.getMissingCell();
                 }
             }
-            window.removeFirst();
+            removeFirstFromWindow(window, aggregators);
             dc.addRowToTable(new DefaultRow(centerRow.getKey(), cells));
         }
         dc.close();
@@ -362,11 +340,12 @@ private BufferedDataTable getBackwardTable(final ExecutionMonitor exec, final Bu
         final BufferedDataContainer dc) throws CanceledExecutionException {
         final int rowCount = table.getRowCount();
         final LinkedList<DataRow> window = new LinkedList<>();
+        final WindowAggregator[] aggregators = createAggregators(window);
         int rowIdx = 0;
         for (final DataRow row : table) {
             exec.setProgress(rowIdx / (double) rowCount, "Processing row " + rowIdx++ + " of " + rowCount);
             exec.checkCanceled();
-            window.add(row);
+            addToWindow(window, aggregators, row);
             final DataCell[] cells = new DataCell[m_ops.length + m_cols2KeepIdxs.length];
             int idx = 0;
             //handle the retained columns
@@ -374,16 +353,9 @@ private BufferedDataTable getBackwardTable(final ExecutionMonitor exec, final Bu
                 cells[idx++] = row.getCell(colIdx);
             }
             final boolean windowFull = window.size() >= m_windowLength;
-            for (int i = 0, length = m_ops.length; i < length; i++) {
+            for (final WindowAggregator aggregator : aggregators) {
                 if (windowFull || m_handleMissings) {
-                    final int colIdx = m_aggrColIdxs[i];
-                    final AggregationOperator op = m_ops[i];
-
-                    for (final DataRow windowRow : window) {
-                        op.compute(windowRow, colIdx);
-                    }
-                    cells[idx++] = op.getResult();
-                    op.reset();
+                    cells[idx++] = aggregator.getResult();
                 } else {
                     //the window is not yet full return missing cells
                     cells[idx++] = DataType.getMissingCell();
@@ -392,7 +364,7 @@ private BufferedDataTable getBackwardTable(final ExecutionMonitor exec, final Bu
             if (windowFull) {
                 //remove the first row only when the window is full
                 //not during the missing value handling phase!
-                window.removeFirst();
+                removeFirstFromWindow(window, aggregators);
             }
             dc.addRowToTable(new DefaultRow(row.getKey(), cells));
         }
@@ -402,6 +374,34 @@ private BufferedDataTable getBackwardTable(final ExecutionMonitor exec, final Bu
 
 
 
+    /**
+     * @param window the rows of the window
+     * @return one {@link WindowAggregator} per aggregation operator
+     */
+    private WindowAggregator[] createAggregators(final LinkedList<DataRow> window) {
+        final WindowAggregator[] aggregators = new WindowAggregator[m_ops.length];
+        for (int i = 0, length = m_ops.length; i < length; i++) {
+            aggregators[i] = WindowAggregator.create(m_ops[i], m_aggrColIdxs[i], window);
+        }
+        return aggregators;
+    }
+
+    private static void addToWindow(final LinkedList<DataRow> window, final WindowAggregator[] aggregators,
+        final DataRow row) {
+        window.add(row);
+        for (final WindowAggregator aggregator : aggregators) {
+            aggregator.add(row);
+        }
+    }
+
+    private static void removeFirstFromWindow(final LinkedList<DataRow> window,
+        final WindowAggregator[] aggregators) {
+        for (final WindowAggregator aggregator : aggregators) {
+            aggregator.removeFirst();
+        }
+        window.removeFirst();
+    }
+
     /**
      * @return the name of all columns from the input table that are aggregated
      */
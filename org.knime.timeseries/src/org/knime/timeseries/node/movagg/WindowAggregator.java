@@ -0,0 +1,265 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.timeseries.node.movagg;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.knime.base.data.aggregation.AggregationOperator;
+import org.knime.base.data.aggregation.general.MaxOperator;
+import org.knime.base.data.aggregation.general.MinOperator;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+
+/**
+ * Computes the aggregate of a single {@link AggregationOperator} over the rows of a sliding window. Depending on
+ * the operator the aggregate is maintained incrementally:
+ * <ul>
+ * <li>{@link AggregationOperator#isRemovable() Removable} operators (e.g. sum, mean, count, variance) add new rows
+ * and remove evicted rows.</li>
+ * <li>The minimum and maximum are maintained with two stacks of {@link AggregationOperator#merge(AggregationOperator)
+ * mergeable} operators, which gives amortized constant costs per row.</li>
+ * <li>All other operators are recomputed from all rows of the window for every result.</li>
+ * </ul>
+ *
+ * <p>
+ * The window itself is owned by the caller: {@link #add(DataRow)} must be called after a row has been appended to
+ * the window and {@link #removeFirst()} before the first row is removed from it.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+abstract class WindowAggregator {
+
+    /** The operator to use. */
+    protected final AggregationOperator m_op;
+
+    /** The index of the column to aggregate. */
+    protected final int m_colIdx;
+
+    /** The rows of the window, oldest first. */
+    protected final LinkedList<DataRow> m_window;
+
+    private WindowAggregator(final AggregationOperator op, final int colIdx, final LinkedList<DataRow> window) {
+        m_op = op;
+        m_colIdx = colIdx;
+        m_window = window;
+    }
+
+    /**
+     * @param op the {@link AggregationOperator} to use, is reset
+     * @param colIdx the index of the column to aggregate
+     * @param window the rows of the window
+     * @return the {@link WindowAggregator} best suited for the given operator
+     */
+    static WindowAggregator create(final AggregationOperator op, final int colIdx,
+        final LinkedList<DataRow> window) {
+        op.reset();
+        if (op.isRemovable()) {
+            return new RemovingWindowAggregator(op, colIdx, window);
+        }
+        if (op.isMergeable() && (op instanceof MinOperator || op instanceof MaxOperator)) {
+            //both keep a single cell and leave the merged operator untouched so that it can be merged again,
+            //other mergeable operators keep state proportional to the number of rows which would be duplicated
+            //for each row of the window
+            return new TwoStacksWindowAggregator(op, colIdx, window);
+        }
+        return new RecomputingWindowAggregator(op, colIdx, window);
+    }
+
+    /**
+     * @param row the row that has been appended to the window
+     */
+    abstract void add(DataRow row);
+
+    /**
+     * Called before the first row is removed from the window.
+     */
+    abstract void removeFirst();
+
+    /**
+     * @return the aggregate of all rows in the window
+     */
+    abstract DataCell getResult();
+
+    /** Recomputes the operator from scratch over the whole window. */
+    private static final class RecomputingWindowAggregator extends WindowAggregator {
+
+        RecomputingWindowAggregator(final AggregationOperator op, final int colIdx,
+            final LinkedList<DataRow> window) {
+            super(op, colIdx, window);
+        }
+
+        @Override
+        void add(final DataRow row) {
+            //nothing to do
+        }
+
+        @Override
+        void removeFirst() {
+            //nothing to do
+        }
+
+        @Override
+        DataCell getResult() {
+            for (final DataRow windowRow : m_window) {
+                m_op.compute(windowRow, m_colIdx);
+            }
+            final DataCell result = m_op.getResult();
+            m_op.reset();
+            return result;
+        }
+    }
+
+    /** Adds new and removes evicted rows from a removable operator. */
+    private static final class RemovingWindowAggregator extends WindowAggregator {
+
+        RemovingWindowAggregator(final AggregationOperator op, final int colIdx, final LinkedList<DataRow> window) {
+            super(op, colIdx, window);
+        }
+
+        @Override
+        void add(final DataRow row) {
+            m_op.compute(row, m_colIdx);
+        }
+
+        @Override
+        void removeFirst() {
+            m_op.remove(m_window.getFirst(), m_colIdx);
+        }
+
+        @Override
+        DataCell getResult() {
+            final DataCell result = m_op.getResult();
+            if (m_op.isSkipped()) {
+                //a skipped operator ignores all further rows, start over with the current window since the
+                //next window might be valid again
+                m_op.reset();
+                for (final DataRow windowRow : m_window) {
+                    m_op.compute(windowRow, m_colIdx);
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Keeps the older rows of the window in a stack of operators each holding the aggregate from its row to the end
+     * of the stack and the newer rows in a single operator. Once the stack is empty all rows are moved into it.
+     */
+    private static final class TwoStacksWindowAggregator extends WindowAggregator {
+
+        private final List<AggregationOperator> m_front = new ArrayList<>();
+
+        private int m_frontStart = 0;
+
+        private int m_frontEnd = 0;
+
+        private final AggregationOperator m_back;
+
+        private int m_backSize = 0;
+
+        private final AggregationOperator m_query;
+
+        TwoStacksWindowAggregator(final AggregationOperator op, final int colIdx,
+            final LinkedList<DataRow> window) {
+            super(op, colIdx, window);
+            m_back = op;
+            m_query = createInstance();
+        }
+
+        private AggregationOperator createInstance() {
+            return m_op.createInstance(m_op.getGlobalSettings(), m_op.getOperatorColumnSettings());
+        }
+
+        @Override
+        void add(final DataRow row) {
+            m_back.compute(row, m_colIdx);
+            m_backSize++;
+        }
+
+        @Override
+        void removeFirst() {
+            if (m_frontStart == m_frontEnd) {
+                flip();
+            }
+            m_frontStart++;
+        }
+
+        private void flip() {
+            assert m_window.size() == m_backSize : "All rows of the window should be in the back stack";
+            while (m_front.size() < m_backSize) {
+                m_front.add(createInstance());
+            }
+            final Iterator<DataRow> rows = m_window.descendingIterator();
+            for (int i = m_backSize - 1; i >= 0; i--) {
+                final AggregationOperator op = m_front.get(i);
+                op.reset();
+                op.compute(rows.next(), m_colIdx);
+                if (i < m_backSize - 1) {
+                    op.merge(m_front.get(i + 1));
+                }
+            }
+            m_frontStart = 0;
+            m_frontEnd = m_backSize;
+            m_back.reset();
+            m_backSize = 0;
+        }
+
+        @Override
+        DataCell getResult() {
+            m_query.reset();
+            if (m_frontStart < m_frontEnd) {
+                m_query.merge(m_front.get(m_frontStart));
+            }
+            m_query.merge(m_back);
+            return m_query.getResult();
+        }
+    }
+}